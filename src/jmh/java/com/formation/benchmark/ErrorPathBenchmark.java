@@ -0,0 +1,155 @@
+package com.formation.benchmark;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.formation.controller.ClassRoomController;
+import com.formation.controller.CourseController;
+import com.formation.controller.EnrollmentController;
+import com.formation.controller.StudentController;
+import com.formation.controller.TrainerController;
+import com.formation.controller.WaitlistController;
+import com.formation.exception.BaseException;
+import com.formation.exception.ExceptionCode;
+import com.formation.exception.GlobalExceptionHandler;
+import com.formation.exception.ResourceNotFoundException;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Error-path throughput. {@code invalidRequestMix} cycles requests that all fail (unknown ids, a short search term,
+ * an unknown sort property, a duplicate email) through the controllers and {@link GlobalExceptionHandler} on four
+ * threads, the way a client retrying bad requests would. The {@code notFound*} pair isolates the cost of one failure
+ * at a given call depth: the typed stackless exception against the persistence exception that used to be thrown,
+ * scanned and rethrown as a {@link BaseException}.
+ */
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+    private static final long MISSING_ID = 999_999_999L;
+
+    @State(Scope.Benchmark)
+    public static class Web {
+
+        MockMvc mockMvc;
+        RequestBuilder[] requests;
+
+        @Setup(Level.Trial)
+        public void start(FormationState state) {
+            GlobalExceptionHandler handler = state.context.getBean(GlobalExceptionHandler.class);
+            mockMvc = MockMvcBuilders.standaloneSetup(
+                    state.context.getBean(StudentController.class),
+                    state.context.getBean(CourseController.class),
+                    state.context.getBean(TrainerController.class),
+                    state.context.getBean(ClassRoomController.class),
+                    state.context.getBean(EnrollmentController.class),
+                    state.context.getBean(WaitlistController.class))
+                .setControllerAdvice(handler)
+                .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(state.context.getBean(ObjectMapper.class)))
+                .build();
+            String takenEmail = state.studentService.findById(state.data.getFirstStudentId()).getEmail();
+            requests = new RequestBuilder[] {
+                get("/api/students/{id}", MISSING_ID),
+                get("/api/courses/{id}", MISSING_ID),
+                get("/api/trainers/{id}", MISSING_ID),
+                get("/api/classrooms/{id}", MISSING_ID),
+                get("/api/courses/{courseId}/waitlist/students/{studentId}", MISSING_ID, state.data.getFirstStudentId()),
+                delete("/api/enrollments/courses/{courseId}/students/{studentId}", MISSING_ID, state.data.getFirstStudentId()),
+                get("/api/students/search").param("keyword", "a"),
+                get("/api/students/level/{level}", "Beginner").param("sort", "unknown"),
+                post("/api/students").contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"firstName\":\"Taken\",\"lastName\":\"Email\",\"level\":\"Beginner\",\"email\":\"" + takenEmail + "\"}")
+            };
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Mix {
+        int next;
+    }
+
+    @State(Scope.Thread)
+    public static class Stack {
+
+        @Param({ "10", "120" })
+        public int depth;
+
+        long id;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Threads(4)
+    public int invalidRequestMix(Web web, Mix mix) throws Exception {
+        return web.mockMvc.perform(web.requests[mix.next++ % web.requests.length]).andReturn().getResponse().getStatus();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String notFoundStackless(Stack stack) {
+        return descend(stack.depth, false, stack.id++);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String notFoundRethrown(Stack stack) {
+        return descend(stack.depth, true, stack.id++);
+    }
+
+    private static String descend(int depth, boolean rethrown, long id) {
+        if (depth > 0) {
+            return descend(depth - 1, rethrown, id);
+        }
+        try {
+            return rethrown ? rethrown(id) : stackless(id);
+        } catch (BaseException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static String stackless(long id) {
+        throw new ResourceNotFoundException(ExceptionCode.COURSE_NOT_FOUND, id);
+    }
+
+    // The former path: a persistence exception with its stack, its message scanned, then a second exception
+    private static String rethrown(long id) {
+        try {
+            throw new EntityNotFoundException("Course not found with id: " + id);
+        } catch (EntityNotFoundException e) {
+            if (e.getMessage().contains("not found")) {
+                throw new ResourceNotFoundException(ExceptionCode.COURSE_NOT_FOUND, id);
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.formation.benchmark;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.formation.FormationApplication;
+import com.formation.config.DatasetProperties;
+import com.formation.dto.DatasetSummary;
+import com.formation.service.ClassRoomService;
+import com.formation.service.CourseService;
+import com.formation.service.StudentService;
+import com.formation.service.TrainerService;
+import com.formation.service.dataset.DatasetGenerator;
+
+/**
+ * The application context under the benchmark profile, booted once per fork against an H2 database filled by the
+ * {@link DatasetGenerator}. The services are the Spring proxies, so transactions and aspects are part of what is measured.
+ */
+@State(Scope.Benchmark)
+public class FormationState {
+
+    @Param({ "10000", "100000" })
+    public int students;
+
+    ConfigurableApplicationContext context;
+    DatasetSummary data;
+    StudentService studentService;
+    CourseService courseService;
+    ClassRoomService classRoomService;
+    TrainerService trainerService;
+
+    @Setup(Level.Trial)
+    public void start() throws SQLException {
+        context = new SpringApplicationBuilder(FormationApplication.class)
+            .logStartupInfo(false)
+            .run("--spring.profiles.active=benchmark");
+        DatasetProperties dataset = new DatasetProperties();
+        dataset.setStudents(students);
+        data = new DatasetGenerator(dataset).generate(context.getBean(DataSource.class));
+        studentService = context.getBean(StudentService.class);
+        courseService = context.getBean(CourseService.class);
+        classRoomService = context.getBean(ClassRoomService.class);
+        trainerService = context.getBean(TrainerService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+}
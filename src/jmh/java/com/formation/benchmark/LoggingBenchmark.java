@@ -0,0 +1,112 @@
+package com.formation.benchmark;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingInitializationContext;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.core.env.StandardEnvironment;
+
+import com.formation.config.CountingAsyncAppender;
+import com.formation.exception.ErrorResponse;
+import com.formation.exception.GlobalExceptionHandler;
+
+import ch.qos.logback.classic.LoggerContext;
+
+/**
+ * Logging overhead per request on the request threads. Each operation stands for one failing request: a fixed slice
+ * of CPU work, then the WARN line {@link GlobalExceptionHandler} writes. logback-spring.xml is loaded through Boot's
+ * logging system as the application does, either with the default profile (synchronous colored console and text
+ * file, caller class lookup) or with prod (JSON behind {@link CountingAsyncAppender}); {@code off} turns the
+ * handler's logger off, so the difference to it is the logging cost. Files go to target/jmh-logs and the console
+ * to a null stream. The discarded and dropped counts of the async appenders are printed after each trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+    private static final long REQUEST_TOKENS = 4000;
+
+    @Param({ "off", "default", "prod" })
+    public String config;
+
+    private LoggingSystem loggingSystem;
+    private PrintStream console;
+    private Logger log;
+    private ErrorResponse error;
+
+    @Setup(Level.Trial)
+    public void start() {
+        console = System.out;
+        System.setOut(new PrintStream(new Discard()));
+        System.setProperty("LOG_PATH", "target/jmh-logs");
+        StandardEnvironment environment = new StandardEnvironment();
+        if (config.equals("prod")) {
+            environment.setActiveProfiles("prod");
+        }
+        loggingSystem = LoggingSystem.get(getClass().getClassLoader());
+        loggingSystem.beforeInitialize();
+        loggingSystem.initialize(new LoggingInitializationContext(environment), "classpath:logback-spring.xml", null);
+        if (config.equals("off")) {
+            loggingSystem.setLogLevel(GlobalExceptionHandler.class.getName(), LogLevel.OFF);
+        }
+        log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+        error = new ErrorResponse(404, "CRS-404", "Course not found with id: 99999", "uri=/api/courses/99999");
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        StringBuilder counts = new StringBuilder();
+        for (CountingAsyncAppender appender : CountingAsyncAppender.attached()) {
+            counts.append(String.format("%n%s: discarded %,d, dropped %,d", appender.getName(),
+                appender.getDiscarded(), appender.getDropped()));
+        }
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).stop();
+        loggingSystem.cleanUp();
+        System.setOut(console);
+        if (counts.length() > 0) {
+            System.out.println(counts);
+        }
+    }
+
+    @Benchmark
+    public void failedRequest() {
+        Blackhole.consumeCPU(REQUEST_TOKENS);
+        log.warn("Exception occurred: {}", error);
+    }
+
+    private static final class Discard extends OutputStream {
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.formation.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.formation.dto.PageResponse;
+import com.formation.entity.Student;
+
+/**
+ * The list endpoint envelope: {@link PageResponse} written by its PageResponseSerializer against the serialized
+ * {@link Page} the controllers used to return, at 10 and 1000 students, with the application's Jackson settings.
+ * Run with {@code -prof gc} for the allocation per page (gc.alloc.rate.norm); the body sizes are printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PageSerializationBenchmark {
+
+    @Param({ "10", "1000" })
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private ObjectWriter writer;
+    private Page<Student> page;
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream(2 * 1024 * 1024);
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        context = new SpringApplicationBuilder(JacksonAutoConfiguration.class)
+            .web(WebApplicationType.NONE)
+            .bannerMode(Banner.Mode.OFF)
+            .logStartupInfo(false)
+            .run();
+        writer = context.getBean(Jackson2ObjectMapperBuilder.class).build().writer();
+        page = SamplePages.students(rows);
+        System.out.printf("%n%d rows: Page %,d bytes, PageResponse %,d bytes%n", rows, page(), pageResponse());
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public int page() throws IOException {
+        body.reset();
+        writer.writeValue(body, page);
+        return body.size();
+    }
+
+    // Includes building the envelope, as the controllers do for every request
+    @Benchmark
+    public int pageResponse() throws IOException {
+        body.reset();
+        writer.writeValue(body, PageResponse.of(page));
+        return body.size();
+    }
+}
@@ -0,0 +1,62 @@
+package com.formation.benchmark;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import com.formation.entity.ClassRoom;
+import com.formation.entity.Course;
+import com.formation.entity.Student;
+import com.formation.entity.Trainer;
+
+/**
+ * Read paths as the controllers call them: first page of 10, default sort. Search keywords and date windows
+ * rotate so a single cached plan or row does not stand for the whole query.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class QueryBenchmark {
+
+    private static final Pageable PAGE = PageRequest.of(0, 10);
+    private static final String[] STUDENT_KEYWORDS = { "mar", "Lina", "dubois", "example.org", "zz" };
+    private static final String[] COURSE_KEYWORDS = { "Java", "Spring", "Docker", "Masterclass", "zz" };
+
+    private int next;
+
+    @Benchmark
+    public Page<Student> studentSearch(FormationState state) {
+        return state.studentService.search(STUDENT_KEYWORDS[next++ % STUDENT_KEYWORDS.length], PAGE);
+    }
+
+    @Benchmark
+    public Page<Course> courseFindByDateRange(FormationState state) {
+        LocalDate start = LocalDate.now().minusDays(365 - (next++ % 12) * 60L);
+        return state.courseService.findByDateRange(start, start.plusDays(120), PAGE);
+    }
+
+    @Benchmark
+    public Page<ClassRoom> classRoomFindAvailableRooms(FormationState state) {
+        return state.classRoomService.findAvailableRooms(25, PAGE);
+    }
+
+    @Benchmark
+    public Page<Trainer> trainerFindAvailableTrainers(FormationState state) {
+        return state.trainerService.findAvailableTrainers(4, PAGE);
+    }
+}
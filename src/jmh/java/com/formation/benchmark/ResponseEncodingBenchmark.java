@@ -0,0 +1,122 @@
+package com.formation.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.formation.dto.PageResponse;
+
+/**
+ * A page of 1000 students as the list endpoints write it, per negotiated encoding: JSON or Smile
+ * ({@code Accept: application/x-jackson-smile}), with or without gzip ({@code Accept-Encoding: gzip}, applied by
+ * Tomcat above server.compression.min-response-size). The converters are built like the application's, from Boot's
+ * Jackson builder. The score is the CPU per page; the bytes on the wire are printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ResponseEncodingBenchmark {
+
+    @Param({ "json", "smile" })
+    public String encoding;
+
+    @Param({ "identity", "gzip" })
+    public String contentEncoding;
+
+    private ConfigurableApplicationContext context;
+    private AbstractJackson2HttpMessageConverter converter;
+    private MediaType mediaType;
+    private PageResponse<?> page;
+    private final Body body = new Body();
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        context = new SpringApplicationBuilder(JacksonAutoConfiguration.class)
+            .web(WebApplicationType.NONE)
+            .bannerMode(Banner.Mode.OFF)
+            .logStartupInfo(false)
+            .run();
+        Jackson2ObjectMapperBuilder builder = context.getBean(Jackson2ObjectMapperBuilder.class);
+        if (encoding.equals("smile")) {
+            converter = new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+            mediaType = new MediaType("application", "x-jackson-smile");
+        } else {
+            converter = new MappingJackson2HttpMessageConverter(builder.build());
+            mediaType = MediaType.APPLICATION_JSON;
+        }
+        page = PageResponse.of(SamplePages.students(1000));
+        System.out.printf("%n%s, %s: %,d bytes on the wire%n", encoding, contentEncoding, write());
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public int write() throws IOException {
+        body.reset(contentEncoding.equals("gzip"));
+        converter.write(page, mediaType, body);
+        return body.finish();
+    }
+
+    private static final class Body implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 * 1024);
+        private OutputStream out;
+
+        void reset(boolean gzip) throws IOException {
+            headers.clear();
+            bytes.reset();
+            out = gzip ? new GZIPOutputStream(bytes, 8192) : bytes;
+        }
+
+        int finish() throws IOException {
+            out.close();
+            return bytes.size();
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return out;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.formation.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import com.formation.entity.ClassRoom;
+import com.formation.entity.Course;
+import com.formation.entity.Student;
+import com.formation.entity.Trainer;
+import com.formation.entity.enums.CourseStatus;
+
+/**
+ * Detached pages shaped like the bodies of GET /api/students: each student with its course and classroom, and
+ * each course with its trainer and classroom. Rows are spread over a few courses as in the synthetic dataset and
+ * generated from a fixed seed, so every fork serializes the same bytes.
+ */
+final class SamplePages {
+
+    private static final String[] FIRST_NAMES = { "Emma", "Lucas", "Sofia", "Adam", "Lina", "Yanis", "Chloe", "Hugo" };
+    private static final String[] LAST_NAMES = { "Martin", "Bernard", "Dubois", "Thomas", "Robert", "Richard", "Petit" };
+    private static final String[] LEVELS = { "Beginner", "Intermediate", "Advanced" };
+    private static final String[] TOPICS = { "Java Fundamentals", "Spring Boot", "SQL Essentials", "Docker", "React" };
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 9, 2, 8, 30);
+
+    private SamplePages() {
+    }
+
+    static Page<Student> students(int size) {
+        Random random = new Random(42);
+        List<Course> courses = new ArrayList<>();
+        for (int c = 0; c < TOPICS.length; c++) {
+            ClassRoom classRoom = ClassRoom.builder()
+                .id((long) c + 1).name("Room " + (c + 1)).roomNumber("R" + (101 + c))
+                .currentCapacity(20).maxCapacity(30).createdAt(CREATED).build();
+            Trainer trainer = Trainer.builder()
+                .id((long) c + 1).firstName(FIRST_NAMES[c]).lastName(LAST_NAMES[c])
+                .email("trainer" + (c + 1) + "@formation.test").specialty(TOPICS[c])
+                .classRoom(classRoom).createdAt(CREATED).build();
+            courses.add(Course.builder()
+                .id((long) c + 1).title(TOPICS[c]).level(LEVELS[c % LEVELS.length]).prerequisites("None")
+                .minCapacity(5).maxCapacity(30).currentCapacity(20)
+                .startDate(LocalDate.of(2024, 10, 1).plusWeeks(c)).endDate(LocalDate.of(2024, 12, 20).plusWeeks(c))
+                .status(CourseStatus.PLANNED).createdAt(CREATED).trainer(trainer).classRoom(classRoom).build());
+        }
+        List<Student> students = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Course course = courses.get(random.nextInt(courses.size()));
+            students.add(Student.builder()
+                .id((long) i + 1)
+                .firstName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)])
+                .lastName(LAST_NAMES[random.nextInt(LAST_NAMES.length)])
+                .email("student" + (i + 1) + "@formation.test")
+                .level(LEVELS[random.nextInt(LEVELS.length)])
+                .registrationDate(CREATED.plusMinutes(i))
+                .course(course)
+                .classRoom(course.getClassRoom())
+                .build());
+        }
+        return new PageImpl<>(students, PageRequest.of(0, size, Sort.by("lastName")), 100_000);
+    }
+}
@@ -0,0 +1,91 @@
+package com.formation.benchmark;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.formation.entity.ClassRoom;
+import com.formation.entity.Course;
+import com.formation.entity.Student;
+import com.formation.entity.Trainer;
+import com.formation.entity.enums.CourseStatus;
+
+/**
+ * Entity save paths through the services, including their uniqueness checks, events and, for courses, the
+ * trainer booking. Every call inserts a new row, so the tables grow by a few thousand rows over a run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SaveBenchmark {
+
+    private static final LocalDate FIRST_BOOKING = LocalDate.of(2100, 1, 1);
+    private static final String[] FIRST_NAMES = { "Emma", "Lucas", "Sofia", "Adam", "Lina", "Yanis", "Chloe", "Hugo" };
+    private static final String[] LAST_NAMES = { "Martin", "Bernard", "Dubois", "Thomas", "Robert", "Richard", "Petit" };
+    private static final String[] LEVELS = { "Beginner", "Intermediate", "Advanced" };
+    private static final String[] SPECIALTIES = { "Java", "Web Development", "Databases", "DevOps", "Cloud" };
+    private static final String[] TOPICS = { "Java Fundamentals", "Spring Boot", "SQL Essentials", "Docker", "React" };
+
+    private long next;
+
+    @Benchmark
+    public Student saveStudent(FormationState state) {
+        long n = next++;
+        return state.studentService.save(Student.builder()
+            .firstName(FIRST_NAMES[(int) (n % FIRST_NAMES.length)])
+            .lastName(LAST_NAMES[(int) (n % LAST_NAMES.length)])
+            .email("bench.student" + n + "@formation.test")
+            .level(LEVELS[(int) (n % LEVELS.length)])
+            .build());
+    }
+
+    @Benchmark
+    public Trainer saveTrainer(FormationState state) {
+        long n = next++;
+        return state.trainerService.save(Trainer.builder()
+            .firstName(FIRST_NAMES[(int) (n % FIRST_NAMES.length)])
+            .lastName(LAST_NAMES[(int) (n % LAST_NAMES.length)])
+            .email("bench.trainer" + n + "@formation.test")
+            .specialty(SPECIALTIES[(int) (n % SPECIALTIES.length)])
+            .build());
+    }
+
+    @Benchmark
+    public ClassRoom saveClassRoom(FormationState state) {
+        long n = next++;
+        return state.classRoomService.save(ClassRoom.builder()
+            .name("Bench room " + n)
+            .roomNumber("BENCH-" + n)
+            .maxCapacity(30)
+            .build());
+    }
+
+    // Each generated trainer in turn, on consecutive days far ahead, so bookings never conflict
+    @Benchmark
+    public Course saveCourse(FormationState state) {
+        long n = next++;
+        LocalDate start = FIRST_BOOKING.plusDays(2 * (n / state.data.getTrainers()));
+        return state.courseService.save(Course.builder()
+            .title(TOPICS[(int) (n % TOPICS.length)] + " bench " + n)
+            .level(LEVELS[(int) (n % LEVELS.length)])
+            .minCapacity(5)
+            .maxCapacity(30)
+            .startDate(start)
+            .endDate(start.plusDays(1))
+            .status(CourseStatus.PLANNED)
+            .trainer(Trainer.builder().id(state.data.getFirstTrainerId() + n % state.data.getTrainers()).build())
+            .build());
+    }
+}
@@ -0,0 +1,90 @@
+package com.formation.load;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latencies, in microseconds up to one minute, and outcomes of the requests sent to one endpoint. A response with
+ * a 4xx or 5xx status or a failed exchange counts as an error, by status code or exception class.
+ */
+final class EndpointStats {
+
+    private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final String endpoint;
+    private final Histogram latency = new ConcurrentHistogram(1, MAX_MICROS, 3);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final ConcurrentMap<String, LongAdder> errorsByKind = new ConcurrentHashMap<>();
+
+    EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    void record(long nanos, int status) {
+        record(nanos, status >= 400 ? Integer.toString(status) : null);
+    }
+
+    void record(long nanos, Throwable failure) {
+        record(nanos, failure.getClass().getSimpleName());
+    }
+
+    private void record(long nanos, String error) {
+        requests.increment();
+        latency.recordValue(Math.max(1, Math.min(MAX_MICROS, TimeUnit.NANOSECONDS.toMicros(nanos))));
+        if (error != null) {
+            errors.increment();
+            errorsByKind.computeIfAbsent(error, e -> new LongAdder()).increment();
+        }
+    }
+
+    String getEndpoint() {
+        return endpoint;
+    }
+
+    long getRequests() {
+        return requests.sum();
+    }
+
+    long getErrors() {
+        return errors.sum();
+    }
+
+    double getErrorRate() {
+        long count = requests.sum();
+        return count == 0 ? 0 : errors.sum() / (double) count;
+    }
+
+    Map<String, Long> getErrorsByKind() {
+        Map<String, Long> counts = new TreeMap<>();
+        errorsByKind.forEach((kind, count) -> counts.put(kind, count.sum()));
+        return counts;
+    }
+
+    double percentileMs(double percentile) {
+        return requests.sum() == 0 ? 0 : latency.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    double meanMs() {
+        return requests.sum() == 0 ? 0 : latency.getMean() / 1000.0;
+    }
+
+    double maxMs() {
+        return requests.sum() == 0 ? 0 : latency.getMaxValue() / 1000.0;
+    }
+
+    void add(EndpointStats other) {
+        latency.add(other.latency);
+        requests.add(other.requests.sum());
+        errors.add(other.errors.sum());
+        other.errorsByKind.forEach((kind, count) ->
+            errorsByKind.computeIfAbsent(kind, e -> new LongAdder()).add(count.sum()));
+    }
+}
@@ -0,0 +1,303 @@
+package com.formation.load;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Puts load on a running instance with the requests of the Postman collection, drawn by weight (see
+ * {@link Scenario}), and prints latency percentiles, throughput and error rates per endpoint.
+ *
+ * <p>Closed model ({@code --concurrency N}, the default with 16): N workers each send a request, wait for the
+ * response and send the next one. Open model ({@code --rate R}): requests start R times per second whatever the
+ * response times; latency counts from the scheduled start, so time spent queued behind a slow server is included.
+ * At most {@code --max-in-flight} requests are outstanding, arrivals beyond that are counted as dropped.
+ *
+ * <p>Requests sent during {@code --warmup} are not recorded. See the README for all options.
+ */
+public final class LoadTest {
+
+    private final Scenario scenario;
+    private final Options options;
+    private final HttpClient client;
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+
+    private LoadTest(Scenario scenario, Options options) {
+        this.scenario = scenario;
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        for (RequestTemplate template : scenario.getTemplates()) {
+            stats.computeIfAbsent(template.getEndpoint(), EndpointStats::new);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        LoadTest test = create(options);
+        test.printScenario();
+        if (options.listOnly) {
+            return;
+        }
+        test.run();
+        test.printReport();
+        if (options.json != null) {
+            test.writeJson(options.json);
+        }
+    }
+
+    static LoadTest create(Options options) throws IOException {
+        PostmanCollection collection = PostmanCollection.read(options.collection);
+        Map<String, String> overrides = new HashMap<>();
+        if (options.baseUrl != null) {
+            overrides.put("baseUrl", options.baseUrl);
+        }
+        return new LoadTest(new Scenario(collection, options.weights, overrides), options);
+    }
+
+    void run() throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup.toNanos();
+        long end = measureFrom + options.duration.toNanos();
+        if (options.rate > 0) {
+            runOpen(start, measureFrom, end);
+        } else {
+            runClosed(measureFrom, end);
+        }
+    }
+
+    private void runClosed(long measureFrom, long end) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(options.concurrency);
+        for (int i = 0; i < options.concurrency; i++) {
+            workers.execute(() -> {
+                while (System.nanoTime() < end && !Thread.currentThread().isInterrupted()) {
+                    RequestTemplate template = scenario.pick();
+                    HttpRequest request = scenario.build(template);
+                    long sent = System.nanoTime();
+                    try {
+                        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        if (sent >= measureFrom) {
+                            stats.get(template.getEndpoint()).record(System.nanoTime() - sent, status);
+                        }
+                    } catch (IOException e) {
+                        if (sent >= measureFrom) {
+                            stats.get(template.getEndpoint()).record(System.nanoTime() - sent, e);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+        }
+        workers.shutdown();
+        awaitTermination(workers);
+    }
+
+    private void runOpen(long start, long measureFrom, long end) throws InterruptedException {
+        long interval = TimeUnit.SECONDS.toNanos(1) / options.rate;
+        AtomicInteger inFlight = new AtomicInteger();
+        // Arrivals keep their schedule: when the loop falls behind, late requests go out at once
+        for (long scheduled = start; scheduled < end; scheduled += interval) {
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measured = scheduled >= measureFrom;
+            if (inFlight.get() >= options.maxInFlight) {
+                if (measured) {
+                    dropped.increment();
+                }
+                continue;
+            }
+            RequestTemplate template = scenario.pick();
+            long intended = scheduled;
+            inFlight.incrementAndGet();
+            client.sendAsync(scenario.build(template), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    inFlight.decrementAndGet();
+                    if (!measured) {
+                        return;
+                    }
+                    long elapsed = System.nanoTime() - intended;
+                    if (failure != null) {
+                        stats.get(template.getEndpoint()).record(elapsed, failure.getCause() != null ? failure.getCause() : failure);
+                    } else {
+                        stats.get(template.getEndpoint()).record(elapsed, response.statusCode());
+                    }
+                });
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void awaitTermination(ExecutorService workers) throws InterruptedException {
+        if (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+            workers.shutdownNow();
+        }
+    }
+
+    void printScenario() {
+        int total = 0;
+        for (int i = 0; i < scenario.getTemplates().size(); i++) {
+            total += scenario.weightOf(i);
+        }
+        System.out.printf("%-32s %-45s %7s%n", "Request", "Endpoint", "Share");
+        for (int i = 0; i < scenario.getTemplates().size(); i++) {
+            RequestTemplate template = scenario.getTemplates().get(i);
+            System.out.printf("%-32s %-45s %6.1f%%%n", template.getName(), template.getEndpoint(),
+                100.0 * scenario.weightOf(i) / total);
+        }
+        System.out.println();
+    }
+
+    void printReport() {
+        double seconds = options.duration.toMillis() / 1000.0;
+        System.out.printf("%s, %s measured after %s warmup%n%n", options.describeModel(),
+            DurationStyle.SIMPLE.print(options.duration, ChronoUnit.SECONDS),
+            DurationStyle.SIMPLE.print(options.warmup, ChronoUnit.SECONDS));
+        System.out.printf("%-45s %9s %8s %7s %9s %9s %9s %9s  %s%n",
+            "Endpoint", "Requests", "Req/s", "Err%", "p50 ms", "p90 ms", "p99 ms", "max ms", "Errors");
+        for (EndpointStats endpoint : rows()) {
+            System.out.printf("%-45s %9d %8.1f %6.2f%% %9.2f %9.2f %9.2f %9.2f  %s%n",
+                endpoint.getEndpoint(), endpoint.getRequests(), endpoint.getRequests() / seconds,
+                endpoint.getErrorRate() * 100, endpoint.percentileMs(50), endpoint.percentileMs(90),
+                endpoint.percentileMs(99), endpoint.maxMs(), endpoint.getErrorsByKind().isEmpty() ? "" : endpoint.getErrorsByKind());
+        }
+        if (options.rate > 0) {
+            System.out.printf("%nDropped arrivals (more than %d in flight): %d%n", options.maxInFlight, dropped.sum());
+        }
+    }
+
+    void writeJson(Path file) throws IOException {
+        double seconds = options.duration.toMillis() / 1000.0;
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        for (EndpointStats endpoint : rows()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", endpoint.getEndpoint());
+            row.put("requests", endpoint.getRequests());
+            row.put("throughput", endpoint.getRequests() / seconds);
+            row.put("errors", endpoint.getErrors());
+            row.put("errorRate", endpoint.getErrorRate());
+            row.put("errorsByKind", endpoint.getErrorsByKind());
+            row.put("meanMs", endpoint.meanMs());
+            row.put("p50Ms", endpoint.percentileMs(50));
+            row.put("p90Ms", endpoint.percentileMs(90));
+            row.put("p99Ms", endpoint.percentileMs(99));
+            row.put("p999Ms", endpoint.percentileMs(99.9));
+            row.put("maxMs", endpoint.maxMs());
+            endpoints.add(row);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("model", options.rate > 0 ? "open" : "closed");
+        result.put(options.rate > 0 ? "rate" : "concurrency", options.rate > 0 ? options.rate : options.concurrency);
+        result.put("durationSeconds", seconds);
+        result.put("dropped", dropped.sum());
+        result.put("endpoints", endpoints);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), result);
+        System.out.println("\nResults written to " + file);
+    }
+
+    // Endpoints by request count, then the total over all of them
+    List<EndpointStats> rows() {
+        List<EndpointStats> rows = new ArrayList<>(stats.values());
+        rows.sort(Collections.reverseOrder((a, b) -> Long.compare(a.getRequests(), b.getRequests())));
+        EndpointStats total = new EndpointStats("TOTAL");
+        rows.forEach(total::add);
+        rows.add(total);
+        return rows;
+    }
+
+    static final class Options {
+        private Path collection = Paths.get("Formation API Collection.postman_collection.json");
+        String baseUrl;
+        private int concurrency = 16;
+        private int rate;
+        private int maxInFlight = 1000;
+        Duration duration = Duration.ofSeconds(60);
+        private Duration warmup = Duration.ofSeconds(10);
+        private final Map<String, Integer> weights = new HashMap<>();
+        Path json;
+        private boolean listOnly;
+
+        static Options parse(String[] args) throws IOException {
+            Options options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                String option = args[i];
+                if (option.equals("--list")) {
+                    options.listOnly = true;
+                    continue;
+                }
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException("Missing value for " + option);
+                }
+                String value = args[++i];
+                switch (option) {
+                    case "--collection":
+                        options.collection = Paths.get(value);
+                        break;
+                    case "--base-url":
+                        options.baseUrl = value;
+                        break;
+                    case "--concurrency":
+                        options.concurrency = Integer.parseInt(value);
+                        break;
+                    case "--rate":
+                        options.rate = Integer.parseInt(value);
+                        break;
+                    case "--max-in-flight":
+                        options.maxInFlight = Integer.parseInt(value);
+                        break;
+                    case "--duration":
+                        options.duration = DurationStyle.detectAndParse(value);
+                        break;
+                    case "--warmup":
+                        options.warmup = DurationStyle.detectAndParse(value);
+                        break;
+                    case "--weight":
+                        Scenario.putWeight(options.weights, value);
+                        break;
+                    case "--scenario":
+                        options.weights.putAll(Scenario.readWeights(Paths.get(value)));
+                        break;
+                    case "--json":
+                        options.json = Paths.get(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + option);
+                }
+            }
+            return options;
+        }
+
+        String describeModel() {
+            return rate > 0 ? "Open model at " + rate + " req/s" : "Closed model with " + concurrency + " workers";
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.formation.load;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reads a Postman v2.1 collection: folders are flattened, each request keeps the name of the folder it was in,
+ * and the collection variables are returned alongside.
+ */
+public final class PostmanCollection {
+
+    private final List<RequestTemplate> requests;
+    private final Map<String, String> variables;
+
+    private PostmanCollection(List<RequestTemplate> requests, Map<String, String> variables) {
+        this.requests = requests;
+        this.variables = variables;
+    }
+
+    public static PostmanCollection read(Path file) throws IOException {
+        JsonNode root = new ObjectMapper().readTree(file.toFile());
+        List<RequestTemplate> requests = new ArrayList<>();
+        collect(root.path("item"), null, requests);
+        Map<String, String> variables = new LinkedHashMap<>();
+        for (JsonNode variable : root.path("variable")) {
+            variables.put(variable.path("key").asText(), variable.path("value").asText());
+        }
+        return new PostmanCollection(Collections.unmodifiableList(requests), variables);
+    }
+
+    public List<RequestTemplate> getRequests() {
+        return requests;
+    }
+
+    public Map<String, String> getVariables() {
+        return variables;
+    }
+
+    private static void collect(JsonNode items, String folder, List<RequestTemplate> requests) {
+        for (JsonNode item : items) {
+            if (item.has("item")) {
+                collect(item.path("item"), item.path("name").asText(), requests);
+                continue;
+            }
+            JsonNode request = item.path("request");
+            JsonNode url = request.path("url");
+            Map<String, String> headers = new LinkedHashMap<>();
+            for (JsonNode header : request.path("header")) {
+                if (!header.path("disabled").asBoolean()) {
+                    headers.put(header.path("key").asText(), header.path("value").asText());
+                }
+            }
+            String body = request.path("body").path("raw").asText(null);
+            requests.add(RequestTemplate.builder()
+                .name(item.path("name").asText())
+                .folder(folder)
+                .method(request.path("method").asText("GET"))
+                .url(url.isTextual() ? url.asText() : url.path("raw").asText())
+                .headers(headers)
+                .body(body == null || body.isEmpty() ? null : body)
+                .build());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.formation.load;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One request of the Postman collection, with its {{variables}} still in place.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequestTemplate {
+    private String name;
+    private String folder;
+    private String method;
+    private String url;
+    private Map<String, String> headers;
+    private String body;
+
+    // Method and path without the query, e.g. "GET /api/students/search"
+    public String getEndpoint() {
+        String path = url.replace("{{baseUrl}}", "");
+        int query = path.indexOf('?');
+        return method + " " + (query < 0 ? path : path.substring(0, query));
+    }
+}
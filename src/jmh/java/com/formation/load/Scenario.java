@@ -0,0 +1,184 @@
+package com.formation.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * The collection requests with a weight each; a request is drawn with probability weight / total. A weight is
+ * looked up by request name ("Search Students"), then folder ("Student Management"), then HTTP method
+ * ("DELETE"), falling back to the defaults: 10 for reads, 1 for creates and 0 for updates and deletes, which
+ * target fixed ids of the collection and would only fail or wipe the fixtures after the first call.
+ *
+ * <p>Before sending, {{variables}} are replaced (collection variables and overrides, plus the Postman dynamic
+ * variables $guid, $timestamp and $randomInt), and the fields the API keeps unique, email and roomNumber, get a
+ * per-request suffix so repeated creates do not all end in 409.
+ */
+public final class Scenario {
+
+    private static final Pattern VARIABLE = Pattern.compile("\\{\\{([^}]+)}}");
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final List<RequestTemplate> templates = new ArrayList<>();
+    private final int[] cumulative;
+    private final Map<String, String> variables;
+    private final ObjectMapper mapper = new ObjectMapper();
+    // Run-specific prefix so suffixes from an earlier run against the same database do not collide
+    private final String run = Long.toString(System.currentTimeMillis() / 1000 % 60_466_176, 36);
+    private final AtomicLong sequence = new AtomicLong();
+
+    public Scenario(PostmanCollection collection, Map<String, Integer> weights, Map<String, String> overrides) {
+        List<Integer> running = new ArrayList<>();
+        int total = 0;
+        for (RequestTemplate template : collection.getRequests()) {
+            int weight = weight(template, weights);
+            if (weight > 0) {
+                total += weight;
+                templates.add(template);
+                running.add(total);
+            }
+        }
+        if (templates.isEmpty()) {
+            throw new IllegalArgumentException("Every request of the collection has weight 0");
+        }
+        cumulative = running.stream().mapToInt(Integer::intValue).toArray();
+        variables = new HashMap<>(collection.getVariables());
+        variables.putAll(overrides);
+    }
+
+    /**
+     * Reads "key = weight" lines, # starts a comment. Keys are request names, folder names or HTTP methods.
+     */
+    public static Map<String, Integer> readWeights(Path file) throws IOException {
+        Map<String, Integer> weights = new HashMap<>();
+        for (String line : Files.readAllLines(file)) {
+            line = line.trim();
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                putWeight(weights, line);
+            }
+        }
+        return weights;
+    }
+
+    public static void putWeight(Map<String, Integer> weights, String spec) {
+        int separator = spec.lastIndexOf('=');
+        if (separator < 1) {
+            throw new IllegalArgumentException("Expected <request, folder or method>=<weight>: " + spec);
+        }
+        weights.put(spec.substring(0, separator).trim(), Integer.parseInt(spec.substring(separator + 1).trim()));
+    }
+
+    public List<RequestTemplate> getTemplates() {
+        return templates;
+    }
+
+    public int weightOf(int index) {
+        return cumulative[index] - (index == 0 ? 0 : cumulative[index - 1]);
+    }
+
+    public RequestTemplate pick() {
+        int draw = ThreadLocalRandom.current().nextInt(cumulative[cumulative.length - 1]);
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] > draw) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return templates.get(low);
+    }
+
+    public HttpRequest build(RequestTemplate template) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(resolve(template.getUrl()))).timeout(TIMEOUT);
+        template.getHeaders().forEach((name, value) -> request.header(name, resolve(value)));
+        String body = template.getBody() == null ? null : unique(resolve(template.getBody()));
+        return request.method(template.getMethod(),
+            body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    private static int weight(RequestTemplate template, Map<String, Integer> weights) {
+        for (String key : new String[] { template.getName(), template.getFolder(), template.getMethod() }) {
+            if (key != null && weights.containsKey(key)) {
+                return weights.get(key);
+            }
+        }
+        switch (template.getMethod()) {
+            case "GET":
+                return 10;
+            case "POST":
+                return 1;
+            default:
+                return 0;
+        }
+    }
+
+    private String resolve(String text) {
+        if (text.indexOf("{{") < 0) {
+            return text;
+        }
+        Matcher matcher = VARIABLE.matcher(text);
+        StringBuffer resolved = new StringBuffer();
+        while (matcher.find()) {
+            matcher.appendReplacement(resolved, Matcher.quoteReplacement(value(matcher.group(1), matcher.group())));
+        }
+        matcher.appendTail(resolved);
+        return resolved.toString();
+    }
+
+    private String value(String name, String unresolved) {
+        switch (name) {
+            case "$guid":
+                return UUID.randomUUID().toString();
+            case "$timestamp":
+                return Long.toString(System.currentTimeMillis() / 1000);
+            case "$randomInt":
+                return Integer.toString(ThreadLocalRandom.current().nextInt(1001));
+            default:
+                return variables.getOrDefault(name, unresolved);
+        }
+    }
+
+    private String unique(String body) {
+        JsonNode json;
+        try {
+            json = mapper.readTree(body);
+        } catch (IOException e) {
+            return body;
+        }
+        if (!(json instanceof ObjectNode) || !(json.has("email") || json.has("roomNumber"))) {
+            return body;
+        }
+        ObjectNode object = (ObjectNode) json;
+        String suffix = run + Long.toString(sequence.incrementAndGet(), 36);
+        String email = object.path("email").asText(null);
+        if (email != null && email.indexOf('@') > 0) {
+            object.put("email", email.substring(0, email.indexOf('@')) + "+" + suffix + email.substring(email.indexOf('@')));
+        }
+        String roomNumber = object.path("roomNumber").asText(null);
+        if (roomNumber != null) {
+            // Room numbers are limited to 20 characters
+            String prefix = roomNumber.substring(0, Math.min(roomNumber.length(), 19 - suffix.length()));
+            object.put("roomNumber", prefix + "-" + suffix);
+        }
+        return object.toString();
+    }
+}
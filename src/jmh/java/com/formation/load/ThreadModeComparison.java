@@ -0,0 +1,172 @@
+package com.formation.load;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the same {@link LoadTest} against the application started twice in a separate JVM, once with Tomcat's
+ * platform thread pool and once with spring.threads.virtual.enabled, and prints both reports followed by a side by
+ * side comparison. Virtual threads need a Java 21+ server JVM ({@code --java /path/to/jdk21/bin/java}); on an older
+ * one the second run falls back to platform threads, which the comparison reports as the effective mode.
+ *
+ * <p>Options other than {@code --java} and {@code --app-arg name=value} (an application property for both runs,
+ * e.g. {@code formation.dataset.students=100000}) are passed to the load test; {@code --base-url} is set to the
+ * started server. Server output goes to target/thread-mode-*.log.
+ */
+public final class ThreadModeComparison {
+
+    private static final String MODE_LINE = "Request execution mode: ";
+
+    private ThreadModeComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        List<String> loadArgs = new ArrayList<>();
+        // Single values per property: Spring joins repeated command line arguments into a list
+        Map<String, String> appProperties = new LinkedHashMap<>();
+        appProperties.put("logging.level.com.formation", "INFO");
+        appProperties.put("formation.dataset.enabled", "true");
+        appProperties.put("formation.dataset.students", "10000");
+        appProperties.put("formation.lifecycle.enabled", "false");
+        appProperties.put("formation.rollup.enabled", "false");
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--java") && i + 1 < args.length) {
+                java = args[++i];
+            } else if (args[i].equals("--app-arg") && i + 1 < args.length) {
+                String[] property = args[++i].split("=", 2);
+                appProperties.put(property[0], property.length > 1 ? property[1] : "");
+            } else {
+                loadArgs.add(args[i]);
+            }
+        }
+
+        Map<String, List<EndpointStats>> results = new LinkedHashMap<>();
+        double seconds = 0;
+        for (boolean virtual : new boolean[] { false, true }) {
+            int port = freePort();
+            Path log = Paths.get("target", "thread-mode-" + (virtual ? "virtual" : "platform") + ".log");
+            Process server = start(java, port, virtual, appProperties, log);
+            try {
+                awaitReady(server, port, log);
+                String mode = effectiveMode(log);
+                System.out.printf("%n=== spring.threads.virtual.enabled=%s (%s) ===%n%n", virtual, mode);
+                List<String> runArgs = new ArrayList<>(loadArgs);
+                runArgs.add("--base-url");
+                runArgs.add("http://localhost:" + port);
+                LoadTest.Options options = LoadTest.Options.parse(runArgs.toArray(new String[0]));
+                LoadTest test = LoadTest.create(options);
+                test.run();
+                test.printReport();
+                results.put(mode + (results.containsKey(mode) ? " (2)" : ""), test.rows());
+                seconds = options.duration.toMillis() / 1000.0;
+            } finally {
+                stop(server);
+            }
+        }
+        printComparison(results, seconds);
+    }
+
+    private static Process start(String java, int port, boolean virtual, Map<String, String> appProperties, Path log)
+            throws IOException {
+        Files.createDirectories(log.getParent());
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add("com.formation.FormationApplication");
+        command.add("--server.port=" + port);
+        command.add("--management.server.port=0");
+        command.add("--spring.threads.virtual.enabled=" + virtual);
+        appProperties.forEach((name, value) -> command.add("--" + name + "=" + value));
+        return new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(log.toFile())
+            .start();
+    }
+
+    private static void awaitReady(Process server, int port, Path log) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            if (!server.isAlive()) {
+                throw new IllegalStateException("Server exited with " + server.exitValue() + ", see " + log);
+            }
+            try {
+                HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + port + "/api-docs").openConnection();
+                connection.setConnectTimeout(1000);
+                if (connection.getResponseCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Server not ready after 5 minutes, see " + log);
+    }
+
+    private static String effectiveMode(Path log) throws IOException {
+        for (String line : Files.readAllLines(log, StandardCharsets.UTF_8)) {
+            int index = line.indexOf(MODE_LINE);
+            if (index >= 0) {
+                return line.substring(index + MODE_LINE.length()).trim();
+            }
+        }
+        return "unknown mode";
+    }
+
+    private static void stop(Process server) throws InterruptedException {
+        server.destroy();
+        if (!server.waitFor(30, TimeUnit.SECONDS)) {
+            server.destroyForcibly().waitFor();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void printComparison(Map<String, List<EndpointStats>> results, double seconds) {
+        List<String> modes = new ArrayList<>(results.keySet());
+        Map<String, EndpointStats[]> byEndpoint = new LinkedHashMap<>();
+        for (int m = 0; m < modes.size(); m++) {
+            for (EndpointStats endpoint : results.get(modes.get(m))) {
+                byEndpoint.computeIfAbsent(endpoint.getEndpoint(), e -> new EndpointStats[modes.size()])[m] = endpoint;
+            }
+        }
+        System.out.printf("%n%-45s", "Endpoint");
+        for (String mode : modes) {
+            System.out.printf(" | %-36s", mode);
+        }
+        System.out.printf("%n%-45s", "");
+        for (int m = 0; m < modes.size(); m++) {
+            System.out.printf(" | %8s %9s %9s %6s", "Req/s", "p50 ms", "p99 ms", "Err%");
+        }
+        System.out.println();
+        byEndpoint.forEach((name, stats) -> {
+            System.out.printf("%-45s", name);
+            for (EndpointStats endpoint : stats) {
+                if (endpoint == null) {
+                    System.out.printf(" | %36s", "-");
+                } else {
+                    System.out.printf(" | %8.1f %9.2f %9.2f %5.2f%%", endpoint.getRequests() / seconds,
+                        endpoint.percentileMs(50), endpoint.percentileMs(99), endpoint.getErrorRate() * 100);
+                }
+            }
+            System.out.println();
+        });
+    }
+}
@@ -0,0 +1,68 @@
+package com.formation.config;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+
+/**
+ * Logback {@link AsyncAppender} that counts the events it does not deliver: events of level INFO
+ * and lower discarded above the discarding threshold, and events dropped because the queue was full
+ * with neverBlock set. The full-queue check is made just before enqueueing, so a drop racing with
+ * another request thread can go uncounted; the figures are a lower bound.
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (isQueueBelowDiscardingThreshold() && isDiscardable(event)) {
+            discarded.increment();
+            return;
+        }
+        if (isNeverBlock() && getRemainingCapacity() == 0) {
+            dropped.increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    public long getDiscarded() {
+        return discarded.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * The counting appenders attached to any logger of the running Logback context.
+     */
+    public static List<CountingAsyncAppender> attached() {
+        Set<CountingAsyncAppender> appenders = new LinkedHashSet<>();
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext) {
+            for (Logger logger : ((LoggerContext) LoggerFactory.getILoggerFactory()).getLoggerList()) {
+                Iterator<Appender<ILoggingEvent>> it = logger.iteratorForAppenders();
+                while (it.hasNext()) {
+                    Appender<ILoggingEvent> appender = it.next();
+                    if (appender instanceof CountingAsyncAppender) {
+                        appenders.add((CountingAsyncAppender) appender);
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(appenders);
+    }
+}
@@ -0,0 +1,38 @@
+package com.formation.config;
+
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.formation.service.CourseLifecycleService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "formation.lifecycle.enabled", havingValue = "true", matchIfMissing = true)
+public class CourseLifecycleScheduler {
+
+    @Autowired
+    private CourseLifecycleService courseLifecycleService;
+
+    // Catches up on whatever changed while the application was down
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        run();
+    }
+
+    @Scheduled(cron = "${formation.lifecycle.cron:0 5 0 * * *}")
+    public void run() {
+        try {
+            courseLifecycleService.advance(LocalDate.now());
+        } catch (RuntimeException e) {
+            log.error("Course lifecycle run failed", e);
+        }
+    }
+}
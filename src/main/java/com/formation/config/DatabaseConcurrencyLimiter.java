@@ -0,0 +1,83 @@
+package com.formation.config;
+
+import java.sql.SQLException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import com.formation.exception.ExceptionCode;
+import com.formation.exception.ServiceUnavailableException;
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Caps the number of API requests doing database work at once so that an
+ * unbounded number of (virtual) request threads queue here instead of
+ * piling up on the connection pool.
+ */
+@Slf4j
+public class DatabaseConcurrencyLimiter implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = DatabaseConcurrencyLimiter.class.getName() + ".PERMIT";
+    private static final int DEFAULT_PERMITS = 10;
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final long acquireTimeoutMillis;
+
+    public DatabaseConcurrencyLimiter(ExecutionProperties properties, ObjectProvider<DataSource> dataSource) {
+        this.maxPermits = properties.getDbPermits() > 0 ? properties.getDbPermits() : poolSize(dataSource.getIfAvailable());
+        this.permits = new Semaphore(maxPermits, true);
+        this.acquireTimeoutMillis = properties.getDbAcquireTimeout().toMillis();
+        log.info("Database concurrency limit: {} permits", maxPermits);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws InterruptedException {
+        // Async re-dispatches of a streaming request keep the permit taken on the first dispatch
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            return true;
+        }
+        if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+            throw new ServiceUnavailableException(ExceptionCode.SERVER_BUSY, acquireTimeoutMillis);
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permits.release();
+        }
+    }
+
+    public int getMaxPermits() {
+        return maxPermits;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        // The DataSource bean may be a proxy around the pool (see SqlInspectionPostProcessor)
+        try {
+            if (dataSource != null && dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            log.warn("Could not read the connection pool size, using {} permits", DEFAULT_PERMITS, e);
+        }
+        return DEFAULT_PERMITS;
+    }
+}
@@ -0,0 +1,64 @@
+package com.formation.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+
+import com.formation.dto.DatasetSummary;
+import com.formation.service.dataset.DatasetGenerator;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fills the database with a synthetic dataset once the schema exists and before the server accepts requests, for
+ * benchmarks and load tests at a chosen scale.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "formation.dataset.enabled", havingValue = "true")
+@EnableConfigurationProperties(DatasetProperties.class)
+public class DatasetLoader implements SmartInitializingSingleton {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private DatasetProperties properties;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            // The pool itself: SQL inspection would time every multi-row insert as a slow statement
+            DataSource target = dataSource.unwrap(DataSource.class);
+            if (properties.isSkipIfPresent() && hasStudents(target)) {
+                log.info("Synthetic dataset skipped, the database already has students");
+                return;
+            }
+            log.info("Generating a synthetic dataset of {} students", properties.getStudents());
+            DatasetSummary summary = new DatasetGenerator(properties).generate(target);
+            log.info("Synthetic dataset loaded in {} ms: {} students ({} enrolled), {} courses, {} classrooms, {} trainers",
+                summary.getElapsedMs(), summary.getStudents(), summary.getEnrolledStudents(), summary.getCourses(),
+                summary.getClassRooms(), summary.getTrainers());
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Synthetic dataset generation failed", e);
+        }
+    }
+
+    private static boolean hasStudents(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet result = statement.executeQuery("SELECT COUNT(*) FROM students")) {
+            return result.next() && result.getLong(1) > 0;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.formation.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "formation.dataset")
+public class DatasetProperties {
+
+    // Generate a synthetic dataset at startup
+    private boolean enabled = false;
+
+    // The scale: courses, classrooms and trainers follow from it through the ratios below
+    private int students = 100_000;
+
+    private int studentsPerCourse = 20;
+
+    private int studentsPerClassRoom = 25;
+
+    // Share of students given a course, as far as course seats allow
+    private double enrolledRatio = 0.7;
+
+    // Same seed, same rows
+    private long seed = 42;
+
+    // Leave a database that already has students untouched, e.g. a persistent one on restart
+    private boolean skipIfPresent = true;
+
+    // Rows per INSERT statement, lowered when the columns would exceed the driver's bind parameter limit
+    private int batchSize = 1000;
+}
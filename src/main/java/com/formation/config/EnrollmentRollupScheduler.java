@@ -0,0 +1,35 @@
+package com.formation.config;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.formation.service.EnrollmentRollupService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "formation.rollup.enabled", havingValue = "true", matchIfMissing = true)
+public class EnrollmentRollupScheduler {
+
+    @Autowired
+    private EnrollmentRollupService enrollmentRollupService;
+
+    @Value("${formation.rollup.gap-retention:PT1H}")
+    private Duration gapRetention;
+
+    @Scheduled(fixedDelayString = "${formation.rollup.interval:PT1M}", initialDelayString = "${formation.rollup.interval:PT1M}")
+    public void run() {
+        try {
+            enrollmentRollupService.rollup(LocalDateTime.now().minus(gapRetention));
+        } catch (RuntimeException e) {
+            log.error("Enrollment rollup run failed", e);
+        }
+    }
+}
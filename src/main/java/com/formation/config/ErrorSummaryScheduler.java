@@ -0,0 +1,21 @@
+package com.formation.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.formation.exception.ErrorStatistics;
+
+@Component
+@ConditionalOnProperty(name = "formation.errors.summary-enabled", havingValue = "true", matchIfMissing = true)
+public class ErrorSummaryScheduler {
+
+    @Autowired
+    private ErrorStatistics errorStatistics;
+
+    @Scheduled(fixedDelayString = "${formation.errors.summary-interval:PT1M}", initialDelayString = "${formation.errors.summary-interval:PT1M}")
+    public void run() {
+        errorStatistics.logSummary();
+    }
+}
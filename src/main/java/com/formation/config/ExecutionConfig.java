@@ -0,0 +1,29 @@
+package com.formation.config;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Request threads come from Spring Boot: spring.threads.virtual.enabled switches Tomcat and scheduling to virtual
+ * threads. Boot only does so on Java 21+, so on the Java 17 runtime the property is reported and ignored. Streamed
+ * exports run on their own bounded pool, see WebConfig. Scheduling is enabled here once for the schedulers in this
+ * package, each switched by its own property.
+ */
+@Slf4j
+@Configuration
+@EnableScheduling
+public class ExecutionConfig {
+
+    public ExecutionConfig(Environment environment) {
+        boolean requested = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (requested && !Threading.VIRTUAL.isActive(environment)) {
+            log.warn("spring.threads.virtual.enabled requires Java 21+, running on Java {}; using platform threads",
+                Runtime.version().feature());
+        }
+        log.info("Request execution mode: {}", Threading.VIRTUAL.isActive(environment) ? "virtual threads" : "platform threads");
+    }
+}
@@ -0,0 +1,20 @@
+package com.formation.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "formation.execution")
+public class ExecutionProperties {
+
+    // Concurrent API requests allowed to hold database work; 0 means "match the connection pool size"
+    private int dbPermits = 0;
+
+    private Duration dbAcquireTimeout = Duration.ofSeconds(2);
+
+    // Streamed exports (search/stream) written at once; more are refused rather than queued holding a permit
+    private int streamThreads = 4;
+}
@@ -0,0 +1,193 @@
+package com.formation.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+/**
+ * JDK proxies around a DataSource and the connections, statements and result sets it hands out, reporting
+ * each statement execution to the {@link SqlInspector}. Queries are reported when their result set (or, failing
+ * that, their statement) is closed, so the row count is the number of rows the caller actually read. Only the
+ * execute and close calls do extra work; everything else is passed straight through.
+ */
+final class InspectingDataSource {
+
+    private InspectingDataSource() {
+    }
+
+    static DataSource wrap(DataSource dataSource, SqlInspector inspector) {
+        return proxy(DataSource.class, new Handler(dataSource) {
+            @Override
+            protected Object intercept(Method method, Object[] args) throws Throwable {
+                Object result = invoke(method, args);
+                return result instanceof Connection ? connection((Connection) result, inspector) : result;
+            }
+        });
+    }
+
+    private static Connection connection(Connection connection, SqlInspector inspector) {
+        return proxy(Connection.class, new Handler(connection) {
+            @Override
+            protected Object intercept(Method method, Object[] args) throws Throwable {
+                Object result = invoke(method, args);
+                if (result instanceof CallableStatement) {
+                    return proxy(CallableStatement.class, new StatementHandler((Statement) result, (String) args[0], inspector));
+                }
+                if (result instanceof PreparedStatement) {
+                    return proxy(PreparedStatement.class, new StatementHandler((Statement) result, (String) args[0], inspector));
+                }
+                if (result instanceof Statement) {
+                    return proxy(Statement.class, new StatementHandler((Statement) result, null, inspector));
+                }
+                return result;
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(InspectingDataSource.class.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+
+    private abstract static class Handler implements InvocationHandler {
+        protected final Object target;
+
+        Handler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "unwrap":
+                    return ((Class<?>) args[0]).isInstance(target) ? target : invoke(method, args);
+                case "isWrapperFor":
+                    return ((Class<?>) args[0]).isInstance(target) || (Boolean) invoke(method, args);
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return intercept(method, args);
+            }
+        }
+
+        protected Object intercept(Method method, Object[] args) throws Throwable {
+            return invoke(method, args);
+        }
+
+        protected Object invoke(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static final class StatementHandler extends Handler {
+        private final SqlInspector inspector;
+        private String sql;
+        private Pending pending;
+
+        StatementHandler(Statement statement, String sql, SqlInspector inspector) {
+            super(statement);
+            this.sql = sql;
+            this.inspector = inspector;
+        }
+
+        @Override
+        protected Object intercept(Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                if (name.equals("close")) {
+                    flush();
+                }
+                return invoke(method, args);
+            }
+            flush();
+            // Plain statements carry their SQL as the first argument
+            if (args != null && args.length > 0 && args[0] instanceof String) {
+                sql = (String) args[0];
+            }
+            long start = System.nanoTime();
+            Object result = null;
+            try {
+                result = invoke(method, args);
+                return result instanceof ResultSet ? resultSet((ResultSet) result, start) : result;
+            } finally {
+                if (!(result instanceof ResultSet)) {
+                    inspector.record(sql, System.nanoTime() - start, rows(result));
+                }
+            }
+        }
+
+        private ResultSet resultSet(ResultSet resultSet, long start) {
+            Pending query = new Pending(sql, System.nanoTime() - start);
+            pending = query;
+            return proxy(ResultSet.class, new Handler(resultSet) {
+                @Override
+                protected Object intercept(Method method, Object[] args) throws Throwable {
+                    Object result = invoke(method, args);
+                    if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                        query.rows++;
+                    } else if (method.getName().equals("close")) {
+                        query.report(inspector);
+                    }
+                    return result;
+                }
+            });
+        }
+
+        private void flush() {
+            if (pending != null) {
+                pending.report(inspector);
+                pending = null;
+            }
+        }
+
+        private static long rows(Object result) {
+            if (result instanceof Number) {
+                return ((Number) result).longValue();
+            }
+            long rows = 0;
+            if (result instanceof int[]) {
+                for (int count : (int[]) result) {
+                    rows += Math.max(count, 0);
+                }
+            } else if (result instanceof long[]) {
+                for (long count : (long[]) result) {
+                    rows += Math.max(count, 0);
+                }
+            }
+            return rows;
+        }
+    }
+
+    private static final class Pending {
+        private final String sql;
+        private final long elapsedNanos;
+        private long rows;
+        private boolean reported;
+
+        Pending(String sql, long elapsedNanos) {
+            this.sql = sql;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        void report(SqlInspector inspector) {
+            if (!reported) {
+                reported = true;
+                inspector.record(sql, elapsedNanos, rows);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.formation.config;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Adds the number of JDBC statements and the database time of an API request as {@code X-Query-Count} and
+ * {@code X-DB-Time} (milliseconds) response headers. The body is buffered until the handler is done so that
+ * statements run while serializing it (lazy loads) are included. Streaming endpoints are left alone.
+ */
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String DB_TIME_HEADER = "X-DB-Time";
+
+    private final SqlInspector sqlInspector;
+
+    public QueryCountFilter(SqlInspector sqlInspector) {
+        this.sqlInspector = sqlInspector;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !path.startsWith(request.getContextPath() + "/api/") || path.endsWith("/stream");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, buffered);
+            SqlInspector.RequestLog requestLog = sqlInspector.requestLog(request);
+            if (requestLog != null) {
+                buffered.setHeader(QUERY_COUNT_HEADER, String.valueOf(requestLog.getStatements()));
+                buffered.setHeader(DB_TIME_HEADER,
+                    String.format(Locale.ROOT, "%.2f", requestLog.getElapsedNanos() / 1_000_000.0));
+            }
+        } finally {
+            buffered.copyBodyToResponse();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.formation.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Routes the application's DataSource through {@link InspectingDataSource} so that every statement reaches
+ * the {@link SqlInspector}. Callers needing the pool itself can still {@code unwrap} it.
+ */
+@Component
+@ConditionalOnProperty(name = "formation.sql.inspection-enabled", havingValue = "true", matchIfMissing = true)
+public class SqlInspectionPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SqlInspector> inspector;
+
+    public SqlInspectionPostProcessor(ObjectProvider<SqlInspector> inspector) {
+        this.inspector = inspector;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource) {
+            return InspectingDataSource.wrap((DataSource) bean, inspector.getObject());
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,20 @@
+package com.formation.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "formation.sql")
+public class SqlInspectionProperties {
+
+    // Wraps the DataSource so every JDBC statement is timed and its rows counted
+    private boolean inspectionEnabled = true;
+
+    private Duration slowThreshold = Duration.ofMillis(100);
+
+    // Executions of one statement shape within a request from which it is reported as a possible N+1
+    private int repeatThreshold = 5;
+}
@@ -0,0 +1,317 @@
+package com.formation.config;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.formation.dto.SqlDiagnostics;
+import com.formation.dto.SqlEndpointStats;
+import com.formation.dto.SqlRepeatedStatement;
+import com.formation.dto.SqlSlowStatement;
+import com.formation.dto.SqlStatementStats;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Receives every JDBC statement from the inspected DataSource with its latency and row count. Statements
+ * are grouped by shape (literals and IN lists collapsed) and, while an API request is running on the thread,
+ * by endpoint. A shape executed repeatThreshold times or more within one request is reported as a possible
+ * N+1. Statements run outside a request (scheduled jobs, streaming threads) are only counted per shape.
+ */
+@Slf4j
+public class SqlInspector implements AsyncHandlerInterceptor {
+
+    private static final String LOG_ATTRIBUTE = SqlInspector.class.getName() + ".LOG";
+    private static final int MAX_SHAPES = 500;
+    private static final int MAX_RECENT = 20;
+    private static final int TOP_STATEMENTS = 25;
+    private static final String OTHER_SHAPE = "(other statements)";
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\?(?:\\s*,\\s*\\?)+");
+
+    private final long slowThresholdNanos;
+    private final int repeatThreshold;
+    private final LocalDateTime since = LocalDateTime.now();
+    private final ThreadLocal<RequestLog> current = new ThreadLocal<>();
+    private final ConcurrentMap<String, String> shapes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, StatementTally> statements = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, EndpointTally> endpoints = new ConcurrentHashMap<>();
+    private final LongAdder unattributed = new LongAdder();
+    private final Deque<SqlSlowStatement> recentSlow = new ArrayDeque<>();
+    private final Deque<SqlRepeatedStatement> recentRepeated = new ArrayDeque<>();
+
+    public SqlInspector(SqlInspectionProperties properties) {
+        this.slowThresholdNanos = properties.getSlowThreshold().toNanos();
+        this.repeatThreshold = properties.getRepeatThreshold();
+    }
+
+    /**
+     * Called by the inspected DataSource after each statement execution.
+     */
+    public void record(String sql, long elapsedNanos, long rows) {
+        String shape = shape(sql);
+        StatementTally tally = statements.get(shape);
+        if (tally == null) {
+            tally = statements.size() < MAX_SHAPES
+                ? statements.computeIfAbsent(shape, s -> new StatementTally())
+                : statements.computeIfAbsent(OTHER_SHAPE, s -> new StatementTally());
+        }
+        tally.add(elapsedNanos, rows);
+
+        RequestLog requestLog = current.get();
+        if (requestLog != null) {
+            requestLog.add(shape, elapsedNanos);
+        } else {
+            unattributed.increment();
+        }
+        if (elapsedNanos >= slowThresholdNanos) {
+            tally.slow.increment();
+            String endpoint = requestLog != null ? requestLog.endpoint : null;
+            log.warn("Slow SQL ({} ms, {} rows) on {}: {}", millis(elapsedNanos), rows, endpoint, shape);
+            remember(recentSlow, SqlSlowStatement.builder()
+                .at(LocalDateTime.now())
+                .endpoint(endpoint)
+                .sql(shape)
+                .elapsedMs(millis(elapsedNanos))
+                .rows(rows)
+                .build());
+        } else if (log.isDebugEnabled()) {
+            log.debug("SQL ({} ms, {} rows): {}", millis(elapsedNanos), rows, shape);
+        }
+    }
+
+    /**
+     * The statements executed so far by the API request running on this thread, or null outside a request.
+     */
+    public RequestLog currentRequest() {
+        return current.get();
+    }
+
+    /**
+     * The statements of the given request, or null if it was not an API request.
+     */
+    public RequestLog requestLog(HttpServletRequest request) {
+        return (RequestLog) request.getAttribute(LOG_ATTRIBUTE);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Async re-dispatches continue the log started on the first dispatch
+        RequestLog requestLog = (RequestLog) request.getAttribute(LOG_ATTRIBUTE);
+        if (requestLog == null) {
+            requestLog = new RequestLog(request.getMethod() + " " + pattern(request));
+            request.setAttribute(LOG_ATTRIBUTE, requestLog);
+        }
+        current.set(requestLog);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        current.remove();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        current.remove();
+        RequestLog requestLog = (RequestLog) request.getAttribute(LOG_ATTRIBUTE);
+        if (requestLog == null) {
+            return;
+        }
+        boolean repeated = false;
+        for (Map.Entry<String, Integer> entry : requestLog.executions.entrySet()) {
+            if (entry.getValue() >= repeatThreshold) {
+                repeated = true;
+                log.warn("Possible N+1 on {}: statement executed {} times: {}",
+                    requestLog.endpoint, entry.getValue(), entry.getKey());
+                remember(recentRepeated, SqlRepeatedStatement.builder()
+                    .at(LocalDateTime.now())
+                    .endpoint(requestLog.endpoint)
+                    .sql(entry.getKey())
+                    .executions(entry.getValue())
+                    .build());
+            }
+        }
+        endpoints.computeIfAbsent(requestLog.endpoint, e -> new EndpointTally()).add(requestLog, repeated);
+    }
+
+    public SqlDiagnostics report() {
+        List<SqlEndpointStats> endpointStats = endpoints.entrySet().stream()
+            .map(entry -> entry.getValue().stats(entry.getKey()))
+            .sorted(Comparator.comparingLong(SqlEndpointStats::getStatements).reversed())
+            .collect(Collectors.toList());
+        List<SqlStatementStats> statementStats = statements.entrySet().stream()
+            .map(entry -> entry.getValue().stats(entry.getKey()))
+            .sorted(Comparator.comparingDouble(SqlStatementStats::getTotalMs).reversed())
+            .limit(TOP_STATEMENTS)
+            .collect(Collectors.toList());
+        return SqlDiagnostics.builder()
+            .since(since)
+            .statements(statements.values().stream().mapToLong(tally -> tally.executions.sum()).sum())
+            .unattributedStatements(unattributed.sum())
+            .endpoints(endpointStats)
+            .topStatements(statementStats)
+            .recentSlowStatements(snapshot(recentSlow))
+            .recentRepeatedStatements(snapshot(recentRepeated))
+            .build();
+    }
+
+    String shape(String sql) {
+        if (sql == null) {
+            return "(batch)";
+        }
+        String shape = shapes.get(sql);
+        if (shape == null) {
+            shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+            shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+            shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+            shape = PARAMETER_LIST.matcher(shape).replaceAll("?, ...");
+            // Statement texts are bounded in practice; the cap only guards against generated SQL with literals
+            if (shapes.size() < MAX_SHAPES * 4) {
+                shapes.put(sql, shape);
+            }
+        }
+        return shape;
+    }
+
+    private static String pattern(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "(unmapped)";
+    }
+
+    private static <T> void remember(Deque<T> recent, T item) {
+        synchronized (recent) {
+            if (recent.size() == MAX_RECENT) {
+                recent.removeFirst();
+            }
+            recent.addLast(item);
+        }
+    }
+
+    private static <T> List<T> snapshot(Deque<T> recent) {
+        synchronized (recent) {
+            List<T> items = new ArrayList<>(recent);
+            Collections.reverse(items);
+            return items;
+        }
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    /**
+     * Statements of one API request. Only touched by the thread currently dispatching the request.
+     */
+    public static final class RequestLog {
+        private final String endpoint;
+        private final Map<String, Integer> executions = new HashMap<>();
+        private int statements;
+        private long elapsedNanos;
+
+        RequestLog(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        void add(String shape, long nanos) {
+            statements++;
+            elapsedNanos += nanos;
+            executions.merge(shape, 1, Integer::sum);
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public int getStatements() {
+            return statements;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+    }
+
+    private static final class StatementTally {
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder slow = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void add(long elapsedNanos, long rowCount) {
+            executions.increment();
+            nanos.add(elapsedNanos);
+            if (rowCount > 0) {
+                rows.add(rowCount);
+            }
+            maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+        }
+
+        SqlStatementStats stats(String sql) {
+            long count = executions.sum();
+            long total = nanos.sum();
+            return SqlStatementStats.builder()
+                .sql(sql)
+                .executions(count)
+                .totalMs(millis(total))
+                .avgMs(count == 0 ? 0 : millis(total / count))
+                .maxMs(millis(maxNanos.get()))
+                .rows(rows.sum())
+                .slow(slow.sum())
+                .build();
+        }
+    }
+
+    private static final class EndpointTally {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder repeatedRequests = new LongAdder();
+        private final AtomicLong maxStatements = new AtomicLong();
+
+        void add(RequestLog requestLog, boolean repeated) {
+            requests.increment();
+            statements.add(requestLog.statements);
+            nanos.add(requestLog.elapsedNanos);
+            if (repeated) {
+                repeatedRequests.increment();
+            }
+            maxStatements.accumulateAndGet(requestLog.statements, Math::max);
+        }
+
+        SqlEndpointStats stats(String endpoint) {
+            long count = requests.sum();
+            long total = statements.sum();
+            return SqlEndpointStats.builder()
+                .endpoint(endpoint)
+                .requests(count)
+                .statements(total)
+                .statementsPerRequest(count == 0 ? 0 : Math.round(total * 100.0 / count) / 100.0)
+                .maxStatements(maxStatements.get())
+                .dbTimeMs(millis(nanos.sum()))
+                .repeatedStatementRequests(repeatedRequests.sum())
+                .build();
+        }
+    }
+}
@@ -30,7 +30,11 @@ public class SwaggerConfig {
             new Tag().name("Course Management").description("APIs for managing courses"),
             new Tag().name("Student Management").description("APIs for managing students"),
             new Tag().name("Trainer Management").description("APIs for managing trainers"),
-            new Tag().name("Classroom Management").description("APIs for managing classrooms")
+            new Tag().name("Classroom Management").description("APIs for managing classrooms"),
+            new Tag().name("Enrollment Management").description("APIs for enrolling students into courses and classrooms"),
+            new Tag().name("Scheduling").description("APIs for planning rooms and trainers of a term"),
+            new Tag().name("Analytics").description("APIs for aggregated reporting"),
+            new Tag().name("Diagnostics").description("APIs for error, logging and SQL diagnostics")
         );
     }
 
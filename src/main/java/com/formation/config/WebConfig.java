@@ -0,0 +1,94 @@
+package com.formation.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.formation.exception.ErrorStatistics;
+
+@Configuration
+@EnableConfigurationProperties({ ExecutionProperties.class, SqlInspectionProperties.class })
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ExecutionProperties executionProperties;
+    private final SqlInspectionProperties sqlInspectionProperties;
+    private final ObjectProvider<DataSource> dataSource;
+
+    public WebConfig(ExecutionProperties executionProperties, SqlInspectionProperties sqlInspectionProperties,
+            ObjectProvider<DataSource> dataSource) {
+        this.executionProperties = executionProperties;
+        this.sqlInspectionProperties = sqlInspectionProperties;
+        this.dataSource = dataSource;
+    }
+
+    @Bean
+    public DatabaseConcurrencyLimiter databaseConcurrencyLimiter() {
+        return new DatabaseConcurrencyLimiter(executionProperties, dataSource);
+    }
+
+    @Bean
+    public SqlInspector sqlInspector() {
+        return new SqlInspector(sqlInspectionProperties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "formation.sql.query-headers", havingValue = "true")
+    public QueryCountFilter queryCountFilter() {
+        return new QueryCountFilter(sqlInspector());
+    }
+
+    @Bean
+    public ErrorStatistics errorStatistics(@Value("${formation.errors.log-limit:5}") int logLimit,
+            @Value("${formation.errors.log-window:PT1M}") Duration logWindow) {
+        return new ErrorStatistics(logLimit, logWindow);
+    }
+
+    /**
+     * Smile encoding for clients sending {@code Accept: application/x-jackson-smile}, built from the
+     * application's Jackson settings so both encodings carry the same fields and date formats. JSON stays
+     * the default when no Accept header is sent.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    /**
+     * Writes the bodies of the streamed exports. A stream keeps its database permit and connection until it ends,
+     * so only stream-threads run at once and the next ones are refused with 503 instead of waiting in a queue.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor streamTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("formation-stream-");
+        executor.setCorePoolSize(executionProperties.getStreamThreads());
+        executor.setMaxPoolSize(executionProperties.getStreamThreads());
+        executor.setQueueCapacity(0);
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamTaskExecutor());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(sqlInspector()).addPathPatterns("/api/**");
+        registry.addInterceptor(databaseConcurrencyLimiter()).addPathPatterns("/api/**");
+    }
+}
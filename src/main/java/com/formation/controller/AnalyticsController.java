@@ -0,0 +1,82 @@
+package com.formation.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.formation.dto.DashboardSummary;
+import com.formation.dto.EnrollmentTrendPoint;
+import com.formation.dto.OccupancyReport;
+import com.formation.entity.enums.RollupGranularity;
+import com.formation.exception.ExceptionCode;
+import com.formation.exception.ValidationException;
+import com.formation.service.AnalyticsService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/analytics")
+@Tag(name = "Analytics", description = "APIs for aggregated reporting")
+@CrossOrigin(origins = "*", methods = {RequestMethod.GET, RequestMethod.OPTIONS})
+public class AnalyticsController {
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Operation(summary = "Get occupancy rate, free seats and students per level and per course status")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Occupancy figures computed",
+            content = @Content(schema = @Schema(implementation = OccupancyReport.class)))
+    })
+    @GetMapping("/occupancy")
+    public ResponseEntity<OccupancyReport> getOccupancy() {
+        return ResponseEntity.ok(analyticsService.occupancy());
+    }
+
+    @Operation(summary = "Get the dashboard headline counts in one call, cached until the next write or TTL")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Dashboard summary retrieved",
+            content = @Content(schema = @Schema(implementation = DashboardSummary.class)))
+    })
+    @GetMapping("/dashboard")
+    public ResponseEntity<DashboardSummary> getDashboard() {
+        return ResponseEntity.ok(analyticsService.dashboard());
+    }
+
+    @Operation(summary = "Get enrollment trends per hour or day from the precomputed rollups")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Trend points retrieved"),
+        @ApiResponse(responseCode = "204", description = "No enrollment activity in the range"),
+        @ApiResponse(responseCode = "400", description = "Invalid date range")
+    })
+    @GetMapping("/enrollments/trends")
+    public ResponseEntity<List<EnrollmentTrendPoint>> getEnrollmentTrends(
+            @Parameter(description = "Course ID, all courses when omitted")
+            @RequestParam(required = false) Long courseId,
+            @Parameter(description = "Bucket size")
+            @RequestParam(defaultValue = "DAY") RollupGranularity granularity,
+            @Parameter(description = "Start date (YYYY-MM-DD)", required = true)
+            @RequestParam LocalDate startDate,
+            @Parameter(description = "End date (YYYY-MM-DD), inclusive", required = true)
+            @RequestParam LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new ValidationException(ExceptionCode.INVALID_DATE_RANGE);
+        }
+        List<EnrollmentTrendPoint> points = analyticsService.enrollmentTrends(courseId, granularity, startDate, endDate);
+        return points.isEmpty() ? ResponseEntity.noContent().build() : ResponseEntity.ok(points);
+    }
+}
@@ -1,7 +1,8 @@
 package com.formation.controller;
 
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
@@ -18,12 +19,11 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.formation.dto.PageResponse;
 import com.formation.entity.ClassRoom;
-import com.formation.exception.DuplicateResourceException;
 import com.formation.exception.ExceptionCode;
-import com.formation.exception.ResourceInUseException;
-import com.formation.exception.ResourceNotFoundException;
 import com.formation.exception.ValidationException;
+import com.formation.repository.ClassRoomSpecifications;
 import com.formation.service.ClassRoomService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -61,12 +61,7 @@ public class ClassRoomController {
         if (classRoom == null) {
             throw new ValidationException(ExceptionCode.NULL_REQUEST);
         }
-        try {
-            return new ResponseEntity<>(classRoomService.save(classRoom), HttpStatus.CREATED);
-        } catch (Exception e) {
-            throw new DuplicateResourceException(ExceptionCode.CLASSROOM_NUMBER_EXISTS, 
-                classRoom.getRoomNumber());
-        }
+        return new ResponseEntity<>(classRoomService.save(classRoom), HttpStatus.CREATED);
     }
 
     @Operation(summary = "Get a classroom by its ID")
@@ -75,13 +70,14 @@ public class ClassRoomController {
         @ApiResponse(responseCode = "404", description = "Classroom not found")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<ClassRoom> getClassRoomById(
-            @Parameter(description = "ID of the classroom") @PathVariable Long id) {
-        try {
-            return ResponseEntity.ok(classRoomService.findById(id));
-        } catch (Exception e) {
-            throw new ResourceNotFoundException(ExceptionCode.CLASSROOM_NOT_FOUND, id);
+    public ResponseEntity<?> getClassRoomById(
+            @Parameter(description = "ID of the classroom") @PathVariable Long id,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,roomNumber; the whole classroom when omitted")
+            @RequestParam(required = false) List<String> fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(classRoomService.findFieldsById(id, fields));
         }
+        return ResponseEntity.ok(classRoomService.findById(id));
     }
 
     @Operation(summary = "Get all classrooms with pagination")
@@ -91,13 +87,14 @@ public class ClassRoomController {
         @ApiResponse(responseCode = "400", description = "Invalid pagination parameters")
     })
     @GetMapping
-    public ResponseEntity<Page<ClassRoom>> getAllClassRooms(
+    public ResponseEntity<PageResponse<?>> getAllClassRooms(
+            @Parameter(description = "Comma-separated fields to return, e.g. id,roomNumber; whole classrooms when omitted")
+            @RequestParam(required = false) List<String> fields,
             @Parameter(description = "Pagination parameters") 
             @PageableDefault(size = 10, sort = "id") Pageable pageable) {
-        Page<ClassRoom> classrooms = classRoomService.findAll(pageable);
-        return classrooms.hasContent() 
-            ? ResponseEntity.ok(classrooms)
-            : ResponseEntity.noContent().build();
+        return PageResponses.of(fields,
+            () -> classRoomService.findFields(null, fields, pageable),
+            () -> classRoomService.findAll(pageable));
     }
 
     @Operation(summary = "Update a classroom")
@@ -113,16 +110,8 @@ public class ClassRoomController {
         if (classRoom == null) {
             throw new ValidationException(ExceptionCode.NULL_REQUEST);
         }
-        try {
-            classRoom.setId(id);
-            return ResponseEntity.ok(classRoomService.update(classRoom));
-        } catch (Exception e) {
-            if (e.getMessage().contains("not found")) {
-                throw new ResourceNotFoundException(ExceptionCode.CLASSROOM_NOT_FOUND, id);
-            }
-            throw new DuplicateResourceException(ExceptionCode.CLASSROOM_NUMBER_EXISTS, 
-                classRoom.getRoomNumber());
-        }
+        classRoom.setId(id);
+        return ResponseEntity.ok(classRoomService.update(classRoom));
     }
 
     @Operation(summary = "Delete a classroom")
@@ -134,17 +123,8 @@ public class ClassRoomController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteClassRoom(
             @Parameter(description = "ID of the classroom to delete") @PathVariable Long id) {
-        try {
-            classRoomService.delete(id);
-            return ResponseEntity.noContent().build();
-        } catch (Exception e) {
-            if (e.getMessage().contains("enrolled students")) {
-                throw new ResourceInUseException(ExceptionCode.CLASSROOM_WITH_STUDENTS);
-            } else if (e.getMessage().contains("assigned trainers")) {
-                throw new ResourceInUseException(ExceptionCode.CLASSROOM_WITH_TRAINERS);
-            }
-            throw new ResourceNotFoundException(ExceptionCode.CLASSROOM_NOT_FOUND, id);
-        }
+        classRoomService.delete(id);
+        return ResponseEntity.noContent().build();
     }
 
     @Operation(summary = "Search classrooms by keyword")
@@ -153,16 +133,19 @@ public class ClassRoomController {
         @ApiResponse(responseCode = "400", description = "Invalid search parameters")
     })
     @GetMapping("/search")
-    public ResponseEntity<Page<ClassRoom>> searchClassRooms(
+    public ResponseEntity<PageResponse<?>> searchClassRooms(
             @Parameter(description = "Search keyword") 
             @RequestParam(required = true) @NotBlank String keyword,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,roomNumber; whole classrooms when omitted")
+            @RequestParam(required = false) List<String> fields,
             @Parameter(description = "Pagination parameters") 
             @PageableDefault(size = 10, sort = "id") Pageable pageable) {
         if (keyword.trim().length() < 2) {
             throw new ValidationException(ExceptionCode.INVALID_SEARCH, 2);
         }
-        Page<ClassRoom> results = classRoomService.search(keyword, pageable);
-        return results.hasContent() ? ResponseEntity.ok(results) : ResponseEntity.noContent().build();
+        return PageResponses.of(fields,
+            () -> classRoomService.findFields(ClassRoomSpecifications.search(keyword), fields, pageable),
+            () -> classRoomService.search(keyword, pageable));
     }
 
     @Operation(summary = "Get available rooms by capacity")
@@ -171,16 +154,19 @@ public class ClassRoomController {
         @ApiResponse(responseCode = "400", description = "Invalid capacity parameter")
     })
     @GetMapping("/available")
-    public ResponseEntity<Page<ClassRoom>> getAvailableRooms(
+    public ResponseEntity<PageResponse<?>> getAvailableRooms(
             @Parameter(description = "Required capacity") 
             @RequestParam @Min(value = 1, message = "Capacity must be at least 1") int capacity,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,roomNumber; whole classrooms when omitted")
+            @RequestParam(required = false) List<String> fields,
             @Parameter(description = "Pagination parameters") 
             @PageableDefault(size = 10, sort = "currentCapacity") Pageable pageable) {
         if (capacity < 1) {
             throw new ValidationException(ExceptionCode.INVALID_CAPACITY, 1, Integer.MAX_VALUE);
         }
-        Page<ClassRoom> rooms = classRoomService.findAvailableRooms(capacity, pageable);
-        return rooms.hasContent() ? ResponseEntity.ok(rooms) : ResponseEntity.noContent().build();
+        return PageResponses.of(fields,
+            () -> classRoomService.findFields(ClassRoomSpecifications.seatingFewerThan(capacity), fields, pageable),
+            () -> classRoomService.findAvailableRooms(capacity, pageable));
     }
 
     @Operation(summary = "Get empty classrooms")
@@ -190,14 +176,13 @@ public class ClassRoomController {
         @ApiResponse(responseCode = "400", description = "Invalid pagination parameters")
     })
     @GetMapping("/empty")
-    public ResponseEntity<Page<ClassRoom>> getEmptyRooms(
+    public ResponseEntity<PageResponse<?>> getEmptyRooms(
+            @Parameter(description = "Comma-separated fields to return, e.g. id,roomNumber; whole classrooms when omitted")
+            @RequestParam(required = false) List<String> fields,
             @Parameter(description = "Pagination parameters") Pageable pageable) {
-        try {
-            Page<ClassRoom> rooms = classRoomService.findEmptyRooms(pageable);
-            return rooms.hasContent() ? ResponseEntity.ok(rooms) : ResponseEntity.noContent().build();
-        } catch (Exception e) {
-            throw new ValidationException(ExceptionCode.INVALID_ROOM_NUMBER, "Invalid pagination parameters");
-        }
+        return PageResponses.of(fields,
+            () -> classRoomService.findFields(ClassRoomSpecifications.empty(), fields, pageable),
+            () -> classRoomService.findEmptyRooms(pageable));
     }
 
     @Operation(summary = "Get classrooms without trainers")
@@ -207,13 +192,12 @@ public class ClassRoomController {
         @ApiResponse(responseCode = "400", description = "Invalid pagination parameters")
     })
     @GetMapping("/without-trainers")
-    public ResponseEntity<Page<ClassRoom>> getRoomsWithoutTrainers(
+    public ResponseEntity<PageResponse<?>> getRoomsWithoutTrainers(
+            @Parameter(description = "Comma-separated fields to return, e.g. id,roomNumber; whole classrooms when omitted")
+            @RequestParam(required = false) List<String> fields,
             @Parameter(description = "Pagination parameters") Pageable pageable) {
-        try {
-            Page<ClassRoom> rooms = classRoomService.findRoomsWithoutTrainers(pageable);
-            return rooms.hasContent() ? ResponseEntity.ok(rooms) : ResponseEntity.noContent().build();
-        } catch (Exception e) {
-            throw new ValidationException(ExceptionCode.INVALID_ROOM_NUMBER, "Invalid pagination parameters");
-        }
+        return PageResponses.of(fields,
+            () -> classRoomService.findFields(ClassRoomSpecifications.withoutTrainers(), fields, pageable),
+            () -> classRoomService.findRoomsWithoutTrainers(pageable));
     }
 }
@@ -1,13 +1,15 @@
 package com.formation.controller;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,18 +18,21 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.formation.dto.PageResponse;
 import com.formation.entity.Course;
-import com.formation.exception.DuplicateResourceException;
 import com.formation.exception.ExceptionCode;
-import com.formation.exception.ResourceInUseException;
-import com.formation.exception.ResourceNotFoundException;
 import com.formation.exception.ValidationException;
+import com.formation.repository.CourseSpecifications;
 import com.formation.service.CourseService;
+import com.formation.utils.ResultStreamWriter;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -50,13 +55,15 @@ public class CourseController {
 
     @Autowired
     private CourseService courseService;
+    @Autowired
+    private ObjectMapper objectMapper;
 
     @Operation(summary = "Create a new training course")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Course created successfully",
             content = @Content(schema = @Schema(implementation = Course.class))),
         @ApiResponse(responseCode = "400", description = "Invalid course data or validation failed"),
-        @ApiResponse(responseCode = "409", description = "Course with same title already exists")
+        @ApiResponse(responseCode = "409", description = "Course with same title already exists or trainer already booked")
     })
     @PostMapping
     public ResponseEntity<Course> createCourse(
@@ -65,11 +72,7 @@ public class CourseController {
         if (course == null) {
             throw new ValidationException(ExceptionCode.NULL_REQUEST);
         }
-        try {
-            return new ResponseEntity<>(courseService.save(course), HttpStatus.CREATED);
-        } catch (Exception e) {
-            throw new DuplicateResourceException(ExceptionCode.COURSE_TITLE_EXISTS, course.getTitle());
-        }
+        return new ResponseEntity<>(courseService.save(course), HttpStatus.CREATED);
     }
 
     @Operation(summary = "Get course details by ID")
@@ -78,14 +81,15 @@ public class CourseController {
         @ApiResponse(responseCode = "404", description = "Course not found")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<Course> getCourseById(
+    public ResponseEntity<?> getCourseById(
             @Parameter(description = "Course ID") 
-            @PathVariable @Min(value = 1, message = "ID must be positive") Long id) {
-        try {
-            return ResponseEntity.ok(courseService.findById(id));
-        } catch (Exception e) {
-            throw new ResourceNotFoundException(ExceptionCode.COURSE_NOT_FOUND, id);
+            @PathVariable @Min(value = 1, message = "ID must be positive") Long id,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,title; the whole course when omitted")
+            @RequestParam(required = false) List<String> fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(courseService.findFieldsById(id, fields));
         }
+        return ResponseEntity.ok(courseService.findById(id));
     }
 
     @Operation(summary = "Get all courses with pagination")
@@ -94,21 +98,23 @@ public class CourseController {
         @ApiResponse(responseCode = "204", description = "No courses found")
     })
     @GetMapping
-    public ResponseEntity<Page<Course>> getAllCourses(
+    public ResponseEntity<PageResponse<?>> getAllCourses(
+            @Parameter(description = "Comma-separated fields to return, e.g. id,title; whole courses when omitted")
+            @RequestParam(required = false) List<String> fields,
             @Parameter(description = "Pagination parameters") 
             @PageableDefault(size = 10, sort = "startDate", direction = Sort.Direction.DESC) 
             Pageable pageable) {
-        Page<Course> courses = courseService.findAll(pageable);
-        return courses.hasContent() 
-            ? ResponseEntity.ok(courses)
-            : ResponseEntity.noContent().build();
+        return PageResponses.of(fields,
+            () -> courseService.findFields(null, fields, pageable),
+            () -> courseService.findAll(pageable));
     }
 
     @Operation(summary = "Update course details")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Course updated"),
         @ApiResponse(responseCode = "404", description = "Course not found"),
-        @ApiResponse(responseCode = "400", description = "Invalid course data")
+        @ApiResponse(responseCode = "400", description = "Invalid course data"),
+        @ApiResponse(responseCode = "409", description = "Trainer already teaches an overlapping course")
     })
     @PutMapping("/{id}")
     public ResponseEntity<Course> updateCourse(
@@ -119,15 +125,8 @@ public class CourseController {
         if (course == null) {
             throw new ValidationException(ExceptionCode.NULL_REQUEST);
         }
-        try {
-            course.setId(id);
-            return ResponseEntity.ok(courseService.update(course));
-        } catch (Exception e) {
-            if (e.getMessage().contains("not found")) {
-                throw new ResourceNotFoundException(ExceptionCode.COURSE_NOT_FOUND, id);
-            }
-            throw new DuplicateResourceException(ExceptionCode.COURSE_TITLE_EXISTS, course.getTitle());
-        }
+        course.setId(id);
+        return ResponseEntity.ok(courseService.update(course));
     }
 
     @Operation(summary = "Delete a course")
@@ -140,17 +139,8 @@ public class CourseController {
     public ResponseEntity<Void> deleteCourse(
             @Parameter(description = "Course ID") 
             @PathVariable @Min(value = 1, message = "ID must be positive") Long id) {
-        try {
-            courseService.delete(id);
-            return ResponseEntity.noContent().build();
-        } catch (Exception e) {
-            if (e.getMessage().contains("in progress")) {
-                throw new ResourceInUseException(ExceptionCode.COURSE_IN_PROGRESS);
-            } else if (e.getMessage().contains("enrolled students")) {
-                throw new ResourceInUseException(ExceptionCode.COURSE_WITH_STUDENTS);
-            }
-            throw new ResourceNotFoundException(ExceptionCode.COURSE_NOT_FOUND, id);
-        }
+        courseService.delete(id);
+        return ResponseEntity.noContent().build();
     }
 
     @Operation(summary = "Get courses by date range")
@@ -160,18 +150,21 @@ public class CourseController {
         @ApiResponse(responseCode = "400", description = "Invalid date range")
     })
     @GetMapping("/date-range")
-    public ResponseEntity<Page<Course>> getCoursesByDateRange(
+    public ResponseEntity<PageResponse<?>> getCoursesByDateRange(
             @Parameter(description = "Start date (YYYY-MM-DD)", required = true) 
             @RequestParam @NotNull(message = "Start date is required") LocalDate startDate,
             @Parameter(description = "End date (YYYY-MM-DD)", required = true) 
             @RequestParam @NotNull(message = "End date is required") LocalDate endDate,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,title; whole courses when omitted")
+            @RequestParam(required = false) List<String> fields,
             @Parameter(description = "Pagination parameters") 
             @PageableDefault(size = 10, sort = "startDate") Pageable pageable) {
         if (startDate.isAfter(endDate)) {
             throw new ValidationException(ExceptionCode.INVALID_DATE_RANGE);
         }
-        Page<Course> courses = courseService.findByDateRange(startDate, endDate, pageable);
-        return courses.hasContent() ? ResponseEntity.ok(courses) : ResponseEntity.noContent().build();
+        return PageResponses.of(fields,
+            () -> courseService.findFields(CourseSpecifications.withinDates(startDate, endDate), fields, pageable),
+            () -> courseService.findByDateRange(startDate, endDate, pageable));
     }
 
     @Operation(summary = "Search courses")
@@ -180,16 +173,41 @@ public class CourseController {
         @ApiResponse(responseCode = "204", description = "No matching courses found")
     })
     @GetMapping("/search")
-    public ResponseEntity<Page<Course>> searchCourses(
+    public ResponseEntity<PageResponse<?>> searchCourses(
             @Parameter(description = "Search keyword") 
             @RequestParam @NotBlank(message = "Search keyword cannot be empty") String keyword,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,title; whole courses when omitted")
+            @RequestParam(required = false) List<String> fields,
             @Parameter(description = "Pagination parameters") 
             @PageableDefault(size = 10, sort = "startDate") Pageable pageable) {
         if (keyword.trim().length() < 2) {
             throw new ValidationException(ExceptionCode.INVALID_SEARCH, 2);
         }
-        Page<Course> courses = courseService.search(keyword, pageable);
-        return courses.hasContent() ? ResponseEntity.ok(courses) : ResponseEntity.noContent().build();
+        return PageResponses.of(fields,
+            () -> courseService.findFields(CourseSpecifications.search(keyword), fields, pageable),
+            () -> courseService.search(keyword, pageable));
+    }
+
+    @Operation(summary = "Stream courses matching a keyword as NDJSON or server-sent events")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Matching courses streamed as they are read"),
+        @ApiResponse(responseCode = "400", description = "Invalid search parameters")
+    })
+    @GetMapping(value = "/search/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamCourses(
+            @Parameter(description = "Search keyword") 
+            @RequestParam String keyword,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        if (keyword.trim().length() < 2) {
+            throw new ValidationException(ExceptionCode.INVALID_SEARCH, 2);
+        }
+        boolean eventStream = ResultStreamWriter.isEventStream(accept);
+        StreamingResponseBody body = out -> {
+            ResultStreamWriter writer = new ResultStreamWriter(out, objectMapper, eventStream);
+            courseService.streamSearch(keyword, writer);
+            writer.finish();
+        };
+        return ResponseEntity.ok().contentType(ResultStreamWriter.mediaType(eventStream)).body(body);
     }
 
     @Operation(summary = "Get courses by trainer")
@@ -198,16 +216,15 @@ public class CourseController {
         @ApiResponse(responseCode = "204", description = "No courses found for trainer")
     })
     @GetMapping("/trainer/{trainerId}")
-    public ResponseEntity<Page<Course>> getCoursesByTrainer(
+    public ResponseEntity<PageResponse<?>> getCoursesByTrainer(
             @Parameter(description = "Trainer ID") 
             @PathVariable @Min(value = 1, message = "Trainer ID must be positive") Long trainerId,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,title; whole courses when omitted")
+            @RequestParam(required = false) List<String> fields,
             @Parameter(description = "Pagination parameters") 
             @PageableDefault(size = 10, sort = "startDate") Pageable pageable) {
-        try {
-            Page<Course> courses = courseService.findByTrainerId(trainerId, pageable);
-            return courses.hasContent() ? ResponseEntity.ok(courses) : ResponseEntity.noContent().build();
-        } catch (Exception e) {
-            throw new ResourceNotFoundException(ExceptionCode.TRAINER_NOT_FOUND, trainerId);
-        }
+        return PageResponses.of(fields,
+            () -> courseService.findFields(CourseSpecifications.taughtBy(trainerId), fields, pageable),
+            () -> courseService.findByTrainerId(trainerId, pageable));
     }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.formation.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.formation.dto.ErrorRateReport;
+import com.formation.dto.LogQueueStatus;
+import com.formation.dto.SqlDiagnostics;
+import com.formation.service.DiagnosticsService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/diagnostics")
+@Tag(name = "Diagnostics", description = "APIs for error, logging and SQL diagnostics")
+@CrossOrigin(origins = "*", methods = {RequestMethod.GET, RequestMethod.OPTIONS})
+public class DiagnosticsController {
+
+    @Autowired
+    private DiagnosticsService diagnosticsService;
+
+    @Operation(summary = "Get handled API errors per code since startup and since the last summary line")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Error rates retrieved",
+            content = @Content(schema = @Schema(implementation = ErrorRateReport.class)))
+    })
+    @GetMapping("/errors")
+    public ResponseEntity<ErrorRateReport> getErrorRates() {
+        return ResponseEntity.ok(diagnosticsService.errorRates());
+    }
+
+    @Operation(summary = "Get the asynchronous log queues with their discarded and dropped event counts")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Log queues retrieved"),
+        @ApiResponse(responseCode = "204", description = "No asynchronous appender configured (non-prod profile)")
+    })
+    @GetMapping("/logging")
+    public ResponseEntity<List<LogQueueStatus>> getLoggingQueues() {
+        List<LogQueueStatus> queues = diagnosticsService.loggingQueues();
+        return queues.isEmpty() ? ResponseEntity.noContent().build() : ResponseEntity.ok(queues);
+    }
+
+    @Operation(summary = "Get SQL statement counts per endpoint, the costliest statement shapes, and recent slow and repeated (N+1) statements")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "SQL diagnostics retrieved",
+            content = @Content(schema = @Schema(implementation = SqlDiagnostics.class)))
+    })
+    @GetMapping("/sql")
+    public ResponseEntity<SqlDiagnostics> getSqlDiagnostics() {
+        return ResponseEntity.ok(diagnosticsService.sqlDiagnostics());
+    }
+}
@@ -0,0 +1,90 @@
+package com.formation.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.formation.dto.BatchEnrollmentRequest;
+import com.formation.dto.BatchEnrollmentResponse;
+import com.formation.dto.PlacementPlan;
+import com.formation.dto.PlacementRequest;
+import com.formation.exception.ExceptionCode;
+import com.formation.exception.ValidationException;
+import com.formation.service.EnrollmentService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/enrollments")
+@Tag(name = "Enrollment Management", description = "APIs for enrolling students into courses and classrooms")
+@CrossOrigin(origins = "*", methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, 
+    RequestMethod.DELETE, RequestMethod.OPTIONS})
+public class EnrollmentController {
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Operation(summary = "Enroll a batch of students into a course and classroom")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed, see per-student outcomes",
+            content = @Content(schema = @Schema(implementation = BatchEnrollmentResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid batch request"),
+        @ApiResponse(responseCode = "404", description = "Course or classroom not found")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<BatchEnrollmentResponse> enrollBatch(
+            @Parameter(description = "Course, classroom and students to enroll", required = true) 
+            @Valid @RequestBody(required = true) BatchEnrollmentRequest request) {
+        if (request == null) {
+            throw new ValidationException(ExceptionCode.NULL_REQUEST);
+        }
+        return ResponseEntity.ok(enrollmentService.enrollBatch(request));
+    }
+
+    @Operation(summary = "Remove a student from a course and promote the next waiter")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Student unenrolled"),
+        @ApiResponse(responseCode = "404", description = "Course not found or student not enrolled in it")
+    })
+    @DeleteMapping("/courses/{courseId}/students/{studentId}")
+    public ResponseEntity<Void> unenroll(
+            @Parameter(description = "Course ID") @PathVariable Long courseId,
+            @Parameter(description = "Student ID") @PathVariable Long studentId) {
+        enrollmentService.unenroll(courseId, studentId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Place a course intake into as few classrooms as possible")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Placement computed (and applied unless dry run)",
+            content = @Content(schema = @Schema(implementation = PlacementPlan.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid placement request"),
+        @ApiResponse(responseCode = "404", description = "Course not found")
+    })
+    @PostMapping("/placement")
+    public ResponseEntity<PlacementPlan> placeIntake(
+            @Parameter(description = "Course whose students are placed and optional candidate rooms", required = true) 
+            @Valid @RequestBody(required = true) PlacementRequest request,
+            @Parameter(description = "Only return the proposed placement without saving it") 
+            @RequestParam(defaultValue = "true") boolean dryRun) {
+        if (request == null) {
+            throw new ValidationException(ExceptionCode.NULL_REQUEST);
+        }
+        return ResponseEntity.ok(enrollmentService.placeIntake(request, dryRun));
+    }
+}
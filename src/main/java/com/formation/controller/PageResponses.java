@@ -0,0 +1,25 @@
+package com.formation.controller;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+
+import com.formation.dto.PageResponse;
+
+/**
+ * Body of the paged list endpoints: only the requested columns when {@code fields} is given, whole entities
+ * otherwise, and 204 No Content for an empty page.
+ */
+final class PageResponses {
+
+    private PageResponses() {
+    }
+
+    static ResponseEntity<PageResponse<?>> of(List<String> fields, Supplier<? extends Page<?>> rows,
+            Supplier<? extends Page<?>> entities) {
+        Page<?> page = fields != null ? rows.get() : entities.get();
+        return page.hasContent() ? ResponseEntity.ok(PageResponse.of(page)) : ResponseEntity.noContent().build();
+    }
+}
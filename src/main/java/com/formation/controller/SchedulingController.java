@@ -0,0 +1,55 @@
+package com.formation.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.formation.dto.SchedulePlan;
+import com.formation.dto.ScheduleRequest;
+import com.formation.exception.ExceptionCode;
+import com.formation.exception.ValidationException;
+import com.formation.service.SchedulingService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/schedule")
+@Tag(name = "Scheduling", description = "APIs for planning rooms and trainers of a term")
+@CrossOrigin(origins = "*", methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, 
+    RequestMethod.DELETE, RequestMethod.OPTIONS})
+public class SchedulingController {
+
+    @Autowired
+    private SchedulingService schedulingService;
+
+    @Operation(summary = "Assign classrooms and trainers to the courses of a term without double-booking")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Plan computed (and applied unless dry run)",
+            content = @Content(schema = @Schema(implementation = SchedulePlan.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid term dates")
+    })
+    @PostMapping("/plan")
+    public ResponseEntity<SchedulePlan> planTerm(
+            @Parameter(description = "Term and courses to plan", required = true) 
+            @Valid @RequestBody(required = true) ScheduleRequest request,
+            @Parameter(description = "Only return the proposed plan without saving it") 
+            @RequestParam(defaultValue = "true") boolean dryRun) {
+        if (request == null) {
+            throw new ValidationException(ExceptionCode.NULL_REQUEST);
+        }
+        return ResponseEntity.ok(schedulingService.plan(request, dryRun));
+    }
+}
@@ -1,13 +1,15 @@
 package com.formation.controller;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,20 +18,24 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.formation.dto.PageResponse;
 import com.formation.entity.Course;
 import com.formation.entity.Student;
-import com.formation.exception.DuplicateResourceException;
 import com.formation.exception.ExceptionCode;
-import com.formation.exception.ResourceInUseException;
-import com.formation.exception.ResourceNotFoundException;
 import com.formation.exception.ValidationException;
 import com.formation.service.CourseService;
+import com.formation.repository.CourseSpecifications;
+import com.formation.repository.StudentSpecifications;
 import com.formation.service.StudentService;
+import com.formation.utils.ResultStreamWriter;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -50,6 +56,8 @@ public class StudentController {
     private StudentService studentService;
     @Autowired
     private CourseService courseService;
+    @Autowired
+    private ObjectMapper objectMapper;
 
     @Operation(summary = "Create a new student")
     @ApiResponses(value = {
@@ -65,15 +73,7 @@ public class StudentController {
         if (student == null) {
             throw new ValidationException(ExceptionCode.NULL_REQUEST);
         }
-        try {
-            return new ResponseEntity<>(studentService.save(student), HttpStatus.CREATED);
-        } catch (Exception e) {
-            if (e.getMessage().contains("email already exists")) {
-                throw new DuplicateResourceException(ExceptionCode.STUDENT_EMAIL_EXISTS, 
-                    student.getEmail());
-            }
-            throw new ValidationException(ExceptionCode.STUDENT_ENROLLMENT_FAILED, e.getMessage());
-        }
+        return new ResponseEntity<>(studentService.save(student), HttpStatus.CREATED);
     }
 
     @Operation(summary = "Get a student by ID")
@@ -82,14 +82,15 @@ public class StudentController {
         @ApiResponse(responseCode = "404", description = "Student not found")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<Student> getStudentById(
+    public ResponseEntity<?> getStudentById(
             @Parameter(description = "ID of the student") 
-            @PathVariable Long id) {
-        try {
-            return ResponseEntity.ok(studentService.findById(id));
-        } catch (Exception e) {
-            throw new ResourceNotFoundException(ExceptionCode.STUDENT_NOT_FOUND, id);
+            @PathVariable Long id,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,lastName; the whole student when omitted")
+            @RequestParam(required = false) List<String> fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(studentService.findFieldsById(id, fields));
         }
+        return ResponseEntity.ok(studentService.findById(id));
     }
 
     @Operation(summary = "Get all students with pagination")
@@ -98,18 +99,15 @@ public class StudentController {
         @ApiResponse(responseCode = "204", description = "No students found")
     })
     @GetMapping
-    public ResponseEntity<Page<Student>> getAllStudents(
+    public ResponseEntity<PageResponse<?>> getAllStudents(
+            @Parameter(description = "Comma-separated fields to return, e.g. id,lastName; whole students when omitted")
+            @RequestParam(required = false) List<String> fields,
             @Parameter(description = "Pagination parameters") 
             @PageableDefault(size = 10, sort = "lastName", direction = Sort.Direction.ASC) 
             Pageable pageable) {
-        try {
-            Page<Student> students = studentService.findAll(pageable);
-            return students.hasContent() 
-                ? ResponseEntity.ok(students)
-                : ResponseEntity.noContent().build();
-        } catch (Exception e) {
-            throw new ValidationException(ExceptionCode.INVALID_PAGE, pageable.toString());
-        }
+        return PageResponses.of(fields,
+            () -> studentService.findFields(null, fields, pageable),
+            () -> studentService.findAll(pageable));
     }
 
     @Operation(summary = "Update a student")
@@ -127,18 +125,8 @@ public class StudentController {
         if (student == null) {
             throw new ValidationException(ExceptionCode.NULL_REQUEST);
         }
-        try {
-            student.setId(id);
-            return ResponseEntity.ok(studentService.update(student));
-        } catch (Exception e) {
-            if (e.getMessage().contains("not found")) {
-                throw new ResourceNotFoundException(ExceptionCode.STUDENT_NOT_FOUND, id);
-            } else if (e.getMessage().contains("email already exists")) {
-                throw new DuplicateResourceException(ExceptionCode.STUDENT_EMAIL_EXISTS, 
-                    student.getEmail());
-            }
-            throw new ValidationException(ExceptionCode.STUDENT_ENROLLMENT_FAILED, e.getMessage());
-        }
+        student.setId(id);
+        return ResponseEntity.ok(studentService.update(student));
     }
 
     @Operation(summary = "Delete a student")
@@ -151,15 +139,8 @@ public class StudentController {
     public ResponseEntity<Void> deleteStudent(
             @Parameter(description = "Student ID") 
             @PathVariable Long id) {
-        try {
-            studentService.delete(id);
-            return ResponseEntity.noContent().build();
-        } catch (Exception e) {
-            if (e.getMessage().contains("enrolled in course")) {
-                throw new ResourceInUseException(ExceptionCode.STUDENT_IN_COURSE);
-            }
-            throw new ResourceNotFoundException(ExceptionCode.STUDENT_NOT_FOUND, id);
-        }
+        studentService.delete(id);
+        return ResponseEntity.noContent().build();
     }
 
     @Operation(summary = "Search students by keyword")
@@ -168,19 +149,41 @@ public class StudentController {
         @ApiResponse(responseCode = "204", description = "No matching students found")
     })
     @GetMapping("/search")
-    public ResponseEntity<Page<Student>> searchStudents(
+    public ResponseEntity<PageResponse<?>> searchStudents(
             @Parameter(description = "Search keyword") 
             @RequestParam String keyword,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,lastName; whole students when omitted")
+            @RequestParam(required = false) List<String> fields,
             @Parameter(description = "Pagination parameters") 
             @PageableDefault(size = 10, sort = "lastName") Pageable pageable) {
         if (keyword.trim().length() < 2) {
-            throw new IllegalArgumentException("Search term must be at least 2 characters long");
+            throw new ValidationException(ExceptionCode.INVALID_SEARCH, 2);
+        }
+        return PageResponses.of(fields,
+            () -> studentService.findFields(StudentSpecifications.search(keyword), fields, pageable),
+            () -> studentService.search(keyword, pageable));
+    }
+
+    @Operation(summary = "Stream students matching a keyword as NDJSON or server-sent events")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Matching students streamed as they are read"),
+        @ApiResponse(responseCode = "400", description = "Invalid search parameters")
+    })
+    @GetMapping(value = "/search/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamStudents(
+            @Parameter(description = "Search keyword") 
+            @RequestParam String keyword,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        if (keyword.trim().length() < 2) {
+            throw new ValidationException(ExceptionCode.INVALID_SEARCH, 2);
         }
-        Page<Student> students = studentService.search(keyword, pageable);
-        return students.hasContent() 
-            ? ResponseEntity.ok(students)
-            : ResponseEntity.noContent().build();
-            
+        boolean eventStream = ResultStreamWriter.isEventStream(accept);
+        StreamingResponseBody body = out -> {
+            ResultStreamWriter writer = new ResultStreamWriter(out, objectMapper, eventStream);
+            studentService.streamSearch(keyword, writer);
+            writer.finish();
+        };
+        return ResponseEntity.ok().contentType(ResultStreamWriter.mediaType(eventStream)).body(body);
     }
 
     @Operation(summary = "Get students by level")
@@ -190,18 +193,16 @@ public class StudentController {
         @ApiResponse(responseCode = "400", description = "Invalid level")
     })
     @GetMapping("/level/{level}")
-    public ResponseEntity<Page<Student>> getStudentsByLevel(
+    public ResponseEntity<PageResponse<?>> getStudentsByLevel(
             @Parameter(description = "Student level") 
             @PathVariable String level,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,lastName; whole students when omitted")
+            @RequestParam(required = false) List<String> fields,
             @Parameter(description = "Pagination parameters") 
             @PageableDefault(size = 10, sort = "lastName") Pageable pageable) {
-        try {
-            Page<Student> students = studentService.findByLevel(level, pageable);
-            return students.hasContent() ? ResponseEntity.ok(students) : 
-                ResponseEntity.noContent().build();
-        } catch (Exception e) {
-            throw new ValidationException(ExceptionCode.INVALID_LEVEL, level);
-        }
+        return PageResponses.of(fields,
+            () -> studentService.findFields(StudentSpecifications.atLevel(level), fields, pageable),
+            () -> studentService.findByLevel(level, pageable));
     }
 
     @Operation(summary = "Get students by course")
@@ -210,18 +211,16 @@ public class StudentController {
         @ApiResponse(responseCode = "204", description = "No students found in this course")
     })
     @GetMapping("/course/{courseId}")
-    public ResponseEntity<Page<Student>> getStudentsByCourse(
+    public ResponseEntity<PageResponse<?>> getStudentsByCourse(
             @Parameter(description = "Course ID") 
             @PathVariable Long courseId,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,lastName; whole students when omitted")
+            @RequestParam(required = false) List<String> fields,
             @Parameter(description = "Pagination parameters") 
             @PageableDefault(size = 10, sort = "lastName") Pageable pageable) {
-        try {
-            Page<Student> students = studentService.findByCourseId(courseId, pageable);
-            return students.hasContent() ? ResponseEntity.ok(students) : 
-                ResponseEntity.noContent().build();
-        } catch (Exception e) {
-            throw new ResourceNotFoundException(ExceptionCode.COURSE_NOT_FOUND, courseId);
-        }
+        return PageResponses.of(fields,
+            () -> studentService.findFields(StudentSpecifications.enrolledIn(courseId), fields, pageable),
+            () -> studentService.findByCourseId(courseId, pageable));
     }
 
     @Operation(summary = "Get students by classroom")
@@ -230,18 +229,16 @@ public class StudentController {
         @ApiResponse(responseCode = "204", description = "No students found in this classroom")
     })
     @GetMapping("/classroom/{classRoomId}")
-    public ResponseEntity<Page<Student>> getStudentsByClassRoom(
+    public ResponseEntity<PageResponse<?>> getStudentsByClassRoom(
             @Parameter(description = "Classroom ID") 
             @PathVariable Long classRoomId,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,lastName; whole students when omitted")
+            @RequestParam(required = false) List<String> fields,
             @Parameter(description = "Pagination parameters") 
             @PageableDefault(size = 10, sort = "lastName") Pageable pageable) {
-        try {
-            Page<Student> students = studentService.findByClassRoomId(classRoomId, pageable);
-            return students.hasContent() ? ResponseEntity.ok(students) : 
-                ResponseEntity.noContent().build();
-        } catch (Exception e) {
-            throw new ResourceNotFoundException(ExceptionCode.CLASSROOM_NOT_FOUND, classRoomId);
-        }
+        return PageResponses.of(fields,
+            () -> studentService.findFields(StudentSpecifications.seatedIn(classRoomId), fields, pageable),
+            () -> studentService.findByClassRoomId(classRoomId, pageable));
     }
 
     @Operation(summary = "Get students by name")
@@ -250,11 +247,13 @@ public class StudentController {
         @ApiResponse(responseCode = "204", description = "No students found with these names")
     })
     @GetMapping("/name")
-    public ResponseEntity<Page<Student>> getStudentsByName(
+    public ResponseEntity<PageResponse<?>> getStudentsByName(
             @Parameter(description = "Student's last name") 
             @RequestParam String lastName,
             @Parameter(description = "Student's first name") 
             @RequestParam String firstName,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,lastName; whole students when omitted")
+            @RequestParam(required = false) List<String> fields,
             @Parameter(description = "Pagination parameters") 
             @PageableDefault(size = 10, sort = "lastName") Pageable pageable) {
         if (lastName == null || lastName.trim().isEmpty() || 
@@ -262,16 +261,9 @@ public class StudentController {
             throw new ValidationException(ExceptionCode.STUDENT_INVALID_NAME, 
                 lastName + " " + firstName);
         }
-        try {
-            Page<Student> students = studentService.findByLastNameAndFirstName(
-                lastName, firstName, pageable);
-            return students.hasContent() 
-                ? ResponseEntity.ok(students)
-                : ResponseEntity.noContent().build();
-        } catch (Exception e) {
-            throw new ValidationException(ExceptionCode.STUDENT_SEARCH_FAILED, 
-                lastName + " " + firstName);
-        }
+        return PageResponses.of(fields,
+            () -> studentService.findFields(StudentSpecifications.named(lastName, firstName), fields, pageable),
+            () -> studentService.findByLastNameAndFirstName(lastName, firstName, pageable));
     }
 
     @Operation(summary = "Get courses by date range")
@@ -281,17 +273,20 @@ public class StudentController {
         @ApiResponse(responseCode = "400", description = "Invalid date range")
     })
     @GetMapping("/date-range")
-    public ResponseEntity<Page<Course>> getCoursesByDateRange(
+    public ResponseEntity<PageResponse<?>> getCoursesByDateRange(
             @Parameter(description = "Start date (YYYY-MM-DD)", required = true) 
             @RequestParam LocalDate startDate,
             @Parameter(description = "End date (YYYY-MM-DD)", required = true) 
             @RequestParam LocalDate endDate,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,title; whole courses when omitted")
+            @RequestParam(required = false) List<String> fields,
             @Parameter(description = "Pagination parameters") 
             @PageableDefault(size = 10, sort = "startDate") Pageable pageable) {
         if (startDate.isAfter(endDate)) {
             throw new ValidationException(ExceptionCode.INVALID_DATE_RANGE);
         }
-        Page<Course> courses = courseService.findByDateRange(startDate, endDate, pageable);
-        return courses.hasContent() ? ResponseEntity.ok(courses) : ResponseEntity.noContent().build();
+        return PageResponses.of(fields,
+            () -> courseService.findFields(CourseSpecifications.withinDates(startDate, endDate), fields, pageable),
+            () -> courseService.findByDateRange(startDate, endDate, pageable));
     }
 }
\ No newline at end of file
@@ -1,11 +1,15 @@
 package com.formation.controller;
 
+import java.time.LocalDate;
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -14,18 +18,24 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.formation.dto.PageResponse;
+import com.formation.dto.TrainerAvailability;
+import com.formation.dto.TrainerConflict;
+import com.formation.dto.TrainerRecommendation;
 import com.formation.entity.Trainer;
-import com.formation.exception.DuplicateResourceException;
 import com.formation.exception.ExceptionCode;
-import com.formation.exception.ResourceInUseException;
-import com.formation.exception.ResourceNotFoundException;
 import com.formation.exception.ValidationException;
+import com.formation.repository.TrainerSpecifications;
 import com.formation.service.TrainerService;
+import com.formation.utils.ResultStreamWriter;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -38,6 +48,7 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 
 @RestController
 @RequestMapping("/api/trainers")
@@ -47,6 +58,8 @@ import jakarta.validation.constraints.NotBlank;
 public class TrainerController {
     @Autowired
     private TrainerService trainerService;
+    @Autowired
+    private ObjectMapper objectMapper;
 
     @Operation(summary = "Create a new trainer")
     @ApiResponses(value = {
@@ -62,11 +75,7 @@ public class TrainerController {
         if (trainer == null) {
             throw new ValidationException(ExceptionCode.NULL_REQUEST);
         }
-        try {
-            return new ResponseEntity<>(trainerService.save(trainer), HttpStatus.CREATED);
-        } catch (Exception e) {
-            throw new DuplicateResourceException(ExceptionCode.TRAINER_EMAIL_EXISTS, trainer.getEmail());
-        }
+        return new ResponseEntity<>(trainerService.save(trainer), HttpStatus.CREATED);
     }
 
     @Operation(summary = "Get a trainer by ID")
@@ -75,14 +84,15 @@ public class TrainerController {
         @ApiResponse(responseCode = "404", description = "Trainer not found")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<Trainer> getTrainerById(
+    public ResponseEntity<?> getTrainerById(
             @Parameter(description = "ID of the trainer") 
-            @PathVariable @Min(value = 1, message = "ID must be positive") Long id) {
-        try {
-            return ResponseEntity.ok(trainerService.findById(id));
-        } catch (Exception e) {
-            throw new ResourceNotFoundException(ExceptionCode.TRAINER_NOT_FOUND, id);
+            @PathVariable @Min(value = 1, message = "ID must be positive") Long id,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,lastName; the whole trainer when omitted")
+            @RequestParam(required = false) List<String> fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(trainerService.findFieldsById(id, fields));
         }
+        return ResponseEntity.ok(trainerService.findById(id));
     }
 
     @Operation(summary = "Get all trainers with pagination")
@@ -91,14 +101,15 @@ public class TrainerController {
         @ApiResponse(responseCode = "204", description = "No trainers found")
     })
     @GetMapping
-    public ResponseEntity<Page<Trainer>> getAllTrainers(
+    public ResponseEntity<PageResponse<?>> getAllTrainers(
+            @Parameter(description = "Comma-separated fields to return, e.g. id,lastName; whole trainers when omitted")
+            @RequestParam(required = false) List<String> fields,
             @Parameter(description = "Pagination parameters") 
             @PageableDefault(size = 10, sort = "lastName", direction = Sort.Direction.ASC) 
             Pageable pageable) {
-        Page<Trainer> trainers = trainerService.findAll(pageable);
-        return trainers.hasContent() 
-            ? ResponseEntity.ok(trainers)
-            : ResponseEntity.noContent().build();
+        return PageResponses.of(fields,
+            () -> trainerService.findFields(null, fields, pageable),
+            () -> trainerService.findAll(pageable));
     }
 
     @Operation(summary = "Update a trainer")
@@ -116,15 +127,8 @@ public class TrainerController {
         if (trainer == null) {
             throw new ValidationException(ExceptionCode.NULL_REQUEST);
         }
-        try {
-            trainer.setId(id);
-            return ResponseEntity.ok(trainerService.update(trainer));
-        } catch (Exception e) {
-            if (e.getMessage().contains("not found")) {
-                throw new ResourceNotFoundException(ExceptionCode.TRAINER_NOT_FOUND, id);
-            }
-            throw new DuplicateResourceException(ExceptionCode.TRAINER_EMAIL_EXISTS, trainer.getEmail());
-        }
+        trainer.setId(id);
+        return ResponseEntity.ok(trainerService.update(trainer));
     }
 
     @Operation(summary = "Delete a trainer")
@@ -137,15 +141,8 @@ public class TrainerController {
     public ResponseEntity<Void> deleteTrainer(
             @Parameter(description = "ID of the trainer to delete") 
             @PathVariable @Min(value = 1, message = "ID must be positive") Long id) {
-        try {
-            trainerService.delete(id);
-            return ResponseEntity.noContent().build();
-        } catch (Exception e) {
-            if (e.getMessage().contains("active courses")) {
-                throw new ResourceInUseException(ExceptionCode.TRAINER_MAX_COURSES);
-            }
-            throw new ResourceNotFoundException(ExceptionCode.TRAINER_NOT_FOUND, id);
-        }
+        trainerService.delete(id);
+        return ResponseEntity.noContent().build();
     }
 
     @Operation(summary = "Search trainers by keyword")
@@ -154,16 +151,41 @@ public class TrainerController {
         @ApiResponse(responseCode = "204", description = "No matching trainers found")
     })
     @GetMapping("/search")
-    public ResponseEntity<Page<Trainer>> searchTrainers(
+    public ResponseEntity<PageResponse<?>> searchTrainers(
             @Parameter(description = "Search keyword") 
             @RequestParam @NotBlank(message = "Search keyword cannot be empty") String keyword,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,lastName; whole trainers when omitted")
+            @RequestParam(required = false) List<String> fields,
             @Parameter(description = "Pagination parameters") 
             @PageableDefault(size = 10, sort = "lastName") Pageable pageable) {
         if (keyword.trim().length() < 2) {
             throw new ValidationException(ExceptionCode.INVALID_SEARCH, 2);
         }
-        Page<Trainer> trainers = trainerService.search(keyword, pageable);
-        return trainers.hasContent() ? ResponseEntity.ok(trainers) : ResponseEntity.noContent().build();
+        return PageResponses.of(fields,
+            () -> trainerService.findFields(TrainerSpecifications.search(keyword), fields, pageable),
+            () -> trainerService.search(keyword, pageable));
+    }
+
+    @Operation(summary = "Stream trainers matching a keyword as NDJSON or server-sent events")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Matching trainers streamed as they are read"),
+        @ApiResponse(responseCode = "400", description = "Invalid search parameters")
+    })
+    @GetMapping(value = "/search/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamTrainers(
+            @Parameter(description = "Search keyword") 
+            @RequestParam String keyword,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        if (keyword.trim().length() < 2) {
+            throw new ValidationException(ExceptionCode.INVALID_SEARCH, 2);
+        }
+        boolean eventStream = ResultStreamWriter.isEventStream(accept);
+        StreamingResponseBody body = out -> {
+            ResultStreamWriter writer = new ResultStreamWriter(out, objectMapper, eventStream);
+            trainerService.streamSearch(keyword, writer);
+            writer.finish();
+        };
+        return ResponseEntity.ok().contentType(ResultStreamWriter.mediaType(eventStream)).body(body);
     }
 
     @Operation(summary = "Get trainers by email")
@@ -172,16 +194,19 @@ public class TrainerController {
         @ApiResponse(responseCode = "204", description = "No trainers found with this email")
     })
     @GetMapping("/email/{email}")
-    public ResponseEntity<Page<Trainer>> getTrainersByEmail(
+    public ResponseEntity<PageResponse<?>> getTrainersByEmail(
             @Parameter(description = "Trainer's email") 
             @PathVariable @Email(message = "Invalid email format") String email,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,lastName; whole trainers when omitted")
+            @RequestParam(required = false) List<String> fields,
             @Parameter(description = "Pagination parameters") 
             @PageableDefault(size = 10, sort = "lastName") Pageable pageable) {
         if (!email.matches("^[A-Za-z0-9+_.-]+@(.+)$")) {
             throw new ValidationException(ExceptionCode.INVALID_EMAIL, email);
         }
-        Page<Trainer> trainers = trainerService.findByEmail(email, pageable);
-        return trainers.hasContent() ? ResponseEntity.ok(trainers) : ResponseEntity.noContent().build();
+        return PageResponses.of(fields,
+            () -> trainerService.findFields(TrainerSpecifications.withEmail(email), fields, pageable),
+            () -> trainerService.findByEmail(email, pageable));
     }
 
     @Operation(summary = "Get trainers by specialty")
@@ -190,15 +215,16 @@ public class TrainerController {
         @ApiResponse(responseCode = "204", description = "No trainers found with this specialty")
     })
     @GetMapping("/specialty/{specialty}")
-    public ResponseEntity<Page<Trainer>> getTrainersBySpecialty(
+    public ResponseEntity<PageResponse<?>> getTrainersBySpecialty(
             @Parameter(description = "Trainer's specialty") 
             @PathVariable @NotBlank(message = "Specialty cannot be empty") String specialty,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,lastName; whole trainers when omitted")
+            @RequestParam(required = false) List<String> fields,
             @Parameter(description = "Pagination parameters") 
             @PageableDefault(size = 10, sort = "lastName") Pageable pageable) {
-        Page<Trainer> trainers = trainerService.findBySpecialty(specialty, pageable);
-        return trainers.hasContent() 
-            ? ResponseEntity.ok(trainers)
-            : ResponseEntity.noContent().build();
+        return PageResponses.of(fields,
+            () -> trainerService.findFields(TrainerSpecifications.withSpecialty(specialty), fields, pageable),
+            () -> trainerService.findBySpecialty(specialty, pageable));
     }
 
     @Operation(summary = "Get trainers by name")
@@ -207,17 +233,18 @@ public class TrainerController {
         @ApiResponse(responseCode = "204", description = "No trainers found with these names")
     })
     @GetMapping("/name")
-    public ResponseEntity<Page<Trainer>> getTrainersByName(
+    public ResponseEntity<PageResponse<?>> getTrainersByName(
             @Parameter(description = "Trainer's last name") 
             @RequestParam @NotBlank(message = "Last name cannot be empty") String lastName,
             @Parameter(description = "Trainer's first name") 
             @RequestParam @NotBlank(message = "First name cannot be empty") String firstName,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,lastName; whole trainers when omitted")
+            @RequestParam(required = false) List<String> fields,
             @Parameter(description = "Pagination parameters") 
             @PageableDefault(size = 10, sort = "lastName") Pageable pageable) {
-        Page<Trainer> trainers = trainerService.findByLastNameAndFirstName(lastName, firstName, pageable);
-        return trainers.hasContent() 
-            ? ResponseEntity.ok(trainers)
-            : ResponseEntity.noContent().build();
+        return PageResponses.of(fields,
+            () -> trainerService.findFields(TrainerSpecifications.named(lastName, firstName), fields, pageable),
+            () -> trainerService.findByLastNameAndFirstName(lastName, firstName, pageable));
     }
 
     @Operation(summary = "Get trainers by classroom")
@@ -226,17 +253,16 @@ public class TrainerController {
         @ApiResponse(responseCode = "204", description = "No trainers found in this classroom")
     })
     @GetMapping("/classroom/{classRoomId}")
-    public ResponseEntity<Page<Trainer>> getTrainersByClassRoom(
+    public ResponseEntity<PageResponse<?>> getTrainersByClassRoom(
             @Parameter(description = "Classroom ID") 
             @PathVariable @Min(value = 1, message = "Classroom ID must be positive") Long classRoomId,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,lastName; whole trainers when omitted")
+            @RequestParam(required = false) List<String> fields,
             @Parameter(description = "Pagination parameters") 
             @PageableDefault(size = 10, sort = "lastName") Pageable pageable) {
-        try {
-            Page<Trainer> trainers = trainerService.findByClassRoomId(classRoomId, pageable);
-            return trainers.hasContent() ? ResponseEntity.ok(trainers) : ResponseEntity.noContent().build();
-        } catch (Exception e) {
-            throw new ResourceNotFoundException(ExceptionCode.CLASSROOM_NOT_FOUND, classRoomId);
-        }
+        return PageResponses.of(fields,
+            () -> trainerService.findFields(TrainerSpecifications.assignedTo(classRoomId), fields, pageable),
+            () -> trainerService.findByClassRoomId(classRoomId, pageable));
     }
 
     @Operation(summary = "Get available trainers")
@@ -245,16 +271,75 @@ public class TrainerController {
         @ApiResponse(responseCode = "204", description = "No available trainers found")
     })
     @GetMapping("/available")
-    public ResponseEntity<Page<Trainer>> getAvailableTrainers(
+    public ResponseEntity<PageResponse<?>> getAvailableTrainers(
             @Parameter(description = "Maximum number of courses") 
             @RequestParam @Min(value = 0, message = "Max courses cannot be negative") int maxCourses,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,lastName; whole trainers when omitted")
+            @RequestParam(required = false) List<String> fields,
             @Parameter(description = "Pagination parameters") 
             @PageableDefault(size = 10, sort = "lastName") Pageable pageable) {
         if (maxCourses < 0) {
             throw new ValidationException(ExceptionCode.INVALID_CAPACITY, 0, Integer.MAX_VALUE);
         }
-        Page<Trainer> trainers = trainerService.findAvailableTrainers(maxCourses, pageable);
-        return trainers.hasContent() ? ResponseEntity.ok(trainers) : ResponseEntity.noContent().build();
+        return PageResponses.of(fields,
+            () -> trainerService.findFields(TrainerSpecifications.teachingFewerThan(maxCourses), fields, pageable),
+            () -> trainerService.findAvailableTrainers(maxCourses, pageable));
     }
 
-}
\ No newline at end of file
+    @Operation(summary = "Check whether a trainer is free over a date range")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Availability and overlapping bookings retrieved"),
+        @ApiResponse(responseCode = "400", description = "Invalid date range"),
+        @ApiResponse(responseCode = "404", description = "Trainer not found")
+    })
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<TrainerAvailability> getTrainerAvailability(
+            @Parameter(description = "Trainer ID") 
+            @PathVariable @Min(value = 1, message = "ID must be positive") Long id,
+            @Parameter(description = "Start date (YYYY-MM-DD)", required = true) 
+            @RequestParam @NotNull(message = "Start date is required") LocalDate startDate,
+            @Parameter(description = "End date (YYYY-MM-DD)", required = true) 
+            @RequestParam @NotNull(message = "End date is required") LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new ValidationException(ExceptionCode.INVALID_DATE_RANGE);
+        }
+        return ResponseEntity.ok(trainerService.findAvailability(id, startDate, endDate));
+    }
+
+    @Operation(summary = "List trainers double-booked within a term")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Conflicts retrieved"),
+        @ApiResponse(responseCode = "204", description = "No conflicts in this term"),
+        @ApiResponse(responseCode = "400", description = "Invalid date range")
+    })
+    @GetMapping("/conflicts")
+    public ResponseEntity<List<TrainerConflict>> getScheduleConflicts(
+            @Parameter(description = "Start date (YYYY-MM-DD)", required = true) 
+            @RequestParam @NotNull(message = "Start date is required") LocalDate startDate,
+            @Parameter(description = "End date (YYYY-MM-DD)", required = true) 
+            @RequestParam @NotNull(message = "End date is required") LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new ValidationException(ExceptionCode.INVALID_DATE_RANGE);
+        }
+        List<TrainerConflict> conflicts = trainerService.findScheduleConflicts(startDate, endDate);
+        return conflicts.isEmpty() ? ResponseEntity.noContent().build() : ResponseEntity.ok(conflicts);
+    }
+
+    @Operation(summary = "Rank trainers for a course by specialty match, load and availability")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Ranked trainers retrieved"),
+        @ApiResponse(responseCode = "204", description = "No matching trainer"),
+        @ApiResponse(responseCode = "404", description = "Course not found")
+    })
+    @GetMapping("/recommendations")
+    public ResponseEntity<List<TrainerRecommendation>> recommendTrainers(
+            @Parameter(description = "Course to staff", required = true) 
+            @RequestParam @Min(value = 1, message = "Course ID must be positive") Long courseId,
+            @Parameter(description = "Maximum number of trainers returned") 
+            @RequestParam(defaultValue = "5") @Min(value = 1, message = "Limit must be positive") int limit,
+            @Parameter(description = "Also rank trainers already teaching during the course") 
+            @RequestParam(defaultValue = "false") boolean includeUnavailable) {
+        List<TrainerRecommendation> recommendations = trainerService.recommendForCourse(courseId, limit, includeUnavailable);
+        return recommendations.isEmpty() ? ResponseEntity.noContent().build() : ResponseEntity.ok(recommendations);
+    }
+}
@@ -0,0 +1,76 @@
+package com.formation.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.formation.dto.WaitlistPosition;
+import com.formation.dto.WaitlistStatus;
+import com.formation.service.WaitlistService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/courses/{courseId}/waitlist")
+@Tag(name = "Enrollment Management", description = "APIs for enrolling students into courses and classrooms")
+@CrossOrigin(origins = "*", methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, 
+    RequestMethod.DELETE, RequestMethod.OPTIONS})
+public class WaitlistController {
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Operation(summary = "Join the waitlist of a course, or enroll directly when a seat is free")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Student queued on the waitlist"),
+        @ApiResponse(responseCode = "200", description = "Seat available, student enrolled directly"),
+        @ApiResponse(responseCode = "404", description = "Course or student not found"),
+        @ApiResponse(responseCode = "409", description = "Student already enrolled or already waiting")
+    })
+    @PostMapping("/students/{studentId}")
+    public ResponseEntity<WaitlistPosition> joinWaitlist(
+            @Parameter(description = "Course ID") @PathVariable Long courseId,
+            @Parameter(description = "Student ID") @PathVariable Long studentId) {
+        WaitlistPosition position = waitlistService.join(courseId, studentId);
+        return position.getStatus() == WaitlistStatus.WAITING
+            ? new ResponseEntity<>(position, HttpStatus.CREATED)
+            : ResponseEntity.ok(position);
+    }
+
+    @Operation(summary = "Get a student's position on a course waitlist")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Waitlist position retrieved"),
+        @ApiResponse(responseCode = "404", description = "Student is not waiting for this course")
+    })
+    @GetMapping("/students/{studentId}")
+    public ResponseEntity<WaitlistPosition> getWaitlistPosition(
+            @Parameter(description = "Course ID") @PathVariable Long courseId,
+            @Parameter(description = "Student ID") @PathVariable Long studentId) {
+        return ResponseEntity.ok(waitlistService.findPosition(courseId, studentId));
+    }
+
+    @Operation(summary = "Leave a course waitlist")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Student removed from the waitlist"),
+        @ApiResponse(responseCode = "404", description = "Student is not waiting for this course")
+    })
+    @DeleteMapping("/students/{studentId}")
+    public ResponseEntity<Void> leaveWaitlist(
+            @Parameter(description = "Course ID") @PathVariable Long courseId,
+            @Parameter(description = "Student ID") @PathVariable Long studentId) {
+        waitlistService.leave(courseId, studentId);
+        return ResponseEntity.noContent().build();
+    }
+}
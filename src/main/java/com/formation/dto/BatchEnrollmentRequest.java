@@ -0,0 +1,28 @@
+package com.formation.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchEnrollmentRequest {
+
+    @NotNull(message = "Course ID is required")
+    private Long courseId;
+
+    @NotNull(message = "Classroom ID is required")
+    private Long classRoomId;
+
+    @NotEmpty(message = "At least one student ID is required")
+    @Size(max = 1000, message = "A batch cannot contain more than 1000 students")
+    private List<Long> studentIds;
+}
@@ -0,0 +1,22 @@
+package com.formation.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchEnrollmentResponse {
+    private Long courseId;
+    private Long classRoomId;
+    private int requested;
+    private int enrolled;
+    private int remainingCourseSeats;
+    private int remainingClassRoomSeats;
+    private List<EnrollmentResult> results;
+}
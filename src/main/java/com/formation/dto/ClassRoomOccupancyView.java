@@ -0,0 +1,6 @@
+package com.formation.dto;
+
+public interface ClassRoomOccupancyView {
+    Long getClassRoomId();
+    Long getStudents();
+}
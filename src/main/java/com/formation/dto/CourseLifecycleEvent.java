@@ -0,0 +1,24 @@
+package com.formation.dto;
+
+import java.time.LocalDate;
+
+import com.formation.entity.enums.CourseStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published when the lifecycle job moves courses to a new status, so caches of
+ * course lists (upcoming, ongoing, by status) can be evicted. Every course in
+ * {@code previousStatus} whose relevant date is on or before {@code to} changed.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class CourseLifecycleEvent {
+    private final CourseStatus previousStatus;
+    private final CourseStatus newStatus;
+    private final LocalDate to;
+    private final int affectedCourses;
+}
@@ -0,0 +1,20 @@
+package com.formation.dto;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseLifecycleRun {
+    // Day of the previous run, null on the first one
+    private LocalDate previousRun;
+    private LocalDate today;
+    private int started;
+    private int completed;
+}
@@ -0,0 +1,25 @@
+package com.formation.dto;
+
+import java.time.LocalDate;
+
+import com.formation.entity.enums.CourseStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseSummary {
+    private Long id;
+    private String title;
+    private String level;
+    private int minCapacity;
+    private int maxCapacity;
+    private int currentCapacity;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private CourseStatus status;
+    private Long trainerId;
+}
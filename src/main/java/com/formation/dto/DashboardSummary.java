@@ -0,0 +1,27 @@
+package com.formation.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardSummary {
+    private long courses;
+    private long availableCourses;
+    private long ongoingCourses;
+    private long coursesWithoutTrainer;
+    private long students;
+    private long studentsWithoutCourse;
+    private long waitlistedStudents;
+    private long trainers;
+    private long trainersWithoutCourses;
+    private long classRooms;
+    private long emptyClassRooms;
+    private LocalDateTime generatedAt;
+}
@@ -0,0 +1,15 @@
+package com.formation.dto;
+
+public interface DashboardSummaryView {
+    Long getCourses();
+    Long getAvailableCourses();
+    Long getOngoingCourses();
+    Long getCoursesWithoutTrainer();
+    Long getStudents();
+    Long getStudentsWithoutCourse();
+    Long getWaitlistedStudents();
+    Long getTrainers();
+    Long getTrainersWithoutCourses();
+    Long getClassRooms();
+    Long getEmptyClassRooms();
+}
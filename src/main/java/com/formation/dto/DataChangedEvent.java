@@ -0,0 +1,17 @@
+package com.formation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published by service write paths inside their transaction, so read caches
+ * built over several tables (such as the dashboard summary) can be evicted
+ * once the change is committed.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class DataChangedEvent {
+    private final Class<?> entityType;
+}
@@ -0,0 +1,24 @@
+package com.formation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DatasetSummary {
+    private int students;
+    private int enrolledStudents;
+    private int courses;
+    private int classRooms;
+    private int trainers;
+    // Generated ids of each table are consecutive from these
+    private long firstStudentId;
+    private long firstCourseId;
+    private long firstClassRoomId;
+    private long firstTrainerId;
+    private long elapsedMs;
+}
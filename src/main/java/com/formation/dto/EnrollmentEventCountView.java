@@ -0,0 +1,12 @@
+package com.formation.dto;
+
+import java.time.LocalDateTime;
+
+import com.formation.entity.enums.EnrollmentEventType;
+
+public interface EnrollmentEventCountView {
+    Long getCourseId();
+    LocalDateTime getBucketStart();
+    EnrollmentEventType getType();
+    Long getEvents();
+}
@@ -0,0 +1,9 @@
+package com.formation.dto;
+
+public enum EnrollmentOutcome {
+    ENROLLED,
+    ALREADY_ENROLLED,
+    ENROLLED_ELSEWHERE,
+    NOT_FOUND,
+    CAPACITY_EXCEEDED
+}
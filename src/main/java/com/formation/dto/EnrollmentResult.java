@@ -0,0 +1,14 @@
+package com.formation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentResult {
+    private Long studentId;
+    private EnrollmentOutcome outcome;
+    private String message;
+}
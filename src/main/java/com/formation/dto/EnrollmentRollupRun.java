@@ -0,0 +1,19 @@
+package com.formation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentRollupRun {
+    private long afterEventId;
+    private long throughEventId;
+    private long events;
+    private int buckets;
+    private int filledGaps;
+    private int openGaps;
+}
@@ -0,0 +1,19 @@
+package com.formation.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentTrendPoint {
+    private LocalDateTime bucketStart;
+    private Long enrolled;
+    private Long unenrolled;
+    private Long waitlisted;
+    private Long waitlistLeft;
+    private Long netEnrolled;
+}
@@ -0,0 +1,20 @@
+package com.formation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErrorRate {
+    private String name;
+    private String code;
+    private int status;
+    private long total;
+    private long sinceLastSummary;
+    private double perMinute;
+    private long suppressedLogLines;
+}
@@ -0,0 +1,20 @@
+package com.formation.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErrorRateReport {
+    private LocalDateTime since;
+    private LocalDateTime lastSummary;
+    private long total;
+    private List<ErrorRate> errors;
+}
@@ -0,0 +1,18 @@
+package com.formation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogQueueStatus {
+    private String appender;
+    private int capacity;
+    private int queued;
+    private long discarded;
+    private long dropped;
+}
@@ -0,0 +1,22 @@
+package com.formation.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OccupancyFigure {
+    private String bucket;
+    private Long entries;
+    private Long students;
+    private Long seats;
+    private Long freeSeats;
+    private Double occupancyRate;
+}
@@ -0,0 +1,18 @@
+package com.formation.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OccupancyReport {
+    private OccupancyFigure classrooms;
+    private List<OccupancyFigure> byCourseStatus;
+    private List<OccupancyFigure> byStudentLevel;
+}
@@ -0,0 +1,11 @@
+package com.formation.dto;
+
+public interface OccupancyRowView {
+    String getDimension();
+    String getBucket();
+    Long getEntries();
+    Long getStudents();
+    Long getSeats();
+    Long getFreeSeats();
+    Double getOccupancyRate();
+}
@@ -0,0 +1,31 @@
+package com.formation.dto;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.formation.utils.PageResponseSerializer;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Page envelope returned by the list endpoints: the rows plus the page number, page size and totals.
+ * Unlike a serialized {@link Page} it has a fixed shape and no pageable/sort blocks.
+ */
+@Getter
+@AllArgsConstructor
+@JsonSerialize(using = PageResponseSerializer.class)
+public class PageResponse<T> {
+    private final List<T> content;
+    private final int page;
+    private final int size;
+    private final long totalElements;
+    private final int totalPages;
+
+    public static <T> PageResponse<T> of(Page<T> page) {
+        return new PageResponse<>(page.getContent(), page.getNumber(), page.getSize(),
+            page.getTotalElements(), page.getTotalPages());
+    }
+}
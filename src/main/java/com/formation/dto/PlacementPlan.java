@@ -0,0 +1,24 @@
+package com.formation.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlacementPlan {
+    private Long courseId;
+    private boolean dryRun;
+    private int students;
+    private int placed;
+    private int moved;
+    private int roomsUsed;
+    private int leftoverSeats;
+    private List<Long> unplacedStudentIds;
+    private List<RoomPlacement> rooms;
+}
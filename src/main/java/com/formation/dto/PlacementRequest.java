@@ -0,0 +1,25 @@
+package com.formation.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlacementRequest {
+
+    @NotNull(message = "Course ID is required")
+    private Long courseId;
+
+    // Restricts the candidate rooms; every room with free seats otherwise
+    private List<Long> classRoomIds;
+
+    // When false, only students of the course without a classroom are placed
+    private boolean repackPlaced;
+}
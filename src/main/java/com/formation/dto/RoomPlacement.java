@@ -0,0 +1,21 @@
+package com.formation.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomPlacement {
+    private Long classRoomId;
+    private String roomNumber;
+    private int freeSeats;
+    private int assigned;
+    private int leftoverSeats;
+    private List<Long> studentIds;
+}
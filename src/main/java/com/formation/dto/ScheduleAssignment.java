@@ -0,0 +1,26 @@
+package com.formation.dto;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleAssignment {
+    private Long courseId;
+    private String courseTitle;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private boolean assigned;
+    private Long classRoomId;
+    private String roomNumber;
+    private Long trainerId;
+    private String trainerName;
+    private String reasonCode;
+    private String reason;
+}
@@ -0,0 +1,23 @@
+package com.formation.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulePlan {
+    private LocalDate termStart;
+    private LocalDate termEnd;
+    private boolean dryRun;
+    private int assignedCount;
+    private int unassignedCount;
+    private long solveMillis;
+    private List<ScheduleAssignment> assignments;
+}
@@ -0,0 +1,29 @@
+package com.formation.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleRequest {
+
+    @NotNull(message = "Term start date is required")
+    private LocalDate termStart;
+
+    @NotNull(message = "Term end date is required")
+    private LocalDate termEnd;
+
+    // Restricts the plan to these courses; all planned or ongoing courses of the term otherwise
+    private List<Long> courseIds;
+
+    // When false, rooms and trainers already set on a course are kept as fixed constraints
+    private boolean reassignExisting;
+}
@@ -0,0 +1,23 @@
+package com.formation.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SqlDiagnostics {
+    private LocalDateTime since;
+    private long statements;
+    private long unattributedStatements;
+    private List<SqlEndpointStats> endpoints;
+    private List<SqlStatementStats> topStatements;
+    private List<SqlSlowStatement> recentSlowStatements;
+    private List<SqlRepeatedStatement> recentRepeatedStatements;
+}
@@ -0,0 +1,20 @@
+package com.formation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SqlEndpointStats {
+    private String endpoint;
+    private long requests;
+    private long statements;
+    private double statementsPerRequest;
+    private long maxStatements;
+    private double dbTimeMs;
+    private long repeatedStatementRequests;
+}
@@ -0,0 +1,19 @@
+package com.formation.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SqlRepeatedStatement {
+    private LocalDateTime at;
+    private String endpoint;
+    private String sql;
+    private int executions;
+}
@@ -0,0 +1,20 @@
+package com.formation.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SqlSlowStatement {
+    private LocalDateTime at;
+    private String endpoint;
+    private String sql;
+    private double elapsedMs;
+    private long rows;
+}
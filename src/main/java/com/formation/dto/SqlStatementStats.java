@@ -0,0 +1,20 @@
+package com.formation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SqlStatementStats {
+    private String sql;
+    private long executions;
+    private double totalMs;
+    private double avgMs;
+    private double maxMs;
+    private long rows;
+    private long slow;
+}
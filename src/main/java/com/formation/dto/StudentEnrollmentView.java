@@ -0,0 +1,7 @@
+package com.formation.dto;
+
+public interface StudentEnrollmentView {
+    Long getId();
+    Long getCourseId();
+    Long getClassRoomId();
+}
@@ -0,0 +1,18 @@
+package com.formation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentSummary {
+    private Long id;
+    private String lastName;
+    private String firstName;
+    private String email;
+    private String level;
+    private Long courseId;
+    private Long classRoomId;
+}
@@ -0,0 +1,21 @@
+package com.formation.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrainerAvailability {
+    private Long trainerId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private boolean available;
+    private List<TrainerBooking> bookings;
+}
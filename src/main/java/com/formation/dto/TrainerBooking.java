@@ -0,0 +1,19 @@
+package com.formation.dto;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrainerBooking {
+    private Long courseId;
+    private Long trainerId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+}
@@ -0,0 +1,20 @@
+package com.formation.dto;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrainerConflict {
+    private Long trainerId;
+    private Long courseId;
+    private Long conflictingCourseId;
+    private LocalDate overlapStart;
+    private LocalDate overlapEnd;
+}
@@ -0,0 +1,23 @@
+package com.formation.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrainerRecommendation {
+    private Long trainerId;
+    private String firstName;
+    private String lastName;
+    private String specialty;
+    private List<String> matchedKeywords;
+    private int activeCourses;
+    private boolean available;
+    private double score;
+}
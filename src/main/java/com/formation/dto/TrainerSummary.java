@@ -0,0 +1,17 @@
+package com.formation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrainerSummary {
+    private Long id;
+    private String lastName;
+    private String firstName;
+    private String email;
+    private String specialty;
+    private Long classRoomId;
+}
@@ -0,0 +1,18 @@
+package com.formation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistPosition {
+    private Long courseId;
+    private Long studentId;
+    private WaitlistStatus status;
+    private Long position;
+    private Long waiting;
+}
@@ -0,0 +1,6 @@
+package com.formation.dto;
+
+public interface WaitlistPositionView {
+    Long getPosition();
+    Long getWaiting();
+}
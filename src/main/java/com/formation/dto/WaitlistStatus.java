@@ -0,0 +1,6 @@
+package com.formation.dto;
+
+public enum WaitlistStatus {
+    WAITING,
+    ENROLLED
+}
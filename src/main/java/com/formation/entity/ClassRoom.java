@@ -7,6 +7,9 @@ import java.util.Set;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -20,6 +23,7 @@ import lombok.Setter;
 import lombok.ToString;
 
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Getter
 @Setter
 @Builder
@@ -63,10 +67,12 @@ public class ClassRoom {
     private LocalDateTime updatedAt;
     
     @OneToMany(mappedBy = "classRoom", fetch = FetchType.LAZY)
+    @JsonIgnore
     @Builder.Default
     private Set<Student> students = new HashSet<>();
     
     @OneToMany(mappedBy = "classRoom", fetch = FetchType.LAZY)
+    @JsonIgnore
     @Builder.Default
     private Set<Trainer> trainers = new HashSet<>();
     
@@ -74,6 +80,8 @@ public class ClassRoom {
         return currentCapacity < maxCapacity;
     }
     
+    // Would load both collections for every serialized classroom
+    @JsonIgnore
     public boolean isEmpty() {
         return students.isEmpty() && trainers.isEmpty();
     }
@@ -9,17 +9,23 @@ import jakarta.validation.constraints.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.formation.entity.enums.CourseStatus;
 
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Getter
 @Setter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@ToString(exclude = {"trainer", "students"})
+@ToString(exclude = {"trainer", "classRoom", "students"})
 @EqualsAndHashCode(of = {"id", "title"})
-@Table(name = "courses")
+@Table(name = "courses", indexes = {
+    @Index(name = "idx_course_status_start", columnList = "status, start_date"),
+    @Index(name = "idx_course_status_end", columnList = "status, end_date")
+})
 public class Course {
     
     @Id
@@ -77,7 +83,13 @@ public class Course {
     @JoinColumn(name = "trainer_id")
     private Trainer trainer;
     
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "classroom_id")
+    @JsonIgnoreProperties({"students", "trainers", "hibernateLazyInitializer"})
+    private ClassRoom classRoom;
+    
     @OneToMany(mappedBy = "course", fetch = FetchType.LAZY)
+    @JsonIgnore
     @Builder.Default
     private Set<Student> students = new HashSet<>();
     
@@ -0,0 +1,48 @@
+package com.formation.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Queue bounds of a course waitlist. Entries of a course always hold the
+ * contiguous tickets [headTicket, nextTicket), so a waiter's position is
+ * simply its ticket minus headTicket plus one.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Table(name = "course_waitlists")
+public class CourseWaitlist {
+
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Builder.Default
+    @Column(name = "head_ticket", nullable = false)
+    private long headTicket = 1;
+
+    @Builder.Default
+    @Column(name = "next_ticket", nullable = false)
+    private long nextTicket = 1;
+
+    public boolean isEmpty() {
+        return headTicket >= nextTicket;
+    }
+
+    public long size() {
+        return nextTicket - headTicket;
+    }
+}
@@ -0,0 +1,72 @@
+package com.formation.entity;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import com.formation.entity.enums.EnrollmentEventType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Append-only record of an enrollment change. Rows are never updated; the
+ * hour and day buckets are stored with the event so rollups can group on
+ * plain columns instead of truncating timestamps.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Table(name = "enrollment_events", indexes = {
+    @Index(name = "idx_enrollment_event_occurred", columnList = "occurred_at")
+})
+public class EnrollmentEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "course_id", nullable = false, updatable = false)
+    private Long courseId;
+
+    @Column(name = "student_id", nullable = false, updatable = false)
+    private Long studentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20, updatable = false)
+    private EnrollmentEventType type;
+
+    @Column(name = "occurred_at", nullable = false, updatable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(name = "hour_bucket", nullable = false, updatable = false)
+    private LocalDateTime hourBucket;
+
+    @Column(name = "day_bucket", nullable = false, updatable = false)
+    private LocalDateTime dayBucket;
+
+    public static EnrollmentEvent of(Long courseId, Long studentId, EnrollmentEventType type, LocalDateTime occurredAt) {
+        return EnrollmentEvent.builder()
+            .courseId(courseId)
+            .studentId(studentId)
+            .type(type)
+            .occurredAt(occurredAt)
+            .hourBucket(occurredAt.truncatedTo(ChronoUnit.HOURS))
+            .dayBucket(occurredAt.truncatedTo(ChronoUnit.DAYS))
+            .build();
+    }
+}
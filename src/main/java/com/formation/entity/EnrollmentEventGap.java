@@ -0,0 +1,36 @@
+package com.formation.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Enrollment event id below the rollup watermark that was not visible when the
+ * rollup passed it, typically because its transaction had not committed yet.
+ * The next runs count the event once it shows up; ids of rolled back
+ * transactions never do and are dropped after the retention period.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Table(name = "enrollment_event_gaps")
+public class EnrollmentEventGap {
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "detected_at", nullable = false, updatable = false)
+    private LocalDateTime detectedAt;
+}
@@ -0,0 +1,80 @@
+package com.formation.entity;
+
+import java.time.LocalDateTime;
+
+import com.formation.entity.enums.EnrollmentEventType;
+import com.formation.entity.enums.RollupGranularity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Enrollment event counts of one course over one hour or day bucket,
+ * maintained incrementally from {@link EnrollmentEvent} rows.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@IdClass(EnrollmentRollupId.class)
+@Table(name = "enrollment_rollups", indexes = {
+    @Index(name = "idx_enrollment_rollup_bucket", columnList = "granularity, bucket_start")
+})
+public class EnrollmentRollup {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private RollupGranularity granularity;
+
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDateTime bucketStart;
+
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Column(nullable = false)
+    private long enrolled;
+
+    @Column(nullable = false)
+    private long unenrolled;
+
+    @Column(nullable = false)
+    private long waitlisted;
+
+    @Column(name = "waitlist_left", nullable = false)
+    private long waitlistLeft;
+
+    public void add(EnrollmentEventType type, long events) {
+        switch (type) {
+            case ENROLLED:
+                enrolled += events;
+                break;
+            case UNENROLLED:
+                unenrolled += events;
+                break;
+            case WAITLISTED:
+                waitlisted += events;
+                break;
+            default:
+                waitlistLeft += events;
+        }
+    }
+}
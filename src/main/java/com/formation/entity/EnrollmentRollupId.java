@@ -0,0 +1,26 @@
+package com.formation.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import com.formation.entity.enums.RollupGranularity;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class EnrollmentRollupId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private RollupGranularity granularity;
+    private LocalDateTime bucketStart;
+    private Long courseId;
+}
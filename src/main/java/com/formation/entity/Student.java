@@ -7,6 +7,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -30,7 +31,7 @@ import org.hibernate.annotations.UpdateTimestamp;
 @AllArgsConstructor
 @ToString(exclude = {"course", "classRoom"})
 @EqualsAndHashCode(of = {"id", "email"})
-@Table(name = "students")
+@Table(name = "students", indexes = @Index(name = "idx_student_level", columnList = "level"))
 public class Student {
     
     @Id
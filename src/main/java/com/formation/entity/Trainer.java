@@ -8,8 +8,11 @@ import jakarta.validation.constraints.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Getter
 @Setter
 @Builder
@@ -56,6 +59,7 @@ public class Trainer {
     private LocalDateTime updatedAt;
     
     @OneToMany(mappedBy = "trainer", fetch = FetchType.LAZY)
+    @JsonIgnore
     @Builder.Default
     private Set<Course> courses = new HashSet<>();
     
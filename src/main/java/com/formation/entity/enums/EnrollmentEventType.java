@@ -0,0 +1,8 @@
+package com.formation.entity.enums;
+
+public enum EnrollmentEventType {
+    ENROLLED,
+    UNENROLLED,
+    WAITLISTED,
+    WAITLIST_LEFT
+}
@@ -0,0 +1,6 @@
+package com.formation.entity.enums;
+
+public enum RollupGranularity {
+    HOUR,
+    DAY
+}
@@ -1,13 +1,31 @@
 package com.formation.exception;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 
+/**
+ * Expected failure answered from its code alone. No stack trace is captured and the
+ * message is only formatted when read, so throwing one costs about as much as a return.
+ */
 @Getter
 public abstract class BaseException extends RuntimeException {
     private final ExceptionCode code;
+    @Getter(AccessLevel.NONE)
+    private final Object[] args;
+    @Getter(AccessLevel.NONE)
+    private String message;
 
     protected BaseException(ExceptionCode code, Object... args) {
-        super(String.format(code.getMessageTemplate(), args));
+        super(null, null, false, false);
         this.code = code;
+        this.args = args;
     }
-}
\ No newline at end of file
+
+    @Override
+    public String getMessage() {
+        if (message == null) {
+            message = String.format(code.getMessageTemplate(), args);
+        }
+        return message;
+    }
+}
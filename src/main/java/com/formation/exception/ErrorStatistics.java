@@ -0,0 +1,131 @@
+package com.formation.exception;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.http.HttpStatus;
+
+import com.formation.dto.ErrorRate;
+import com.formation.dto.ErrorRateReport;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Counts handled failures per {@link ExceptionCode} and decides which of them get a log line:
+ * the first logLimit occurrences of a code in each log window are logged, later ones are only counted
+ * and show up in the periodic summary line instead.
+ */
+@Slf4j
+public class ErrorStatistics {
+
+    private final Map<ExceptionCode, Tally> tallies = new EnumMap<>(ExceptionCode.class);
+    private final int logLimit;
+    private final long logWindowNanos;
+    private final LocalDateTime since = LocalDateTime.now();
+    private volatile LocalDateTime lastSummary = since;
+
+    public ErrorStatistics(int logLimit, Duration logWindow) {
+        this.logLimit = logLimit;
+        this.logWindowNanos = logWindow.toNanos();
+        // Filled once and only read afterwards, so the EnumMap is safe to share between request threads
+        for (ExceptionCode code : ExceptionCode.values()) {
+            tallies.put(code, new Tally());
+        }
+    }
+
+    /**
+     * Counts one failure and returns whether it should be logged.
+     */
+    public boolean record(ExceptionCode code, HttpStatus status) {
+        Tally tally = tallies.get(code);
+        // A code always maps to the same status, so it is written by the first failure only
+        if (tally.status == 0) {
+            tally.status = status.value();
+        }
+        tally.total.increment();
+        long now = System.nanoTime();
+        long windowStart = tally.windowStart.get();
+        if (now - windowStart >= logWindowNanos) {
+            if (tally.windowStart.compareAndSet(windowStart, now)) {
+                tally.logged.set(0);
+            }
+        } else if (tally.logged.get() >= logLimit) {
+            // Limit reached in this window: count without touching the shared logged counter
+            tally.suppressed.increment();
+            return false;
+        }
+        if (tally.logged.incrementAndGet() <= logLimit) {
+            return true;
+        }
+        tally.suppressed.increment();
+        return false;
+    }
+
+    public ErrorRateReport report() {
+        double minutes = Math.max(Duration.between(since, LocalDateTime.now()).toMillis() / 60000.0, 1.0 / 60);
+        List<ErrorRate> errors = new ArrayList<>();
+        long total = 0;
+        for (Map.Entry<ExceptionCode, Tally> entry : tallies.entrySet()) {
+            Tally tally = entry.getValue();
+            long count = tally.total.sum();
+            if (count == 0) {
+                continue;
+            }
+            total += count;
+            errors.add(ErrorRate.builder()
+                .name(entry.getKey().name())
+                .code(entry.getKey().getCode())
+                .status(tally.status)
+                .total(count)
+                .sinceLastSummary(count - tally.summarized)
+                .perMinute(Math.round(count / minutes * 100) / 100.0)
+                .suppressedLogLines(tally.suppressed.sum())
+                .build());
+        }
+        errors.sort(Comparator.comparingLong(ErrorRate::getTotal).reversed());
+        return ErrorRateReport.builder()
+            .since(since)
+            .lastSummary(lastSummary)
+            .total(total)
+            .errors(errors)
+            .build();
+    }
+
+    /**
+     * Logs one line with the failures counted since the previous summary; nothing when there were none.
+     */
+    public synchronized void logSummary() {
+        StringBuilder counts = new StringBuilder();
+        long total = 0;
+        for (Map.Entry<ExceptionCode, Tally> entry : tallies.entrySet()) {
+            Tally tally = entry.getValue();
+            long count = tally.total.sum();
+            long delta = count - tally.summarized;
+            tally.summarized = count;
+            if (delta > 0) {
+                counts.append(counts.length() == 0 ? "" : ", ").append(entry.getKey().name()).append('=').append(delta);
+                total += delta;
+            }
+        }
+        if (total > 0) {
+            log.info("Handled {} errors since {}: {}", total, lastSummary, counts);
+        }
+        lastSummary = LocalDateTime.now();
+    }
+
+    private static class Tally {
+        private final LongAdder total = new LongAdder();
+        private final LongAdder suppressed = new LongAdder();
+        private final AtomicLong logged = new AtomicLong();
+        private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+        private volatile int status;
+        private volatile long summarized;
+    }
+}
@@ -32,6 +32,7 @@ public enum ExceptionCode {
     STUDENT_DUPLICATE_ENROLLMENT("STD-409-D", "Student already enrolled in another course"),
     STUDENT_CLASSROOM_FULL("STD-409-F", "Selected classroom is at full capacity"),
     STUDENT_SEARCH_FAILED("STD-400-S", "Failed to search students: %s"),
+    STUDENT_NOT_ENROLLED("STD-404-C", "Student %s is not enrolled in course %s"),
 
     // Course related codes
     COURSE_NOT_FOUND("CRS-404", "Course not found with id: %s"),
@@ -43,12 +44,21 @@ public enum ExceptionCode {
     COURSE_SCHEDULE_CONFLICT("CRS-409-S", "Schedule conflict with existing course: %s"),
     COURSE_INVALID_DURATION("CRS-400-T", "Course duration must be between %d and %d days"),
     COURSE_REGISTRATION_CLOSED("CRS-409-R", "Course registration period has ended"),
+    COURSE_FULL("CRS-409-F", "Course is full: current %d, max %d"),
+    COURSE_CAPACITY_RANGE_INVALID("CRS-400-R", "Capacity range is invalid: min %d, max %d"),
+    COURSE_CAPACITY_BELOW_ENROLLED("CRS-400-E", "Maximum capacity %d is below the %d students already enrolled"),
+    
+    // Waitlist related codes
+    WAITLIST_ENTRY_NOT_FOUND("WTL-404", "Student %s is not on the waitlist of course %s"),
+    WAITLIST_ALREADY_JOINED("WTL-409", "Student %s is already on the waitlist of course %s"),
     
     // Trainer related codes
     TRAINER_NOT_FOUND("TRN-404", "Trainer not found with id: %s"),
     TRAINER_EMAIL_EXISTS("TRN-409", "Trainer with email '%s' already exists"),
     TRAINER_MAX_COURSES("TRN-409-C", "Trainer has reached maximum course load: %s"),
     TRAINER_NOT_AVAILABLE("TRN-409-A", "Trainer is not available for this time slot"),
+    TRAINER_BOOKED("TRN-409-B", "Trainer %s already teaches course %s from %s to %s"),
+    TRAINER_WITH_COURSES("TRN-409-D", "Cannot delete trainer with assigned courses"),
     
     // Additional validation codes
     INVALID_ROOM_NUMBER("VAL-400-R", "Invalid room number format: %s"),
@@ -64,11 +74,16 @@ public enum ExceptionCode {
     INVALID_DATE_RANGE("VAL-400-D", "Start date must be before end date"),
     INVALID_CAPACITY("VAL-400-C", "Capacity must be between %d and %d"),
     INVALID_PAGE("VAL-400-P", "Invalid pagination parameters: %s"),
+    INVALID_FIELDS("VAL-400-F", "Unknown fields %s, selectable fields are %s"),
     INVALID_PHONE_FORMAT("VAL-400-P", "Invalid phone number format: %s"),
     INVALID_TIME_SLOT("VAL-400-T", "Invalid time slot format or range"),
     INVALID_DOCUMENT_FORMAT("VAL-400-D", "Invalid document format: %s"),
     DUPLICATE_ENTRY("VAL-409", "Duplicate entry found for: %s"),
-    RESOURCE_LOCKED("VAL-423", "Resource is currently locked: %s");
+    RESOURCE_LOCKED("VAL-423", "Resource is currently locked: %s"),
+    
+    // Server codes
+    SERVER_BUSY("SRV-503", "Server is busy, no database capacity freed within %d ms"),
+    STREAMS_BUSY("SRV-503-S", "Server is busy, every export stream is in use");
 
     private final String code;
     private final String messageTemplate;
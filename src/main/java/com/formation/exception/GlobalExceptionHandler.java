@@ -1,6 +1,12 @@
 package com.formation.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.query.sqm.PathElementException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.mapping.PropertyReferenceException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -12,6 +18,9 @@ import jakarta.validation.ConstraintViolationException;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    @Autowired
+    private ErrorStatistics errorStatistics;
+
     @ExceptionHandler(BaseException.class)
     public ResponseEntity<ErrorResponse> handleBaseException(BaseException ex, WebRequest request) {
         HttpStatus status = determineHttpStatus(ex);
@@ -21,11 +30,40 @@ public class GlobalExceptionHandler {
             ex.getMessage(),
             request.getDescription(false)
         );
-        
-        log.error("Exception occurred: {}", errorResponse);
+
+        // Routine failures are counted on every request but only logged up to the per-code limit
+        if (errorStatistics.record(ex.getCode(), status)) {
+            if (status.is5xxServerError()) {
+                log.error("Exception occurred: {}", errorResponse);
+            } else {
+                log.warn("Exception occurred: {}", errorResponse);
+            }
+        }
         return new ResponseEntity<>(errorResponse, status);
     }
 
+    // Unknown sort property in a list request, reported like any other invalid page
+    @ExceptionHandler(PropertyReferenceException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidSort(PropertyReferenceException ex, WebRequest request) {
+        return handleBaseException(new ValidationException(ExceptionCode.INVALID_PAGE, ex.getMessage()), request);
+    }
+
+    // Same for the @Query list methods, where Hibernate rejects the sort path; any other misuse stays a 500
+    @ExceptionHandler(InvalidDataAccessApiUsageException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidQuerySort(InvalidDataAccessApiUsageException ex, WebRequest request) {
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(ex);
+        if (!(cause instanceof PathElementException)) {
+            throw ex;
+        }
+        return handleBaseException(new ValidationException(ExceptionCode.INVALID_PAGE, cause.getMessage()), request);
+    }
+
+    // Every export stream thread busy, see WebConfig.streamTaskExecutor
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleStreamsBusy(TaskRejectedException ex, WebRequest request) {
+        return handleBaseException(new ServiceUnavailableException(ExceptionCode.STREAMS_BUSY), request);
+    }
+
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<ErrorResponse> handleValidationException(
             ConstraintViolationException ex, WebRequest request) {
@@ -43,6 +81,7 @@ public class GlobalExceptionHandler {
         if (ex instanceof DuplicateResourceException) return HttpStatus.CONFLICT;
         if (ex instanceof ResourceInUseException) return HttpStatus.CONFLICT;
         if (ex instanceof ValidationException) return HttpStatus.BAD_REQUEST;
+        if (ex instanceof ServiceUnavailableException) return HttpStatus.SERVICE_UNAVAILABLE;
         return HttpStatus.INTERNAL_SERVER_ERROR;
     }
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.formation.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.formation.CourseSearch")
+@Label("Course Search")
+public class CourseSearchEvent extends SearchEvent {
+}
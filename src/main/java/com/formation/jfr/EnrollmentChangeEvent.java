@@ -0,0 +1,62 @@
+package com.formation.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A change to who is enrolled in a course or to how many seats it has, timed over the whole service call
+ * including row locks. Calls that fail, dry runs and promotions with an empty queue are not recorded.
+ */
+@Name("com.formation.EnrollmentChange")
+@Label("Enrollment Change")
+@Category({ "Formation", "Enrollment" })
+@StackTrace(false)
+public class EnrollmentChangeEvent extends Event {
+
+    public static final String ENROLL_BATCH = "ENROLL_BATCH";
+    public static final String UNENROLL = "UNENROLL";
+    public static final String WAITLIST_JOIN = "WAITLIST_JOIN";
+    public static final String WAITLIST_PROMOTE = "WAITLIST_PROMOTE";
+    public static final String PLACEMENT = "PLACEMENT";
+    public static final String CAPACITY_CHANGE = "CAPACITY_CHANGE";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Course Id")
+    long courseId;
+
+    @Label("Requested")
+    @Description("Students in the request; for promotions the seats offered, for capacity changes the seat delta")
+    int requested;
+
+    @Label("Students Changed")
+    @Description("Students enrolled, unenrolled, promoted or placed by the call")
+    int changed;
+
+    @Label("Free Seats")
+    @Description("Seats left in the course after the call, -1 when not known")
+    int freeSeats;
+
+    public static EnrollmentChangeEvent start(String operation, Long courseId) {
+        EnrollmentChangeEvent event = new EnrollmentChangeEvent();
+        event.operation = operation;
+        event.courseId = courseId == null ? -1 : courseId;
+        event.begin();
+        return event;
+    }
+
+    public void commit(int requested, int changed, int freeSeats) {
+        end();
+        if (shouldCommit()) {
+            this.requested = requested;
+            this.changed = changed;
+            this.freeSeats = freeSeats;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.formation.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One call to a service method returning a page, recorded by {@link PagedQueryEventAspect}.
+ */
+@Name("com.formation.PagedQuery")
+@Label("Paged Query")
+@Category({ "Formation", "Paging" })
+@StackTrace(false)
+public class PagedQueryEvent extends Event {
+
+    @Label("Operation")
+    @Description("Service class and method, e.g. StudentServiceImpl.findByLevel")
+    String operation;
+
+    @Label("Page")
+    int page;
+
+    @Label("Page Size")
+    int pageSize;
+
+    @Label("Result Count")
+    long resultCount;
+
+    @Label("Total Results")
+    long totalResults;
+}
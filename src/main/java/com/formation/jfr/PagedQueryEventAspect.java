@@ -0,0 +1,49 @@
+package com.formation.jfr;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records a {@link PagedQueryEvent} around every service method that returns a page. When no recording
+ * has the event enabled the call goes straight through.
+ */
+@Aspect
+@Component
+public class PagedQueryEventAspect {
+
+    @Around("execution(org.springframework.data.domain.Page com.formation.service.impl.*.*(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        PagedQueryEvent event = new PagedQueryEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        Object result = joinPoint.proceed();
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = joinPoint.getSignature().getDeclaringType().getSimpleName()
+                + "." + joinPoint.getSignature().getName();
+            Pageable pageable = pageable(joinPoint.getArgs());
+            event.page = pageable.isPaged() ? pageable.getPageNumber() : -1;
+            event.pageSize = pageable.isPaged() ? pageable.getPageSize() : -1;
+            Page<?> page = (Page<?>) result;
+            event.resultCount = page.getNumberOfElements();
+            event.totalResults = page.getTotalElements();
+            event.commit();
+        }
+        return result;
+    }
+
+    private static Pageable pageable(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof Pageable) {
+                return (Pageable) arg;
+            }
+        }
+        return Pageable.unpaged();
+    }
+}
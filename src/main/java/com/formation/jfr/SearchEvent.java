@@ -0,0 +1,65 @@
+package com.formation.jfr;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Keyword search timed from the service call to the returned page. The keyword itself is not recorded,
+ * only its length. Streamed searches have no page: page and pageSize are -1 and resultCount is the number
+ * of rows handed to the consumer.
+ */
+@Category({ "Formation", "Search" })
+@StackTrace(false)
+public abstract class SearchEvent extends Event {
+
+    @Label("Keyword Length")
+    int keywordLength;
+
+    @Label("Page")
+    int page;
+
+    @Label("Page Size")
+    int pageSize;
+
+    @Label("Result Count")
+    @Description("Rows returned (the page content, or every streamed row)")
+    long resultCount;
+
+    @Label("Total Results")
+    @Description("Matches across all pages, -1 for streamed searches")
+    long totalResults;
+
+    @Label("Streamed")
+    boolean streamed;
+
+    public void commit(String keyword, Pageable pageable, Page<?> result) {
+        end();
+        if (shouldCommit()) {
+            keywordLength = keyword == null ? 0 : keyword.length();
+            page = pageable.isPaged() ? pageable.getPageNumber() : -1;
+            pageSize = pageable.isPaged() ? pageable.getPageSize() : -1;
+            resultCount = result.getNumberOfElements();
+            totalResults = result.getTotalElements();
+            commit();
+        }
+    }
+
+    public void commitStreamed(String keyword, long rows) {
+        end();
+        if (shouldCommit()) {
+            keywordLength = keyword == null ? 0 : keyword.length();
+            page = -1;
+            pageSize = -1;
+            resultCount = rows;
+            totalResults = -1;
+            streamed = true;
+            commit();
+        }
+    }
+}
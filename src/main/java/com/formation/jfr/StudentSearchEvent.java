@@ -0,0 +1,9 @@
+package com.formation.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.formation.StudentSearch")
+@Label("Student Search")
+public class StudentSearchEvent extends SearchEvent {
+}
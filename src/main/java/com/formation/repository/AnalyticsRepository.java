@@ -0,0 +1,66 @@
+package com.formation.repository;
+
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import com.formation.dto.DashboardSummaryView;
+import com.formation.dto.OccupancyRowView;
+import com.formation.entity.Course;
+
+import jakarta.persistence.QueryHint;
+
+/**
+ * Read-only reporting queries. They aggregate in the database and return
+ * flat rows, no entity is ever loaded.
+ */
+@Repository
+public interface AnalyticsRepository extends org.springframework.data.repository.Repository<Course, Long> {
+
+    // One statement: classroom totals, courses per status and students per level (index-only scan).
+    // Seated and enrolled students are counted from the students rows, the current_capacity counters
+    // drift from them. Status is cast since H2 maps enum columns to a native ENUM type.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(nativeQuery = true, value = "SELECT o.dimension AS dimension, o.bucket AS bucket, o.entries AS entries, "
+        + "o.students AS students, o.seats AS seats, o.seats - o.students AS freeSeats, "
+        + "CASE WHEN o.seats > 0 THEN CAST(o.students AS DOUBLE PRECISION) / o.seats END AS occupancyRate "
+        + "FROM ("
+        + "SELECT 'CLASSROOM' AS dimension, CAST('ALL' AS VARCHAR(20)) AS bucket, COUNT(*) AS entries, "
+        + "(SELECT COUNT(*) FROM students s WHERE s.classroom_id IS NOT NULL) AS students, "
+        + "COALESCE(SUM(r.max_capacity), 0) AS seats "
+        + "FROM classrooms r "
+        + "UNION ALL "
+        + "SELECT 'COURSE_STATUS', CAST(c.status AS VARCHAR(20)), COUNT(*), COALESCE(SUM(e.students), 0), COALESCE(SUM(c.max_capacity), 0) "
+        + "FROM courses c LEFT JOIN (SELECT s.course_id, COUNT(*) AS students FROM students s "
+        + "WHERE s.course_id IS NOT NULL GROUP BY s.course_id) e ON e.course_id = c.id "
+        + "GROUP BY c.status "
+        + "UNION ALL "
+        + "SELECT 'STUDENT_LEVEL', s.level, COUNT(*), COUNT(*), NULL "
+        + "FROM students s GROUP BY s.level"
+        + ") o ORDER BY o.dimension, o.bucket")
+    Stream<OccupancyRowView> streamOccupancy();
+
+    // Every dashboard headline in one round-trip; available courses use the current_capacity counter
+    @Query(nativeQuery = true, value = "SELECT "
+        + "(SELECT COUNT(*) FROM courses) AS courses, "
+        + "(SELECT COUNT(*) FROM courses c WHERE CAST(c.status AS VARCHAR(20)) = 'PLANNED' "
+        + "AND c.current_capacity < c.max_capacity) AS availableCourses, "
+        + "(SELECT COUNT(*) FROM courses c WHERE CAST(c.status AS VARCHAR(20)) = 'IN_PROGRESS') AS ongoingCourses, "
+        + "(SELECT COUNT(*) FROM courses c WHERE c.trainer_id IS NULL) AS coursesWithoutTrainer, "
+        + "(SELECT COUNT(*) FROM students) AS students, "
+        + "(SELECT COUNT(*) FROM students s WHERE s.course_id IS NULL) AS studentsWithoutCourse, "
+        + "(SELECT COUNT(*) FROM waitlist_entries) AS waitlistedStudents, "
+        + "(SELECT COUNT(*) FROM trainers) AS trainers, "
+        + "(SELECT COUNT(*) FROM trainers t WHERE NOT EXISTS "
+        + "(SELECT 1 FROM courses c WHERE c.trainer_id = t.id)) AS trainersWithoutCourses, "
+        + "(SELECT COUNT(*) FROM classrooms) AS classRooms, "
+        + "(SELECT COUNT(*) FROM classrooms r WHERE NOT EXISTS "
+        + "(SELECT 1 FROM students s WHERE s.classroom_id = r.id)) AS emptyClassRooms")
+    DashboardSummaryView findDashboardSummary();
+}
@@ -1,34 +1,64 @@
 package com.formation.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.formation.dto.ClassRoomOccupancyView;
 import com.formation.entity.ClassRoom;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
-public interface ClassRoomRepository extends JpaRepository<ClassRoom, Long> {
+public interface ClassRoomRepository extends JpaRepository<ClassRoom, Long>, JpaSpecificationExecutor<ClassRoom> {
     // Basic finder methods
     Page<ClassRoom> findByName(String name, Pageable pageable);
     Page<ClassRoom> findByRoomNumber(String roomNumber, Pageable pageable);
     
-    // Search query
-    @Query("SELECT c FROM ClassRoom c WHERE c.name LIKE %:keyword% OR c.roomNumber LIKE %:keyword%")
-    Page<ClassRoom> search(@Param("keyword") String keyword, Pageable pageable);
+    // Enrollment queries
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ClassRoom c WHERE c.id = :id")
+    Optional<ClassRoom> findByIdForUpdate(@Param("id") Long id);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ClassRoom c SET c.currentCapacity = c.currentCapacity + :delta WHERE c.id = :id")
+    int adjustCurrentCapacity(@Param("id") Long id, @Param("delta") int delta);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ClassRoom c SET c.currentCapacity = c.currentCapacity - "
+        + "(SELECT COUNT(s) FROM Student s WHERE s.classRoom = c AND s.id IN :studentIds) "
+        + "WHERE c.id <> :targetId AND EXISTS (SELECT s FROM Student s WHERE s.classRoom = c AND s.id IN :studentIds)")
+    int releaseSeatsHeldBy(@Param("studentIds") Collection<Long> studentIds, @Param("targetId") Long targetId);
+    
+    // Placement queries, locking and counting the candidate rooms only
+    @Query("SELECT c.id FROM ClassRoom c WHERE (SELECT COUNT(s) FROM Student s WHERE s.classRoom = c) < c.maxCapacity")
+    List<Long> findAvailableRoomIds();
+    
+    @Query("SELECT c FROM ClassRoom c WHERE c.id IN :ids ORDER BY c.id")
+    List<ClassRoom> findAllByIds(@Param("ids") Collection<Long> ids);
     
-    // Capacity queries
-    @Query("SELECT c FROM ClassRoom c WHERE (SELECT COUNT(s) FROM Student s WHERE s.classRoom = c) < :capacity")
-    Page<ClassRoom> findAvailableRooms(@Param("capacity") int capacity, Pageable pageable);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ClassRoom c WHERE c.id IN :ids ORDER BY c.id")
+    List<ClassRoom> findAllByIdsForUpdate(@Param("ids") Collection<Long> ids);
     
-    @Query("SELECT c FROM ClassRoom c WHERE (SELECT COUNT(s) FROM Student s WHERE s.classRoom = c) = 0")
-    Page<ClassRoom> findEmptyRooms(Pageable pageable);
+    @Query("SELECT s.classRoom.id AS classRoomId, COUNT(s) AS students FROM Student s "
+        + "WHERE s.classRoom.id IN :ids GROUP BY s.classRoom.id")
+    List<ClassRoomOccupancyView> findOccupancy(@Param("ids") Collection<Long> ids);
     
-    // Trainer-related queries
-    @Query("SELECT c FROM ClassRoom c WHERE (SELECT COUNT(t) FROM Trainer t WHERE t.classRoom = c) = 0")
-    Page<ClassRoom> findRoomsWithoutTrainers(Pageable pageable);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ClassRoom c SET c.currentCapacity = (SELECT COUNT(s) FROM Student s WHERE s.classRoom = c) "
+        + "WHERE c.id IN :ids")
+    int recountCurrentCapacity(@Param("ids") Collection<Long> ids);
     
     // Validation
     boolean existsByRoomNumber(String roomNumber);
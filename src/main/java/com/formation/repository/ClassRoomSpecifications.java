@@ -0,0 +1,49 @@
+package com.formation.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.formation.entity.ClassRoom;
+import com.formation.entity.Student;
+import com.formation.entity.Trainer;
+
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+/**
+ * Filters of the classroom list endpoints, defined once here: the entity pages and
+ * the sparse fieldset pages both apply them.
+ */
+public final class ClassRoomSpecifications {
+
+    private ClassRoomSpecifications() {
+    }
+
+    public static Specification<ClassRoom> search(String keyword) {
+        String pattern = "%" + keyword + "%";
+        return (root, query, cb) -> cb.or(
+            cb.like(root.<String>get("name"), pattern),
+            cb.like(root.<String>get("roomNumber"), pattern));
+    }
+
+    public static Specification<ClassRoom> seatingFewerThan(int capacity) {
+        return (root, query, cb) -> {
+            Subquery<Long> students = query.subquery(Long.class);
+            Root<Student> student = students.from(Student.class);
+            students.select(cb.count(student)).where(cb.equal(student.get("classRoom"), root));
+            return cb.lessThan(students, (long) capacity);
+        };
+    }
+
+    public static Specification<ClassRoom> empty() {
+        return seatingFewerThan(1);
+    }
+
+    public static Specification<ClassRoom> withoutTrainers() {
+        return (root, query, cb) -> {
+            Subquery<Long> trainers = query.subquery(Long.class);
+            Root<Trainer> trainer = trainers.from(Trainer.class);
+            trainers.select(cb.count(trainer)).where(cb.equal(trainer.get("classRoom"), root));
+            return cb.equal(trainers, 0L);
+        };
+    }
+}
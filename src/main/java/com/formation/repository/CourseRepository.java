@@ -1,31 +1,45 @@
 package com.formation.repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.formation.dto.TrainerBooking;
 import com.formation.entity.Course;
 import com.formation.entity.enums.CourseStatus;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
-public interface CourseRepository extends JpaRepository<Course, Long> {
+public interface CourseRepository extends JpaRepository<Course, Long>, JpaSpecificationExecutor<Course> {
+    // List pages serialize each course's trainer (with its classroom) and classroom, fetched in the page query
+    @Override
+    @EntityGraph(attributePaths = {"trainer", "trainer.classRoom", "classRoom"})
+    Page<Course> findAll(Pageable pageable);
+    
+    @Override
+    @EntityGraph(attributePaths = {"trainer", "trainer.classRoom", "classRoom"})
+    Page<Course> findAll(Specification<Course> spec, Pageable pageable);
+    
     // Basic finder methods
     Page<Course> findByTitle(String title, Pageable pageable);
     Page<Course> findByLevel(String level, Pageable pageable);
     Page<Course> findByStatus(CourseStatus status, Pageable pageable);
     
-    // Search and date range queries
-    @Query("SELECT c FROM Course c WHERE c.title LIKE %:keyword% OR c.level LIKE %:keyword% OR c.prerequisites LIKE %:keyword%")
-    Page<Course> search(@Param("keyword") String keyword, Pageable pageable);
-    
-    @Query("SELECT c FROM Course c WHERE c.startDate >= :startDate AND c.endDate <= :endDate")
-    Page<Course> findByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, Pageable pageable);
-    
     // Capacity and availability queries
     @Query("SELECT c FROM Course c WHERE SIZE(c.students) < c.maxCapacity AND c.status = 'PLANNED'")
     Page<Course> findAvailableCourses(Pageable pageable);
@@ -41,9 +55,36 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     Page<Course> findOngoingCourses(Pageable pageable);
     
     // Trainer-related queries
-    @Query("SELECT c FROM Course c WHERE c.trainer.id = :trainerId")
-    Page<Course> findByTrainerId(@Param("trainerId") Long trainerId, Pageable pageable);
-    
     @Query("SELECT c FROM Course c WHERE c.trainer IS NULL")
     Page<Course> findCoursesWithoutTrainer(Pageable pageable);
+    
+    // Scheduling queries
+    @Query("SELECT c FROM Course c LEFT JOIN FETCH c.trainer LEFT JOIN FETCH c.classRoom "
+        + "WHERE c.status IN :statuses AND c.startDate <= :endDate AND c.endDate >= :startDate")
+    List<Course> findOverlapping(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+            @Param("statuses") Collection<CourseStatus> statuses);
+    
+    @Query("SELECT new com.formation.dto.TrainerBooking(c.id, c.trainer.id, c.startDate, c.endDate) "
+        + "FROM Course c WHERE c.trainer IS NOT NULL AND c.status IN :statuses")
+    List<TrainerBooking> findTrainerBookings(@Param("statuses") Collection<CourseStatus> statuses);
+    
+    // Lifecycle queries, every due course whatever its dates; the (status, date) indexes keep the scan to those rows
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Course c SET c.status = com.formation.entity.enums.CourseStatus.IN_PROGRESS, c.updatedAt = :now "
+        + "WHERE c.status = com.formation.entity.enums.CourseStatus.PLANNED AND c.startDate <= :today")
+    int startDueCourses(@Param("today") LocalDate today, @Param("now") LocalDateTime now);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Course c SET c.status = com.formation.entity.enums.CourseStatus.COMPLETED, c.updatedAt = :now "
+        + "WHERE c.status = com.formation.entity.enums.CourseStatus.IN_PROGRESS AND c.endDate < :today")
+    int completeDueCourses(@Param("today") LocalDate today, @Param("now") LocalDateTime now);
+    
+    // Enrollment queries
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Course c WHERE c.id = :id")
+    Optional<Course> findByIdForUpdate(@Param("id") Long id);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Course c SET c.currentCapacity = c.currentCapacity + :delta WHERE c.id = :id")
+    int adjustCurrentCapacity(@Param("id") Long id, @Param("delta") int delta);
 }
@@ -0,0 +1,35 @@
+package com.formation.repository;
+
+import java.time.LocalDate;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.formation.entity.Course;
+
+/**
+ * Filters of the course list endpoints, defined once here: the entity pages,
+ * the sparse fieldset pages and the search stream all apply them.
+ */
+public final class CourseSpecifications {
+
+    private CourseSpecifications() {
+    }
+
+    public static Specification<Course> search(String keyword) {
+        String pattern = "%" + keyword + "%";
+        return (root, query, cb) -> cb.or(
+            cb.like(root.<String>get("title"), pattern),
+            cb.like(root.<String>get("level"), pattern),
+            cb.like(root.<String>get("prerequisites"), pattern));
+    }
+
+    public static Specification<Course> withinDates(LocalDate startDate, LocalDate endDate) {
+        return (root, query, cb) -> cb.and(
+            cb.greaterThanOrEqualTo(root.<LocalDate>get("startDate"), startDate),
+            cb.lessThanOrEqualTo(root.<LocalDate>get("endDate"), endDate));
+    }
+
+    public static Specification<Course> taughtBy(Long trainerId) {
+        return (root, query, cb) -> cb.equal(root.get("trainer").get("id"), trainerId);
+    }
+}
@@ -0,0 +1,25 @@
+package com.formation.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.formation.entity.CourseWaitlist;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface CourseWaitlistRepository extends JpaRepository<CourseWaitlist, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM CourseWaitlist w WHERE w.courseId = :courseId")
+    Optional<CourseWaitlist> findByIdForUpdate(@Param("courseId") Long courseId);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM CourseWaitlist w WHERE w.courseId = :courseId")
+    int deleteByCourseId(@Param("courseId") Long courseId);
+}
@@ -0,0 +1,10 @@
+package com.formation.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.formation.entity.EnrollmentEventGap;
+
+@Repository
+public interface EnrollmentEventGapRepository extends JpaRepository<EnrollmentEventGap, Long> {
+}
@@ -0,0 +1,65 @@
+package com.formation.repository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.formation.dto.EnrollmentEventCountView;
+import com.formation.entity.EnrollmentEvent;
+import com.formation.entity.enums.EnrollmentEventType;
+
+@Repository
+public interface EnrollmentEventRepository extends JpaRepository<EnrollmentEvent, Long> {
+
+    // One INSERT ... SELECT for a whole batch; only students actually sitting in the course get an event
+    @Modifying
+    @Query("INSERT INTO EnrollmentEvent (courseId, studentId, type, occurredAt, hourBucket, dayBucket) "
+        + "SELECT s.course.id, s.id, :type, :occurredAt, :hourBucket, :dayBucket FROM Student s "
+        + "WHERE s.id IN :ids AND s.course.id = :courseId")
+    int insertForEnrolledStudents(@Param("ids") Collection<Long> ids, @Param("courseId") Long courseId,
+            @Param("type") EnrollmentEventType type, @Param("occurredAt") LocalDateTime occurredAt,
+            @Param("hourBucket") LocalDateTime hourBucket, @Param("dayBucket") LocalDateTime dayBucket);
+
+    default int recordEnrolled(Collection<Long> ids, Long courseId, LocalDateTime occurredAt) {
+        return insertForEnrolledStudents(ids, courseId, EnrollmentEventType.ENROLLED, occurredAt,
+            occurredAt.truncatedTo(ChronoUnit.HOURS), occurredAt.truncatedTo(ChronoUnit.DAYS));
+    }
+
+    default EnrollmentEvent record(Long courseId, Long studentId, EnrollmentEventType type, LocalDateTime occurredAt) {
+        return save(EnrollmentEvent.of(courseId, studentId, type, occurredAt));
+    }
+
+    @Query("SELECT MAX(e.id) FROM EnrollmentEvent e WHERE e.id > :afterId")
+    Long findLastId(@Param("afterId") long afterId);
+
+    @Query("SELECT COUNT(e) FROM EnrollmentEvent e WHERE e.id > :afterId AND e.id <= :throughId")
+    long countBetween(@Param("afterId") long afterId, @Param("throughId") long throughId);
+
+    @Query("SELECT e.id FROM EnrollmentEvent e WHERE e.id > :afterId AND e.id <= :throughId ORDER BY e.id")
+    List<Long> findIdsBetween(@Param("afterId") long afterId, @Param("throughId") long throughId);
+
+    @Query("SELECT e.id FROM EnrollmentEvent e WHERE e.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Events in (afterId, throughId] except the missing ids, plus the late ones filling earlier gaps
+    @Query("SELECT e.courseId AS courseId, e.hourBucket AS bucketStart, e.type AS type, COUNT(e) AS events "
+        + "FROM EnrollmentEvent e WHERE (e.id > :afterId AND e.id <= :throughId AND e.id NOT IN :missingIds) "
+        + "OR e.id IN :filledIds "
+        + "GROUP BY e.courseId, e.hourBucket, e.type")
+    List<EnrollmentEventCountView> countByHour(@Param("afterId") long afterId, @Param("throughId") long throughId,
+            @Param("missingIds") Collection<Long> missingIds, @Param("filledIds") Collection<Long> filledIds);
+
+    @Query("SELECT e.courseId AS courseId, e.dayBucket AS bucketStart, e.type AS type, COUNT(e) AS events "
+        + "FROM EnrollmentEvent e WHERE (e.id > :afterId AND e.id <= :throughId AND e.id NOT IN :missingIds) "
+        + "OR e.id IN :filledIds "
+        + "GROUP BY e.courseId, e.dayBucket, e.type")
+    List<EnrollmentEventCountView> countByDay(@Param("afterId") long afterId, @Param("throughId") long throughId,
+            @Param("missingIds") Collection<Long> missingIds, @Param("filledIds") Collection<Long> filledIds);
+}
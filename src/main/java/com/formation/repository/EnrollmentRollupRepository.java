@@ -0,0 +1,27 @@
+package com.formation.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.formation.dto.EnrollmentTrendPoint;
+import com.formation.entity.EnrollmentRollup;
+import com.formation.entity.EnrollmentRollupId;
+import com.formation.entity.enums.RollupGranularity;
+
+@Repository
+public interface EnrollmentRollupRepository extends JpaRepository<EnrollmentRollup, EnrollmentRollupId> {
+
+    @Query("SELECT new com.formation.dto.EnrollmentTrendPoint(r.bucketStart, SUM(r.enrolled), SUM(r.unenrolled), "
+        + "SUM(r.waitlisted), SUM(r.waitlistLeft), SUM(r.enrolled) - SUM(r.unenrolled)) "
+        + "FROM EnrollmentRollup r WHERE r.granularity = :granularity "
+        + "AND r.bucketStart >= :from AND r.bucketStart < :to "
+        + "AND (:courseId IS NULL OR r.courseId = :courseId) "
+        + "GROUP BY r.bucketStart ORDER BY r.bucketStart")
+    List<EnrollmentTrendPoint> findTrend(@Param("granularity") RollupGranularity granularity,
+            @Param("courseId") Long courseId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
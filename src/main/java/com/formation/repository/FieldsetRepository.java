@@ -0,0 +1,187 @@
+package com.formation.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import com.formation.exception.ExceptionCode;
+import com.formation.exception.ValidationException;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.Attribute.PersistentAttributeType;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+
+/**
+ * Sparse fieldset queries: selects only the requested columns of an entity
+ * as tuples, so neither the entity nor its associations are loaded.
+ * Selectable fields are the basic attributes plus {@code <association>Id}
+ * for every to-one association, read straight from the foreign key column.
+ * The search streams select their summary columns the same way.
+ */
+@Repository
+public class FieldsetRepository {
+
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Field name to attribute path, per entity, built once from the metamodel
+    private final Map<Class<?>, Map<String, String>> selectable = new ConcurrentHashMap<>();
+
+    public <T> Page<Map<String, Object>> findAll(Class<T> domain, Collection<String> fields,
+            Specification<T> filter, Pageable pageable) {
+        Map<String, String> paths = resolve(domain, fields);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(domain);
+        query.multiselect(selections(root, paths));
+        Predicate where = filter == null ? null : filter.toPredicate(root, query, cb);
+        if (where != null) {
+            query.where(where);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<Tuple> typed = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typed.setFirstResult((int) pageable.getOffset());
+            typed.setMaxResults(pageable.getPageSize());
+        }
+        List<Map<String, Object>> rows = typed.getResultList().stream()
+            .map(tuple -> toRow(tuple, paths.keySet()))
+            .collect(Collectors.toList());
+        return PageableExecutionUtils.getPage(rows, pageable, () -> count(domain, filter));
+    }
+
+    public <T> Optional<Map<String, Object>> findById(Class<T> domain, Collection<String> fields, Object id) {
+        Map<String, String> paths = resolve(domain, fields);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(domain);
+        query.multiselect(selections(root, paths))
+            .where(cb.equal(root.get(idName(domain)), id));
+        return entityManager.createQuery(query).getResultList().stream()
+            .findFirst()
+            .map(tuple -> toRow(tuple, paths.keySet()));
+    }
+
+    // Constructor rows over the given attribute paths in id order, fetched in batches and never attached to the session
+    public <T, R> Stream<R> stream(Class<T> domain, Class<R> type, List<String> paths, Specification<T> filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = cb.createQuery(type);
+        Root<T> root = query.from(domain);
+        query.select(cb.construct(type, paths.stream().map(path -> path(root, path)).toArray(Selection[]::new)));
+        Predicate where = filter == null ? null : filter.toPredicate(root, query, cb);
+        if (where != null) {
+            query.where(where);
+        }
+        query.orderBy(cb.asc(root.get(idName(domain))));
+        return entityManager.createQuery(query)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .getResultStream();
+    }
+
+    private <T> long count(Class<T> domain, Specification<T> filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(domain);
+        query.select(cb.count(root));
+        Predicate where = filter == null ? null : filter.toPredicate(root, query, cb);
+        if (where != null) {
+            query.where(where);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private Map<String, String> resolve(Class<?> domain, Collection<String> fields) {
+        Map<String, String> known = selectable.computeIfAbsent(domain, this::describe);
+        Map<String, String> paths = new LinkedHashMap<>();
+        Set<String> unknown = new LinkedHashSet<>();
+        for (String field : fields) {
+            String name = field == null ? "" : field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (known.containsKey(name)) {
+                paths.put(name, known.get(name));
+            } else {
+                unknown.add(name);
+            }
+        }
+        if (!unknown.isEmpty() || paths.isEmpty()) {
+            throw new ValidationException(ExceptionCode.INVALID_FIELDS, unknown, new TreeSet<>(known.keySet()));
+        }
+        return paths;
+    }
+
+    private Map<String, String> describe(Class<?> domain) {
+        Map<String, String> paths = new LinkedHashMap<>();
+        for (SingularAttribute<?, ?> attribute : entityManager.getMetamodel().entity(domain).getSingularAttributes()) {
+            if (attribute.getPersistentAttributeType() == PersistentAttributeType.BASIC) {
+                paths.put(attribute.getName(), attribute.getName());
+            } else if (attribute.getPersistentAttributeType() == PersistentAttributeType.MANY_TO_ONE
+                    || attribute.getPersistentAttributeType() == PersistentAttributeType.ONE_TO_ONE) {
+                paths.put(attribute.getName() + "Id", attribute.getName() + ".id");
+            }
+        }
+        return Collections.unmodifiableMap(paths);
+    }
+
+    private String idName(Class<?> domain) {
+        EntityType<?> type = entityManager.getMetamodel().entity(domain);
+        return type.getId(type.getIdType().getJavaType()).getName();
+    }
+
+    private List<Selection<?>> selections(Root<?> root, Map<String, String> paths) {
+        List<Selection<?>> selections = new ArrayList<>(paths.size());
+        for (Map.Entry<String, String> entry : paths.entrySet()) {
+            selections.add(path(root, entry.getValue()).alias(entry.getKey()));
+        }
+        return selections;
+    }
+
+    private static Path<?> path(Root<?> root, String dotted) {
+        Path<?> path = root;
+        for (String part : dotted.split("\\.")) {
+            path = path.get(part);
+        }
+        return path;
+    }
+
+    private Map<String, Object> toRow(Tuple tuple, Collection<String> fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String field : fields) {
+            row.put(field, tuple.get(field));
+        }
+        return row;
+    }
+}
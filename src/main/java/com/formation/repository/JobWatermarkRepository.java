@@ -0,0 +1,20 @@
+package com.formation.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.formation.entity.JobWatermark;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface JobWatermarkRepository extends JpaRepository<JobWatermark, String> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM JobWatermark w WHERE w.jobName = :jobName")
+    Optional<JobWatermark> findByIdForUpdate(@Param("jobName") String jobName);
+}
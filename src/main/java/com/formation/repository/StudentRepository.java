@@ -1,33 +1,68 @@
 package com.formation.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.formation.dto.StudentEnrollmentView;
+import com.formation.entity.ClassRoom;
+import com.formation.entity.Course;
 import com.formation.entity.Student;
 
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, JpaSpecificationExecutor<Student> {
+    // List pages serialize each student's course (with its trainer and classroom) and classroom: fetched in the
+    // page query instead of one select per distinct association
+    @Override
+    @EntityGraph(attributePaths = {"course", "course.trainer", "course.trainer.classRoom", "course.classRoom", "classRoom"})
+    Page<Student> findAll(Pageable pageable);
+    
+    @Override
+    @EntityGraph(attributePaths = {"course", "course.trainer", "course.trainer.classRoom", "course.classRoom", "classRoom"})
+    Page<Student> findAll(Specification<Student> spec, Pageable pageable);
+    
     // Basic finders
     Page<Student> findByEmail(String email, Pageable pageable);
-    Page<Student> findByLevel(String level, Pageable pageable);
     
     // Multiple criteria
-    Page<Student> findByLastNameAndFirstName(String lastName, String firstName, Pageable pageable);
     Page<Student> findByLevelAndEmail(String level, String email, Pageable pageable);
     
-    // Custom queries
-    @Query("SELECT s FROM Student s WHERE s.lastName LIKE %:keyword% OR s.firstName LIKE %:keyword% OR s.email LIKE %:keyword%")
-    Page<Student> search(@Param("keyword") String keyword, Pageable pageable);
+    // Enrollment queries
+    @Query("SELECT s.id AS id, s.course.id AS courseId, s.classRoom.id AS classRoomId FROM Student s WHERE s.id IN :ids")
+    List<StudentEnrollmentView> findEnrollmentViews(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT s.id AS id, s.course.id AS courseId, s.classRoom.id AS classRoomId FROM Student s "
+        + "WHERE s.course.id = :courseId ORDER BY s.id")
+    List<StudentEnrollmentView> findEnrollmentViewsByCourseId(@Param("courseId") Long courseId);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Student s SET s.classRoom = :classRoom, s.updatedAt = :now WHERE s.id IN :ids")
+    int assignClassRoom(@Param("ids") Collection<Long> ids, @Param("classRoom") ClassRoom classRoom,
+            @Param("now") LocalDateTime now);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Student s SET s.course = :course, s.classRoom = :classRoom, s.updatedAt = :now WHERE s.id IN :ids")
+    int assignCourseAndClassRoom(@Param("ids") Collection<Long> ids, @Param("course") Course course,
+            @Param("classRoom") ClassRoom classRoom, @Param("now") LocalDateTime now);
     
-    @Query("SELECT s FROM Student s WHERE s.course.id = :courseId")
-    Page<Student> findByCourseId(@Param("courseId") Long courseId, Pageable pageable);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Student s SET s.course = :course, s.updatedAt = :now WHERE s.id IN :ids AND s.course IS NULL")
+    int assignCourse(@Param("ids") Collection<Long> ids, @Param("course") Course course, @Param("now") LocalDateTime now);
     
-    @Query("SELECT s FROM Student s WHERE s.classRoom.id = :classRoomId")
-    Page<Student> findByClassRoomId(@Param("classRoomId") Long classRoomId, Pageable pageable);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Student s SET s.course = NULL, s.updatedAt = :now WHERE s.id = :studentId AND s.course.id = :courseId")
+    int unassignCourse(@Param("studentId") Long studentId, @Param("courseId") Long courseId, @Param("now") LocalDateTime now);
     
     // Validation
     boolean existsByEmail(String email);
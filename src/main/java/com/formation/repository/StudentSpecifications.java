@@ -0,0 +1,41 @@
+package com.formation.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.formation.entity.Student;
+
+/**
+ * Filters of the student list endpoints, defined once here: the entity pages,
+ * the sparse fieldset pages and the search stream all apply them.
+ */
+public final class StudentSpecifications {
+
+    private StudentSpecifications() {
+    }
+
+    public static Specification<Student> search(String keyword) {
+        String pattern = "%" + keyword + "%";
+        return (root, query, cb) -> cb.or(
+            cb.like(root.<String>get("lastName"), pattern),
+            cb.like(root.<String>get("firstName"), pattern),
+            cb.like(root.<String>get("email"), pattern));
+    }
+
+    public static Specification<Student> atLevel(String level) {
+        return (root, query, cb) -> cb.equal(root.get("level"), level);
+    }
+
+    public static Specification<Student> enrolledIn(Long courseId) {
+        return (root, query, cb) -> cb.equal(root.get("course").get("id"), courseId);
+    }
+
+    public static Specification<Student> seatedIn(Long classRoomId) {
+        return (root, query, cb) -> cb.equal(root.get("classRoom").get("id"), classRoomId);
+    }
+
+    public static Specification<Student> named(String lastName, String firstName) {
+        return (root, query, cb) -> cb.and(
+            cb.equal(root.get("lastName"), lastName),
+            cb.equal(root.get("firstName"), firstName));
+    }
+}
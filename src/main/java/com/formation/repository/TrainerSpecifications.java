@@ -0,0 +1,54 @@
+package com.formation.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.formation.entity.Course;
+import com.formation.entity.Trainer;
+
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+/**
+ * Filters of the trainer list endpoints, defined once here: the entity pages,
+ * the sparse fieldset pages and the search stream all apply them.
+ */
+public final class TrainerSpecifications {
+
+    private TrainerSpecifications() {
+    }
+
+    public static Specification<Trainer> search(String keyword) {
+        String pattern = "%" + keyword + "%";
+        return (root, query, cb) -> cb.or(
+            cb.like(root.<String>get("lastName"), pattern),
+            cb.like(root.<String>get("firstName"), pattern),
+            cb.like(root.<String>get("specialty"), pattern));
+    }
+
+    public static Specification<Trainer> withEmail(String email) {
+        return (root, query, cb) -> cb.equal(root.get("email"), email);
+    }
+
+    public static Specification<Trainer> withSpecialty(String specialty) {
+        return (root, query, cb) -> cb.equal(root.get("specialty"), specialty);
+    }
+
+    public static Specification<Trainer> named(String lastName, String firstName) {
+        return (root, query, cb) -> cb.and(
+            cb.equal(root.get("lastName"), lastName),
+            cb.equal(root.get("firstName"), firstName));
+    }
+
+    public static Specification<Trainer> assignedTo(Long classRoomId) {
+        return (root, query, cb) -> cb.equal(root.get("classRoom").get("id"), classRoomId);
+    }
+
+    public static Specification<Trainer> teachingFewerThan(int maxCourses) {
+        return (root, query, cb) -> {
+            Subquery<Long> courses = query.subquery(Long.class);
+            Root<Course> course = courses.from(Course.class);
+            courses.select(cb.count(course)).where(cb.equal(course.get("trainer"), root));
+            return cb.lessThan(courses, (long) maxCourses);
+        };
+    }
+}
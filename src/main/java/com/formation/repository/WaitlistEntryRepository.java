@@ -0,0 +1,46 @@
+package com.formation.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.formation.dto.WaitlistPositionView;
+import com.formation.entity.WaitlistEntry;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+    // Basic finder methods
+    @Query("SELECT e FROM WaitlistEntry e WHERE e.course.id = :courseId AND e.student.id = :studentId")
+    Optional<WaitlistEntry> findByCourseIdAndStudentId(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+    
+    @Query("SELECT e.course.id FROM WaitlistEntry e WHERE e.student.id = :studentId ORDER BY e.course.id")
+    List<Long> findCourseIdsByStudentId(@Param("studentId") Long studentId);
+    
+    // Queue queries
+    @Query("SELECT e FROM WaitlistEntry e JOIN FETCH e.student WHERE e.course.id = :courseId AND e.ticket >= :fromTicket ORDER BY e.ticket")
+    List<WaitlistEntry> findQueueFrom(@Param("courseId") Long courseId, @Param("fromTicket") long fromTicket, Pageable pageable);
+    
+    @Query("SELECT e.ticket - w.headTicket + 1 AS position, w.nextTicket - w.headTicket AS waiting "
+        + "FROM WaitlistEntry e, CourseWaitlist w "
+        + "WHERE w.courseId = e.course.id AND e.course.id = :courseId AND e.student.id = :studentId")
+    Optional<WaitlistPositionView> findPosition(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+    
+    // Queue maintenance
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM WaitlistEntry e WHERE e.course.id = :courseId AND e.ticket <= :ticket")
+    int deleteUpToTicket(@Param("courseId") Long courseId, @Param("ticket") long ticket);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE WaitlistEntry e SET e.ticket = e.ticket - 1 WHERE e.course.id = :courseId AND e.ticket > :ticket")
+    int shiftDownAfter(@Param("courseId") Long courseId, @Param("ticket") long ticket);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM WaitlistEntry e WHERE e.course.id = :courseId")
+    int deleteByCourseId(@Param("courseId") Long courseId);
+}
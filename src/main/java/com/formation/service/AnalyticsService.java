@@ -0,0 +1,15 @@
+package com.formation.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.formation.dto.DashboardSummary;
+import com.formation.dto.EnrollmentTrendPoint;
+import com.formation.dto.OccupancyReport;
+import com.formation.entity.enums.RollupGranularity;
+
+public interface AnalyticsService {
+    OccupancyReport occupancy();
+    DashboardSummary dashboard();
+    List<EnrollmentTrendPoint> enrollmentTrends(Long courseId, RollupGranularity granularity, LocalDate from, LocalDate to);
+}
@@ -1,7 +1,11 @@
 package com.formation.service;
 
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 
 import com.formation.entity.ClassRoom;
 
@@ -15,4 +19,6 @@ public interface ClassRoomService {
     Page<ClassRoom> findAvailableRooms(int capacity, Pageable pageable);
     Page<ClassRoom> findEmptyRooms(Pageable pageable);
     Page<ClassRoom> findRoomsWithoutTrainers(Pageable pageable);
+    Page<Map<String, Object>> findFields(Specification<ClassRoom> filter, List<String> fields, Pageable pageable);
+    Map<String, Object> findFieldsById(Long id, List<String> fields);
 }
@@ -0,0 +1,9 @@
+package com.formation.service;
+
+import java.time.LocalDate;
+
+import com.formation.dto.CourseLifecycleRun;
+
+public interface CourseLifecycleService {
+    CourseLifecycleRun advance(LocalDate today);
+}
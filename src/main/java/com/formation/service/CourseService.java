@@ -1,10 +1,15 @@
 package com.formation.service;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 
+import com.formation.dto.CourseSummary;
 import com.formation.entity.Course;
 
 public interface CourseService {
@@ -14,6 +19,7 @@ public interface CourseService {
     Course update(Course course);
     void delete(Long id);
     Page<Course> search(String keyword, Pageable pageable);
+    void streamSearch(String keyword, Consumer<? super CourseSummary> consumer);
     Page<Course> findByDateRange(LocalDate startDate, LocalDate endDate, Pageable pageable);
     Page<Course> findAvailableCourses(Pageable pageable);
     Page<Course> findByCapacityRange(int capacity, Pageable pageable);
@@ -21,4 +27,6 @@ public interface CourseService {
     Page<Course> findOngoingCourses(Pageable pageable);
     Page<Course> findByTrainerId(Long trainerId, Pageable pageable);
     Page<Course> findCoursesWithoutTrainer(Pageable pageable);
+    Page<Map<String, Object>> findFields(Specification<Course> filter, List<String> fields, Pageable pageable);
+    Map<String, Object> findFieldsById(Long id, List<String> fields);
 }
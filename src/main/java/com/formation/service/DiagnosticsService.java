@@ -0,0 +1,13 @@
+package com.formation.service;
+
+import java.util.List;
+
+import com.formation.dto.ErrorRateReport;
+import com.formation.dto.LogQueueStatus;
+import com.formation.dto.SqlDiagnostics;
+
+public interface DiagnosticsService {
+    ErrorRateReport errorRates();
+    List<LogQueueStatus> loggingQueues();
+    SqlDiagnostics sqlDiagnostics();
+}
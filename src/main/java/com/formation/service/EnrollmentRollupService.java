@@ -0,0 +1,9 @@
+package com.formation.service;
+
+import java.time.LocalDateTime;
+
+import com.formation.dto.EnrollmentRollupRun;
+
+public interface EnrollmentRollupService {
+    EnrollmentRollupRun rollup(LocalDateTime abandonGapsBefore);
+}
@@ -0,0 +1,12 @@
+package com.formation.service;
+
+import com.formation.dto.BatchEnrollmentRequest;
+import com.formation.dto.BatchEnrollmentResponse;
+import com.formation.dto.PlacementPlan;
+import com.formation.dto.PlacementRequest;
+
+public interface EnrollmentService {
+    BatchEnrollmentResponse enrollBatch(BatchEnrollmentRequest request);
+    void unenroll(Long courseId, Long studentId);
+    PlacementPlan placeIntake(PlacementRequest request, boolean dryRun);
+}
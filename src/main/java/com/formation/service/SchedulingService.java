@@ -0,0 +1,8 @@
+package com.formation.service;
+
+import com.formation.dto.SchedulePlan;
+import com.formation.dto.ScheduleRequest;
+
+public interface SchedulingService {
+    SchedulePlan plan(ScheduleRequest request, boolean dryRun);
+}
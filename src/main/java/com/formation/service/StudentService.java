@@ -1,18 +1,30 @@
 package com.formation.service;
 
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import com.formation.dto.StudentSummary;
 import com.formation.entity.Student;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
 public interface StudentService {
-    Student save(Student student);
-    Student findById(Long id);
+    Student save(@Valid @NotNull Student student);
+    Student findById(@NotNull Long id);
     Page<Student> findAll(Pageable pageable);
-    Student update(Student student);
-    void delete(Long id);
+    Student update(@Valid @NotNull Student student);
+    void delete(@NotNull Long id);
     Page<Student> search(String keyword, Pageable pageable);
+    void streamSearch(String keyword, Consumer<? super StudentSummary> consumer);
     Page<Student> findByLevel(String level, Pageable pageable);
     Page<Student> findByCourseId(Long courseId, Pageable pageable);
     Page<Student> findByClassRoomId(Long classRoomId, Pageable pageable);
     Page<Student> findByLastNameAndFirstName(String lastName, String firstName, Pageable pageable);
+    Page<Map<String, Object>> findFields(Specification<Student> filter, List<String> fields, Pageable pageable);
+    Map<String, Object> findFieldsById(Long id, List<String> fields);
 }
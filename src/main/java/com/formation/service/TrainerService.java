@@ -1,7 +1,17 @@
 package com.formation.service;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import com.formation.dto.TrainerAvailability;
+import com.formation.dto.TrainerConflict;
+import com.formation.dto.TrainerRecommendation;
+import com.formation.dto.TrainerSummary;
 import com.formation.entity.Trainer;
 
 public interface TrainerService {
@@ -14,6 +24,7 @@ public interface TrainerService {
     
     // Search operations
     Page<Trainer> search(String keyword, Pageable pageable);
+    void streamSearch(String keyword, Consumer<? super TrainerSummary> consumer);
     Page<Trainer> findByEmail(String email, Pageable pageable);
     Page<Trainer> findBySpecialty(String specialty, Pageable pageable);
     Page<Trainer> findByLastNameAndFirstName(String lastName, String firstName, Pageable pageable);
@@ -24,4 +35,11 @@ public interface TrainerService {
     // Course-related operations
     Page<Trainer> findAvailableTrainers(int maxCourses, Pageable pageable);
     Page<Trainer> findTrainersWithoutCourses(Pageable pageable);
+    
+    // Schedule operations
+    TrainerAvailability findAvailability(Long trainerId, LocalDate startDate, LocalDate endDate);
+    List<TrainerConflict> findScheduleConflicts(LocalDate startDate, LocalDate endDate);
+    List<TrainerRecommendation> recommendForCourse(Long courseId, int limit, boolean includeUnavailable);
+    Page<Map<String, Object>> findFields(Specification<Trainer> filter, List<String> fields, Pageable pageable);
+    Map<String, Object> findFieldsById(Long id, List<String> fields);
 }
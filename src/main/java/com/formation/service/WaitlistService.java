@@ -0,0 +1,13 @@
+package com.formation.service;
+
+import com.formation.dto.WaitlistPosition;
+
+public interface WaitlistService {
+    WaitlistPosition join(Long courseId, Long studentId);
+    WaitlistPosition findPosition(Long courseId, Long studentId);
+    void leave(Long courseId, Long studentId);
+    void leaveAll(Long studentId);
+    int promoteWaiting(Long courseId);
+    boolean hasWaiting(Long courseId);
+    void clear(Long courseId);
+}
@@ -0,0 +1,475 @@
+package com.formation.service.dataset;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+import javax.sql.DataSource;
+
+import com.formation.config.DatasetProperties;
+import com.formation.dto.DatasetSummary;
+import com.formation.entity.enums.CourseStatus;
+
+/**
+ * Generates a synthetic dataset of classrooms, trainers, courses and students sized from the student count, and
+ * writes it with multi-row INSERT statements (the same SQL on H2 and PostgreSQL). Rows get explicit ids after the
+ * highest existing ones, and the identity columns are moved past them afterwards, so the generator can add to a
+ * database that already has data.
+ *
+ * <p>The rows are consistent with what the services maintain: current capacities equal the students holding a seat
+ * and never exceed the maximum, a trainer teaches at most five courses and none of them overlap, and students are
+ * registered before their course starts. Distributions:
+ * <ul>
+ * <li>classrooms of 20 to 100 seats, most of 25 to 40</li>
+ * <li>trainers with one specialty, weighted towards Java and web development; most teach 3 to 5 courses back to
+ * back, one in ten teaches none</li>
+ * <li>courses 40% Beginner, 40% Intermediate, 20% Advanced, lasting 2 to 12 weeks between two years ago and a year
+ * ahead, with the status their dates imply except 3% cancelled; 15 to 40 seats; 5% without a trainer</li>
+ * <li>students: enrolledRatio of them in a non-cancelled course, popular courses filling first, seated in the
+ * course's classroom while it has room; three in four share the level of their course</li>
+ * </ul>
+ * Course, classroom and trainer plans are kept in memory, students only as two ints each.
+ */
+public class DatasetGenerator {
+
+    private static final String[] FIRST_NAMES = { "Emma", "Lucas", "Sofia", "Adam", "Lina", "Yanis", "Chloe", "Hugo",
+        "Ines", "Louis", "Sara", "Omar", "Jade", "Nathan", "Amira", "Leo", "Nora", "Rayan", "Alice", "Ilyas", "Lea",
+        "Gabriel", "Manon", "Mehdi", "Camille", "Jules", "Yasmine", "Arthur", "Salma", "Ethan", "Rose", "Karim",
+        "Julia", "Noah", "Hana", "Victor", "Maya", "Sami", "Clara", "Anas" };
+    private static final String[] LAST_NAMES = { "Martin", "Bernard", "Dubois", "Thomas", "Robert", "Richard", "Petit",
+        "Durand", "Leroy", "Moreau", "Simon", "Laurent", "Lefebvre", "Michel", "Garcia", "Benali", "Haddad",
+        "Fontaine", "Rousseau", "Vincent", "Morel", "Girard", "Andre", "Mercier", "Dupont", "Lambert", "Bonnet",
+        "Francois", "Martinez", "Alaoui", "Legrand", "Garnier", "Faure", "Rousseau", "Blanc", "Guerin", "Muller",
+        "Henry", "Roussel", "Nicolas" };
+    private static final String[] LEVELS = { "Beginner", "Intermediate", "Advanced" };
+    private static final int[] LEVEL_WEIGHTS = { 40, 40, 20 };
+    private static final String[] LEVEL_TITLES = { "Essentials", "in Practice", "Masterclass" };
+    private static final String[] SPECIALTIES = { "Java", "Web Development", "Databases", "DevOps", "Cloud", "Security",
+        "Data Science", "Testing" };
+    private static final int[] SPECIALTY_WEIGHTS = { 25, 20, 15, 10, 10, 8, 7, 5 };
+    private static final String[][] TOPICS = {
+        { "Java Fundamentals", "Spring Boot", "Java Concurrency" },
+        { "HTML and CSS", "JavaScript", "React", "Angular" },
+        { "SQL Essentials", "PostgreSQL Administration", "Data Modeling" },
+        { "Docker", "Kubernetes", "CI Pipelines" },
+        { "AWS Foundations", "Azure Fundamentals" },
+        { "Web Security", "Secure Coding" },
+        { "Python for Data", "Machine Learning" },
+        { "Unit Testing", "Test Automation" } };
+    private static final String[] ROOM_TYPES = { "Lecture Hall", "Lab", "Seminar Room", "Workshop", "Studio" };
+    private static final int[] ROOM_SEATS = { 20, 25, 30, 40, 60, 100 };
+    private static final int[] ROOM_SEAT_WEIGHTS = { 15, 20, 30, 20, 10, 5 };
+    private static final int[] COURSE_SEATS = { 15, 20, 25, 30, 40 };
+    private static final int[] COURSE_SEAT_WEIGHTS = { 15, 30, 25, 20, 10 };
+    private static final int[] COURSE_WEEKS = { 2, 3, 4, 6, 8, 12 };
+    private static final int[] COURSE_WEEK_WEIGHTS = { 10, 15, 30, 20, 15, 10 };
+    private static final int[] COURSES_PER_TRAINER_WEIGHTS = { 10, 15, 25, 25, 25 };
+
+    // PostgreSQL accepts 32767 bind parameters per statement
+    private static final int MAX_BIND_PARAMETERS = 30_000;
+
+    private final DatasetProperties properties;
+
+    public DatasetGenerator(DatasetProperties properties) {
+        this.properties = properties;
+    }
+
+    public DatasetSummary generate(DataSource dataSource) throws SQLException {
+        long started = System.nanoTime();
+        Random random = new Random(properties.getSeed());
+        LocalDate today = LocalDate.now();
+        int studentCount = properties.getStudents();
+        int courseCount = Math.max(1, studentCount / properties.getStudentsPerCourse());
+        int roomCount = Math.max(1, studentCount / properties.getStudentsPerClassRoom());
+
+        int[] roomSeats = new int[roomCount];
+        int[] roomOccupied = new int[roomCount];
+        for (int i = 0; i < roomCount; i++) {
+            roomSeats[i] = ROOM_SEATS[weighted(random, ROOM_SEAT_WEIGHTS)];
+        }
+        List<TrainerPlan> trainers = new ArrayList<>();
+        List<CoursePlan> courses = planCourses(random, today, courseCount, roomSeats, trainers);
+
+        // Popularity follows a shuffled order, the first courses being drawn most often
+        List<CoursePlan> open = new ArrayList<>();
+        for (CoursePlan course : courses) {
+            if (course.status != CourseStatus.CANCELLED) {
+                open.add(course);
+            }
+        }
+        Collections.shuffle(open, random);
+        int[] studentCourse = new int[studentCount];
+        int[] studentRoom = new int[studentCount];
+        Arrays.fill(studentCourse, -1);
+        Arrays.fill(studentRoom, -1);
+        int enrolled = 0;
+        for (int s = 0; s < studentCount && !open.isEmpty(); s++) {
+            if (random.nextDouble() >= properties.getEnrolledRatio()) {
+                continue;
+            }
+            CoursePlan course = drawCourse(random, open);
+            if (course == null) {
+                continue;
+            }
+            course.enrolled++;
+            studentCourse[s] = course.index;
+            enrolled++;
+            // Seated in the course's room while it has seats, otherwise not seated yet
+            int room = course.room;
+            if (room >= 0 && roomOccupied[room] < roomSeats[room]) {
+                roomOccupied[room]++;
+                studentRoom[s] = room;
+            }
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                long roomBase = maxId(connection, "classrooms");
+                long trainerBase = maxId(connection, "trainers");
+                long courseBase = maxId(connection, "courses");
+                long studentBase = maxId(connection, "students");
+
+                try (InsertWriter writer = new InsertWriter(connection, "classrooms", "id", "name", "room_number",
+                        "current_capacity", "max_capacity", "created_at", "updated_at")) {
+                    for (int i = 0; i < roomCount; i++) {
+                        long id = roomBase + 1 + i;
+                        Timestamp created = timestamp(today.minusDays(365 + random.nextInt(1460)));
+                        writer.add(id, ROOM_TYPES[random.nextInt(ROOM_TYPES.length)] + " " + id,
+                            (char) ('A' + random.nextInt(8)) + Long.toString(id), roomOccupied[i], roomSeats[i], created, created);
+                    }
+                }
+                restartIdentity(connection, "classrooms", roomBase + roomCount + 1);
+
+                try (InsertWriter writer = new InsertWriter(connection, "trainers", "id", "last_name", "first_name",
+                        "email", "specialty", "classroom_id", "created_at", "updated_at")) {
+                    for (int i = 0; i < trainers.size(); i++) {
+                        TrainerPlan trainer = trainers.get(i);
+                        long id = trainerBase + 1 + i;
+                        String firstName = pick(random, FIRST_NAMES);
+                        String lastName = pick(random, LAST_NAMES);
+                        Timestamp created = timestamp(today.minusDays(365 + random.nextInt(1460)));
+                        writer.add(id, lastName, firstName, email(firstName, lastName, "t" + id, "example.com"),
+                            SPECIALTIES[trainer.specialty], trainer.room < 0 ? null : roomBase + 1 + trainer.room, created, created);
+                    }
+                }
+                restartIdentity(connection, "trainers", trainerBase + trainers.size() + 1);
+
+                try (InsertWriter writer = new InsertWriter(connection, "courses", "id", "title", "level",
+                        "prerequisites", "min_capacity", "max_capacity", "current_capacity", "start_date", "end_date",
+                        "status", "trainer_id", "classroom_id", "created_at", "updated_at")) {
+                    for (CoursePlan course : courses) {
+                        Timestamp created = timestamp(min(today, course.start.minusDays(30 + random.nextInt(90))));
+                        writer.add(courseBase + 1 + course.index, course.title, LEVELS[course.level], course.prerequisites,
+                            course.minSeats, course.maxSeats, course.enrolled, Date.valueOf(course.start), Date.valueOf(course.end),
+                            course.status.name(), course.trainer < 0 ? null : trainerBase + 1 + course.trainer,
+                            course.room < 0 ? null : roomBase + 1 + course.room, created, created);
+                    }
+                }
+                restartIdentity(connection, "courses", courseBase + courseCount + 1);
+
+                try (InsertWriter writer = new InsertWriter(connection, "students", "id", "last_name", "first_name",
+                        "email", "level", "course_id", "classroom_id", "registration_date", "updated_at")) {
+                    for (int s = 0; s < studentCount; s++) {
+                        long id = studentBase + 1 + s;
+                        String firstName = pick(random, FIRST_NAMES);
+                        String lastName = pick(random, LAST_NAMES);
+                        CoursePlan course = studentCourse[s] < 0 ? null : courses.get(studentCourse[s]);
+                        int level = course != null && random.nextInt(4) > 0 ? course.level : weighted(random, LEVEL_WEIGHTS);
+                        LocalDate registered = course == null ? today.minusDays(random.nextInt(1095))
+                            : min(today, course.start.minusDays(1 + random.nextInt(180)));
+                        Timestamp registration = timestamp(registered);
+                        writer.add(id, lastName, firstName, email(firstName, lastName, Long.toString(id), "example.org"),
+                            LEVELS[level], course == null ? null : courseBase + 1 + course.index,
+                            studentRoom[s] < 0 ? null : roomBase + 1 + studentRoom[s], registration, registration);
+                    }
+                }
+                restartIdentity(connection, "students", studentBase + studentCount + 1);
+
+                return DatasetSummary.builder()
+                    .students(studentCount)
+                    .enrolledStudents(enrolled)
+                    .courses(courseCount)
+                    .classRooms(roomCount)
+                    .trainers(trainers.size())
+                    .firstStudentId(studentBase + 1)
+                    .firstCourseId(courseBase + 1)
+                    .firstClassRoomId(roomBase + 1)
+                    .firstTrainerId(trainerBase + 1)
+                    .elapsedMs((System.nanoTime() - started) / 1_000_000)
+                    .build();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    // Trainers teach their courses one after the other and rooms host them one after the other, so no two
+    // courses of a trainer or of a room overlap
+    private static List<CoursePlan> planCourses(Random random, LocalDate today, int courseCount, int[] roomSeats,
+            List<TrainerPlan> trainers) {
+        List<CoursePlan> courses = new ArrayList<>(courseCount);
+        List<NavigableMap<LocalDate, LocalDate>> roomBookings = new ArrayList<>(roomSeats.length);
+        for (int i = 0; i < roomSeats.length; i++) {
+            roomBookings.add(new TreeMap<>());
+        }
+        int withTrainer = courseCount - courseCount / 20;
+        while (courses.size() < withTrainer) {
+            TrainerPlan trainer = new TrainerPlan(weighted(random, SPECIALTY_WEIGHTS),
+                random.nextInt(10) < 6 ? random.nextInt(roomSeats.length) : -1);
+            trainers.add(trainer);
+            if (random.nextInt(10) == 0) {
+                continue;
+            }
+            int teaches = Math.min(1 + weighted(random, COURSES_PER_TRAINER_WEIGHTS), withTrainer - courses.size());
+            LocalDate cursor = today.minusDays(730 - random.nextInt(910));
+            for (int i = 0; i < teaches; i++) {
+                CoursePlan course = planCourse(random, today, trainer.specialty, cursor.plusDays(random.nextInt(61)),
+                    trainers.size() - 1, roomSeats, roomBookings);
+                courses.add(course);
+                cursor = course.end.plusDays(1);
+            }
+        }
+        while (courses.size() < courseCount) {
+            courses.add(planCourse(random, today, weighted(random, SPECIALTY_WEIGHTS),
+                today.minusDays(365 - random.nextInt(730)), -1, roomSeats, roomBookings));
+        }
+        Collections.shuffle(courses, random);
+        for (int i = 0; i < courses.size(); i++) {
+            courses.get(i).index = i;
+        }
+        return courses;
+    }
+
+    private static CoursePlan planCourse(Random random, LocalDate today, int specialty, LocalDate start, int trainer,
+            int[] roomSeats, List<NavigableMap<LocalDate, LocalDate>> roomBookings) {
+        CoursePlan course = new CoursePlan();
+        String topic = pick(random, TOPICS[specialty]);
+        course.level = weighted(random, LEVEL_WEIGHTS);
+        course.title = topic + " " + LEVEL_TITLES[course.level];
+        course.prerequisites = course.level == 0 ? null : "Completed " + topic + " " + LEVEL_TITLES[course.level - 1];
+        course.start = start;
+        course.end = start.plusDays(7L * COURSE_WEEKS[weighted(random, COURSE_WEEK_WEIGHTS)] - 1);
+        course.maxSeats = COURSE_SEATS[weighted(random, COURSE_SEAT_WEIGHTS)];
+        course.minSeats = Math.max(5, course.maxSeats / 3);
+        course.trainer = trainer;
+        if (random.nextInt(100) < 3) {
+            course.status = CourseStatus.CANCELLED;
+        } else if (course.end.isBefore(today)) {
+            course.status = CourseStatus.COMPLETED;
+        } else if (course.start.isAfter(today)) {
+            course.status = CourseStatus.PLANNED;
+        } else {
+            course.status = CourseStatus.IN_PROGRESS;
+        }
+        // A room free over the course dates, one seating the whole course if a few draws find it; none otherwise
+        course.room = -1;
+        for (int attempt = 0; attempt < 8; attempt++) {
+            int room = random.nextInt(roomSeats.length);
+            if (isFree(roomBookings.get(room), course.start, course.end)) {
+                if (course.room < 0 || roomSeats[room] >= course.maxSeats) {
+                    course.room = room;
+                }
+                if (roomSeats[room] >= course.maxSeats) {
+                    break;
+                }
+            }
+        }
+        if (course.room >= 0) {
+            roomBookings.get(course.room).put(course.start, course.end);
+        }
+        return course;
+    }
+
+    // Bookings never overlap, so the latest one starting by the end date is the only candidate
+    private static boolean isFree(NavigableMap<LocalDate, LocalDate> bookings, LocalDate start, LocalDate end) {
+        Map.Entry<LocalDate, LocalDate> before = bookings.floorEntry(end);
+        return before == null || before.getValue().isBefore(start);
+    }
+
+    // Skewed towards the head of the list; full courses are retried a few times, then the student stays unenrolled
+    private static CoursePlan drawCourse(Random random, List<CoursePlan> open) {
+        for (int attempt = 0; attempt < 8; attempt++) {
+            double draw = random.nextDouble();
+            CoursePlan course = open.get((int) (open.size() * (attempt < 3 ? draw * draw : draw)));
+            if (course.enrolled < course.maxSeats) {
+                return course;
+            }
+        }
+        return null;
+    }
+
+    private static long maxId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet result = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    // Identity columns as Hibernate creates them; serial columns of older PostgreSQL schemas use their sequence
+    private static void restartIdentity(Connection connection, String table, long next) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), " + (next - 1) + ")");
+                connection.commit();
+            }
+        }
+    }
+
+    private static String email(String firstName, String lastName, String unique, String domain) {
+        return (firstName + "." + lastName + "." + unique + "@" + domain).toLowerCase();
+    }
+
+    private static int weighted(Random random, int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int draw = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            draw -= weights[i];
+            if (draw < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static Timestamp timestamp(LocalDate date) {
+        return Timestamp.valueOf(date.atTime(9, 0));
+    }
+
+    private static final class TrainerPlan {
+        private final int specialty;
+        private final int room;
+
+        TrainerPlan(int specialty, int room) {
+            this.specialty = specialty;
+            this.room = room;
+        }
+    }
+
+    private static final class CoursePlan {
+        private int index;
+        private String title;
+        private int level;
+        private String prerequisites;
+        private LocalDate start;
+        private LocalDate end;
+        private int minSeats;
+        private int maxSeats;
+        private int enrolled;
+        private CourseStatus status;
+        private int trainer;
+        private int room;
+    }
+
+    /**
+     * Buffers rows and writes them batchSize at a time with one INSERT ... VALUES (...), (...) statement, committing
+     * after each so neither side holds millions of rows.
+     */
+    private final class InsertWriter implements AutoCloseable {
+        private final Connection connection;
+        private final String table;
+        private final String[] columns;
+        private final int rowsPerStatement;
+        private final List<Object[]> rows;
+        private PreparedStatement fullStatement;
+
+        InsertWriter(Connection connection, String table, String... columns) {
+            this.connection = connection;
+            this.table = table;
+            this.columns = columns;
+            this.rowsPerStatement = Math.max(1, Math.min(properties.getBatchSize(), MAX_BIND_PARAMETERS / columns.length));
+            this.rows = new ArrayList<>(rowsPerStatement);
+        }
+
+        void add(Object... values) throws SQLException {
+            rows.add(values);
+            if (rows.size() == rowsPerStatement) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+            if (rows.isEmpty()) {
+                return;
+            }
+            boolean full = rows.size() == rowsPerStatement;
+            if (full && fullStatement == null) {
+                fullStatement = connection.prepareStatement(sql(rowsPerStatement));
+            }
+            PreparedStatement statement = full ? fullStatement : connection.prepareStatement(sql(rows.size()));
+            try {
+                int index = 1;
+                for (Object[] row : rows) {
+                    for (Object value : row) {
+                        statement.setObject(index++, value);
+                    }
+                }
+                statement.executeUpdate();
+            } finally {
+                if (!full) {
+                    statement.close();
+                }
+            }
+            connection.commit();
+            rows.clear();
+        }
+
+        private String sql(int rowCount) {
+            StringBuilder row = new StringBuilder("(");
+            for (int i = 0; i < columns.length; i++) {
+                row.append(i == 0 ? "?" : ", ?");
+            }
+            row.append(')');
+            StringBuilder sql = new StringBuilder("INSERT INTO ").append(table).append(" (")
+                .append(String.join(", ", columns)).append(") VALUES ");
+            for (int i = 0; i < rowCount; i++) {
+                sql.append(i == 0 ? "" : ", ").append(row);
+            }
+            return sql.toString();
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                flush();
+            } finally {
+                if (fullStatement != null) {
+                    fullStatement.close();
+                }
+            }
+        }
+    }
+}
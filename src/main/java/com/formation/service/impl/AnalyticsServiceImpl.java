@@ -0,0 +1,156 @@
+package com.formation.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.formation.dto.CourseLifecycleEvent;
+import com.formation.dto.DashboardSummary;
+import com.formation.dto.DashboardSummaryView;
+import com.formation.dto.DataChangedEvent;
+import com.formation.dto.EnrollmentTrendPoint;
+import com.formation.dto.OccupancyFigure;
+import com.formation.dto.OccupancyReport;
+import com.formation.dto.OccupancyRowView;
+import com.formation.entity.enums.RollupGranularity;
+import com.formation.repository.AnalyticsRepository;
+import com.formation.repository.EnrollmentRollupRepository;
+import com.formation.service.AnalyticsService;
+
+import io.micrometer.core.annotation.Timed;
+
+@Service
+@Timed("formation.service")
+@Transactional(readOnly = true)
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    @Autowired
+    private AnalyticsRepository analyticsRepository;
+
+    @Autowired
+    private EnrollmentRollupRepository enrollmentRollupRepository;
+
+    @Value("${formation.dashboard.ttl:PT30S}")
+    private Duration dashboardTtl = Duration.ofSeconds(30);
+
+    // Bumped after every committed write; a summary loaded under an older generation is stale
+    private final AtomicLong dataGeneration = new AtomicLong();
+
+    private volatile CachedDashboard cachedDashboard;
+
+    @Override
+    public OccupancyReport occupancy() {
+        OccupancyFigure classrooms = null;
+        List<OccupancyFigure> byCourseStatus = new ArrayList<>();
+        List<OccupancyFigure> byStudentLevel = new ArrayList<>();
+        try (Stream<OccupancyRowView> rows = analyticsRepository.streamOccupancy()) {
+            for (OccupancyRowView row : (Iterable<OccupancyRowView>) rows::iterator) {
+                OccupancyFigure figure = OccupancyFigure.builder()
+                    .bucket(row.getBucket())
+                    .entries(row.getEntries())
+                    .students(row.getStudents())
+                    .seats(row.getSeats())
+                    .freeSeats(row.getFreeSeats())
+                    .occupancyRate(row.getOccupancyRate() == null ? null : Math.round(row.getOccupancyRate() * 10000) / 10000.0)
+                    .build();
+                switch (row.getDimension()) {
+                    case "CLASSROOM":
+                        classrooms = figure;
+                        break;
+                    case "COURSE_STATUS":
+                        byCourseStatus.add(figure);
+                        break;
+                    default:
+                        byStudentLevel.add(figure);
+                }
+            }
+        }
+        return OccupancyReport.builder()
+            .classrooms(classrooms)
+            .byCourseStatus(byCourseStatus)
+            .byStudentLevel(byStudentLevel)
+            .build();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public DashboardSummary dashboard() {
+        CachedDashboard cached = cachedDashboard;
+        if (isFresh(cached)) {
+            return cached.summary;
+        }
+        // One caller reloads while the others wait for its result instead of all hitting the database
+        synchronized (this) {
+            cached = cachedDashboard;
+            if (isFresh(cached)) {
+                return cached.summary;
+            }
+            long generation = dataGeneration.get();
+            long loadedAt = System.nanoTime();
+            DashboardSummaryView view = analyticsRepository.findDashboardSummary();
+            DashboardSummary summary = DashboardSummary.builder()
+                .courses(view.getCourses())
+                .availableCourses(view.getAvailableCourses())
+                .ongoingCourses(view.getOngoingCourses())
+                .coursesWithoutTrainer(view.getCoursesWithoutTrainer())
+                .students(view.getStudents())
+                .studentsWithoutCourse(view.getStudentsWithoutCourse())
+                .waitlistedStudents(view.getWaitlistedStudents())
+                .trainers(view.getTrainers())
+                .trainersWithoutCourses(view.getTrainersWithoutCourses())
+                .classRooms(view.getClassRooms())
+                .emptyClassRooms(view.getEmptyClassRooms())
+                .generatedAt(LocalDateTime.now())
+                .build();
+            cachedDashboard = new CachedDashboard(summary, generation, loadedAt);
+            return summary;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onDataChanged(DataChangedEvent event) {
+        dataGeneration.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onLifecycle(CourseLifecycleEvent event) {
+        dataGeneration.incrementAndGet();
+    }
+
+    private boolean isFresh(CachedDashboard cached) {
+        return cached != null
+            && cached.generation == dataGeneration.get()
+            && System.nanoTime() - cached.loadedAt < dashboardTtl.toNanos();
+    }
+
+    @Override
+    public List<EnrollmentTrendPoint> enrollmentTrends(Long courseId, RollupGranularity granularity, LocalDate from, LocalDate to) {
+        // Rollups only: events committed since the last job run are not counted yet
+        return enrollmentRollupRepository.findTrend(granularity, courseId, from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+    }
+
+    private static final class CachedDashboard {
+        private final DashboardSummary summary;
+        private final long generation;
+        private final long loadedAt;
+
+        private CachedDashboard(DashboardSummary summary, long generation, long loadedAt) {
+            this.summary = summary;
+            this.generation = generation;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
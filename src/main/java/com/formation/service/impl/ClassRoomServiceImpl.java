@@ -1,35 +1,57 @@
 package com.formation.service.impl;
 
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.formation.dto.DataChangedEvent;
 import com.formation.entity.ClassRoom;
+import com.formation.exception.DuplicateResourceException;
+import com.formation.exception.ExceptionCode;
+import com.formation.exception.ResourceInUseException;
+import com.formation.exception.ResourceNotFoundException;
 import com.formation.repository.ClassRoomRepository;
+import com.formation.repository.ClassRoomSpecifications;
+import com.formation.repository.FieldsetRepository;
 import com.formation.service.ClassRoomService;
-import jakarta.persistence.EntityNotFoundException;
+
+import io.micrometer.core.annotation.Timed;
 
 @Service
+@Timed("formation.service")
 @Transactional
 public class ClassRoomServiceImpl implements ClassRoomService {
 
     @Autowired
     private ClassRoomRepository classRoomRepository;
 
+    @Autowired
+    private FieldsetRepository fieldsetRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public ClassRoom save(ClassRoom classRoom) {
         if (classRoomRepository.existsByRoomNumber(classRoom.getRoomNumber())) {
-            throw new EntityNotFoundException("Classroom with room number " + classRoom.getRoomNumber() + " already exists");
+            throw new DuplicateResourceException(ExceptionCode.CLASSROOM_NUMBER_EXISTS, classRoom.getRoomNumber());
         }
-        return classRoomRepository.save(classRoom);
+        ClassRoom saved = classRoomRepository.save(classRoom);
+        eventPublisher.publishEvent(new DataChangedEvent(ClassRoom.class));
+        return saved;
     }
 
     @Override
     public ClassRoom findById(Long id) {
         return classRoomRepository.findById(id)
-            .orElseThrow(() -> new EntityNotFoundException("Classroom not found with id: " + id));
+            .orElseThrow(() -> new ResourceNotFoundException(ExceptionCode.CLASSROOM_NOT_FOUND, id));
     }
 
     @Override
@@ -43,41 +65,57 @@ public class ClassRoomServiceImpl implements ClassRoomService {
         
         if (!existingClassRoom.getRoomNumber().equals(classRoom.getRoomNumber()) && 
             classRoomRepository.existsByRoomNumber(classRoom.getRoomNumber())) {
-            throw new EntityNotFoundException("Classroom with room number " + classRoom.getRoomNumber() + " already exists");
+            throw new DuplicateResourceException(ExceptionCode.CLASSROOM_NUMBER_EXISTS, classRoom.getRoomNumber());
         }
         
-        return classRoomRepository.save(classRoom);
+        ClassRoom saved = classRoomRepository.save(classRoom);
+        eventPublisher.publishEvent(new DataChangedEvent(ClassRoom.class));
+        return saved;
     }
 
     @Override
     public void delete(Long id) {
         ClassRoom classRoom = findById(id);
         if (!classRoom.getStudents().isEmpty()) {
-            throw new EntityNotFoundException("Cannot delete classroom with enrolled students");
+            throw new ResourceInUseException(ExceptionCode.CLASSROOM_WITH_STUDENTS);
         }
         if (!classRoom.getTrainers().isEmpty()) {
-            throw new EntityNotFoundException("Cannot delete classroom with assigned trainers");
+            throw new ResourceInUseException(ExceptionCode.CLASSROOM_WITH_TRAINERS);
         }
         classRoomRepository.deleteById(id);
+        eventPublisher.publishEvent(new DataChangedEvent(ClassRoom.class));
     }
 
     @Override
     public Page<ClassRoom> search(String keyword, Pageable pageable) {
-        return classRoomRepository.search(keyword, pageable);
+        return classRoomRepository.findAll(ClassRoomSpecifications.search(keyword), pageable);
     }
 
     @Override
     public Page<ClassRoom> findAvailableRooms(int capacity, Pageable pageable) {
-        return classRoomRepository.findAvailableRooms(capacity, pageable);
+        return classRoomRepository.findAll(ClassRoomSpecifications.seatingFewerThan(capacity), pageable);
     }
 
     @Override
     public Page<ClassRoom> findEmptyRooms(Pageable pageable) {
-        return classRoomRepository.findEmptyRooms(pageable);
+        return classRoomRepository.findAll(ClassRoomSpecifications.empty(), pageable);
     }
 
     @Override
     public Page<ClassRoom> findRoomsWithoutTrainers(Pageable pageable) {
-        return classRoomRepository.findRoomsWithoutTrainers(pageable);
+        return classRoomRepository.findAll(ClassRoomSpecifications.withoutTrainers(), pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> findFields(Specification<ClassRoom> filter, List<String> fields, Pageable pageable) {
+        return fieldsetRepository.findAll(ClassRoom.class, fields, filter, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> findFieldsById(Long id, List<String> fields) {
+        return fieldsetRepository.findById(ClassRoom.class, fields, id)
+            .orElseThrow(() -> new ResourceNotFoundException(ExceptionCode.CLASSROOM_NOT_FOUND, id));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,72 @@
+package com.formation.service.impl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.formation.dto.CourseLifecycleEvent;
+import com.formation.dto.CourseLifecycleRun;
+import com.formation.entity.JobWatermark;
+import com.formation.entity.enums.CourseStatus;
+import com.formation.repository.CourseRepository;
+import com.formation.repository.JobWatermarkRepository;
+import com.formation.service.CourseLifecycleService;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@Timed("formation.service")
+@Transactional
+public class CourseLifecycleServiceImpl implements CourseLifecycleService {
+
+    static final String JOB_NAME = "course-lifecycle";
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private JobWatermarkRepository jobWatermarkRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public CourseLifecycleRun advance(LocalDate today) {
+        // The row lock keeps concurrent instances from running the job twice; the watermark only records the last run
+        JobWatermark watermark = jobWatermarkRepository.findByIdForUpdate(JOB_NAME)
+            .orElseGet(() -> JobWatermark.builder().jobName(JOB_NAME).build());
+        LocalDate previousRun = watermark.getProcessedThrough();
+        LocalDateTime now = LocalDateTime.now();
+
+        // Not bounded by the previous run: a course created or backdated since then may already be due.
+        // Start before completing so a course that began and ended since the last run goes through both steps.
+        int started = courseRepository.startDueCourses(today, now);
+        int completed = courseRepository.completeDueCourses(today, now);
+
+        watermark.setProcessedThrough(today);
+        jobWatermarkRepository.save(watermark);
+
+        if (started > 0) {
+            eventPublisher.publishEvent(new CourseLifecycleEvent(
+                CourseStatus.PLANNED, CourseStatus.IN_PROGRESS, today, started));
+        }
+        if (completed > 0) {
+            eventPublisher.publishEvent(new CourseLifecycleEvent(
+                CourseStatus.IN_PROGRESS, CourseStatus.COMPLETED, today.minusDays(1), completed));
+        }
+        log.info("Course lifecycle on {} (previous run {}): {} started, {} completed", today, previousRun, started, completed);
+
+        return CourseLifecycleRun.builder()
+            .previousRun(previousRun)
+            .today(today)
+            .started(started)
+            .completed(completed)
+            .build();
+    }
+}
@@ -1,34 +1,76 @@
 package com.formation.service.impl;
 
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import com.formation.dto.CourseSummary;
+import com.formation.dto.DataChangedEvent;
+import com.formation.dto.TrainerBooking;
 import com.formation.entity.Course;
+import com.formation.exception.ExceptionCode;
+import com.formation.exception.ResourceInUseException;
+import com.formation.exception.ResourceNotFoundException;
+import com.formation.exception.ValidationException;
+import com.formation.jfr.CourseSearchEvent;
+import com.formation.jfr.EnrollmentChangeEvent;
+import com.formation.repository.FieldsetRepository;
 import com.formation.repository.CourseRepository;
+import com.formation.repository.CourseSpecifications;
 import com.formation.service.CourseService;
+import com.formation.service.WaitlistService;
+import com.formation.service.scheduling.TrainerAvailabilityIndex;
 import com.formation.utils.DateUtils;
-import jakarta.persistence.EntityNotFoundException;
+
+import io.micrometer.core.annotation.Timed;
 
 @Service
+@Timed("formation.service")
 @Transactional
 public class CourseServiceImpl implements CourseService {
+
+    // CourseSummary constructor arguments
+    private static final List<String> SUMMARY_PATHS = Arrays.asList("id", "title", "level", "minCapacity", "maxCapacity",
+        "currentCapacity", "startDate", "endDate", "status", "trainer.id");
     
     @Autowired
     private CourseRepository courseRepository;
+
+    @Autowired
+    private FieldsetRepository fieldsetRepository;
+    
+    @Autowired
+    private WaitlistService waitlistService;
+    
+    @Autowired
+    private TrainerAvailabilityIndex trainerAvailabilityIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
     
     @Override
     public Course save(Course course) {
         validateBusinessRules(course);
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        bookTrainer(saved);
+        eventPublisher.publishEvent(new DataChangedEvent(Course.class));
+        return saved;
     }
     
     @Override
     public Course findById(Long id) {
         return courseRepository.findById(id)
-            .orElseThrow(() -> new EntityNotFoundException("Course not found with id: " + id));
+            .orElseThrow(() -> new ResourceNotFoundException(ExceptionCode.COURSE_NOT_FOUND, id));
     }
     
     @Override
@@ -38,29 +80,61 @@ public class CourseServiceImpl implements CourseService {
     
     @Override
     public Course update(Course course) {
-        findById(course.getId());
+        EnrollmentChangeEvent event = EnrollmentChangeEvent.start(EnrollmentChangeEvent.CAPACITY_CHANGE, course.getId());
+        int previousMaxCapacity = findById(course.getId()).getMaxCapacity();
         validateBusinessRules(course);
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        bookTrainer(saved);
+        eventPublisher.publishEvent(new DataChangedEvent(Course.class));
+        int promoted = saved.getMaxCapacity() > previousMaxCapacity ? waitlistService.promoteWaiting(saved.getId()) : 0;
+        if (saved.getMaxCapacity() != previousMaxCapacity) {
+            event.commit(saved.getMaxCapacity() - previousMaxCapacity, promoted,
+                saved.getMaxCapacity() - saved.getCurrentCapacity() - promoted);
+        }
+        return promoted > 0 ? findById(saved.getId()) : saved;
     }
     
     @Override
     public void delete(Long id) {
         Course course = findById(id);
         if (!course.getStudents().isEmpty()) {
-            throw new EntityNotFoundException("Cannot delete course with enrolled students");
+            throw new ResourceInUseException(ExceptionCode.COURSE_WITH_STUDENTS);
         }
+        waitlistService.clear(id);
         courseRepository.deleteById(id);
+        trainerAvailabilityIndex.release(id);
+        eventPublisher.publishEvent(new DataChangedEvent(Course.class));
     }
     
     @Override
     public Page<Course> search(String keyword, Pageable pageable) {
-        return courseRepository.search(keyword, pageable);
+        CourseSearchEvent event = new CourseSearchEvent();
+        event.begin();
+        Page<Course> page = courseRepository.findAll(CourseSpecifications.search(keyword), pageable);
+        event.commit(keyword, pageable, page);
+        return page;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void streamSearch(String keyword, Consumer<? super CourseSummary> consumer) {
+        CourseSearchEvent event = new CourseSearchEvent();
+        event.begin();
+        long[] count = new long[1];
+        try (Stream<CourseSummary> rows = fieldsetRepository.stream(Course.class, CourseSummary.class, SUMMARY_PATHS,
+                CourseSpecifications.search(keyword))) {
+            rows.forEach(row -> {
+                consumer.accept(row);
+                count[0]++;
+            });
+        }
+        event.commitStreamed(keyword, count[0]);
     }
     
     @Override
     public Page<Course> findByDateRange(LocalDate startDate, LocalDate endDate, Pageable pageable) {
         validateDateRange(startDate, endDate);
-        return courseRepository.findByDateRange(startDate, endDate, pageable);
+        return courseRepository.findAll(CourseSpecifications.withinDates(startDate, endDate), pageable);
     }
     
     @Override
@@ -85,7 +159,7 @@ public class CourseServiceImpl implements CourseService {
     
     @Override
     public Page<Course> findByTrainerId(Long trainerId, Pageable pageable) {
-        return courseRepository.findByTrainerId(trainerId, pageable);
+        return courseRepository.findAll(CourseSpecifications.taughtBy(trainerId), pageable);
     }
     
     @Override
@@ -93,6 +167,26 @@ public class CourseServiceImpl implements CourseService {
         return courseRepository.findCoursesWithoutTrainer(pageable);
     }
     
+    // Runs after the save so new courses have an id; a conflict rolls the save back
+    private void bookTrainer(Course course) {
+        if (course.getTrainer() == null || course.getTrainer().getId() == null
+                || !TrainerAvailabilityIndex.isActive(course.getStatus())) {
+            trainerAvailabilityIndex.release(course.getId());
+            return;
+        }
+        List<TrainerBooking> conflicts = trainerAvailabilityIndex.reserve(TrainerBooking.builder()
+            .courseId(course.getId())
+            .trainerId(course.getTrainer().getId())
+            .startDate(course.getStartDate())
+            .endDate(course.getEndDate())
+            .build());
+        if (!conflicts.isEmpty()) {
+            TrainerBooking conflict = conflicts.get(0);
+            throw new ResourceInUseException(ExceptionCode.TRAINER_BOOKED, conflict.getTrainerId(),
+                conflict.getCourseId(), conflict.getStartDate(), conflict.getEndDate());
+        }
+    }
+    
     private void validateBusinessRules(Course course) {
         validateDateRange(course.getStartDate(), course.getEndDate());
         validateCapacity(course);
@@ -100,16 +194,31 @@ public class CourseServiceImpl implements CourseService {
     
     private void validateDateRange(LocalDate startDate, LocalDate endDate) {
         if (!DateUtils.isDateRangeValid(startDate, endDate)) {
-            throw new EntityNotFoundException("Start date must be before or equal to end date");
+            throw new ValidationException(ExceptionCode.INVALID_DATE_RANGE);
         }
     }
     
     private void validateCapacity(Course course) {
         if (course.getMinCapacity() > course.getMaxCapacity()) {
-            throw new EntityNotFoundException("Minimum capacity must be less than or equal to maximum capacity");
+            throw new ValidationException(ExceptionCode.COURSE_CAPACITY_RANGE_INVALID,
+                course.getMinCapacity(), course.getMaxCapacity());
         }
         if (course.getMaxCapacity() < course.getCurrentCapacity()) {
-            throw new EntityNotFoundException("Maximum capacity cannot be less than current capacity");
+            throw new ValidationException(ExceptionCode.COURSE_CAPACITY_BELOW_ENROLLED,
+                course.getMaxCapacity(), course.getCurrentCapacity());
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> findFields(Specification<Course> filter, List<String> fields, Pageable pageable) {
+        return fieldsetRepository.findAll(Course.class, fields, filter, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> findFieldsById(Long id, List<String> fields) {
+        return fieldsetRepository.findById(Course.class, fields, id)
+            .orElseThrow(() -> new ResourceNotFoundException(ExceptionCode.COURSE_NOT_FOUND, id));
+    }
+}
@@ -0,0 +1,52 @@
+package com.formation.service.impl;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.formation.config.CountingAsyncAppender;
+import com.formation.config.SqlInspector;
+import com.formation.dto.ErrorRateReport;
+import com.formation.dto.LogQueueStatus;
+import com.formation.dto.SqlDiagnostics;
+import com.formation.exception.ErrorStatistics;
+import com.formation.service.DiagnosticsService;
+
+/**
+ * Runtime health of the application itself, read from in-memory counters: no
+ * transaction and no database access.
+ */
+@Service
+public class DiagnosticsServiceImpl implements DiagnosticsService {
+
+    @Autowired
+    private ErrorStatistics errorStatistics;
+
+    @Autowired
+    private SqlInspector sqlInspector;
+
+    @Override
+    public ErrorRateReport errorRates() {
+        return errorStatistics.report();
+    }
+
+    @Override
+    public List<LogQueueStatus> loggingQueues() {
+        return CountingAsyncAppender.attached().stream()
+            .map(appender -> LogQueueStatus.builder()
+                .appender(appender.getName())
+                .capacity(appender.getQueueSize())
+                .queued(appender.getNumberOfElementsInQueue())
+                .discarded(appender.getDiscarded())
+                .dropped(appender.getDropped())
+                .build())
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public SqlDiagnostics sqlDiagnostics() {
+        return sqlInspector.report();
+    }
+}
@@ -0,0 +1,157 @@
+package com.formation.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.formation.dto.EnrollmentEventCountView;
+import com.formation.dto.EnrollmentRollupRun;
+import com.formation.entity.EnrollmentEventGap;
+import com.formation.entity.EnrollmentRollup;
+import com.formation.entity.EnrollmentRollupId;
+import com.formation.entity.JobWatermark;
+import com.formation.entity.enums.RollupGranularity;
+import com.formation.repository.EnrollmentEventGapRepository;
+import com.formation.repository.EnrollmentEventRepository;
+import com.formation.repository.EnrollmentRollupRepository;
+import com.formation.repository.JobWatermarkRepository;
+import com.formation.service.EnrollmentRollupService;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@Timed("formation.service")
+@Transactional
+public class EnrollmentRollupServiceImpl implements EnrollmentRollupService {
+
+    static final String JOB_NAME = "enrollment-rollup";
+
+    @Autowired
+    private EnrollmentEventRepository enrollmentEventRepository;
+
+    @Autowired
+    private EnrollmentEventGapRepository enrollmentEventGapRepository;
+
+    @Autowired
+    private EnrollmentRollupRepository enrollmentRollupRepository;
+
+    @Autowired
+    private JobWatermarkRepository jobWatermarkRepository;
+
+    @Override
+    public EnrollmentRollupRun rollup(LocalDateTime abandonGapsBefore) {
+        // The row lock also keeps concurrent instances from counting the same events twice
+        JobWatermark watermark = jobWatermarkRepository.findByIdForUpdate(JOB_NAME)
+            .orElseGet(() -> JobWatermark.builder().jobName(JOB_NAME).build());
+        long afterId = watermark.getLastEventId() == null ? 0L : watermark.getLastEventId();
+
+        // Ids are handed out before commit, so an event may become visible after the watermark passed it:
+        // every id skipped over is kept as a gap and counted when its event shows up
+        List<EnrollmentEventGap> gaps = enrollmentEventGapRepository.findAll();
+        List<Long> filledIds = gaps.isEmpty() ? Collections.emptyList() : enrollmentEventRepository.findExistingIds(
+            gaps.stream().map(EnrollmentEventGap::getEventId).collect(Collectors.toList()));
+        Long lastId = enrollmentEventRepository.findLastId(afterId);
+        long throughId = lastId == null ? afterId : lastId;
+        List<Long> missingIds = missingIds(afterId, throughId);
+
+        List<EnrollmentEventCountView> byHour = Collections.emptyList();
+        List<EnrollmentEventCountView> byDay = Collections.emptyList();
+        if (throughId > afterId || !filledIds.isEmpty()) {
+            byHour = enrollmentEventRepository.countByHour(afterId, throughId, missingIds, filledIds);
+            byDay = enrollmentEventRepository.countByDay(afterId, throughId, missingIds, filledIds);
+        }
+        int buckets = merge(RollupGranularity.HOUR, byHour) + merge(RollupGranularity.DAY, byDay);
+        long events = byDay.stream().mapToLong(EnrollmentEventCountView::getEvents).sum();
+
+        Set<Long> filled = new HashSet<>(filledIds);
+        List<EnrollmentEventGap> closed = gaps.stream()
+            .filter(gap -> filled.contains(gap.getEventId()) || gap.getDetectedAt().isBefore(abandonGapsBefore))
+            .collect(Collectors.toList());
+        if (closed.size() > filled.size()) {
+            log.warn("Enrollment rollup gave up on {} event ids still missing since before {}",
+                closed.size() - filled.size(), abandonGapsBefore);
+        }
+        enrollmentEventGapRepository.deleteAllInBatch(closed);
+        LocalDateTime now = LocalDateTime.now();
+        enrollmentEventGapRepository.saveAll(missingIds.stream()
+            .map(id -> EnrollmentEventGap.builder().eventId(id).detectedAt(now).build())
+            .collect(Collectors.toList()));
+
+        if (throughId > afterId) {
+            watermark.setLastEventId(throughId);
+            jobWatermarkRepository.save(watermark);
+        }
+        if (events > 0 || !missingIds.isEmpty()) {
+            log.info("Enrollment rollup of events {} to {} and {} late ones: {} events into {} buckets, {} ids missing",
+                afterId + 1, throughId, filled.size(), events, buckets, missingIds.size());
+        }
+
+        return EnrollmentRollupRun.builder()
+            .afterEventId(afterId)
+            .throughEventId(throughId)
+            .events(events)
+            .buckets(buckets)
+            .filledGaps(filled.size())
+            .openGaps(gaps.size() - closed.size() + missingIds.size())
+            .build();
+    }
+
+    // Ids in (afterId, throughId] without a visible event, only listed when the range count is short
+    private List<Long> missingIds(long afterId, long throughId) {
+        if (throughId == afterId || enrollmentEventRepository.countBetween(afterId, throughId) == throughId - afterId) {
+            return Collections.emptyList();
+        }
+        List<Long> missing = new ArrayList<>();
+        long expected = afterId + 1;
+        for (Long id : enrollmentEventRepository.findIdsBetween(afterId, throughId)) {
+            while (expected < id) {
+                missing.add(expected++);
+            }
+            expected = id + 1;
+        }
+        return missing;
+    }
+
+    // Adds the new counts onto existing buckets, loading every touched bucket in one query
+    private int merge(RollupGranularity granularity, List<EnrollmentEventCountView> counts) {
+        if (counts.isEmpty()) {
+            return 0;
+        }
+        Map<EnrollmentRollupId, EnrollmentRollup> rollups = new HashMap<>();
+        for (EnrollmentEventCountView count : counts) {
+            EnrollmentRollupId id = new EnrollmentRollupId(granularity, count.getBucketStart(), count.getCourseId());
+            rollups.put(id, null);
+        }
+        enrollmentRollupRepository.findAllById(rollups.keySet())
+            .forEach(rollup -> rollups.put(
+                new EnrollmentRollupId(granularity, rollup.getBucketStart(), rollup.getCourseId()), rollup));
+
+        for (EnrollmentEventCountView count : counts) {
+            EnrollmentRollupId id = new EnrollmentRollupId(granularity, count.getBucketStart(), count.getCourseId());
+            EnrollmentRollup rollup = rollups.get(id);
+            if (rollup == null) {
+                rollup = EnrollmentRollup.builder()
+                    .granularity(granularity)
+                    .bucketStart(count.getBucketStart())
+                    .courseId(count.getCourseId())
+                    .build();
+                rollups.put(id, rollup);
+            }
+            rollup.add(count.getType(), count.getEvents());
+        }
+        enrollmentRollupRepository.saveAll(rollups.values());
+        return rollups.size();
+    }
+}
@@ -0,0 +1,298 @@
+package com.formation.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.formation.dto.BatchEnrollmentRequest;
+import com.formation.dto.BatchEnrollmentResponse;
+import com.formation.dto.DataChangedEvent;
+import com.formation.dto.EnrollmentOutcome;
+import com.formation.dto.ClassRoomOccupancyView;
+import com.formation.dto.EnrollmentResult;
+import com.formation.dto.PlacementPlan;
+import com.formation.dto.PlacementRequest;
+import com.formation.dto.RoomPlacement;
+import com.formation.dto.StudentEnrollmentView;
+import com.formation.entity.ClassRoom;
+import com.formation.entity.Course;
+import com.formation.entity.Student;
+import com.formation.entity.enums.EnrollmentEventType;
+import com.formation.exception.ExceptionCode;
+import com.formation.exception.ResourceNotFoundException;
+import com.formation.jfr.EnrollmentChangeEvent;
+import com.formation.repository.ClassRoomRepository;
+import com.formation.repository.CourseRepository;
+import com.formation.repository.EnrollmentEventRepository;
+import com.formation.repository.StudentRepository;
+import com.formation.service.EnrollmentService;
+import com.formation.service.WaitlistService;
+import com.formation.service.scheduling.SeatPacker;
+
+import io.micrometer.core.annotation.Timed;
+
+@Service
+@Timed("formation.service")
+@Transactional
+public class EnrollmentServiceImpl implements EnrollmentService {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ClassRoomRepository classRoomRepository;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private EnrollmentEventRepository enrollmentEventRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public BatchEnrollmentResponse enrollBatch(BatchEnrollmentRequest request) {
+        Long courseId = request.getCourseId();
+        EnrollmentChangeEvent event = EnrollmentChangeEvent.start(EnrollmentChangeEvent.ENROLL_BATCH, courseId);
+        Long classRoomId = request.getClassRoomId();
+
+        // Queued students get the free seats first, as on any seat release. Afterwards the course is either full
+        // or has nobody waiting, so the batch never passes the queue and no accepted student keeps an entry for it
+        waitlistService.promoteWaiting(courseId);
+
+        // Lock both rows so concurrent batches see a consistent seat count
+        Course course = courseRepository.findByIdForUpdate(courseId)
+            .orElseThrow(() -> new ResourceNotFoundException(ExceptionCode.COURSE_NOT_FOUND, courseId));
+        ClassRoom classRoom = classRoomRepository.findByIdForUpdate(classRoomId)
+            .orElseThrow(() -> new ResourceNotFoundException(ExceptionCode.CLASSROOM_NOT_FOUND, classRoomId));
+
+        Set<Long> studentIds = new LinkedHashSet<>(request.getStudentIds());
+        studentIds.remove(null);
+        Map<Long, StudentEnrollmentView> views = studentRepository.findEnrollmentViews(studentIds).stream()
+            .collect(Collectors.toMap(StudentEnrollmentView::getId, Function.identity()));
+
+        int courseSeats = Math.max(0, course.getMaxCapacity() - course.getCurrentCapacity());
+        int classRoomSeats = Math.max(0, classRoom.getMaxCapacity() - classRoom.getCurrentCapacity());
+
+        List<EnrollmentResult> results = new ArrayList<>(studentIds.size());
+        List<Long> accepted = new ArrayList<>();
+        int movedIntoClassRoom = 0;
+
+        for (Long studentId : studentIds) {
+            StudentEnrollmentView view = views.get(studentId);
+            if (view == null) {
+                results.add(result(studentId, EnrollmentOutcome.NOT_FOUND, ExceptionCode.STUDENT_NOT_FOUND, studentId));
+            } else if (courseId.equals(view.getCourseId())) {
+                results.add(result(studentId, EnrollmentOutcome.ALREADY_ENROLLED, ExceptionCode.STUDENT_IN_COURSE, courseId));
+            } else if (view.getCourseId() != null) {
+                results.add(result(studentId, EnrollmentOutcome.ENROLLED_ELSEWHERE, ExceptionCode.STUDENT_DUPLICATE_ENROLLMENT));
+            } else {
+                boolean needsClassRoomSeat = !Objects.equals(classRoomId, view.getClassRoomId());
+                if (courseSeats < 1) {
+                    results.add(result(studentId, EnrollmentOutcome.CAPACITY_EXCEEDED, ExceptionCode.COURSE_FULL,
+                        course.getMaxCapacity() - courseSeats, course.getMaxCapacity()));
+                } else if (needsClassRoomSeat && classRoomSeats < 1) {
+                    results.add(result(studentId, EnrollmentOutcome.CAPACITY_EXCEEDED, ExceptionCode.CLASSROOM_CAPACITY_EXCEEDED,
+                        classRoom.getMaxCapacity() - classRoomSeats, classRoom.getMaxCapacity()));
+                } else {
+                    accepted.add(studentId);
+                    courseSeats--;
+                    if (needsClassRoomSeat) {
+                        classRoomSeats--;
+                        movedIntoClassRoom++;
+                    }
+                    results.add(new EnrollmentResult(studentId, EnrollmentOutcome.ENROLLED, null));
+                }
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            classRoomRepository.releaseSeatsHeldBy(accepted, classRoomId);
+            studentRepository.assignCourseAndClassRoom(accepted, course, classRoom, now);
+            enrollmentEventRepository.recordEnrolled(accepted, courseId, now);
+            courseRepository.adjustCurrentCapacity(courseId, accepted.size());
+            if (movedIntoClassRoom > 0) {
+                classRoomRepository.adjustCurrentCapacity(classRoomId, movedIntoClassRoom);
+            }
+            eventPublisher.publishEvent(new DataChangedEvent(Student.class));
+        }
+        event.commit(studentIds.size(), accepted.size(), courseSeats);
+
+        return BatchEnrollmentResponse.builder()
+            .courseId(courseId)
+            .classRoomId(classRoomId)
+            .requested(studentIds.size())
+            .enrolled(accepted.size())
+            .remainingCourseSeats(courseSeats)
+            .remainingClassRoomSeats(classRoomSeats)
+            .results(results)
+            .build();
+    }
+
+    @Override
+    public void unenroll(Long courseId, Long studentId) {
+        EnrollmentChangeEvent event = EnrollmentChangeEvent.start(EnrollmentChangeEvent.UNENROLL, courseId);
+        Course course = courseRepository.findByIdForUpdate(courseId)
+            .orElseThrow(() -> new ResourceNotFoundException(ExceptionCode.COURSE_NOT_FOUND, courseId));
+        LocalDateTime now = LocalDateTime.now();
+        if (studentRepository.unassignCourse(studentId, courseId, now) == 0) {
+            throw new ResourceNotFoundException(ExceptionCode.STUDENT_NOT_ENROLLED, studentId, courseId);
+        }
+        enrollmentEventRepository.record(courseId, studentId, EnrollmentEventType.UNENROLLED, now);
+        courseRepository.adjustCurrentCapacity(courseId, -1);
+        int promoted = waitlistService.promoteWaiting(courseId);
+        eventPublisher.publishEvent(new DataChangedEvent(Student.class));
+        event.commit(1, 1, course.getMaxCapacity() - course.getCurrentCapacity() + 1 - promoted);
+    }
+
+    @Override
+    public PlacementPlan placeIntake(PlacementRequest request, boolean dryRun) {
+        Long courseId = request.getCourseId();
+        EnrollmentChangeEvent event = EnrollmentChangeEvent.start(EnrollmentChangeEvent.PLACEMENT, courseId);
+        if (!courseRepository.existsById(courseId)) {
+            throw new ResourceNotFoundException(ExceptionCode.COURSE_NOT_FOUND, courseId);
+        }
+
+        List<StudentEnrollmentView> intake = studentRepository.findEnrollmentViewsByCourseId(courseId).stream()
+            .filter(view -> request.isRepackPlaced() || view.getClassRoomId() == null)
+            .collect(Collectors.toList());
+
+        // Candidates are the requested rooms, otherwise the rooms with free seats plus those the intake sits in
+        Set<Long> candidateIds = new TreeSet<>();
+        if (request.getClassRoomIds() != null && !request.getClassRoomIds().isEmpty()) {
+            request.getClassRoomIds().stream().filter(Objects::nonNull).forEach(candidateIds::add);
+        } else {
+            candidateIds.addAll(classRoomRepository.findAvailableRoomIds());
+            intake.stream()
+                .filter(view -> view.getClassRoomId() != null)
+                .forEach(view -> candidateIds.add(view.getClassRoomId()));
+        }
+
+        // Only the candidate rows are locked, in id order, and they stay locked until the moves are written.
+        // Free seats come from their actual occupancy; seats held by the intake itself count as free
+        List<ClassRoom> rooms = new ArrayList<>();
+        Map<Long, Long> occupancy = new HashMap<>();
+        if (!candidateIds.isEmpty()) {
+            rooms = dryRun ? classRoomRepository.findAllByIds(candidateIds)
+                : classRoomRepository.findAllByIdsForUpdate(candidateIds);
+            occupancy = classRoomRepository.findOccupancy(candidateIds).stream()
+                .collect(Collectors.toMap(ClassRoomOccupancyView::getClassRoomId, ClassRoomOccupancyView::getStudents));
+        }
+        Map<Long, Long> heldByIntake = intake.stream()
+            .filter(view -> view.getClassRoomId() != null)
+            .collect(Collectors.groupingBy(StudentEnrollmentView::getClassRoomId, Collectors.counting()));
+        Map<Long, ClassRoom> roomsById = new HashMap<>();
+        Map<Long, Integer> freeSeats = new HashMap<>();
+        for (ClassRoom room : rooms) {
+            long occupied = occupancy.getOrDefault(room.getId(), 0L) - heldByIntake.getOrDefault(room.getId(), 0L);
+            roomsById.put(room.getId(), room);
+            freeSeats.put(room.getId(), (int) Math.max(0, room.getMaxCapacity() - occupied));
+        }
+
+        Map<Long, Integer> placement = SeatPacker.pack(intake.size(), freeSeats);
+
+        // Students already sitting in a chosen room keep their seat, the others fill what is left
+        Map<Long, List<Long>> seated = new HashMap<>();
+        List<Long> waiting = new ArrayList<>();
+        for (StudentEnrollmentView view : intake) {
+            Long roomId = view.getClassRoomId();
+            List<Long> inRoom = roomId == null ? null : seated.computeIfAbsent(roomId, k -> new ArrayList<>());
+            if (inRoom != null && placement.containsKey(roomId) && inRoom.size() < placement.get(roomId)) {
+                inRoom.add(view.getId());
+            } else {
+                waiting.add(view.getId());
+            }
+        }
+        Map<Long, List<Long>> movedIn = new HashMap<>();
+        int next = 0;
+        for (Map.Entry<Long, Integer> entry : placement.entrySet()) {
+            List<Long> inRoom = seated.getOrDefault(entry.getKey(), new ArrayList<>());
+            List<Long> arriving = new ArrayList<>();
+            while (inRoom.size() + arriving.size() < entry.getValue() && next < waiting.size()) {
+                arriving.add(waiting.get(next++));
+            }
+            movedIn.put(entry.getKey(), arriving);
+        }
+        List<Long> unplaced = new ArrayList<>(waiting.subList(next, waiting.size()));
+
+        if (!dryRun) {
+            LocalDateTime now = LocalDateTime.now();
+            Set<Long> touchedRooms = new HashSet<>();
+            for (Map.Entry<Long, List<Long>> entry : movedIn.entrySet()) {
+                if (!entry.getValue().isEmpty()) {
+                    studentRepository.assignClassRoom(entry.getValue(), roomsById.get(entry.getKey()), now);
+                    touchedRooms.add(entry.getKey());
+                }
+            }
+            intake.stream()
+                .filter(view -> view.getClassRoomId() != null)
+                .forEach(view -> touchedRooms.add(view.getClassRoomId()));
+            if (!touchedRooms.isEmpty()) {
+                classRoomRepository.recountCurrentCapacity(touchedRooms);
+                eventPublisher.publishEvent(new DataChangedEvent(Student.class));
+            }
+        }
+
+        List<RoomPlacement> roomPlacements = new ArrayList<>();
+        int placed = 0;
+        int moved = 0;
+        int leftover = 0;
+        for (Map.Entry<Long, Integer> entry : placement.entrySet()) {
+            ClassRoom room = roomsById.get(entry.getKey());
+            List<Long> studentIds = new ArrayList<>(seated.getOrDefault(entry.getKey(), new ArrayList<>()));
+            studentIds.addAll(movedIn.get(entry.getKey()));
+            studentIds.sort(Comparator.naturalOrder());
+            int free = freeSeats.get(entry.getKey());
+            placed += studentIds.size();
+            moved += movedIn.get(entry.getKey()).size();
+            leftover += free - studentIds.size();
+            roomPlacements.add(RoomPlacement.builder()
+                .classRoomId(room.getId())
+                .roomNumber(room.getRoomNumber())
+                .freeSeats(free)
+                .assigned(studentIds.size())
+                .leftoverSeats(free - studentIds.size())
+                .studentIds(studentIds)
+                .build());
+        }
+        if (!dryRun) {
+            event.commit(intake.size(), moved, leftover);
+        }
+
+        return PlacementPlan.builder()
+            .courseId(courseId)
+            .dryRun(dryRun)
+            .students(intake.size())
+            .placed(placed)
+            .moved(moved)
+            .roomsUsed(roomPlacements.size())
+            .leftoverSeats(leftover)
+            .unplacedStudentIds(unplaced)
+            .rooms(roomPlacements)
+            .build();
+    }
+
+    private EnrollmentResult result(Long studentId, EnrollmentOutcome outcome, ExceptionCode code, Object... args) {
+        return new EnrollmentResult(studentId, outcome, String.format(code.getMessageTemplate(), args));
+    }
+}
@@ -0,0 +1,138 @@
+package com.formation.service.impl;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.formation.dto.DataChangedEvent;
+import com.formation.dto.ScheduleAssignment;
+import com.formation.dto.SchedulePlan;
+import com.formation.dto.TrainerBooking;
+import com.formation.dto.ScheduleRequest;
+import com.formation.entity.Course;
+import com.formation.entity.enums.CourseStatus;
+import com.formation.exception.ExceptionCode;
+import com.formation.exception.ResourceInUseException;
+import com.formation.exception.ValidationException;
+import com.formation.repository.ClassRoomRepository;
+import com.formation.repository.CourseRepository;
+import com.formation.repository.TrainerRepository;
+import com.formation.service.SchedulingService;
+import com.formation.service.scheduling.TimetableSolver;
+import com.formation.service.scheduling.TrainerAvailabilityIndex;
+import com.formation.utils.DateUtils;
+
+import io.micrometer.core.annotation.Timed;
+
+@Service
+@Timed("formation.service")
+@Transactional
+public class SchedulingServiceImpl implements SchedulingService {
+
+    private static final List<CourseStatus> ACTIVE_STATUSES = Arrays.asList(CourseStatus.PLANNED, CourseStatus.IN_PROGRESS);
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ClassRoomRepository classRoomRepository;
+
+    @Autowired
+    private TrainerRepository trainerRepository;
+
+    @Autowired
+    private TrainerAvailabilityIndex trainerAvailabilityIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public SchedulePlan plan(ScheduleRequest request, boolean dryRun) {
+        if (!DateUtils.isDateRangeValid(request.getTermStart(), request.getTermEnd())) {
+            throw new ValidationException(ExceptionCode.INVALID_DATE_RANGE);
+        }
+
+        List<Course> termCourses = courseRepository.findOverlapping(request.getTermStart(), request.getTermEnd(), ACTIVE_STATUSES);
+        Set<Long> selected = request.getCourseIds() == null || request.getCourseIds().isEmpty()
+            ? null
+            : new HashSet<>(request.getCourseIds());
+        List<Course> toPlan = termCourses.stream()
+            .filter(c -> selected == null || selected.contains(c.getId()))
+            .collect(Collectors.toList());
+
+        TimetableSolver solver = new TimetableSolver(classRoomRepository.findAll(), trainerRepository.findAll());
+        if (!toPlan.isEmpty()) {
+            // Courses outside the plan keep their bookings, including those spilling past the term
+            LocalDate from = toPlan.stream().map(Course::getStartDate).min(LocalDate::compareTo).get();
+            LocalDate to = toPlan.stream().map(Course::getEndDate).max(LocalDate::compareTo).get();
+            Set<Long> planned = toPlan.stream().map(Course::getId).collect(Collectors.toSet());
+            courseRepository.findOverlapping(from, to, ACTIVE_STATUSES).stream()
+                .filter(c -> !planned.contains(c.getId()))
+                .forEach(solver::block);
+        }
+
+        long started = System.nanoTime();
+        List<ScheduleAssignment> assignments = solver.solve(toPlan, request.isReassignExisting());
+        long solveMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        if (!dryRun) {
+            apply(toPlan, assignments);
+        }
+
+        int assigned = (int) assignments.stream().filter(ScheduleAssignment::isAssigned).count();
+        return SchedulePlan.builder()
+            .termStart(request.getTermStart())
+            .termEnd(request.getTermEnd())
+            .dryRun(dryRun)
+            .assignedCount(assigned)
+            .unassignedCount(assignments.size() - assigned)
+            .solveMillis(solveMillis)
+            .assignments(assignments)
+            .build();
+    }
+
+    private void apply(List<Course> courses, List<ScheduleAssignment> assignments) {
+        Map<Long, Course> byId = courses.stream().collect(Collectors.toMap(Course::getId, Function.identity()));
+        // Free every moved booking first, a trainer may be handed over from one planned course to another
+        assignments.stream()
+            .filter(ScheduleAssignment::isAssigned)
+            .forEach(assignment -> trainerAvailabilityIndex.release(assignment.getCourseId()));
+        for (ScheduleAssignment assignment : assignments) {
+            if (!assignment.isAssigned()) {
+                continue;
+            }
+            Course course = byId.get(assignment.getCourseId());
+            if (course.getClassRoom() == null || !Objects.equals(course.getClassRoom().getId(), assignment.getClassRoomId())) {
+                course.setClassRoom(classRoomRepository.getReferenceById(assignment.getClassRoomId()));
+            }
+            if (course.getTrainer() == null || !Objects.equals(course.getTrainer().getId(), assignment.getTrainerId())) {
+                course.setTrainer(trainerRepository.getReferenceById(assignment.getTrainerId()));
+            }
+            // The solver only saw the bookings read before solving; a course saved since can hold the trainer
+            List<TrainerBooking> conflicts = trainerAvailabilityIndex.reserve(TrainerBooking.builder()
+                .courseId(course.getId())
+                .trainerId(assignment.getTrainerId())
+                .startDate(course.getStartDate())
+                .endDate(course.getEndDate())
+                .build());
+            if (!conflicts.isEmpty()) {
+                TrainerBooking conflict = conflicts.get(0);
+                throw new ResourceInUseException(ExceptionCode.TRAINER_BOOKED, conflict.getTrainerId(),
+                    conflict.getCourseId(), conflict.getStartDate(), conflict.getEndDate());
+            }
+        }
+        eventPublisher.publishEvent(new DataChangedEvent(Course.class));
+    }
+}
@@ -1,36 +1,92 @@
 package com.formation.service.impl;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
+import com.formation.dto.DataChangedEvent;
+import com.formation.dto.StudentSummary;
+import com.formation.entity.ClassRoom;
+import com.formation.entity.Course;
 import com.formation.entity.Student;
+import com.formation.entity.enums.EnrollmentEventType;
+import com.formation.exception.DuplicateResourceException;
+import com.formation.exception.ExceptionCode;
+import com.formation.exception.ResourceInUseException;
+import com.formation.exception.ResourceNotFoundException;
+import com.formation.jfr.StudentSearchEvent;
+import com.formation.repository.ClassRoomRepository;
+import com.formation.repository.CourseRepository;
+import com.formation.repository.EnrollmentEventRepository;
+import com.formation.repository.FieldsetRepository;
 import com.formation.repository.StudentRepository;
+import com.formation.repository.StudentSpecifications;
 import com.formation.service.StudentService;
+import com.formation.service.WaitlistService;
 
-import jakarta.validation.Valid;
-import jakarta.validation.constraints.NotNull;
+import io.micrometer.core.annotation.Timed;
 
 @Service
+@Timed("formation.service")
 @Transactional
 @Validated
 public class StudentServiceImpl implements StudentService {
+
+    // StudentSummary constructor arguments
+    private static final List<String> SUMMARY_PATHS =
+        Arrays.asList("id", "lastName", "firstName", "email", "level", "course.id", "classRoom.id");
     
     @Autowired
     private StudentRepository studentRepository;
+
+    @Autowired
+    private FieldsetRepository fieldsetRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ClassRoomRepository classRoomRepository;
+
+    @Autowired
+    private EnrollmentEventRepository enrollmentEventRepository;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
     
     @Override
-    public Student save(@Valid @NotNull Student student) {
-        return studentRepository.save(student);
+    public Student save(Student student) {
+        if (studentRepository.existsByEmail(student.getEmail())) {
+            throw new DuplicateResourceException(ExceptionCode.STUDENT_EMAIL_EXISTS, student.getEmail());
+        }
+        Long courseId = courseId(student);
+        adjustSeats(null, courseId, null, classRoomId(student));
+        Student saved = studentRepository.save(student);
+        recordCourseChange(saved.getId(), null, courseId);
+        eventPublisher.publishEvent(new DataChangedEvent(Student.class));
+        return saved;
     }
     
     @Override
-    public Student findById(@NotNull Long id) {
+    public Student findById(Long id) {
         return studentRepository.findById(id)
-            .orElse(null);
+            .orElseThrow(() -> new ResourceNotFoundException(ExceptionCode.STUDENT_NOT_FOUND, id));
     }
     
     @Override
@@ -39,37 +95,153 @@ public class StudentServiceImpl implements StudentService {
     }
     
     @Override
-    public Student update(@Valid @NotNull Student student) {
-        return studentRepository.save(student);
+    public Student update(Student student) {
+        Student existingStudent = findById(student.getId());
+        if (!existingStudent.getEmail().equals(student.getEmail())
+                && studentRepository.existsByEmail(student.getEmail())) {
+            throw new DuplicateResourceException(ExceptionCode.STUDENT_EMAIL_EXISTS, student.getEmail());
+        }
+        Long previousCourseId = courseId(existingStudent);
+        Long courseId = courseId(student);
+        adjustSeats(previousCourseId, courseId, classRoomId(existingStudent), classRoomId(student));
+        Student saved = studentRepository.save(student);
+        recordCourseChange(saved.getId(), previousCourseId, courseId);
+        eventPublisher.publishEvent(new DataChangedEvent(Student.class));
+        return saved;
     }
     
     @Override
-    public void delete(@NotNull Long id) {
+    public void delete(Long id) {
+        Student existing = studentRepository.findById(id).orElse(null);
+        Long previousCourseId = existing == null ? null : courseId(existing);
+        Long previousClassRoomId = existing == null ? null : classRoomId(existing);
+        // Waitlist entries reference the student row; leaving moves everyone queued behind them up
+        waitlistService.leaveAll(id);
         studentRepository.deleteById(id);
+        adjustSeats(previousCourseId, null, previousClassRoomId, null);
+        recordCourseChange(id, previousCourseId, null);
+        eventPublisher.publishEvent(new DataChangedEvent(Student.class));
     }
     
     @Override
     public Page<Student> search(String keyword, Pageable pageable) {
-        return studentRepository.search(keyword, pageable);
+        StudentSearchEvent event = new StudentSearchEvent();
+        event.begin();
+        Page<Student> page = studentRepository.findAll(StudentSpecifications.search(keyword), pageable);
+        event.commit(keyword, pageable, page);
+        return page;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void streamSearch(String keyword, Consumer<? super StudentSummary> consumer) {
+        StudentSearchEvent event = new StudentSearchEvent();
+        event.begin();
+        long[] count = new long[1];
+        try (Stream<StudentSummary> rows = fieldsetRepository.stream(Student.class, StudentSummary.class, SUMMARY_PATHS,
+                StudentSpecifications.search(keyword))) {
+            rows.forEach(row -> {
+                consumer.accept(row);
+                count[0]++;
+            });
+        }
+        event.commitStreamed(keyword, count[0]);
     }
     
     @Override
     public Page<Student> findByLevel(String level, Pageable pageable) {
-        return studentRepository.findByLevel(level, pageable);
+        return studentRepository.findAll(StudentSpecifications.atLevel(level), pageable);
     }
     
     @Override
     public Page<Student> findByCourseId(Long courseId, Pageable pageable) {
-        return studentRepository.findByCourseId(courseId, pageable);
+        return studentRepository.findAll(StudentSpecifications.enrolledIn(courseId), pageable);
     }
     
     @Override
     public Page<Student> findByClassRoomId(Long classRoomId, Pageable pageable) {
-        return studentRepository.findByClassRoomId(classRoomId, pageable);
+        return studentRepository.findAll(StudentSpecifications.seatedIn(classRoomId), pageable);
     }
     
     @Override
     public Page<Student> findByLastNameAndFirstName(String lastName, String firstName, Pageable pageable) {
-        return studentRepository.findByLastNameAndFirstName(lastName, firstName, pageable);
+        return studentRepository.findAll(StudentSpecifications.named(lastName, firstName), pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> findFields(Specification<Student> filter, List<String> fields, Pageable pageable) {
+        return fieldsetRepository.findAll(Student.class, fields, filter, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> findFieldsById(Long id, List<String> fields) {
+        return fieldsetRepository.findById(Student.class, fields, id)
+            .orElseThrow(() -> new ResourceNotFoundException(ExceptionCode.STUDENT_NOT_FOUND, id));
+    }
+
+    // Seat counters move before the student row is saved: their bulk updates clear the persistence context.
+    // Joining a course follows the waitlist rule: its row is locked and a seat is only taken when nobody is queued.
+    private void adjustSeats(Long previousCourseId, Long courseId, Long previousClassRoomId, Long classRoomId) {
+        boolean courseChanged = !Objects.equals(previousCourseId, courseId);
+        boolean classRoomChanged = !Objects.equals(previousClassRoomId, classRoomId);
+        if (courseChanged && courseId != null) {
+            Course course = courseRepository.findByIdForUpdate(courseId)
+                .orElseThrow(() -> new ResourceNotFoundException(ExceptionCode.COURSE_NOT_FOUND, courseId));
+            if (!course.isAvailable() || waitlistService.hasWaiting(courseId)) {
+                throw new ResourceInUseException(ExceptionCode.COURSE_FULL, course.getCurrentCapacity(),
+                    course.getMaxCapacity());
+            }
+        }
+        if (classRoomChanged && classRoomId != null) {
+            ClassRoom classRoom = classRoomRepository.findByIdForUpdate(classRoomId)
+                .orElseThrow(() -> new ResourceNotFoundException(ExceptionCode.CLASSROOM_NOT_FOUND, classRoomId));
+            if (classRoom.getCurrentCapacity() >= classRoom.getMaxCapacity()) {
+                throw new ResourceInUseException(ExceptionCode.CLASSROOM_CAPACITY_EXCEEDED,
+                    classRoom.getCurrentCapacity(), classRoom.getMaxCapacity());
+            }
+        }
+        if (courseChanged) {
+            if (previousCourseId != null) {
+                courseRepository.adjustCurrentCapacity(previousCourseId, -1);
+            }
+            if (courseId != null) {
+                courseRepository.adjustCurrentCapacity(courseId, 1);
+            }
+        }
+        if (classRoomChanged) {
+            if (previousClassRoomId != null) {
+                classRoomRepository.adjustCurrentCapacity(previousClassRoomId, -1);
+            }
+            if (classRoomId != null) {
+                classRoomRepository.adjustCurrentCapacity(classRoomId, 1);
+            }
+        }
+    }
+
+    // Same events as the enrollment endpoints, so the rollups see every course change
+    private void recordCourseChange(Long studentId, Long previousCourseId, Long courseId) {
+        if (Objects.equals(previousCourseId, courseId)) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (previousCourseId != null) {
+            enrollmentEventRepository.record(previousCourseId, studentId, EnrollmentEventType.UNENROLLED, now);
+        }
+        if (courseId != null) {
+            enrollmentEventRepository.record(courseId, studentId, EnrollmentEventType.ENROLLED, now);
+        }
+        if (previousCourseId != null) {
+            waitlistService.promoteWaiting(previousCourseId);
+        }
+    }
+
+    private static Long courseId(Student student) {
+        return student.getCourse() == null ? null : student.getCourse().getId();
+    }
+
+    private static Long classRoomId(Student student) {
+        return student.getClassRoom() == null ? null : student.getClassRoom().getId();
     }
-}
\ No newline at end of file
+}
@@ -1,35 +1,86 @@
 package com.formation.service.impl;
 
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import com.formation.dto.DataChangedEvent;
+import com.formation.dto.TrainerAvailability;
+import com.formation.dto.TrainerBooking;
+import com.formation.dto.TrainerConflict;
+import com.formation.dto.TrainerRecommendation;
+import com.formation.dto.TrainerSummary;
+import com.formation.entity.Course;
 import com.formation.entity.Trainer;
+import com.formation.exception.DuplicateResourceException;
+import com.formation.exception.ExceptionCode;
+import com.formation.exception.ResourceInUseException;
+import com.formation.exception.ResourceNotFoundException;
+import com.formation.exception.ValidationException;
+import com.formation.repository.CourseRepository;
+import com.formation.repository.FieldsetRepository;
 import com.formation.repository.TrainerRepository;
+import com.formation.repository.TrainerSpecifications;
 import com.formation.service.TrainerService;
-import jakarta.persistence.EntityNotFoundException;
+import com.formation.service.scheduling.TrainerAvailabilityIndex;
+import com.formation.service.scheduling.TrainerRecommendationIndex;
+import com.formation.utils.DateUtils;
+
+import io.micrometer.core.annotation.Timed;
 
 @Service
+@Timed("formation.service")
 @Transactional
 public class TrainerServiceImpl implements TrainerService {
+
+    // TrainerSummary constructor arguments
+    private static final List<String> SUMMARY_PATHS =
+        Arrays.asList("id", "lastName", "firstName", "email", "specialty", "classRoom.id");
     
     @Autowired
     private TrainerRepository trainerRepository;
+
+    @Autowired
+    private FieldsetRepository fieldsetRepository;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private TrainerAvailabilityIndex trainerAvailabilityIndex;
+    
+    @Autowired
+    private TrainerRecommendationIndex trainerRecommendationIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
     
     @Override
     public Trainer save(Trainer trainer) {
         validateBusinessRules(trainer);
         if (trainerRepository.existsByEmail(trainer.getEmail())) {
-            throw new EntityNotFoundException("A trainer with email " + trainer.getEmail() + " already exists");
+            throw new DuplicateResourceException(ExceptionCode.TRAINER_EMAIL_EXISTS, trainer.getEmail());
         }
-        return trainerRepository.save(trainer);
+        Trainer saved = trainerRepository.save(trainer);
+        trainerRecommendationIndex.put(summarize(saved));
+        eventPublisher.publishEvent(new DataChangedEvent(Trainer.class));
+        return saved;
     }
     
     @Override
     public Trainer findById(Long id) {
         return trainerRepository.findById(id)
-            .orElseThrow(() -> new EntityNotFoundException("Trainer not found with id: " + id));
+            .orElseThrow(() -> new ResourceNotFoundException(ExceptionCode.TRAINER_NOT_FOUND, id));
     }
     
     @Override
@@ -43,50 +94,64 @@ public class TrainerServiceImpl implements TrainerService {
         
         if (!existingTrainer.getEmail().equals(trainer.getEmail()) && 
             trainerRepository.existsByEmail(trainer.getEmail())) {
-            throw new EntityNotFoundException("A trainer with email " + trainer.getEmail() + " already exists");
+            throw new DuplicateResourceException(ExceptionCode.TRAINER_EMAIL_EXISTS, trainer.getEmail());
         }
         
         validateBusinessRules(trainer);
-        return trainerRepository.save(trainer);
+        Trainer saved = trainerRepository.save(trainer);
+        trainerRecommendationIndex.put(summarize(saved));
+        eventPublisher.publishEvent(new DataChangedEvent(Trainer.class));
+        return saved;
     }
     
     @Override
     public void delete(Long id) {
         Trainer trainer = findById(id);
         if (!trainer.getCourses().isEmpty()) {
-            throw new EntityNotFoundException("Cannot delete trainer with assigned courses");
+            throw new ResourceInUseException(ExceptionCode.TRAINER_WITH_COURSES);
         }
         trainerRepository.deleteById(id);
+        trainerRecommendationIndex.remove(id);
+        eventPublisher.publishEvent(new DataChangedEvent(Trainer.class));
     }
     
     @Override
     public Page<Trainer> search(String keyword, Pageable pageable) {
-        return trainerRepository.search(keyword, pageable);
+        return trainerRepository.findAll(TrainerSpecifications.search(keyword), pageable);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void streamSearch(String keyword, Consumer<? super TrainerSummary> consumer) {
+        try (Stream<TrainerSummary> rows = fieldsetRepository.stream(Trainer.class, TrainerSummary.class, SUMMARY_PATHS,
+                TrainerSpecifications.search(keyword))) {
+            rows.forEach(consumer);
+        }
     }
     
     @Override
     public Page<Trainer> findByEmail(String email, Pageable pageable) {
-        return trainerRepository.findByEmail(email, pageable);
+        return trainerRepository.findAll(TrainerSpecifications.withEmail(email), pageable);
     }
     
     @Override
     public Page<Trainer> findBySpecialty(String specialty, Pageable pageable) {
-        return trainerRepository.findBySpecialty(specialty, pageable);
+        return trainerRepository.findAll(TrainerSpecifications.withSpecialty(specialty), pageable);
     }
     
     @Override
     public Page<Trainer> findByLastNameAndFirstName(String lastName, String firstName, Pageable pageable) {
-        return trainerRepository.findByLastNameAndFirstName(lastName, firstName, pageable);
+        return trainerRepository.findAll(TrainerSpecifications.named(lastName, firstName), pageable);
     }
     
     @Override
     public Page<Trainer> findByClassRoomId(Long classRoomId, Pageable pageable) {
-        return trainerRepository.findByClassRoomId(classRoomId, pageable);
+        return trainerRepository.findAll(TrainerSpecifications.assignedTo(classRoomId), pageable);
     }
     
     @Override
     public Page<Trainer> findAvailableTrainers(int maxCourses, Pageable pageable) {
-        return trainerRepository.findAvailableTrainers(maxCourses, pageable);
+        return trainerRepository.findAll(TrainerSpecifications.teachingFewerThan(maxCourses), pageable);
     }
     
     @Override
@@ -94,9 +159,65 @@ public class TrainerServiceImpl implements TrainerService {
         return trainerRepository.findTrainersWithoutCourses(pageable);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public TrainerAvailability findAvailability(Long trainerId, LocalDate startDate, LocalDate endDate) {
+        validateDateRange(startDate, endDate);
+        if (!trainerRepository.existsById(trainerId)) {
+            throw new ResourceNotFoundException(ExceptionCode.TRAINER_NOT_FOUND, trainerId);
+        }
+        List<TrainerBooking> bookings = trainerAvailabilityIndex.findBookings(trainerId, startDate, endDate, null);
+        return TrainerAvailability.builder()
+            .trainerId(trainerId)
+            .startDate(startDate)
+            .endDate(endDate)
+            .available(bookings.isEmpty())
+            .bookings(bookings)
+            .build();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<TrainerConflict> findScheduleConflicts(LocalDate startDate, LocalDate endDate) {
+        validateDateRange(startDate, endDate);
+        return trainerAvailabilityIndex.findConflicts(startDate, endDate);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<TrainerRecommendation> recommendForCourse(Long courseId, int limit, boolean includeUnavailable) {
+        Course course = courseRepository.findById(courseId)
+            .orElseThrow(() -> new ResourceNotFoundException(ExceptionCode.COURSE_NOT_FOUND, courseId));
+        return trainerRecommendationIndex.recommend(course, limit, includeUnavailable);
+    }
+    
+    private TrainerSummary summarize(Trainer trainer) {
+        return new TrainerSummary(trainer.getId(), trainer.getLastName(), trainer.getFirstName(), trainer.getEmail(),
+            trainer.getSpecialty(), trainer.getClassRoom() == null ? null : trainer.getClassRoom().getId());
+    }
+    
+    private void validateDateRange(LocalDate startDate, LocalDate endDate) {
+        if (!DateUtils.isDateRangeValid(startDate, endDate)) {
+            throw new ValidationException(ExceptionCode.INVALID_DATE_RANGE);
+        }
+    }
+    
     private void validateBusinessRules(Trainer trainer) {
         if (trainer.getCourses() != null && trainer.getCourses().size() > 5) {
-            throw new EntityNotFoundException("A trainer cannot have more than 5 courses");
+            throw new ResourceInUseException(ExceptionCode.TRAINER_MAX_COURSES, 5);
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> findFields(Specification<Trainer> filter, List<String> fields, Pageable pageable) {
+        return fieldsetRepository.findAll(Trainer.class, fields, filter, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> findFieldsById(Long id, List<String> fields) {
+        return fieldsetRepository.findById(Trainer.class, fields, id)
+            .orElseThrow(() -> new ResourceNotFoundException(ExceptionCode.TRAINER_NOT_FOUND, id));
+    }
+}
@@ -0,0 +1,235 @@
+package com.formation.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.formation.dto.DataChangedEvent;
+import com.formation.dto.WaitlistPosition;
+import com.formation.dto.WaitlistPositionView;
+import com.formation.dto.WaitlistStatus;
+import com.formation.entity.Course;
+import com.formation.entity.CourseWaitlist;
+import com.formation.entity.Student;
+import com.formation.entity.WaitlistEntry;
+import com.formation.entity.enums.EnrollmentEventType;
+import com.formation.exception.DuplicateResourceException;
+import com.formation.exception.ExceptionCode;
+import com.formation.exception.ResourceNotFoundException;
+import com.formation.jfr.EnrollmentChangeEvent;
+import com.formation.repository.CourseRepository;
+import com.formation.repository.CourseWaitlistRepository;
+import com.formation.repository.EnrollmentEventRepository;
+import com.formation.repository.StudentRepository;
+import com.formation.repository.WaitlistEntryRepository;
+import com.formation.service.WaitlistService;
+
+import io.micrometer.core.annotation.Timed;
+
+@Service
+@Timed("formation.service")
+@Transactional
+public class WaitlistServiceImpl implements WaitlistService {
+
+    @Autowired
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Autowired
+    private CourseWaitlistRepository courseWaitlistRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EnrollmentEventRepository enrollmentEventRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public WaitlistPosition join(Long courseId, Long studentId) {
+        EnrollmentChangeEvent event = EnrollmentChangeEvent.start(EnrollmentChangeEvent.WAITLIST_JOIN, courseId);
+        Course course = lockCourse(courseId);
+        Student student = studentRepository.findById(studentId)
+            .orElseThrow(() -> new ResourceNotFoundException(ExceptionCode.STUDENT_NOT_FOUND, studentId));
+
+        if (student.getCourse() != null) {
+            if (courseId.equals(student.getCourse().getId())) {
+                throw new DuplicateResourceException(ExceptionCode.STUDENT_IN_COURSE, courseId);
+            }
+            throw new DuplicateResourceException(ExceptionCode.STUDENT_DUPLICATE_ENROLLMENT);
+        }
+        if (waitlistEntryRepository.findByCourseIdAndStudentId(courseId, studentId).isPresent()) {
+            throw new DuplicateResourceException(ExceptionCode.WAITLIST_ALREADY_JOINED, studentId, courseId);
+        }
+
+        CourseWaitlist waitlist = courseWaitlistRepository.findByIdForUpdate(courseId)
+            .orElseGet(() -> courseWaitlistRepository.save(CourseWaitlist.builder().courseId(courseId).build()));
+
+        // Free seats only go to newcomers when nobody is queued ahead of them
+        if (course.isAvailable() && waitlist.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            studentRepository.assignCourse(Collections.singletonList(studentId), course, now);
+            courseRepository.adjustCurrentCapacity(courseId, 1);
+            enrollmentEventRepository.record(courseId, studentId, EnrollmentEventType.ENROLLED, now);
+            eventPublisher.publishEvent(new DataChangedEvent(Student.class));
+            event.commit(1, 1, course.getMaxCapacity() - course.getCurrentCapacity() - 1);
+            return enrolled(courseId, studentId);
+        }
+
+        long ticket = waitlist.getNextTicket();
+        waitlistEntryRepository.save(WaitlistEntry.builder().course(course).student(student).ticket(ticket).build());
+        waitlist.setNextTicket(ticket + 1);
+        courseWaitlistRepository.save(waitlist);
+        enrollmentEventRepository.record(courseId, studentId, EnrollmentEventType.WAITLISTED, LocalDateTime.now());
+        eventPublisher.publishEvent(new DataChangedEvent(WaitlistEntry.class));
+        event.commit(1, 0, Math.max(0, course.getMaxCapacity() - course.getCurrentCapacity()));
+
+        return WaitlistPosition.builder()
+            .courseId(courseId)
+            .studentId(studentId)
+            .status(WaitlistStatus.WAITING)
+            .position(ticket - waitlist.getHeadTicket() + 1)
+            .waiting(waitlist.size())
+            .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public WaitlistPosition findPosition(Long courseId, Long studentId) {
+        Optional<WaitlistPositionView> view = waitlistEntryRepository.findPosition(courseId, studentId);
+        if (view.isPresent()) {
+            return WaitlistPosition.builder()
+                .courseId(courseId)
+                .studentId(studentId)
+                .status(WaitlistStatus.WAITING)
+                .position(view.get().getPosition())
+                .waiting(view.get().getWaiting())
+                .build();
+        }
+        if (isEnrolled(courseId, studentId)) {
+            return enrolled(courseId, studentId);
+        }
+        throw new ResourceNotFoundException(ExceptionCode.WAITLIST_ENTRY_NOT_FOUND, studentId, courseId);
+    }
+
+    @Override
+    public void leave(Long courseId, Long studentId) {
+        lockCourse(courseId);
+        WaitlistEntry entry = waitlistEntryRepository.findByCourseIdAndStudentId(courseId, studentId)
+            .orElseThrow(() -> new ResourceNotFoundException(
+                ExceptionCode.WAITLIST_ENTRY_NOT_FOUND, studentId, courseId));
+        CourseWaitlist waitlist = courseWaitlistRepository.findByIdForUpdate(courseId)
+            .orElseThrow(() -> new ResourceNotFoundException(ExceptionCode.WAITLIST_ENTRY_NOT_FOUND, studentId, courseId));
+
+        long ticket = entry.getTicket();
+        waitlistEntryRepository.delete(entry);
+        waitlistEntryRepository.shiftDownAfter(courseId, ticket);
+        waitlist.setNextTicket(waitlist.getNextTicket() - 1);
+        courseWaitlistRepository.save(waitlist);
+        enrollmentEventRepository.record(courseId, studentId, EnrollmentEventType.WAITLIST_LEFT, LocalDateTime.now());
+        eventPublisher.publishEvent(new DataChangedEvent(WaitlistEntry.class));
+    }
+
+    // Course ids come in ascending order, so the course rows are locked in the same order by every caller
+    @Override
+    public void leaveAll(Long studentId) {
+        for (Long courseId : waitlistEntryRepository.findCourseIdsByStudentId(studentId)) {
+            leave(courseId, studentId);
+        }
+    }
+
+    @Override
+    public int promoteWaiting(Long courseId) {
+        EnrollmentChangeEvent event = EnrollmentChangeEvent.start(EnrollmentChangeEvent.WAITLIST_PROMOTE, courseId);
+        Course course = lockCourse(courseId);
+        Optional<CourseWaitlist> locked = courseWaitlistRepository.findByIdForUpdate(courseId);
+        if (!locked.isPresent() || locked.get().isEmpty()) {
+            return 0;
+        }
+        CourseWaitlist waitlist = locked.get();
+
+        int seats = course.getMaxCapacity() - course.getCurrentCapacity();
+        List<Long> promoted = new ArrayList<>();
+        long cursor = waitlist.getHeadTicket();
+
+        // Walk the queue head in ticket order; waiters who enrolled elsewhere meanwhile are dropped
+        while (seats > promoted.size() && cursor < waitlist.getNextTicket()) {
+            List<WaitlistEntry> batch = waitlistEntryRepository.findQueueFrom(courseId, cursor,
+                PageRequest.of(0, seats - promoted.size()));
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (WaitlistEntry entry : batch) {
+                cursor = entry.getTicket() + 1;
+                if (entry.getStudent().getCourse() == null) {
+                    promoted.add(entry.getStudent().getId());
+                    if (promoted.size() == seats) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        if (cursor == waitlist.getHeadTicket()) {
+            return 0;
+        }
+
+        waitlist.setHeadTicket(cursor);
+        courseWaitlistRepository.saveAndFlush(waitlist);
+        waitlistEntryRepository.deleteUpToTicket(courseId, cursor - 1);
+        eventPublisher.publishEvent(new DataChangedEvent(WaitlistEntry.class));
+        int assigned = 0;
+        if (!promoted.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            assigned = studentRepository.assignCourse(promoted, course, now);
+            courseRepository.adjustCurrentCapacity(courseId, assigned);
+            enrollmentEventRepository.recordEnrolled(promoted, courseId, now);
+        }
+        event.commit(seats, assigned, seats - assigned);
+        return assigned;
+    }
+
+    // Callers hold the course row lock, which every queue change takes first
+    @Override
+    public boolean hasWaiting(Long courseId) {
+        return courseWaitlistRepository.findById(courseId).map(waitlist -> !waitlist.isEmpty()).orElse(false);
+    }
+
+    @Override
+    public void clear(Long courseId) {
+        waitlistEntryRepository.deleteByCourseId(courseId);
+        courseWaitlistRepository.deleteByCourseId(courseId);
+        eventPublisher.publishEvent(new DataChangedEvent(WaitlistEntry.class));
+    }
+
+    private Course lockCourse(Long courseId) {
+        return courseRepository.findByIdForUpdate(courseId)
+            .orElseThrow(() -> new ResourceNotFoundException(ExceptionCode.COURSE_NOT_FOUND, courseId));
+    }
+
+    private boolean isEnrolled(Long courseId, Long studentId) {
+        return studentRepository.findById(studentId)
+            .map(s -> s.getCourse() != null && courseId.equals(s.getCourse().getId()))
+            .orElse(false);
+    }
+
+    private WaitlistPosition enrolled(Long courseId, Long studentId) {
+        return WaitlistPosition.builder()
+            .courseId(courseId)
+            .studentId(studentId)
+            .status(WaitlistStatus.ENROLLED)
+            .build();
+    }
+}
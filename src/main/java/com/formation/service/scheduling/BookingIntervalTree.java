@@ -0,0 +1,164 @@
+package com.formation.service.scheduling;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import com.formation.dto.TrainerBooking;
+
+/**
+ * Balanced (AVL) tree of bookings ordered by start date and course id, each node also holding the latest end date
+ * of its subtree. An overlap query skips every subtree ending before the range and stops at the first start after
+ * it, so it costs O(log n + k) for k matches however long the bookings are. Not thread safe.
+ */
+final class BookingIntervalTree {
+
+    private static final Comparator<TrainerBooking> ORDER =
+        Comparator.comparing(TrainerBooking::getStartDate).thenComparing(TrainerBooking::getCourseId);
+
+    private Node root;
+    private int size;
+
+    void add(TrainerBooking booking) {
+        root = insert(root, booking);
+    }
+
+    // The booking as added: same course id and start date
+    boolean remove(TrainerBooking booking) {
+        int before = size;
+        root = delete(root, booking);
+        return size < before;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Bookings overlapping [from, to] in start date order, ignoring the given course
+    List<TrainerBooking> overlapping(LocalDate from, LocalDate to, Long excludedCourseId) {
+        List<TrainerBooking> result = new ArrayList<>();
+        collect(root, from, to, excludedCourseId, result);
+        return result;
+    }
+
+    private static void collect(Node node, LocalDate from, LocalDate to, Long excludedCourseId, List<TrainerBooking> result) {
+        if (node == null || node.maxEnd.isBefore(from)) {
+            return;
+        }
+        collect(node.left, from, to, excludedCourseId, result);
+        if (node.booking.getStartDate().isAfter(to)) {
+            return;
+        }
+        if (!node.booking.getEndDate().isBefore(from) && !node.booking.getCourseId().equals(excludedCourseId)) {
+            result.add(node.booking);
+        }
+        collect(node.right, from, to, excludedCourseId, result);
+    }
+
+    private Node insert(Node node, TrainerBooking booking) {
+        if (node == null) {
+            size++;
+            return new Node(booking);
+        }
+        int order = ORDER.compare(booking, node.booking);
+        if (order < 0) {
+            node.left = insert(node.left, booking);
+        } else if (order > 0) {
+            node.right = insert(node.right, booking);
+        } else {
+            node.booking = booking;
+        }
+        return balance(node);
+    }
+
+    private Node delete(Node node, TrainerBooking booking) {
+        if (node == null) {
+            return null;
+        }
+        int order = ORDER.compare(booking, node.booking);
+        if (order < 0) {
+            node.left = delete(node.left, booking);
+        } else if (order > 0) {
+            node.right = delete(node.right, booking);
+        } else {
+            size--;
+            if (node.left == null || node.right == null) {
+                return node.left != null ? node.left : node.right;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.booking = successor.booking;
+            size++;
+            node.right = delete(node.right, successor.booking);
+        }
+        return balance(node);
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        int skew = height(node.left) - height(node.right);
+        if (skew > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (skew < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        LocalDate maxEnd = node.booking.getEndDate();
+        if (node.left != null && node.left.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static final class Node {
+        private TrainerBooking booking;
+        private Node left;
+        private Node right;
+        private int height = 1;
+        private LocalDate maxEnd;
+
+        Node(TrainerBooking booking) {
+            this.booking = booking;
+            this.maxEnd = booking.getEndDate();
+        }
+    }
+}
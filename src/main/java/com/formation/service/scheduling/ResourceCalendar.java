@@ -0,0 +1,57 @@
+package com.formation.service.scheduling;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Disjoint, inclusive date intervals booked on one room or trainer,
+ * keyed by start date so overlap checks are a single floor lookup.
+ */
+public class ResourceCalendar {
+
+    private final TreeMap<LocalDate, LocalDate> bookings;
+
+    public ResourceCalendar() {
+        this.bookings = new TreeMap<>();
+    }
+
+    public ResourceCalendar(ResourceCalendar other) {
+        this.bookings = new TreeMap<>(other.bookings);
+    }
+
+    public boolean isFree(LocalDate start, LocalDate end) {
+        Map.Entry<LocalDate, LocalDate> previous = bookings.floorEntry(end);
+        return previous == null || previous.getValue().isBefore(start);
+    }
+
+    public boolean book(LocalDate start, LocalDate end) {
+        if (!isFree(start, end)) {
+            return false;
+        }
+        bookings.put(start, end);
+        return true;
+    }
+
+    // Records an existing booking, merging it with any overlap so legacy double-bookings stay blocked
+    public void block(LocalDate start, LocalDate end) {
+        LocalDate mergedStart = start;
+        LocalDate mergedEnd = end;
+        Map.Entry<LocalDate, LocalDate> overlap = bookings.floorEntry(mergedEnd);
+        while (overlap != null && !overlap.getValue().isBefore(mergedStart)) {
+            if (overlap.getKey().isBefore(mergedStart)) {
+                mergedStart = overlap.getKey();
+            }
+            if (overlap.getValue().isAfter(mergedEnd)) {
+                mergedEnd = overlap.getValue();
+            }
+            bookings.remove(overlap.getKey());
+            overlap = bookings.floorEntry(mergedEnd);
+        }
+        bookings.put(mergedStart, mergedEnd);
+    }
+
+    public int size() {
+        return bookings.size();
+    }
+}
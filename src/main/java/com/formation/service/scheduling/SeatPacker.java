@@ -0,0 +1,84 @@
+package com.formation.service.scheduling;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Packs an intake of students into as few rooms as possible, then into the
+ * smallest such set of rooms, so the leftover seats stay in rooms that are
+ * not used at all. Students are unit-sized, which turns bin packing into
+ * picking rooms: the fewest rooms are the k largest ones, and the chosen set
+ * is then shrunk by swapping each room for the smallest unused room that
+ * still fits the intake (best fit).
+ */
+public final class SeatPacker {
+
+    private SeatPacker() {
+    }
+
+    // Number of students to seat in each chosen room, largest rooms first
+    public static Map<Long, Integer> pack(int students, Map<Long, Integer> freeSeatsByRoom) {
+        Map<Long, Integer> placement = new LinkedHashMap<>();
+        if (students <= 0) {
+            return placement;
+        }
+        List<Map.Entry<Long, Integer>> rooms = new ArrayList<>();
+        freeSeatsByRoom.entrySet().stream()
+            .filter(e -> e.getValue() > 0)
+            .sorted(Map.Entry.<Long, Integer>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()))
+            .forEach(rooms::add);
+
+        // Fewest rooms: the largest ones until the intake fits
+        int chosenCount = 0;
+        long seats = 0;
+        while (chosenCount < rooms.size() && seats < students) {
+            seats += rooms.get(chosenCount).getValue();
+            chosenCount++;
+        }
+        List<Map.Entry<Long, Integer>> chosen = new ArrayList<>(rooms.subList(0, chosenCount));
+
+        if (seats > students) {
+            // Unused rooms by free seats, to find the smallest one that can replace a chosen room
+            TreeMap<Integer, List<Map.Entry<Long, Integer>>> unused = new TreeMap<>();
+            for (Map.Entry<Long, Integer> room : rooms.subList(chosenCount, rooms.size())) {
+                unused.computeIfAbsent(room.getValue(), k -> new ArrayList<>()).add(room);
+            }
+            boolean improved = true;
+            while (improved && seats > students) {
+                improved = false;
+                for (int i = 0; i < chosen.size(); i++) {
+                    Map.Entry<Long, Integer> current = chosen.get(i);
+                    long needed = students - (seats - current.getValue());
+                    Map.Entry<Integer, List<Map.Entry<Long, Integer>>> fit = unused.ceilingEntry((int) Math.max(1, needed));
+                    if (fit == null || fit.getKey() >= current.getValue()) {
+                        continue;
+                    }
+                    Map.Entry<Long, Integer> replacement = fit.getValue().remove(fit.getValue().size() - 1);
+                    if (fit.getValue().isEmpty()) {
+                        unused.remove(fit.getKey());
+                    }
+                    unused.computeIfAbsent(current.getValue(), k -> new ArrayList<>()).add(current);
+                    chosen.set(i, replacement);
+                    seats += replacement.getValue() - current.getValue();
+                    improved = true;
+                }
+            }
+            chosen.sort(Map.Entry.<Long, Integer>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+        }
+
+        // Fill the largest rooms first so the leftover seats end up in a single room
+        int remaining = students;
+        for (Map.Entry<Long, Integer> room : chosen) {
+            int seated = Math.min(room.getValue(), remaining);
+            placement.put(room.getKey(), seated);
+            remaining -= seated;
+        }
+        return placement;
+    }
+}
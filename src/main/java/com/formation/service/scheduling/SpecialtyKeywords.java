@@ -0,0 +1,40 @@
+package com.formation.service.scheduling;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Keyword extraction shared by trainer matching: a trainer teaches a course
+ * when a specific word of the specialty appears in the course description.
+ */
+public final class SpecialtyKeywords {
+
+    private static final Set<String> GENERIC_WORDS = new HashSet<>(Arrays.asList(
+        "development", "developer", "and", "for", "the", "of", "with", "basics", "introduction"));
+
+    private SpecialtyKeywords() {
+    }
+
+    // Specific words of a specialty, or all of them when every word is generic
+    public static Set<String> ofSpecialty(String specialty) {
+        Set<String> all = words(specialty);
+        Set<String> specific = new HashSet<>(all);
+        specific.removeAll(GENERIC_WORDS);
+        return specific.isEmpty() ? all : specific;
+    }
+
+    public static Set<String> words(String text) {
+        Set<String> words = new HashSet<>();
+        if (text == null) {
+            return words;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^a-z0-9]+")) {
+            if (word.length() >= 2) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+}
@@ -0,0 +1,273 @@
+package com.formation.service.scheduling;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.formation.dto.ScheduleAssignment;
+import com.formation.entity.ClassRoom;
+import com.formation.entity.Course;
+import com.formation.entity.Trainer;
+import com.formation.exception.ExceptionCode;
+
+/**
+ * Greedy constraint solver assigning a room and a trainer to each course of a term.
+ * Courses are split into independent components (no shared candidate resource),
+ * and each component runs a small portfolio of orderings in parallel, keeping the
+ * ordering that places the most courses.
+ */
+public class TimetableSolver {
+
+    private static final List<Comparator<Candidate>> ORDERINGS = Arrays.asList(
+        // Most constrained first
+        Comparator.<Candidate>comparingLong(c -> (long) c.rooms.size() * c.trainers.size())
+            .thenComparing(c -> c.course.getStartDate()),
+        // Earliest finish first, optimal for a single resource
+        Comparator.<Candidate, LocalDate>comparing(c -> c.course.getEndDate())
+            .thenComparing(c -> c.course.getStartDate()),
+        // Longest course first
+        Comparator.<Candidate>comparingLong(c -> -c.duration())
+            .thenComparing(c -> c.course.getStartDate()),
+        // Largest class first
+        Comparator.<Candidate>comparingInt(c -> -c.course.getMaxCapacity())
+            .thenComparing(c -> c.course.getStartDate()));
+
+    private final List<ClassRoom> rooms;
+    private final List<Trainer> trainers;
+    private final Map<Long, Set<String>> trainerKeywords = new HashMap<>();
+    private final Map<String, ResourceCalendar> blocked = new HashMap<>();
+
+    public TimetableSolver(Collection<ClassRoom> rooms, Collection<Trainer> trainers) {
+        this.rooms = rooms.stream()
+            .sorted(Comparator.comparing(ClassRoom::getMaxCapacity).thenComparing(ClassRoom::getId))
+            .collect(Collectors.toList());
+        this.trainers = new ArrayList<>(trainers);
+        for (Trainer trainer : trainers) {
+            trainerKeywords.put(trainer.getId(), SpecialtyKeywords.ofSpecialty(trainer.getSpecialty()));
+        }
+    }
+
+    // Registers a course outside the plan whose room and trainer bookings must be respected
+    public void block(Course course) {
+        if (course.getClassRoom() != null) {
+            blocked.computeIfAbsent(roomKey(course.getClassRoom().getId()), k -> new ResourceCalendar())
+                .block(course.getStartDate(), course.getEndDate());
+        }
+        if (course.getTrainer() != null) {
+            blocked.computeIfAbsent(trainerKey(course.getTrainer().getId()), k -> new ResourceCalendar())
+                .block(course.getStartDate(), course.getEndDate());
+        }
+    }
+
+    public List<ScheduleAssignment> solve(List<Course> courses, boolean reassignExisting) {
+        List<Candidate> candidates = courses.parallelStream()
+            .map(course -> candidate(course, reassignExisting))
+            .collect(Collectors.toList());
+
+        Map<Long, ScheduleAssignment> results = new HashMap<>();
+        List<Candidate> feasible = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            if (candidate.rooms.isEmpty()) {
+                results.put(candidate.course.getId(), unassigned(candidate.course, ExceptionCode.CLASSROOM_NOT_AVAILABLE,
+                    "No classroom can seat " + candidate.course.getMaxCapacity() + " students"));
+            } else if (candidate.trainers.isEmpty()) {
+                results.put(candidate.course.getId(), unassigned(candidate.course, ExceptionCode.TRAINER_NOT_AVAILABLE,
+                    "No trainer with a specialty matching the course"));
+            } else {
+                feasible.add(candidate);
+            }
+        }
+
+        components(feasible).parallelStream()
+            .map(this::solveComponent)
+            .collect(Collectors.toList())
+            .forEach(results::putAll);
+
+        return courses.stream().map(c -> results.get(c.getId())).collect(Collectors.toList());
+    }
+
+    private Map<Long, ScheduleAssignment> solveComponent(List<Candidate> component) {
+        List<ScheduleAssignment> best = null;
+        int bestAssigned = -1;
+        List<List<ScheduleAssignment>> attempts = ORDERINGS.parallelStream()
+            .map(ordering -> greedy(component, ordering))
+            .collect(Collectors.toList());
+        for (List<ScheduleAssignment> attempt : attempts) {
+            int assigned = (int) attempt.stream().filter(ScheduleAssignment::isAssigned).count();
+            if (assigned > bestAssigned) {
+                best = attempt;
+                bestAssigned = assigned;
+            }
+        }
+        return best.stream().collect(Collectors.toMap(ScheduleAssignment::getCourseId, a -> a));
+    }
+
+    private List<ScheduleAssignment> greedy(List<Candidate> component, Comparator<Candidate> ordering) {
+        Map<String, ResourceCalendar> calendars = new HashMap<>();
+        List<Candidate> ordered = new ArrayList<>(component);
+        ordered.sort(ordering);
+
+        List<ScheduleAssignment> assignments = new ArrayList<>(ordered.size());
+        for (Candidate candidate : ordered) {
+            Course course = candidate.course;
+            LocalDate start = course.getStartDate();
+            LocalDate end = course.getEndDate();
+
+            ClassRoom room = null;
+            for (ClassRoom option : candidate.rooms) {
+                if (calendar(calendars, roomKey(option.getId())).isFree(start, end)) {
+                    room = option;
+                    break;
+                }
+            }
+            if (room == null) {
+                assignments.add(unassigned(course, ExceptionCode.CLASSROOM_SCHEDULE_CONFLICT,
+                    "Every suitable classroom is booked between " + start + " and " + end));
+                continue;
+            }
+
+            Trainer trainer = null;
+            int trainerLoad = Integer.MAX_VALUE;
+            for (Trainer option : candidate.trainers) {
+                ResourceCalendar calendar = calendar(calendars, trainerKey(option.getId()));
+                if (calendar.size() < trainerLoad && calendar.isFree(start, end)) {
+                    trainer = option;
+                    trainerLoad = calendar.size();
+                }
+            }
+            if (trainer == null) {
+                assignments.add(unassigned(course, ExceptionCode.TRAINER_NOT_AVAILABLE,
+                    "Every matching trainer is booked between " + start + " and " + end));
+                continue;
+            }
+
+            calendar(calendars, roomKey(room.getId())).book(start, end);
+            calendar(calendars, trainerKey(trainer.getId())).book(start, end);
+            assignments.add(ScheduleAssignment.builder()
+                .courseId(course.getId())
+                .courseTitle(course.getTitle())
+                .startDate(start)
+                .endDate(end)
+                .assigned(true)
+                .classRoomId(room.getId())
+                .roomNumber(room.getRoomNumber())
+                .trainerId(trainer.getId())
+                .trainerName(trainer.getFirstName() + " " + trainer.getLastName())
+                .build());
+        }
+        return assignments;
+    }
+
+    private Candidate candidate(Course course, boolean reassignExisting) {
+        List<ClassRoom> roomOptions;
+        if (!reassignExisting && course.getClassRoom() != null) {
+            roomOptions = rooms.stream()
+                .filter(r -> r.getId().equals(course.getClassRoom().getId()))
+                .collect(Collectors.toList());
+        } else {
+            roomOptions = rooms.stream()
+                .filter(r -> r.getMaxCapacity() >= course.getMaxCapacity())
+                .collect(Collectors.toList());
+        }
+
+        List<Trainer> trainerOptions;
+        if (!reassignExisting && course.getTrainer() != null) {
+            trainerOptions = trainers.stream()
+                .filter(t -> t.getId().equals(course.getTrainer().getId()))
+                .collect(Collectors.toList());
+        } else {
+            Set<String> courseWords = SpecialtyKeywords.words(course.getTitle() + " " + course.getLevel() + " " + course.getPrerequisites());
+            trainerOptions = trainers.stream()
+                .filter(t -> !Collections.disjoint(trainerKeywords.get(t.getId()), courseWords))
+                .collect(Collectors.toList());
+        }
+        return new Candidate(course, roomOptions, trainerOptions);
+    }
+
+    // Union-find over shared candidate rooms and trainers
+    private List<List<Candidate>> components(List<Candidate> candidates) {
+        int[] parent = new int[candidates.size()];
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+        }
+        Map<String, Integer> owner = new HashMap<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            Candidate candidate = candidates.get(i);
+            List<String> keys = new ArrayList<>();
+            candidate.rooms.forEach(r -> keys.add(roomKey(r.getId())));
+            candidate.trainers.forEach(t -> keys.add(trainerKey(t.getId())));
+            for (String key : keys) {
+                Integer previous = owner.putIfAbsent(key, i);
+                if (previous != null) {
+                    parent[find(parent, i)] = find(parent, previous);
+                }
+            }
+        }
+        Map<Integer, List<Candidate>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            groups.computeIfAbsent(find(parent, i), k -> new ArrayList<>()).add(candidates.get(i));
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private ResourceCalendar calendar(Map<String, ResourceCalendar> calendars, String key) {
+        return calendars.computeIfAbsent(key, k -> {
+            ResourceCalendar existing = blocked.get(k);
+            return existing == null ? new ResourceCalendar() : new ResourceCalendar(existing);
+        });
+    }
+
+    private static ScheduleAssignment unassigned(Course course, ExceptionCode code, String reason) {
+        return ScheduleAssignment.builder()
+            .courseId(course.getId())
+            .courseTitle(course.getTitle())
+            .startDate(course.getStartDate())
+            .endDate(course.getEndDate())
+            .assigned(false)
+            .reasonCode(code.getCode())
+            .reason(reason)
+            .build();
+    }
+
+    private static String roomKey(Long id) {
+        return "R" + id;
+    }
+
+    private static String trainerKey(Long id) {
+        return "T" + id;
+    }
+
+    private static final class Candidate {
+        private final Course course;
+        private final List<ClassRoom> rooms;
+        private final List<Trainer> trainers;
+
+        private Candidate(Course course, List<ClassRoom> rooms, List<Trainer> trainers) {
+            this.course = course;
+            this.rooms = rooms;
+            this.trainers = trainers;
+        }
+
+        private long duration() {
+            return ChronoUnit.DAYS.between(course.getStartDate(), course.getEndDate());
+        }
+    }
+}
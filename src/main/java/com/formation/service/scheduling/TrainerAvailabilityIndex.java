@@ -0,0 +1,322 @@
+package com.formation.service.scheduling;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.formation.dto.CourseLifecycleEvent;
+import com.formation.dto.TrainerBooking;
+import com.formation.dto.TrainerConflict;
+import com.formation.entity.enums.CourseStatus;
+import com.formation.repository.CourseRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory index of the date ranges each trainer teaches, built from the
+ * planned and ongoing courses on first use and kept in sync by the services
+ * that write {@code Course.trainer}. Each trainer's bookings sit in an
+ * interval tree, so an overlap lookup is logarithmic in their number.
+ *
+ * <p>Writes are staged per transaction and applied once it commits; until then
+ * they are only seen by later calls of the same transaction and, as holds, by
+ * {@link #reserve} in other transactions so two of them cannot book the same
+ * slot at once.
+ */
+@Slf4j
+@Component
+public class TrainerAvailabilityIndex {
+
+    public static final List<CourseStatus> ACTIVE_STATUSES = Arrays.asList(CourseStatus.PLANNED, CourseStatus.IN_PROGRESS);
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private final Map<Long, TrainerIntervals> byTrainer = new ConcurrentHashMap<>();
+    private final Map<Long, TrainerBooking> byCourse = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public static boolean isActive(CourseStatus status) {
+        return status == null || ACTIVE_STATUSES.contains(status);
+    }
+
+    public boolean isAvailable(Long trainerId, LocalDate from, LocalDate to) {
+        return findBookings(trainerId, from, to, null).isEmpty();
+    }
+
+    // Committed bookings of the trainer overlapping [from, to], ignoring the given course
+    public List<TrainerBooking> findBookings(Long trainerId, LocalDate from, LocalDate to, Long excludedCourseId) {
+        ensureLoaded();
+        TrainerIntervals intervals = byTrainer.get(trainerId);
+        return intervals == null ? Collections.emptyList() : intervals.overlapping(from, to, excludedCourseId);
+    }
+
+    // Planned and ongoing courses of the trainer
+    public int countBookings(Long trainerId) {
+        ensureLoaded();
+        TrainerIntervals intervals = byTrainer.get(trainerId);
+        return intervals == null ? 0 : intervals.size();
+    }
+
+    // Every pair of bookings of a same trainer overlapping each other within [from, to]
+    public List<TrainerConflict> findConflicts(LocalDate from, LocalDate to) {
+        ensureLoaded();
+        List<TrainerConflict> conflicts = new ArrayList<>();
+        for (TrainerIntervals intervals : byTrainer.values()) {
+            List<TrainerBooking> bookings = intervals.overlapping(from, to, null);
+            // Sweep by start date, keeping the bookings still running
+            List<TrainerBooking> running = new ArrayList<>();
+            for (TrainerBooking booking : bookings) {
+                running.removeIf(open -> open.getEndDate().isBefore(booking.getStartDate()));
+                for (TrainerBooking open : running) {
+                    LocalDate overlapStart = max(booking.getStartDate(), from);
+                    LocalDate overlapEnd = min(min(open.getEndDate(), booking.getEndDate()), to);
+                    conflicts.add(TrainerConflict.builder()
+                        .trainerId(booking.getTrainerId())
+                        .courseId(open.getCourseId())
+                        .conflictingCourseId(booking.getCourseId())
+                        .overlapStart(overlapStart)
+                        .overlapEnd(overlapEnd)
+                        .build());
+                }
+                running.add(booking);
+            }
+        }
+        conflicts.sort(Comparator.comparing(TrainerConflict::getOverlapStart).thenComparing(TrainerConflict::getTrainerId));
+        return conflicts;
+    }
+
+    /**
+     * Books the course for its trainer unless it overlaps another course of that
+     * trainer, committed or held by a running transaction, in which case nothing
+     * changes and the overlapping bookings are returned. The booking is applied
+     * when the current transaction commits and dropped if it rolls back.
+     */
+    public List<TrainerBooking> reserve(TrainerBooking booking) {
+        ensureLoaded();
+        Staged staged = staged();
+        Long courseId = booking.getCourseId();
+        TrainerIntervals target = intervals(booking.getTrainerId());
+        synchronized (target) {
+            List<TrainerBooking> conflicts = target.conflicts(booking, staged);
+            if (!conflicts.isEmpty()) {
+                return conflicts;
+            }
+            if (staged == null) {
+                apply(courseId, booking);
+                return conflicts;
+            }
+            target.hold(booking, staged);
+        }
+        // Released outside the target lock so two opposite moves cannot deadlock
+        TrainerBooking previousHold = staged.put(courseId, booking);
+        if (previousHold != null && !previousHold.getTrainerId().equals(booking.getTrainerId())) {
+            intervals(previousHold.getTrainerId()).unhold(courseId, staged);
+        }
+        return Collections.emptyList();
+    }
+
+    public void release(Long courseId) {
+        if (!loaded || courseId == null) {
+            return;
+        }
+        Staged staged = staged();
+        if (staged == null) {
+            apply(courseId, null);
+            return;
+        }
+        TrainerBooking previousHold = staged.put(courseId, null);
+        if (previousHold != null) {
+            intervals(previousHold.getTrainerId()).unhold(courseId, staged);
+        }
+    }
+
+    // After the lifecycle transaction commits, every active course ending on or before the event date is completed
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLifecycle(CourseLifecycleEvent event) {
+        if (loaded && event.getNewStatus() == CourseStatus.COMPLETED) {
+            byCourse.values().removeIf(booking -> {
+                if (booking.getEndDate().isAfter(event.getTo())) {
+                    return false;
+                }
+                remove(booking);
+                return true;
+            });
+        }
+    }
+
+    // Drops the index, the next lookup reloads it from the database
+    public void invalidate() {
+        synchronized (this) {
+            loaded = false;
+            byTrainer.clear();
+            byCourse.clear();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            List<TrainerBooking> bookings = courseRepository.findTrainerBookings(ACTIVE_STATUSES);
+            for (TrainerBooking booking : bookings) {
+                intervals(booking.getTrainerId()).add(booking);
+                byCourse.put(booking.getCourseId(), booking);
+            }
+            loaded = true;
+            log.info("Trainer availability index loaded with {} bookings for {} trainers", bookings.size(), byTrainer.size());
+        }
+    }
+
+    private TrainerIntervals intervals(Long trainerId) {
+        return byTrainer.computeIfAbsent(trainerId, id -> new TrainerIntervals());
+    }
+
+    // Replaces the committed booking of the course, null releasing it
+    private void apply(Long courseId, TrainerBooking booking) {
+        TrainerBooking previous = booking == null ? byCourse.remove(courseId) : byCourse.put(courseId, booking);
+        if (previous != null) {
+            remove(previous);
+        }
+        if (booking != null) {
+            intervals(booking.getTrainerId()).add(booking);
+        }
+    }
+
+    private void remove(TrainerBooking booking) {
+        TrainerIntervals intervals = byTrainer.get(booking.getTrainerId());
+        if (intervals != null) {
+            intervals.remove(booking);
+        }
+    }
+
+    // The changes of the current transaction, null outside one
+    private Staged staged() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Staged staged = (Staged) TransactionSynchronizationManager.getResource(this);
+        if (staged == null) {
+            Staged created = new Staged();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    if (loaded) {
+                        created.changes.forEach(TrainerAvailabilityIndex.this::apply);
+                    }
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TrainerAvailabilityIndex.this);
+                    created.changes.values().stream()
+                        .filter(Objects::nonNull)
+                        .forEach(booking -> intervals(booking.getTrainerId()).unhold(booking.getCourseId(), created));
+                }
+            });
+            staged = created;
+        }
+        return staged;
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    // Booking (null for a release) of each course the transaction wrote, in write order
+    private static final class Staged {
+        private final Map<Long, TrainerBooking> changes = new LinkedHashMap<>();
+
+        synchronized TrainerBooking put(Long courseId, TrainerBooking booking) {
+            return changes.put(courseId, booking);
+        }
+
+        synchronized boolean touches(Long courseId) {
+            return changes.containsKey(courseId);
+        }
+    }
+
+    private static final class Hold {
+        private final TrainerBooking booking;
+        private final Staged owner;
+
+        Hold(TrainerBooking booking, Staged owner) {
+            this.booking = booking;
+            this.owner = owner;
+        }
+    }
+
+    private static final class TrainerIntervals {
+        private final BookingIntervalTree committed = new BookingIntervalTree();
+        // Bookings of running transactions, few at any time
+        private final List<Hold> holds = new ArrayList<>();
+
+        synchronized void add(TrainerBooking booking) {
+            committed.add(booking);
+        }
+
+        synchronized void remove(TrainerBooking booking) {
+            committed.remove(booking);
+        }
+
+        synchronized int size() {
+            return committed.size();
+        }
+
+        synchronized List<TrainerBooking> overlapping(LocalDate from, LocalDate to, Long excludedCourseId) {
+            return committed.overlapping(from, to, excludedCourseId);
+        }
+
+        // Committed bookings the transaction has not moved away, and every hold but the course's own
+        synchronized List<TrainerBooking> conflicts(TrainerBooking booking, Staged staged) {
+            Map<Long, TrainerBooking> conflicts = new LinkedHashMap<>();
+            for (TrainerBooking other : committed.overlapping(booking.getStartDate(), booking.getEndDate(), booking.getCourseId())) {
+                if (staged == null || !staged.touches(other.getCourseId())) {
+                    conflicts.put(other.getCourseId(), other);
+                }
+            }
+            for (Hold hold : holds) {
+                TrainerBooking other = hold.booking;
+                if (!other.getCourseId().equals(booking.getCourseId())
+                        && !other.getStartDate().isAfter(booking.getEndDate())
+                        && !other.getEndDate().isBefore(booking.getStartDate())) {
+                    conflicts.putIfAbsent(other.getCourseId(), other);
+                }
+            }
+            List<TrainerBooking> result = new ArrayList<>(conflicts.values());
+            result.sort(Comparator.comparing(TrainerBooking::getStartDate).thenComparing(TrainerBooking::getCourseId));
+            return result;
+        }
+
+        synchronized void hold(TrainerBooking booking, Staged owner) {
+            unhold(booking.getCourseId(), owner);
+            holds.add(new Hold(booking, owner));
+        }
+
+        synchronized void unhold(Long courseId, Staged owner) {
+            holds.removeIf(hold -> hold.owner == owner && hold.booking.getCourseId().equals(courseId));
+        }
+    }
+}
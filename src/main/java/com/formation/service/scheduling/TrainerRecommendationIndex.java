@@ -0,0 +1,166 @@
+package com.formation.service.scheduling;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.formation.dto.TrainerRecommendation;
+import com.formation.dto.TrainerSummary;
+import com.formation.entity.Course;
+import com.formation.repository.TrainerRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Inverted index from specialty keywords to trainers, loaded once and updated
+ * after each committed trainer write. Ranking a course only touches the
+ * trainers sharing a keyword with it; load and availability come from
+ * {@link TrainerAvailabilityIndex}.
+ */
+@Slf4j
+@Component
+public class TrainerRecommendationIndex {
+
+    private static final double MATCH_WEIGHT = 0.6;
+    private static final double LOAD_WEIGHT = 0.25;
+    private static final double AVAILABILITY_WEIGHT = 0.15;
+
+    @Autowired
+    private TrainerRepository trainerRepository;
+
+    @Autowired
+    private TrainerAvailabilityIndex trainerAvailabilityIndex;
+
+    private final Map<Long, TrainerSummary> trainers = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> keywordsByTrainer = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> trainersByKeyword = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public List<TrainerRecommendation> recommend(Course course, int limit, boolean includeUnavailable) {
+        ensureLoaded();
+        Set<String> courseWords = SpecialtyKeywords.words(course.getTitle() + " " + course.getLevel());
+        Map<Long, Set<String>> matches = new HashMap<>();
+        for (String word : courseWords) {
+            for (Long trainerId : trainersByKeyword.getOrDefault(word, Collections.emptySet())) {
+                matches.computeIfAbsent(trainerId, id -> new TreeSet<>()).add(word);
+            }
+        }
+
+        List<TrainerRecommendation> ranked = new ArrayList<>(matches.size());
+        for (Map.Entry<Long, Set<String>> match : matches.entrySet()) {
+            TrainerSummary trainer = trainers.get(match.getKey());
+            Set<String> keywords = keywordsByTrainer.get(match.getKey());
+            if (trainer == null || keywords == null) {
+                continue;
+            }
+            boolean available = trainerAvailabilityIndex.findBookings(
+                trainer.getId(), course.getStartDate(), course.getEndDate(), course.getId()).isEmpty();
+            if (!available && !includeUnavailable) {
+                continue;
+            }
+            int load = trainerAvailabilityIndex.countBookings(trainer.getId());
+            // Dice coefficient, so a narrow specialty fully covered by the course does not beat a closer one
+            double matchRatio = 2.0 * match.getValue().size() / (keywords.size() + courseWords.size());
+            double score = MATCH_WEIGHT * matchRatio
+                + LOAD_WEIGHT / (1 + load)
+                + (available ? AVAILABILITY_WEIGHT : 0);
+            ranked.add(TrainerRecommendation.builder()
+                .trainerId(trainer.getId())
+                .firstName(trainer.getFirstName())
+                .lastName(trainer.getLastName())
+                .specialty(trainer.getSpecialty())
+                .matchedKeywords(new ArrayList<>(match.getValue()))
+                .activeCourses(load)
+                .available(available)
+                .score(Math.round(score * 1000) / 1000.0)
+                .build());
+        }
+        ranked.sort(Comparator.comparingDouble(TrainerRecommendation::getScore).reversed()
+            .thenComparing(TrainerRecommendation::getTrainerId));
+        return ranked.size() > limit ? new ArrayList<>(ranked.subList(0, limit)) : ranked;
+    }
+
+    // Applied once the transaction commits, a rolled back write never reaches the index
+    public void put(TrainerSummary trainer) {
+        afterCommit(() -> {
+            if (loaded) {
+                index(trainer);
+            }
+        });
+    }
+
+    public void remove(Long trainerId) {
+        afterCommit(() -> {
+            if (loaded) {
+                unindex(trainerId);
+            }
+        });
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            List<TrainerSummary> summaries = trainerRepository.findAllSummaries();
+            summaries.forEach(this::index);
+            loaded = true;
+            log.info("Trainer recommendation index loaded with {} trainers and {} keywords",
+                summaries.size(), trainersByKeyword.size());
+        }
+    }
+
+    private synchronized void index(TrainerSummary trainer) {
+        unindex(trainer.getId());
+        Set<String> keywords = SpecialtyKeywords.ofSpecialty(trainer.getSpecialty());
+        trainers.put(trainer.getId(), trainer);
+        keywordsByTrainer.put(trainer.getId(), keywords);
+        for (String keyword : keywords) {
+            trainersByKeyword.computeIfAbsent(keyword, k -> ConcurrentHashMap.newKeySet()).add(trainer.getId());
+        }
+    }
+
+    private synchronized void unindex(Long trainerId) {
+        trainers.remove(trainerId);
+        Set<String> keywords = keywordsByTrainer.remove(trainerId);
+        if (keywords == null) {
+            return;
+        }
+        for (String keyword : keywords) {
+            Set<Long> ids = trainersByKeyword.get(keyword);
+            if (ids != null) {
+                ids.remove(trainerId);
+                if (ids.isEmpty()) {
+                    trainersByKeyword.remove(keyword);
+                }
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,60 @@
+package com.formation.utils;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.formation.dto.PageResponse;
+
+/**
+ * Writes a {@link PageResponse} field by field with pre-encoded names. The row serializer is
+ * looked up once per row class rather than once per row, since every row of a page has the same type.
+ */
+public class PageResponseSerializer extends StdSerializer<PageResponse<?>> {
+
+    private static final SerializedString CONTENT = new SerializedString("content");
+    private static final SerializedString PAGE = new SerializedString("page");
+    private static final SerializedString SIZE = new SerializedString("size");
+    private static final SerializedString TOTAL_ELEMENTS = new SerializedString("totalElements");
+    private static final SerializedString TOTAL_PAGES = new SerializedString("totalPages");
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public PageResponseSerializer() {
+        super((Class) PageResponse.class);
+    }
+
+    @Override
+    public void serialize(PageResponse<?> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        List<?> content = value.getContent();
+        gen.writeStartObject(value);
+        gen.writeFieldName(CONTENT);
+        gen.writeStartArray(content, content.size());
+        Class<?> rowType = null;
+        JsonSerializer<Object> rowSerializer = null;
+        for (Object row : content) {
+            if (row == null) {
+                provider.defaultSerializeNull(gen);
+                continue;
+            }
+            if (row.getClass() != rowType) {
+                rowType = row.getClass();
+                rowSerializer = provider.findTypedValueSerializer(rowType, true, null);
+            }
+            rowSerializer.serialize(row, gen, provider);
+        }
+        gen.writeEndArray();
+        gen.writeFieldName(PAGE);
+        gen.writeNumber(value.getPage());
+        gen.writeFieldName(SIZE);
+        gen.writeNumber(value.getSize());
+        gen.writeFieldName(TOTAL_ELEMENTS);
+        gen.writeNumber(value.getTotalElements());
+        gen.writeFieldName(TOTAL_PAGES);
+        gen.writeNumber(value.getTotalPages());
+        gen.writeEndObject();
+    }
+}
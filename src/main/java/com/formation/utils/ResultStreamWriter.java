@@ -0,0 +1,75 @@
+package com.formation.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Writes rows to a streaming response as NDJSON lines or SSE events.
+ * The first row is flushed immediately and then every FLUSH_EVERY rows,
+ * so clients see results while the query cursor is still advancing.
+ */
+public class ResultStreamWriter implements Consumer<Object> {
+
+    private static final int FLUSH_EVERY = 100;
+    private static final byte[] SSE_DATA = "data: ".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NEWLINE = "\n".getBytes(StandardCharsets.UTF_8);
+
+    private final OutputStream out;
+    private final ObjectWriter writer;
+    private final boolean eventStream;
+    private long count;
+
+    public ResultStreamWriter(OutputStream out, ObjectMapper objectMapper, boolean eventStream) {
+        this.out = out;
+        this.writer = objectMapper.writer();
+        this.eventStream = eventStream;
+    }
+
+    public static boolean isEventStream(String accept) {
+        return accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
+    public static MediaType mediaType(boolean eventStream) {
+        return eventStream ? MediaType.TEXT_EVENT_STREAM : MediaType.APPLICATION_NDJSON;
+    }
+
+    @Override
+    public void accept(Object row) {
+        try {
+            if (eventStream) {
+                out.write(SSE_DATA);
+            }
+            out.write(writer.writeValueAsBytes(row));
+            out.write(NEWLINE);
+            if (eventStream) {
+                out.write(NEWLINE);
+            }
+            count++;
+            if (count == 1 || count % FLUSH_EVERY == 0) {
+                out.flush();
+            }
+        } catch (IOException e) {
+            // Client went away: abort the query instead of draining the cursor
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void finish() throws IOException {
+        if (eventStream) {
+            out.write(("event: end\ndata: " + count + "\n\n").getBytes(StandardCharsets.UTF_8));
+        }
+        out.flush();
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
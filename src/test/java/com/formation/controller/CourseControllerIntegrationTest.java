@@ -2,11 +2,19 @@ package com.formation.controller;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -86,6 +94,32 @@ class CourseControllerIntegrationTest {
                 .andExpect(jsonPath("$.content[0].title").value(testCourse.getTitle()));
     }
 
+    @Test
+    void whenGetAllCoursesWithFields_thenOnlyRequestedFieldsReturned() throws Exception {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", 1L);
+        row.put("title", testCourse.getTitle());
+        Page<Map<String, Object>> rows = new PageImpl<>(Collections.singletonList(row));
+
+        when(courseService.findFields(isNull(), eq(Arrays.asList("id", "title")), any(Pageable.class))).thenReturn(rows);
+
+        mockMvc.perform(get("/api/courses").param("fields", "id,title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value(testCourse.getTitle()))
+                .andExpect(jsonPath("$.content[0].startDate").doesNotExist());
+        verify(courseService, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void whenGetCourseByIdWithFields_thenProjectionReturned() throws Exception {
+        when(courseService.findFieldsById(1L, Arrays.asList("id", "trainerId")))
+            .thenReturn(Collections.singletonMap("trainerId", 4L));
+
+        mockMvc.perform(get("/api/courses/1").param("fields", "id,trainerId"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trainerId").value(4));
+    }
+
     @Test
     void whenUpdateCourse_thenReturnUpdatedCourse() throws Exception {
         when(courseService.update(any(Course.class))).thenReturn(testCourse);
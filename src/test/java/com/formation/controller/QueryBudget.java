@@ -0,0 +1,28 @@
+package com.formation.controller;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import com.formation.config.QueryCountFilter;
+
+/**
+ * Asserts the number of JDBC statements a request ran, read from the {@code X-Query-Count} header. Needs
+ * {@code formation.sql.query-headers=true} and a real DataSource; with mocked services the count is always 0.
+ */
+final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    static ResultMatcher atMost(int statements) {
+        return result -> {
+            String header = result.getResponse().getHeader(QueryCountFilter.QUERY_COUNT_HEADER);
+            assertNotNull(header, "No " + QueryCountFilter.QUERY_COUNT_HEADER + " header, is formation.sql.query-headers enabled?");
+            int count = Integer.parseInt(header);
+            assertTrue(count <= statements, result.getRequest().getMethod() + " " + result.getRequest().getRequestURI()
+                + " ran " + count + " SQL statements, budget is " + statements);
+        };
+    }
+}
@@ -0,0 +1,59 @@
+package com.formation.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Runs the read endpoints against the seeded H2 database and fails when one of them starts running more SQL
+ * statements than its budget, e.g. after a new lazy association is reached while serializing the response.
+ * Lower a budget when an endpoint gets cheaper; raising one should come with a reason in the commit.
+ */
+@SpringBootTest(properties = {
+    "formation.sql.query-headers=true",
+    "spring.sql.init.mode=always",
+    "spring.sql.init.data-locations=classpath:query-budget-data.sql",
+    "spring.jpa.defer-datasource-initialization=true",
+    "spring.jpa.show-sql=false",
+    "formation.lifecycle.enabled=false",
+    "formation.rollup.enabled=false",
+    "formation.errors.summary-enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryBudgetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @ParameterizedTest(name = "GET {0} runs at most {1} statements")
+    @CsvSource({
+        "/api/courses,                     1",
+        "/api/courses/1,                   3",
+        "/api/courses/search?keyword=Java, 1",
+        "/api/courses/trainer/1,           1",
+        "/api/students,                    2",
+        "/api/students/1,                  4",
+        "/api/students/course/1,           1",
+        "/api/students/level/Advanced,     1",
+        "/api/trainers,                    6",
+        "/api/trainers/1,                  2",
+        "/api/trainers/classroom/1,        2",
+        "/api/classrooms,                  1",
+        "/api/classrooms/1,                1",
+        "/api/analytics/dashboard,         1",
+        "/api/analytics/occupancy,         1"
+    })
+    void whenGetEndpoint_thenStaysWithinQueryBudget(String uri, int budget) throws Exception {
+        mockMvc.perform(get(uri))
+            .andExpect(status().is2xxSuccessful())
+            .andExpect(QueryBudget.atMost(budget));
+    }
+}
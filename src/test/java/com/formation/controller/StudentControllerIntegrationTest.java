@@ -2,27 +2,41 @@ package com.formation.controller;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.formation.dto.StudentSummary;
 import com.formation.entity.Student;
 import com.formation.service.CourseService;
 import com.formation.service.StudentService;
@@ -88,6 +102,54 @@ class StudentControllerIntegrationTest {
                 .andExpect(jsonPath("$.content[0].email").value(testStudent.getEmail()));
     }
 
+    @Test
+    void whenGetAllStudents_thenReturnLeanPageEnvelope() throws Exception {
+        List<Student> students = new ArrayList<>();
+        students.add(testStudent);
+        when(studentService.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(students, PageRequest.of(2, 1), 5));
+
+        mockMvc.perform(get("/api/students"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.page").value(2))
+                .andExpect(jsonPath("$.size").value(1))
+                .andExpect(jsonPath("$.totalElements").value(5))
+                .andExpect(jsonPath("$.totalPages").value(5))
+                .andExpect(jsonPath("$.pageable").doesNotExist())
+                .andExpect(jsonPath("$.sort").doesNotExist());
+    }
+
+    @Test
+    void whenGetAllStudentsAsSmile_thenReturnSmallerBinaryPage() throws Exception {
+        List<Student> students = new ArrayList<>();
+        for (long i = 1; i <= 50; i++) {
+            Student student = new Student();
+            student.setId(i);
+            student.setFirstName("First" + i);
+            student.setLastName("Last" + i);
+            student.setEmail("student" + i + "@test.com");
+            student.setLevel("Intermediate");
+            students.add(student);
+        }
+        when(studentService.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(students));
+
+        MvcResult smile = mockMvc.perform(get("/api/students").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn();
+        MvcResult json = mockMvc.perform(get("/api/students"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn();
+
+        byte[] smileBody = smile.getResponse().getContentAsByteArray();
+        JsonNode page = new ObjectMapper(new SmileFactory()).readTree(smileBody);
+        assertEquals(50, page.get("content").size());
+        assertEquals("student50@test.com", page.get("content").get(49).get("email").asText());
+        assertTrue(smileBody.length < json.getResponse().getContentAsByteArray().length);
+    }
+
     @Test
     void whenUpdateStudent_thenReturnUpdatedStudent() throws Exception {
         when(studentService.update(any(Student.class))).thenReturn(testStudent);
@@ -104,4 +166,23 @@ class StudentControllerIntegrationTest {
         mockMvc.perform(delete("/api/students/1"))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    void whenStreamStudents_thenReturnNdjsonLines() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<StudentSummary> consumer = invocation.getArgument(1);
+            consumer.accept(new StudentSummary(1L, "Doe", "John", "john.doe@test.com", "Intermediate", null, null));
+            consumer.accept(new StudentSummary(2L, "Doe", "Jane", "jane.doe@test.com", "Advanced", 3L, 4L));
+            return null;
+        }).when(studentService).streamSearch(eq("Doe"), any());
+
+        MvcResult result = mockMvc.perform(get("/api/students/search/stream").param("keyword", "Doe"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(containsString("\"email\":\"jane.doe@test.com\",\"level\":\"Advanced\",\"courseId\":3")));
+    }
 }
@@ -0,0 +1,163 @@
+package com.formation.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.formation.dto.DashboardSummaryView;
+import com.formation.dto.DataChangedEvent;
+import com.formation.dto.EnrollmentTrendPoint;
+import com.formation.dto.OccupancyReport;
+import com.formation.dto.OccupancyRowView;
+import com.formation.entity.Course;
+import com.formation.entity.enums.RollupGranularity;
+import com.formation.repository.AnalyticsRepository;
+import com.formation.repository.EnrollmentRollupRepository;
+import com.formation.service.impl.AnalyticsServiceImpl;
+
+class AnalyticsServiceTest {
+
+    @Mock
+    private AnalyticsRepository analyticsRepository;
+
+    @Mock
+    private EnrollmentRollupRepository enrollmentRollupRepository;
+
+    @InjectMocks
+    private AnalyticsServiceImpl analyticsService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void whenOccupancy_thenRowsAreSplitByDimension() {
+        when(analyticsRepository.streamOccupancy()).thenReturn(Stream.of(
+            row("CLASSROOM", "ALL", 5L, 12L, 120L, 0.1),
+            row("COURSE_STATUS", "IN_PROGRESS", 1L, 2L, 15L, 2.0 / 15),
+            row("COURSE_STATUS", "PLANNED", 5L, 8L, 81L, 8.0 / 81),
+            row("STUDENT_LEVEL", "Advanced", 7L, 7L, null, null)));
+
+        OccupancyReport report = analyticsService.occupancy();
+
+        assertEquals(108L, report.getClassrooms().getFreeSeats());
+        assertEquals(2, report.getByCourseStatus().size());
+        assertEquals(0.1333, report.getByCourseStatus().get(0).getOccupancyRate());
+        assertEquals(1, report.getByStudentLevel().size());
+        assertNull(report.getByStudentLevel().get(0).getSeats());
+    }
+
+    @Test
+    void whenTablesEmpty_thenReportHasNoBreakdown() {
+        when(analyticsRepository.streamOccupancy()).thenReturn(Stream.of(row("CLASSROOM", "ALL", 0L, 0L, 0L, null)));
+
+        OccupancyReport report = analyticsService.occupancy();
+
+        assertEquals(0L, report.getClassrooms().getEntries());
+        assertNull(report.getClassrooms().getOccupancyRate());
+        assertTrue(report.getByCourseStatus().isEmpty());
+    }
+
+    @Test
+    void whenEnrollmentTrends_thenEndDateIncludedAndOnlyRollupsRead() {
+        EnrollmentTrendPoint point = new EnrollmentTrendPoint(LocalDateTime.of(2024, 3, 10, 0, 0), 4L, 1L, 0L, 0L, 3L);
+        when(enrollmentRollupRepository.findTrend(RollupGranularity.DAY, 1L,
+            LocalDateTime.of(2024, 3, 1, 0, 0), LocalDateTime.of(2024, 3, 11, 0, 0)))
+            .thenReturn(Collections.singletonList(point));
+
+        List<EnrollmentTrendPoint> trend = analyticsService.enrollmentTrends(1L, RollupGranularity.DAY,
+            LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 10));
+
+        assertEquals(1, trend.size());
+        assertEquals(3L, trend.get(0).getNetEnrolled());
+        verifyNoInteractions(analyticsRepository);
+    }
+
+    @Test
+    void whenDashboardRequestedTwice_thenSingleQueryUntilDataChanges() {
+        DashboardSummaryView before = summary(12L);
+        DashboardSummaryView after = summary(13L);
+        when(analyticsRepository.findDashboardSummary()).thenReturn(before, after);
+
+        assertEquals(12L, analyticsService.dashboard().getCourses());
+        assertEquals(12L, analyticsService.dashboard().getCourses());
+        verify(analyticsRepository, times(1)).findDashboardSummary();
+
+        analyticsService.onDataChanged(new DataChangedEvent(Course.class));
+
+        assertEquals(13L, analyticsService.dashboard().getCourses());
+        verify(analyticsRepository, times(2)).findDashboardSummary();
+    }
+
+    @Test
+    void whenDashboardTtlElapsed_thenSummaryReloaded() {
+        ReflectionTestUtils.setField(analyticsService, "dashboardTtl", Duration.ZERO);
+        DashboardSummaryView view = summary(12L);
+        when(analyticsRepository.findDashboardSummary()).thenReturn(view);
+
+        analyticsService.dashboard();
+        analyticsService.dashboard();
+
+        verify(analyticsRepository, times(2)).findDashboardSummary();
+    }
+
+    private DashboardSummaryView summary(Long courses) {
+        // Every other headline defaults to zero
+        DashboardSummaryView view = mock(DashboardSummaryView.class, invocation -> 0L);
+        doReturn(courses).when(view).getCourses();
+        return view;
+    }
+
+    private OccupancyRowView row(String dimension, String bucket, Long entries, Long students, Long seats, Double rate) {
+        return new OccupancyRowView() {
+            @Override
+            public String getDimension() {
+                return dimension;
+            }
+
+            @Override
+            public String getBucket() {
+                return bucket;
+            }
+
+            @Override
+            public Long getEntries() {
+                return entries;
+            }
+
+            @Override
+            public Long getStudents() {
+                return students;
+            }
+
+            @Override
+            public Long getSeats() {
+                return seats;
+            }
+
+            @Override
+            public Long getFreeSeats() {
+                return seats == null ? null : seats - students;
+            }
+
+            @Override
+            public Double getOccupancyRate() {
+                return rate;
+            }
+        };
+    }
+}
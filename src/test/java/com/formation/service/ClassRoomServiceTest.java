@@ -11,19 +11,24 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import com.formation.entity.ClassRoom;
+import com.formation.exception.DuplicateResourceException;
+import com.formation.exception.ResourceNotFoundException;
 import com.formation.repository.ClassRoomRepository;
 import com.formation.service.impl.ClassRoomServiceImpl;
-import jakarta.persistence.EntityNotFoundException;
 
 class ClassRoomServiceTest {
 
     @Mock
     private ClassRoomRepository classRoomRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ClassRoomServiceImpl classRoomService;
 
@@ -60,7 +65,7 @@ class ClassRoomServiceTest {
     void whenSaveClassRoomWithExistingNumber_thenThrowException() {
         when(classRoomRepository.existsByRoomNumber(anyString())).thenReturn(true);
 
-        assertThrows(EntityNotFoundException.class, () -> {
+        assertThrows(DuplicateResourceException.class, () -> {
             classRoomService.save(testClassRoom);
         });
     }
@@ -80,7 +85,7 @@ class ClassRoomServiceTest {
     void whenFindByIdNotFound_thenThrowException() {
         when(classRoomRepository.findById(1L)).thenReturn(Optional.empty());
 
-        assertThrows(EntityNotFoundException.class, () -> {
+        assertThrows(ResourceNotFoundException.class, () -> {
             classRoomService.findById(1L);
         });
     }
@@ -0,0 +1,62 @@
+package com.formation.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.formation.dto.CourseLifecycleRun;
+import com.formation.entity.Course;
+import com.formation.entity.enums.CourseStatus;
+import com.formation.repository.CourseRepository;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:lifecycle;DB_CLOSE_DELAY=-1",
+    "spring.jpa.show-sql=false",
+    "formation.lifecycle.enabled=false",
+    "formation.rollup.enabled=false",
+    "formation.errors.summary-enabled=false"
+})
+@ActiveProfiles("test")
+class CourseLifecycleServiceIntegrationTest {
+
+    @Autowired
+    private CourseLifecycleService courseLifecycleService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Test
+    void whenCourseBackdatedAfterRun_thenNextRunStillAdvancesIt() {
+        LocalDate today = LocalDate.of(2024, 11, 20);
+        courseLifecycleService.advance(today);
+
+        // Created after the run with dates before it, as a late data entry would be
+        Course ongoing = courseRepository.save(course("Backdated ongoing", today.minusDays(10), today.plusDays(5)));
+        Course ended = courseRepository.save(course("Backdated ended", today.minusDays(20), today.minusDays(3)));
+
+        CourseLifecycleRun run = courseLifecycleService.advance(today.plusDays(1));
+
+        assertEquals(today, run.getPreviousRun());
+        assertEquals(2, run.getStarted());
+        assertEquals(1, run.getCompleted());
+        assertEquals(CourseStatus.IN_PROGRESS, courseRepository.findById(ongoing.getId()).get().getStatus());
+        assertEquals(CourseStatus.COMPLETED, courseRepository.findById(ended.getId()).get().getStatus());
+    }
+
+    private Course course(String title, LocalDate start, LocalDate end) {
+        return Course.builder()
+            .title(title)
+            .level("Beginner")
+            .minCapacity(1)
+            .maxCapacity(10)
+            .startDate(start)
+            .endDate(end)
+            .status(CourseStatus.PLANNED)
+            .build();
+    }
+}
@@ -0,0 +1,101 @@
+package com.formation.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.formation.dto.CourseLifecycleEvent;
+import com.formation.dto.CourseLifecycleRun;
+import com.formation.entity.JobWatermark;
+import com.formation.entity.enums.CourseStatus;
+import com.formation.repository.CourseRepository;
+import com.formation.repository.JobWatermarkRepository;
+import com.formation.service.impl.CourseLifecycleServiceImpl;
+
+class CourseLifecycleServiceTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private JobWatermarkRepository jobWatermarkRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private CourseLifecycleServiceImpl courseLifecycleService;
+
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        today = LocalDate.of(2024, 11, 20);
+    }
+
+    @Test
+    void whenNoWatermark_thenAdvancesDueCoursesAndSavesWatermark() {
+        when(jobWatermarkRepository.findByIdForUpdate(anyString())).thenReturn(Optional.empty());
+        when(courseRepository.startDueCourses(eq(today), any())).thenReturn(3);
+        when(courseRepository.completeDueCourses(eq(today), any())).thenReturn(1);
+
+        CourseLifecycleRun run = courseLifecycleService.advance(today);
+
+        assertNull(run.getPreviousRun());
+        assertEquals(3, run.getStarted());
+        assertEquals(1, run.getCompleted());
+        ArgumentCaptor<JobWatermark> saved = ArgumentCaptor.forClass(JobWatermark.class);
+        verify(jobWatermarkRepository).save(saved.capture());
+        assertEquals(today, saved.getValue().getProcessedThrough());
+    }
+
+    @Test
+    void whenWatermarkExists_thenDueCoursesAreNotBoundedByIt() {
+        LocalDate lastRun = today.minusDays(1);
+        when(jobWatermarkRepository.findByIdForUpdate(anyString()))
+            .thenReturn(Optional.of(JobWatermark.builder().jobName("course-lifecycle").processedThrough(lastRun).build()));
+
+        CourseLifecycleRun run = courseLifecycleService.advance(today);
+
+        assertEquals(lastRun, run.getPreviousRun());
+        verify(courseRepository).startDueCourses(eq(today), any());
+        verify(courseRepository).completeDueCourses(eq(today), any());
+    }
+
+    @Test
+    void whenCoursesChange_thenPublishesOneEventPerTransition() {
+        when(jobWatermarkRepository.findByIdForUpdate(anyString())).thenReturn(Optional.empty());
+        when(courseRepository.startDueCourses(any(), any())).thenReturn(2);
+        when(courseRepository.completeDueCourses(any(), any())).thenReturn(5);
+
+        courseLifecycleService.advance(today);
+
+        ArgumentCaptor<CourseLifecycleEvent> events = ArgumentCaptor.forClass(CourseLifecycleEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(CourseStatus.IN_PROGRESS, events.getAllValues().get(0).getNewStatus());
+        assertEquals(2, events.getAllValues().get(0).getAffectedCourses());
+        assertEquals(CourseStatus.COMPLETED, events.getAllValues().get(1).getNewStatus());
+        assertEquals(5, events.getAllValues().get(1).getAffectedCourses());
+    }
+
+    @Test
+    void whenNothingChanges_thenNoEventIsPublished() {
+        when(jobWatermarkRepository.findByIdForUpdate(anyString())).thenReturn(Optional.empty());
+
+        courseLifecycleService.advance(today);
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+}
@@ -13,21 +13,36 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import com.formation.dto.TrainerBooking;
 import com.formation.entity.Course;
+import com.formation.entity.Trainer;
+import com.formation.exception.ExceptionCode;
+import com.formation.exception.ResourceInUseException;
+import com.formation.exception.ResourceNotFoundException;
 import com.formation.repository.CourseRepository;
 import com.formation.service.impl.CourseServiceImpl;
-import jakarta.persistence.EntityNotFoundException;
+import com.formation.service.scheduling.TrainerAvailabilityIndex;
 
 class CourseServiceTest {
 
     @Mock
     private CourseRepository courseRepository;
 
+    @Mock
+    private WaitlistService waitlistService;
+
+    @Mock
+    private TrainerAvailabilityIndex trainerAvailabilityIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CourseServiceImpl courseService;
 
@@ -75,7 +90,7 @@ class CourseServiceTest {
     void whenFindByIdNotFound_thenThrowException() {
         when(courseRepository.findById(1L)).thenReturn(Optional.empty());
 
-        assertThrows(EntityNotFoundException.class, () -> {
+        assertThrows(ResourceNotFoundException.class, () -> {
             courseService.findById(1L);
         });
     }
@@ -116,4 +131,58 @@ class CourseServiceTest {
 
         verify(courseRepository).deleteById(1L);
     }
+
+    @Test
+    void whenUpdateIncreasesCapacity_thenPromoteWaitlist() {
+        Course existing = new Course();
+        existing.setId(1L);
+        existing.setMaxCapacity(10);
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(courseRepository.save(any(Course.class))).thenReturn(testCourse);
+        when(waitlistService.promoteWaiting(1L)).thenReturn(0);
+
+        courseService.update(testCourse);
+
+        verify(waitlistService).promoteWaiting(1L);
+    }
+
+    @Test
+    void whenUpdateKeepsCapacity_thenWaitlistUntouched() {
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(testCourse));
+        when(courseRepository.save(any(Course.class))).thenReturn(testCourse);
+
+        courseService.update(testCourse);
+
+        verify(waitlistService, never()).promoteWaiting(anyLong());
+    }
+
+    @Test
+    void whenSaveCourseWithFreeTrainer_thenTrainerIsBooked() {
+        testCourse.setTrainer(Trainer.builder().id(3L).build());
+        when(courseRepository.save(any(Course.class))).thenReturn(testCourse);
+        when(trainerAvailabilityIndex.reserve(any(TrainerBooking.class))).thenReturn(new ArrayList<>());
+
+        courseService.save(testCourse);
+
+        verify(trainerAvailabilityIndex).reserve(argThat(booking ->
+            booking.getTrainerId().equals(3L) && booking.getCourseId().equals(1L)));
+    }
+
+    @Test
+    void whenSaveCourseWithBookedTrainer_thenThrowException() {
+        testCourse.setTrainer(Trainer.builder().id(3L).build());
+        TrainerBooking existing = TrainerBooking.builder()
+            .courseId(9L)
+            .trainerId(3L)
+            .startDate(LocalDate.now().plusDays(5))
+            .endDate(LocalDate.now().plusDays(10))
+            .build();
+        when(courseRepository.save(any(Course.class))).thenReturn(testCourse);
+        when(trainerAvailabilityIndex.reserve(any(TrainerBooking.class))).thenReturn(List.of(existing));
+
+        ResourceInUseException e = assertThrows(ResourceInUseException.class, () -> courseService.save(testCourse));
+
+        assertEquals(ExceptionCode.TRAINER_BOOKED, e.getCode());
+        assertTrue(e.getMessage().contains("already teaches course 9"));
+    }
 }
@@ -0,0 +1,189 @@
+package com.formation.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.formation.config.CountingAsyncAppender;
+import com.formation.config.SqlInspectionPostProcessor;
+import com.formation.config.SqlInspectionProperties;
+import com.formation.config.SqlInspector;
+import com.formation.dto.ErrorRateReport;
+import com.formation.dto.LogQueueStatus;
+import com.formation.dto.SqlDiagnostics;
+import com.formation.dto.SqlEndpointStats;
+import com.formation.dto.SqlStatementStats;
+import com.formation.exception.ErrorStatistics;
+import com.formation.exception.ExceptionCode;
+import com.formation.service.impl.DiagnosticsServiceImpl;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+
+class DiagnosticsServiceTest {
+
+    private final DiagnosticsServiceImpl diagnosticsService = new DiagnosticsServiceImpl();
+
+    @Test
+    void whenErrorsRecorded_thenAllAreCountedButOnlyTheFirstPerWindowLogged() {
+        ErrorStatistics errorStatistics = new ErrorStatistics(2, Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(diagnosticsService, "errorStatistics", errorStatistics);
+
+        assertTrue(errorStatistics.record(ExceptionCode.COURSE_NOT_FOUND, HttpStatus.NOT_FOUND));
+        assertTrue(errorStatistics.record(ExceptionCode.COURSE_NOT_FOUND, HttpStatus.NOT_FOUND));
+        assertFalse(errorStatistics.record(ExceptionCode.COURSE_NOT_FOUND, HttpStatus.NOT_FOUND));
+        assertTrue(errorStatistics.record(ExceptionCode.INVALID_PAGE, HttpStatus.BAD_REQUEST));
+
+        ErrorRateReport report = diagnosticsService.errorRates();
+
+        assertEquals(4, report.getTotal());
+        assertEquals(2, report.getErrors().size());
+        assertEquals("COURSE_NOT_FOUND", report.getErrors().get(0).getName());
+        assertEquals(404, report.getErrors().get(0).getStatus());
+        assertEquals(3, report.getErrors().get(0).getSinceLastSummary());
+        assertEquals(1, report.getErrors().get(0).getSuppressedLogLines());
+
+        errorStatistics.logSummary();
+
+        assertEquals(0, diagnosticsService.errorRates().getErrors().get(0).getSinceLastSummary());
+        assertEquals(3, diagnosticsService.errorRates().getErrors().get(0).getTotal());
+    }
+
+    @Test
+    void whenLogQueueFull_thenEventsAreDroppedAndCountedInsteadOfBlocking() throws InterruptedException {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        CountDownLatch release = new CountDownLatch(1);
+        AppenderBase<ILoggingEvent> stuck = new AppenderBase<ILoggingEvent>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        stuck.setContext(context);
+        stuck.start();
+        CountingAsyncAppender async = new CountingAsyncAppender();
+        async.setName("TestAsync");
+        async.setContext(context);
+        async.setQueueSize(4);
+        async.setDiscardingThreshold(2);
+        async.setNeverBlock(true);
+        async.addAppender(stuck);
+        async.start();
+        Logger logger = context.getLogger("diagnostics-test");
+        logger.setAdditive(false);
+        logger.addAppender(async);
+        try {
+            for (int i = 0; i < 20; i++) {
+                logger.warn("event {}", i);
+            }
+            for (int i = 0; i < 20; i++) {
+                logger.info("event {}", i);
+            }
+
+            List<LogQueueStatus> queues = diagnosticsService.loggingQueues();
+
+            LogQueueStatus status = queues.stream().filter(q -> "TestAsync".equals(q.getAppender())).findFirst().get();
+            assertEquals(4, status.getCapacity());
+            assertEquals(20, status.getDiscarded());
+            // The worker drains a whole queue before blocking on its first event, so at most 8 get through
+            assertTrue(status.getDropped() >= 12);
+        } finally {
+            release.countDown();
+            logger.detachAppender(async);
+            async.stop();
+        }
+    }
+
+    @Test
+    void whenStatementRepeatedWithinRequest_thenEndpointCountedAndPossibleNPlusOneReported() {
+        SqlInspector sqlInspector = new SqlInspector(new SqlInspectionProperties());
+        ReflectionTestUtils.setField(diagnosticsService, "sqlInspector", sqlInspector);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/courses/1/students");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/courses/{id}/students");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        sqlInspector.preHandle(request, response, null);
+        sqlInspector.record("select * from students where course_id = ?", 2_000_000, 6);
+        for (int id = 1; id <= 6; id++) {
+            sqlInspector.record("select * from classrooms where id = " + id, 500_000, 1);
+        }
+        assertEquals(7, sqlInspector.currentRequest().getStatements());
+        sqlInspector.afterCompletion(request, response, null, null);
+        sqlInspector.record("select count(*) from courses", 200_000_000, 1);
+
+        SqlDiagnostics diagnostics = diagnosticsService.sqlDiagnostics();
+
+        assertNull(sqlInspector.currentRequest());
+        assertEquals(8, diagnostics.getStatements());
+        assertEquals(1, diagnostics.getUnattributedStatements());
+        SqlEndpointStats endpoint = diagnostics.getEndpoints().get(0);
+        assertEquals("GET /api/courses/{id}/students", endpoint.getEndpoint());
+        assertEquals(7, endpoint.getStatements());
+        assertEquals(5.0, endpoint.getDbTimeMs());
+        assertEquals(1, endpoint.getRepeatedStatementRequests());
+        assertEquals("select * from classrooms where id = ?", diagnostics.getRecentRepeatedStatements().get(0).getSql());
+        assertEquals(6, diagnostics.getRecentRepeatedStatements().get(0).getExecutions());
+        assertEquals(1, diagnostics.getRecentSlowStatements().size());
+        assertEquals("select count(*) from courses", diagnostics.getRecentSlowStatements().get(0).getSql());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void whenStatementsRunThroughInspectedDataSource_thenLatencyAndRowsRecorded() throws Exception {
+        SqlInspector sqlInspector = new SqlInspector(new SqlInspectionProperties());
+        ReflectionTestUtils.setField(diagnosticsService, "sqlInspector", sqlInspector);
+        ObjectProvider<SqlInspector> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(sqlInspector);
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sql-inspection;DB_CLOSE_DELAY=-1");
+        DataSource dataSource = (DataSource) new SqlInspectionPostProcessor(provider)
+            .postProcessAfterInitialization(h2, "dataSource");
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create table seats (id int primary key)");
+            assertEquals(3, statement.executeUpdate("insert into seats values (1), (2), (3)"));
+            try (PreparedStatement query = connection.prepareStatement("select id from seats where id >= ?")) {
+                query.setInt(1, 2);
+                try (ResultSet rows = query.executeQuery()) {
+                    while (rows.next()) {
+                        assertTrue(rows.getInt(1) >= 2);
+                    }
+                }
+            }
+        }
+
+        SqlDiagnostics diagnostics = diagnosticsService.sqlDiagnostics();
+        assertEquals(3, diagnostics.getStatements());
+        SqlStatementStats select = diagnostics.getTopStatements().stream()
+            .filter(stats -> stats.getSql().startsWith("select")).findFirst().get();
+        assertEquals("select id from seats where id >= ?", select.getSql());
+        assertEquals(2, select.getRows());
+        assertTrue(dataSource.isWrapperFor(JdbcDataSource.class));
+        assertSame(h2, dataSource.unwrap(JdbcDataSource.class));
+    }
+}
@@ -0,0 +1,117 @@
+package com.formation.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.formation.dto.EnrollmentRollupRun;
+import com.formation.entity.Course;
+import com.formation.entity.Student;
+import com.formation.entity.enums.CourseStatus;
+import com.formation.entity.enums.EnrollmentEventType;
+import com.formation.repository.CourseRepository;
+import com.formation.repository.EnrollmentEventRepository;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:rollup;DB_CLOSE_DELAY=-1",
+    "spring.jpa.show-sql=false",
+    "formation.lifecycle.enabled=false",
+    "formation.rollup.enabled=false",
+    "formation.errors.summary-enabled=false"
+})
+@ActiveProfiles("test")
+class EnrollmentRollupServiceIntegrationTest {
+
+    @Autowired
+    private EnrollmentRollupService enrollmentRollupService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentEventRepository enrollmentEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void whenEventCommitsAfterALaterOne_thenBothAreRolledUpOnce() throws Exception {
+        Course course = courseRepository.save(Course.builder()
+            .title("Rollup course")
+            .level("Beginner")
+            .minCapacity(1)
+            .maxCapacity(10)
+            .startDate(LocalDate.now().plusDays(10))
+            .endDate(LocalDate.now().plusDays(20))
+            .status(CourseStatus.PLANNED)
+            .build());
+        LocalDateTime abandonGapsBefore = LocalDateTime.now().minusHours(1);
+
+        // A slow transaction takes its event id first and commits last
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService slow = Executors.newSingleThreadExecutor();
+        Future<?> slowCommit = slow.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            enrollmentEventRepository.record(course.getId(), 999L, EnrollmentEventType.WAITLISTED, LocalDateTime.now());
+            inserted.countDown();
+            await(commit);
+        }));
+        try {
+            assertTrue(inserted.await(10, TimeUnit.SECONDS));
+            // Enrolling through the student endpoint path records an event too
+            studentService.save(Student.builder().firstName("Lina").lastName("Haddad").email("lina.haddad@example.net")
+                .level("Beginner").course(course).build());
+
+            EnrollmentRollupRun first = enrollmentRollupService.rollup(abandonGapsBefore);
+
+            assertEquals(1L, first.getEvents());
+            assertEquals(1, first.getOpenGaps());
+        } finally {
+            commit.countDown();
+            slowCommit.get(10, TimeUnit.SECONDS);
+            slow.shutdown();
+        }
+
+        EnrollmentRollupRun second = enrollmentRollupService.rollup(abandonGapsBefore);
+        EnrollmentRollupRun third = enrollmentRollupService.rollup(abandonGapsBefore);
+
+        assertEquals(1L, second.getEvents());
+        assertEquals(1, second.getFilledGaps());
+        assertEquals(0L, third.getEvents());
+        assertEquals(0, third.getOpenGaps());
+        assertEquals(1, courseRepository.findById(course.getId()).get().getCurrentCapacity());
+        assertEquals(1L, count("SELECT SUM(enrolled) FROM enrollment_rollups WHERE CAST(granularity AS VARCHAR(10)) = 'DAY' AND course_id = ?", course.getId()));
+        assertEquals(1L, count("SELECT SUM(waitlisted) FROM enrollment_rollups WHERE CAST(granularity AS VARCHAR(10)) = 'DAY' AND course_id = ?", course.getId()));
+    }
+
+    private long count(String sql, Long courseId) {
+        return jdbcTemplate.queryForObject(sql, Long.class, courseId);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
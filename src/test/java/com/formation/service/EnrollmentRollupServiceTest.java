@@ -0,0 +1,191 @@
+package com.formation.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.formation.dto.EnrollmentEventCountView;
+import com.formation.dto.EnrollmentRollupRun;
+import com.formation.entity.EnrollmentEventGap;
+import com.formation.entity.EnrollmentRollup;
+import com.formation.entity.JobWatermark;
+import com.formation.entity.enums.EnrollmentEventType;
+import com.formation.entity.enums.RollupGranularity;
+import com.formation.repository.EnrollmentEventGapRepository;
+import com.formation.repository.EnrollmentEventRepository;
+import com.formation.repository.EnrollmentRollupRepository;
+import com.formation.repository.JobWatermarkRepository;
+import com.formation.service.impl.EnrollmentRollupServiceImpl;
+
+class EnrollmentRollupServiceTest {
+
+    @Mock
+    private EnrollmentEventRepository enrollmentEventRepository;
+
+    @Mock
+    private EnrollmentEventGapRepository enrollmentEventGapRepository;
+
+    @Mock
+    private EnrollmentRollupRepository enrollmentRollupRepository;
+
+    @Mock
+    private JobWatermarkRepository jobWatermarkRepository;
+
+    @InjectMocks
+    private EnrollmentRollupServiceImpl enrollmentRollupService;
+
+    private LocalDateTime abandonGapsBefore;
+    private LocalDateTime day;
+    private LocalDateTime hour;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        abandonGapsBefore = LocalDateTime.of(2024, 3, 10, 13, 30);
+        day = LocalDateTime.of(2024, 3, 10, 0, 0);
+        hour = LocalDateTime.of(2024, 3, 10, 14, 0);
+    }
+
+    @Test
+    void whenNewEvents_thenCountsAddedToExistingBucketsAndWatermarkMoved() {
+        JobWatermark watermark = JobWatermark.builder().jobName("enrollment-rollup").lastEventId(40L).build();
+        when(jobWatermarkRepository.findByIdForUpdate("enrollment-rollup")).thenReturn(Optional.of(watermark));
+        when(enrollmentEventRepository.findLastId(40L)).thenReturn(45L);
+        when(enrollmentEventRepository.countBetween(40L, 45L)).thenReturn(5L);
+        when(enrollmentEventRepository.countByHour(40L, 45L, Collections.emptyList(), Collections.emptyList())).thenReturn(Arrays.asList(
+            count(1L, hour, EnrollmentEventType.ENROLLED, 4L), count(1L, hour, EnrollmentEventType.UNENROLLED, 1L)));
+        when(enrollmentEventRepository.countByDay(40L, 45L, Collections.emptyList(), Collections.emptyList())).thenReturn(Arrays.asList(
+            count(1L, day, EnrollmentEventType.ENROLLED, 4L), count(1L, day, EnrollmentEventType.UNENROLLED, 1L)));
+        EnrollmentRollup existingDay = EnrollmentRollup.builder()
+            .granularity(RollupGranularity.DAY).bucketStart(day).courseId(1L).enrolled(10L).build();
+        when(enrollmentRollupRepository.findAllById(anyIterable()))
+            .thenReturn(Collections.emptyList())
+            .thenReturn(Collections.singletonList(existingDay));
+
+        EnrollmentRollupRun run = enrollmentRollupService.rollup(abandonGapsBefore);
+
+        assertEquals(5L, run.getEvents());
+        assertEquals(2, run.getBuckets());
+        assertEquals(45L, watermark.getLastEventId());
+        assertEquals(14L, existingDay.getEnrolled());
+        assertEquals(1L, existingDay.getUnenrolled());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Iterable<EnrollmentRollup>> saved = ArgumentCaptor.forClass(Iterable.class);
+        verify(enrollmentRollupRepository, times(2)).saveAll(saved.capture());
+        List<EnrollmentRollup> hourly = new ArrayList<>();
+        saved.getAllValues().get(0).forEach(hourly::add);
+        assertEquals(1, hourly.size());
+        assertEquals(RollupGranularity.HOUR, hourly.get(0).getGranularity());
+        assertEquals(4L, hourly.get(0).getEnrolled());
+        verify(jobWatermarkRepository).save(watermark);
+    }
+
+    @Test
+    void whenNoNewEvents_thenNothingWritten() {
+        when(jobWatermarkRepository.findByIdForUpdate("enrollment-rollup")).thenReturn(Optional.empty());
+        when(enrollmentEventRepository.findLastId(0L)).thenReturn(null);
+
+        EnrollmentRollupRun run = enrollmentRollupService.rollup(abandonGapsBefore);
+
+        assertEquals(0L, run.getEvents());
+        assertEquals(0L, run.getThroughEventId());
+        verify(enrollmentEventRepository, never()).countByHour(anyLong(), anyLong(), anyCollection(), anyCollection());
+        verify(enrollmentRollupRepository, never()).saveAll(anyIterable());
+        verify(jobWatermarkRepository, never()).save(any());
+    }
+
+    @Test
+    void whenEventCommitsAfterWatermarkPassedIt_thenCountedByALaterRun() {
+        JobWatermark watermark = JobWatermark.builder().jobName("enrollment-rollup").lastEventId(40L).build();
+        when(jobWatermarkRepository.findByIdForUpdate("enrollment-rollup")).thenReturn(Optional.of(watermark));
+        when(enrollmentRollupRepository.findAllById(anyIterable())).thenReturn(Collections.emptyList());
+        // First run: 42 is still uncommitted while 41 and 43 are visible
+        when(enrollmentEventRepository.findLastId(40L)).thenReturn(43L);
+        when(enrollmentEventRepository.countBetween(40L, 43L)).thenReturn(2L);
+        when(enrollmentEventRepository.findIdsBetween(40L, 43L)).thenReturn(Arrays.asList(41L, 43L));
+        when(enrollmentEventRepository.countByDay(40L, 43L, Collections.singletonList(42L), Collections.emptyList()))
+            .thenReturn(Collections.singletonList(count(1L, day, EnrollmentEventType.ENROLLED, 2L)));
+
+        EnrollmentRollupRun first = enrollmentRollupService.rollup(abandonGapsBefore);
+
+        assertEquals(2L, first.getEvents());
+        assertEquals(1, first.getOpenGaps());
+        assertEquals(43L, watermark.getLastEventId());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Iterable<EnrollmentEventGap>> recorded = ArgumentCaptor.forClass(Iterable.class);
+        verify(enrollmentEventGapRepository).saveAll(recorded.capture());
+        EnrollmentEventGap gap = recorded.getValue().iterator().next();
+        assertEquals(42L, gap.getEventId());
+
+        // Second run: 42 has committed, nothing new after the watermark
+        when(enrollmentEventRepository.findLastId(43L)).thenReturn(null);
+        when(enrollmentEventGapRepository.findAll()).thenReturn(Collections.singletonList(gap));
+        when(enrollmentEventRepository.findExistingIds(Collections.singletonList(42L))).thenReturn(Collections.singletonList(42L));
+        when(enrollmentEventRepository.countByDay(43L, 43L, Collections.emptyList(), Collections.singletonList(42L)))
+            .thenReturn(Collections.singletonList(count(1L, day, EnrollmentEventType.ENROLLED, 1L)));
+
+        EnrollmentRollupRun second = enrollmentRollupService.rollup(abandonGapsBefore);
+
+        assertEquals(1L, second.getEvents());
+        assertEquals(1, second.getFilledGaps());
+        assertEquals(0, second.getOpenGaps());
+        verify(enrollmentEventGapRepository).deleteAllInBatch(Collections.singletonList(gap));
+    }
+
+    @Test
+    void whenGapOutlivesRetention_thenGivenUp() {
+        when(jobWatermarkRepository.findByIdForUpdate("enrollment-rollup")).thenReturn(Optional.empty());
+        EnrollmentEventGap rolledBack = EnrollmentEventGap.builder()
+            .eventId(7L).detectedAt(abandonGapsBefore.minusMinutes(1)).build();
+        EnrollmentEventGap recent = EnrollmentEventGap.builder()
+            .eventId(9L).detectedAt(abandonGapsBefore.plusMinutes(1)).build();
+        when(enrollmentEventRepository.findLastId(0L)).thenReturn(null);
+        when(enrollmentEventGapRepository.findAll()).thenReturn(Arrays.asList(rolledBack, recent));
+        when(enrollmentEventRepository.findExistingIds(Arrays.asList(7L, 9L))).thenReturn(Collections.emptyList());
+
+        EnrollmentRollupRun run = enrollmentRollupService.rollup(abandonGapsBefore);
+
+        assertEquals(0L, run.getEvents());
+        assertEquals(1, run.getOpenGaps());
+        verify(enrollmentEventGapRepository).deleteAllInBatch(Collections.singletonList(rolledBack));
+    }
+
+    private EnrollmentEventCountView count(Long courseId, LocalDateTime bucketStart, EnrollmentEventType type, Long events) {
+        return new EnrollmentEventCountView() {
+            @Override
+            public Long getCourseId() {
+                return courseId;
+            }
+
+            @Override
+            public LocalDateTime getBucketStart() {
+                return bucketStart;
+            }
+
+            @Override
+            public EnrollmentEventType getType() {
+                return type;
+            }
+
+            @Override
+            public Long getEvents() {
+                return events;
+            }
+        };
+    }
+}
@@ -0,0 +1,250 @@
+package com.formation.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.formation.dto.BatchEnrollmentRequest;
+import com.formation.dto.BatchEnrollmentResponse;
+import com.formation.dto.EnrollmentOutcome;
+import com.formation.dto.PlacementPlan;
+import com.formation.dto.PlacementRequest;
+import com.formation.dto.StudentEnrollmentView;
+import com.formation.entity.ClassRoom;
+import com.formation.entity.Course;
+import com.formation.exception.ResourceNotFoundException;
+import com.formation.repository.ClassRoomRepository;
+import com.formation.repository.CourseRepository;
+import com.formation.repository.EnrollmentEventRepository;
+import com.formation.repository.StudentRepository;
+import com.formation.service.impl.EnrollmentServiceImpl;
+
+class EnrollmentServiceTest {
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private ClassRoomRepository classRoomRepository;
+
+    @Mock
+    private EnrollmentEventRepository enrollmentEventRepository;
+
+    @Mock
+    private WaitlistService waitlistService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private EnrollmentServiceImpl enrollmentService;
+
+    private Course testCourse;
+    private ClassRoom testClassRoom;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        testCourse = new Course();
+        testCourse.setId(1L);
+        testCourse.setMaxCapacity(3);
+        testCourse.setCurrentCapacity(1);
+
+        testClassRoom = new ClassRoom();
+        testClassRoom.setId(10L);
+        testClassRoom.setMaxCapacity(30);
+        testClassRoom.setCurrentCapacity(0);
+
+        when(courseRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testCourse));
+        when(classRoomRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(testClassRoom));
+    }
+
+    @Test
+    void whenEnrollBatch_thenCapacityCheckedOnceForWholeBatch() {
+        List<StudentEnrollmentView> views = Arrays.asList(
+            view(1L, null, null), view(2L, null, null), view(3L, null, null), view(4L, 1L, 10L), view(5L, 2L, null));
+        when(studentRepository.findEnrollmentViews(anyCollection())).thenReturn(views);
+
+        BatchEnrollmentResponse response = enrollmentService.enrollBatch(
+            new BatchEnrollmentRequest(1L, 10L, Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L)));
+
+        assertEquals(6, response.getRequested());
+        assertEquals(2, response.getEnrolled());
+        assertEquals(0, response.getRemainingCourseSeats());
+        assertEquals(EnrollmentOutcome.ENROLLED, response.getResults().get(0).getOutcome());
+        assertEquals(EnrollmentOutcome.ENROLLED, response.getResults().get(1).getOutcome());
+        assertEquals(EnrollmentOutcome.CAPACITY_EXCEEDED, response.getResults().get(2).getOutcome());
+        assertEquals("Course is full: current 3, max 3", response.getResults().get(2).getMessage());
+        assertEquals(EnrollmentOutcome.ALREADY_ENROLLED, response.getResults().get(3).getOutcome());
+        assertEquals(EnrollmentOutcome.ENROLLED_ELSEWHERE, response.getResults().get(4).getOutcome());
+        assertEquals(EnrollmentOutcome.NOT_FOUND, response.getResults().get(5).getOutcome());
+        verify(studentRepository).assignCourseAndClassRoom(eq(Arrays.asList(1L, 2L)), eq(testCourse), eq(testClassRoom), any());
+        verify(courseRepository).adjustCurrentCapacity(1L, 2);
+        verify(classRoomRepository).adjustCurrentCapacity(10L, 2);
+        verify(enrollmentEventRepository).recordEnrolled(eq(Arrays.asList(1L, 2L)), eq(1L), any());
+        InOrder order = inOrder(waitlistService, courseRepository);
+        order.verify(waitlistService).promoteWaiting(1L);
+        order.verify(courseRepository).findByIdForUpdate(1L);
+    }
+
+    @Test
+    void whenClassRoomFills_thenRejectionReportsCurrentOccupancy() {
+        testClassRoom.setMaxCapacity(2);
+        testClassRoom.setCurrentCapacity(1);
+        when(studentRepository.findEnrollmentViews(anyCollection()))
+            .thenReturn(Arrays.asList(view(1L, null, null), view(2L, null, null)));
+
+        BatchEnrollmentResponse response = enrollmentService.enrollBatch(
+            new BatchEnrollmentRequest(1L, 10L, Arrays.asList(1L, 2L)));
+
+        assertEquals(1, response.getEnrolled());
+        assertEquals(EnrollmentOutcome.CAPACITY_EXCEEDED, response.getResults().get(1).getOutcome());
+        assertEquals("Classroom capacity exceeded: current 2, max 2", response.getResults().get(1).getMessage());
+    }
+
+    @Test
+    void whenNothingToEnroll_thenNoBulkUpdateIssued() {
+        when(studentRepository.findEnrollmentViews(anyCollection())).thenReturn(Arrays.asList(view(4L, 1L, 10L)));
+
+        BatchEnrollmentResponse response = enrollmentService.enrollBatch(
+            new BatchEnrollmentRequest(1L, 10L, Arrays.asList(4L)));
+
+        assertEquals(0, response.getEnrolled());
+        verify(studentRepository, never()).assignCourseAndClassRoom(anyCollection(), any(), any(), any());
+        verify(courseRepository, never()).adjustCurrentCapacity(anyLong(), anyInt());
+        verify(enrollmentEventRepository, never()).recordEnrolled(anyCollection(), anyLong(), any());
+    }
+
+    @Test
+    void whenCourseNotFound_thenThrowException() {
+        when(courseRepository.findByIdForUpdate(2L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> {
+            enrollmentService.enrollBatch(new BatchEnrollmentRequest(2L, 10L, Arrays.asList(1L)));
+        });
+    }
+
+    private List<ClassRoom> placementRooms() {
+        return new ArrayList<>(Arrays.asList(
+            ClassRoom.builder().id(20L).roomNumber("A").maxCapacity(30).build(),
+            ClassRoom.builder().id(21L).roomNumber("B").maxCapacity(12).build(),
+            ClassRoom.builder().id(22L).roomNumber("C").maxCapacity(10).build(),
+            ClassRoom.builder().id(23L).roomNumber("D").maxCapacity(5).build()));
+    }
+
+    private List<StudentEnrollmentView> unplacedIntake(int size) {
+        return LongStream.rangeClosed(1, size)
+            .mapToObj(id -> view(id, 1L, null))
+            .collect(Collectors.toList());
+    }
+
+    @Test
+    void whenPlaceIntake_thenFewestRoomsWithBestFitAndNothingSaved() {
+        when(courseRepository.existsById(1L)).thenReturn(true);
+        when(classRoomRepository.findAvailableRoomIds()).thenReturn(Arrays.asList(20L, 21L, 22L, 23L));
+        when(classRoomRepository.findAllByIds(anyCollection())).thenReturn(placementRooms());
+        when(studentRepository.findEnrollmentViewsByCourseId(1L)).thenReturn(unplacedIntake(35));
+
+        PlacementPlan plan = enrollmentService.placeIntake(new PlacementRequest(1L, null, false), true);
+
+        assertEquals(2, plan.getRoomsUsed());
+        assertEquals(35, plan.getPlaced());
+        assertEquals(0, plan.getLeftoverSeats());
+        assertEquals(20L, plan.getRooms().get(0).getClassRoomId());
+        assertEquals(23L, plan.getRooms().get(1).getClassRoomId());
+        verify(studentRepository, never()).assignClassRoom(anyCollection(), any(), any());
+    }
+
+    @Test
+    void whenPlaceIntakeApplied_thenOneUpdatePerRoomAndCapacitiesRecounted() {
+        when(courseRepository.existsById(1L)).thenReturn(true);
+        when(classRoomRepository.findAllByIdsForUpdate(anyCollection())).thenReturn(placementRooms().subList(1, 4));
+        when(studentRepository.findEnrollmentViewsByCourseId(1L)).thenReturn(unplacedIntake(14));
+
+        PlacementPlan plan = enrollmentService.placeIntake(new PlacementRequest(1L, Arrays.asList(21L, 22L, 23L), false), false);
+
+        assertEquals(2, plan.getRoomsUsed());
+        assertEquals(1, plan.getLeftoverSeats());
+        verify(studentRepository, times(2)).assignClassRoom(anyCollection(), any(ClassRoom.class), any());
+        verify(classRoomRepository).recountCurrentCapacity(argThat(ids -> ids.size() == 2));
+        verify(classRoomRepository).findAllByIdsForUpdate(argThat(ids -> ids.equals(new TreeSet<>(Arrays.asList(21L, 22L, 23L)))));
+        verify(classRoomRepository).findOccupancy(argThat(ids -> ids.size() == 3));
+        verify(classRoomRepository, never()).findAvailableRoomIds();
+    }
+
+    @Test
+    void whenRepackPlaced_thenSeatedStudentsStayInChosenRoom() {
+        when(courseRepository.existsById(1L)).thenReturn(true);
+        when(classRoomRepository.findAvailableRoomIds()).thenReturn(Arrays.asList(20L, 21L, 22L, 23L));
+        when(classRoomRepository.findAllByIds(anyCollection())).thenReturn(placementRooms());
+        List<StudentEnrollmentView> intake = new ArrayList<>(unplacedIntake(3));
+        intake.add(view(4L, 1L, 23L));
+        when(studentRepository.findEnrollmentViewsByCourseId(1L)).thenReturn(intake);
+
+        PlacementPlan plan = enrollmentService.placeIntake(new PlacementRequest(1L, null, true), true);
+
+        assertEquals(1, plan.getRoomsUsed());
+        assertEquals(23L, plan.getRooms().get(0).getClassRoomId());
+        assertEquals(3, plan.getMoved());
+    }
+
+    @Test
+    void whenNotEnoughSeats_thenRemainingStudentsReportedUnplaced() {
+        when(courseRepository.existsById(1L)).thenReturn(true);
+        when(classRoomRepository.findAvailableRoomIds()).thenReturn(Arrays.asList(20L, 21L, 22L, 23L));
+        when(classRoomRepository.findAllByIds(anyCollection())).thenReturn(placementRooms());
+        when(studentRepository.findEnrollmentViewsByCourseId(1L)).thenReturn(unplacedIntake(60));
+
+        PlacementPlan plan = enrollmentService.placeIntake(new PlacementRequest(1L, null, false), true);
+
+        assertEquals(57, plan.getPlaced());
+        assertEquals(3, plan.getUnplacedStudentIds().size());
+    }
+
+    @Test
+    void whenPlaceIntakeForUnknownCourse_thenThrowException() {
+        when(courseRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class,
+            () -> enrollmentService.placeIntake(new PlacementRequest(1L, null, false), true));
+    }
+
+    private StudentEnrollmentView view(Long id, Long courseId, Long classRoomId) {
+        return new StudentEnrollmentView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getCourseId() {
+                return courseId;
+            }
+
+            @Override
+            public Long getClassRoomId() {
+                return classRoomId;
+            }
+        };
+    }
+}
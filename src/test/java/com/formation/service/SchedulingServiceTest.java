@@ -0,0 +1,182 @@
+package com.formation.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.formation.dto.ScheduleAssignment;
+import com.formation.dto.SchedulePlan;
+import com.formation.dto.ScheduleRequest;
+import com.formation.dto.TrainerBooking;
+import com.formation.entity.ClassRoom;
+import com.formation.entity.Course;
+import com.formation.entity.Trainer;
+import com.formation.exception.ExceptionCode;
+import com.formation.exception.ResourceInUseException;
+import com.formation.exception.ValidationException;
+import com.formation.repository.ClassRoomRepository;
+import com.formation.repository.CourseRepository;
+import com.formation.repository.TrainerRepository;
+import com.formation.service.impl.SchedulingServiceImpl;
+import com.formation.service.scheduling.TrainerAvailabilityIndex;
+
+class SchedulingServiceTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private ClassRoomRepository classRoomRepository;
+
+    @Mock
+    private TrainerRepository trainerRepository;
+
+    @Mock
+    private TrainerAvailabilityIndex trainerAvailabilityIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private SchedulingServiceImpl schedulingService;
+
+    private LocalDate termStart;
+    private LocalDate termEnd;
+    private ClassRoom smallRoom;
+    private ClassRoom largeRoom;
+    private Trainer javaTrainer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        termStart = LocalDate.now().plusDays(10);
+        termEnd = termStart.plusMonths(3);
+
+        smallRoom = ClassRoom.builder().id(1L).roomNumber("A1").maxCapacity(10).currentCapacity(0).build();
+        largeRoom = ClassRoom.builder().id(2L).roomNumber("B1").maxCapacity(30).currentCapacity(0).build();
+        javaTrainer = Trainer.builder().id(1L).firstName("Jane").lastName("Doe").specialty("Java Development").build();
+
+        when(classRoomRepository.findAll()).thenReturn(Arrays.asList(largeRoom, smallRoom));
+        when(trainerRepository.findAll()).thenReturn(Collections.singletonList(javaTrainer));
+        when(classRoomRepository.getReferenceById(anyLong()))
+            .thenAnswer(inv -> inv.getArgument(0).equals(1L) ? smallRoom : largeRoom);
+        when(trainerRepository.getReferenceById(1L)).thenReturn(javaTrainer);
+    }
+
+    private Course course(Long id, String title, int capacity, LocalDate start, LocalDate end) {
+        Course course = new Course();
+        course.setId(id);
+        course.setTitle(title);
+        course.setLevel("Beginner");
+        course.setMaxCapacity(capacity);
+        course.setStartDate(start);
+        course.setEndDate(end);
+        return course;
+    }
+
+    private ScheduleRequest request() {
+        return ScheduleRequest.builder().termStart(termStart).termEnd(termEnd).build();
+    }
+
+    @Test
+    void whenPlanDryRun_thenAssignsBestFitRoomWithoutSaving() {
+        Course course = course(1L, "Java Basics", 8, termStart, termStart.plusDays(5));
+        when(courseRepository.findOverlapping(any(), any(), any())).thenReturn(Collections.singletonList(course));
+
+        SchedulePlan plan = schedulingService.plan(request(), true);
+
+        assertTrue(plan.isDryRun());
+        assertEquals(1, plan.getAssignedCount());
+        ScheduleAssignment assignment = plan.getAssignments().get(0);
+        assertEquals(smallRoom.getId(), assignment.getClassRoomId());
+        assertEquals(javaTrainer.getId(), assignment.getTrainerId());
+        assertNull(course.getClassRoom());
+        assertNull(course.getTrainer());
+    }
+
+    @Test
+    void whenPlan_thenAppliesAssignments() {
+        Course course = course(1L, "Java Basics", 20, termStart, termStart.plusDays(5));
+        when(courseRepository.findOverlapping(any(), any(), any())).thenReturn(Collections.singletonList(course));
+
+        SchedulePlan plan = schedulingService.plan(request(), false);
+
+        assertFalse(plan.isDryRun());
+        assertSame(largeRoom, course.getClassRoom());
+        assertSame(javaTrainer, course.getTrainer());
+    }
+
+    @Test
+    void whenTrainerBookedSinceSolving_thenApplyRejected() {
+        Course course = course(1L, "Java Basics", 20, termStart, termStart.plusDays(5));
+        when(courseRepository.findOverlapping(any(), any(), any())).thenReturn(Collections.singletonList(course));
+        when(trainerAvailabilityIndex.reserve(any())).thenReturn(Collections.singletonList(TrainerBooking.builder()
+            .courseId(9L).trainerId(1L).startDate(termStart).endDate(termStart.plusDays(3)).build()));
+
+        ResourceInUseException e = assertThrows(ResourceInUseException.class, () -> schedulingService.plan(request(), false));
+
+        assertEquals(ExceptionCode.TRAINER_BOOKED, e.getCode());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void whenCoursesOverlap_thenSingleTrainerIsNotDoubleBooked() {
+        Course first = course(1L, "Java Basics", 8, termStart, termStart.plusDays(10));
+        Course second = course(2L, "Advanced Java", 8, termStart.plusDays(5), termStart.plusDays(15));
+        Course third = course(3L, "Java Testing", 8, termStart.plusDays(11), termStart.plusDays(20));
+        when(courseRepository.findOverlapping(any(), any(), any())).thenReturn(Arrays.asList(first, second, third));
+
+        SchedulePlan plan = schedulingService.plan(request(), true);
+
+        assertEquals(2, plan.getAssignedCount());
+        assertEquals(1, plan.getUnassignedCount());
+        assertFalse(plan.getAssignments().get(1).isAssigned());
+        assertEquals("TRN-409-A", plan.getAssignments().get(1).getReasonCode());
+    }
+
+    @Test
+    void whenNoRoomLargeEnough_thenCourseIsReportedUnassigned() {
+        Course course = course(1L, "Java Basics", 50, termStart, termStart.plusDays(5));
+        when(courseRepository.findOverlapping(any(), any(), any())).thenReturn(Collections.singletonList(course));
+
+        SchedulePlan plan = schedulingService.plan(request(), false);
+
+        assertEquals(0, plan.getAssignedCount());
+        assertNotNull(plan.getAssignments().get(0).getReason());
+        assertNull(course.getClassRoom());
+    }
+
+    @Test
+    void whenExternalCourseHoldsTrainer_thenPlannedCourseAvoidsIt() {
+        Course planned = course(1L, "Java Basics", 8, termStart, termStart.plusDays(5));
+        Course external = course(9L, "Spring", 8, termStart.minusDays(2), termStart.plusDays(1));
+        external.setTrainer(javaTrainer);
+        when(courseRepository.findOverlapping(any(), any(), any()))
+            .thenReturn(Collections.singletonList(planned))
+            .thenReturn(Arrays.asList(planned, external));
+
+        SchedulePlan plan = schedulingService.plan(request(), true);
+
+        assertEquals(0, plan.getAssignedCount());
+    }
+
+    @Test
+    void whenTermRangeInvalid_thenThrowsException() {
+        ScheduleRequest request = ScheduleRequest.builder().termStart(termEnd).termEnd(termStart).build();
+
+        assertThrows(ValidationException.class, () -> schedulingService.plan(request, true));
+        verify(courseRepository, never()).findOverlapping(any(), any(), any());
+    }
+}
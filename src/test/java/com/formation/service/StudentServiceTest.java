@@ -1,34 +1,79 @@
 package com.formation.service;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 
+import com.formation.dto.DataChangedEvent;
+import com.formation.entity.ClassRoom;
+import com.formation.entity.Course;
 import com.formation.entity.Student;
+import com.formation.entity.enums.EnrollmentEventType;
+import com.formation.exception.DuplicateResourceException;
+import com.formation.exception.ExceptionCode;
+import com.formation.exception.ResourceInUseException;
+import com.formation.exception.ResourceNotFoundException;
+import com.formation.jfr.PagedQueryEventAspect;
+import com.formation.repository.ClassRoomRepository;
+import com.formation.repository.CourseRepository;
+import com.formation.repository.EnrollmentEventRepository;
 import com.formation.repository.StudentRepository;
 import com.formation.service.impl.StudentServiceImpl;
 
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
 class StudentServiceTest {
 
     @Mock
     private StudentRepository studentRepository;
 
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private ClassRoomRepository classRoomRepository;
+
+    @Mock
+    private EnrollmentEventRepository enrollmentEventRepository;
+
+    @Mock
+    private WaitlistService waitlistService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private StudentServiceImpl studentService;
 
@@ -60,6 +105,85 @@ class StudentServiceTest {
         verify(studentRepository).save(any(Student.class));
     }
 
+    @Test
+    void whenSaveStudentWithExistingEmail_thenThrowDuplicate() {
+        when(studentRepository.existsByEmail(testStudent.getEmail())).thenReturn(true);
+
+        DuplicateResourceException e = assertThrows(DuplicateResourceException.class,
+            () -> studentService.save(testStudent));
+
+        assertEquals(ExceptionCode.STUDENT_EMAIL_EXISTS, e.getCode());
+        assertEquals(0, e.getStackTrace().length);
+        verify(studentRepository, never()).save(any(Student.class));
+    }
+
+    @Test
+    void whenFindByIdNotFound_thenThrowNotFound() {
+        when(studentRepository.findById(1L)).thenReturn(Optional.empty());
+
+        ResourceNotFoundException e = assertThrows(ResourceNotFoundException.class,
+            () -> studentService.findById(1L));
+
+        assertEquals(ExceptionCode.STUDENT_NOT_FOUND, e.getCode());
+        assertEquals("Student not found with id: 1", e.getMessage());
+    }
+
+    @Test
+    void whenTimedServiceCalled_thenLatencyAndErrorsAreRecordedPerMethod() {
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(testStudent));
+        when(studentRepository.findById(2L)).thenReturn(Optional.empty());
+        MeterRegistry registry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(studentService);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new TimedAspect(registry));
+        StudentService timed = factory.getProxy();
+
+        timed.findById(1L);
+        assertThrows(ResourceNotFoundException.class, () -> timed.findById(2L));
+
+        assertEquals(1, registry.get("formation.service")
+            .tags("class", StudentServiceImpl.class.getName(), "method", "findById", "exception", "none")
+            .timer().count());
+        assertEquals(1, registry.get("formation.service")
+            .tags("method", "findById", "exception", "ResourceNotFoundException")
+            .timer().count());
+    }
+
+    @Test
+    void whenSearchRecorded_thenFlightRecorderEventsCarryPagingAndResultCounts() throws Exception {
+        List<Student> students = Collections.singletonList(testStudent);
+        when(studentRepository.findAll(any(Specification.class), eq(PageRequest.of(2, 1)))).thenReturn(new PageImpl<>(students, PageRequest.of(2, 1), 7));
+        AspectJProxyFactory factory = new AspectJProxyFactory(studentService);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new PagedQueryEventAspect());
+        StudentService recorded = factory.getProxy();
+        Path file = Files.createTempFile("formation", ".jfr");
+
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable("com.formation.StudentSearch");
+            recording.enable("com.formation.PagedQuery");
+            recording.start();
+            recorded.search("john", PageRequest.of(2, 1));
+            recording.stop();
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        RecordedEvent search = events.stream()
+            .filter(e -> e.getEventType().getName().equals("com.formation.StudentSearch")).findFirst().get();
+        assertEquals(4, search.getInt("keywordLength"));
+        assertEquals(2, search.getInt("page"));
+        assertEquals(1, search.getLong("resultCount"));
+        assertEquals(7, search.getLong("totalResults"));
+        RecordedEvent paged = events.stream()
+            .filter(e -> e.getEventType().getName().equals("com.formation.PagedQuery")).findFirst().get();
+        assertEquals("StudentServiceImpl.search", paged.getString("operation"));
+        assertEquals(1, paged.getInt("pageSize"));
+    }
+
     @Test
     void whenFindById_thenReturnStudent() {
         when(studentRepository.findById(1L)).thenReturn(Optional.of(testStudent));
@@ -88,6 +212,7 @@ class StudentServiceTest {
 
     @Test
     void whenUpdateStudent_thenReturnUpdatedStudent() {
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(testStudent));
         when(studentRepository.save(any(Student.class))).thenReturn(testStudent);
 
         Student updated = studentService.update(testStudent);
@@ -104,5 +229,91 @@ class StudentServiceTest {
         studentService.delete(1L);
 
         verify(studentRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(any(DataChangedEvent.class));
+    }
+
+    @Test
+    void whenUpdateMovesStudentToAnotherCourse_thenSeatsAndEnrollmentEventsFollow() {
+        Student existing = Student.builder().id(1L).email("john.doe@test.com").course(Course.builder().id(10L).build()).build();
+        testStudent.setCourse(Course.builder().id(20L).build());
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(courseRepository.findByIdForUpdate(20L))
+            .thenReturn(Optional.of(Course.builder().id(20L).maxCapacity(10).currentCapacity(3).build()));
+        when(studentRepository.save(any(Student.class))).thenReturn(testStudent);
+
+        studentService.update(testStudent);
+
+        verify(courseRepository).adjustCurrentCapacity(10L, -1);
+        verify(courseRepository).adjustCurrentCapacity(20L, 1);
+        verify(enrollmentEventRepository).record(eq(10L), eq(1L), eq(EnrollmentEventType.UNENROLLED), any());
+        verify(enrollmentEventRepository).record(eq(20L), eq(1L), eq(EnrollmentEventType.ENROLLED), any());
+        verify(waitlistService).promoteWaiting(10L);
+    }
+
+    @Test
+    void whenUpdateMovesStudentIntoFullCourse_thenRejectedWithoutTouchingSeats() {
+        testStudent.setCourse(Course.builder().id(20L).build());
+        Student existing = Student.builder().id(1L).email("john.doe@test.com").build();
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(courseRepository.findByIdForUpdate(20L))
+            .thenReturn(Optional.of(Course.builder().id(20L).maxCapacity(10).currentCapacity(10).build()));
+
+        ResourceInUseException e = assertThrows(ResourceInUseException.class, () -> studentService.update(testStudent));
+
+        assertEquals(ExceptionCode.COURSE_FULL, e.getCode());
+        verify(courseRepository, never()).adjustCurrentCapacity(anyLong(), anyInt());
+        verify(studentRepository, never()).save(any(Student.class));
+    }
+
+    @Test
+    void whenSaveIntoCourseWithWaiters_thenRejectedSoTheQueueKeepsItsTurn() {
+        testStudent.setCourse(Course.builder().id(20L).build());
+        when(courseRepository.findByIdForUpdate(20L))
+            .thenReturn(Optional.of(Course.builder().id(20L).maxCapacity(10).currentCapacity(3).build()));
+        when(waitlistService.hasWaiting(20L)).thenReturn(true);
+
+        ResourceInUseException e = assertThrows(ResourceInUseException.class, () -> studentService.save(testStudent));
+
+        assertEquals(ExceptionCode.COURSE_FULL, e.getCode());
+        verify(studentRepository, never()).save(any(Student.class));
+    }
+
+    @Test
+    void whenUpdateMovesStudentToAnotherClassRoom_thenClassRoomSeatsFollow() {
+        Student existing = Student.builder().id(1L).email("john.doe@test.com").classRoom(ClassRoom.builder().id(5L).build()).build();
+        testStudent.setClassRoom(ClassRoom.builder().id(6L).build());
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(classRoomRepository.findByIdForUpdate(6L))
+            .thenReturn(Optional.of(ClassRoom.builder().id(6L).currentCapacity(4).maxCapacity(30).build()));
+        when(studentRepository.save(any(Student.class))).thenReturn(testStudent);
+
+        studentService.update(testStudent);
+
+        verify(classRoomRepository).adjustCurrentCapacity(5L, -1);
+        verify(classRoomRepository).adjustCurrentCapacity(6L, 1);
+        verify(courseRepository, never()).adjustCurrentCapacity(anyLong(), anyInt());
+    }
+
+    @Test
+    void whenUpdateKeepsCourse_thenNoEnrollmentChangeRecorded() {
+        testStudent.setCourse(Course.builder().id(10L).build());
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(testStudent));
+        when(studentRepository.save(any(Student.class))).thenReturn(testStudent);
+
+        studentService.update(testStudent);
+
+        verify(courseRepository, never()).adjustCurrentCapacity(anyLong(), anyInt());
+        verify(enrollmentEventRepository, never()).record(any(), any(), any(), any());
+    }
+
+    @Test
+    void whenDeleteEnrolledStudent_thenSeatFreedAndUnenrollmentRecorded() {
+        testStudent.setCourse(Course.builder().id(10L).build());
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(testStudent));
+
+        studentService.delete(1L);
+
+        verify(courseRepository).adjustCurrentCapacity(10L, -1);
+        verify(enrollmentEventRepository).record(eq(10L), eq(1L), eq(EnrollmentEventType.UNENROLLED), any());
     }
 }
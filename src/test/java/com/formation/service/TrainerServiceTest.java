@@ -13,26 +13,46 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import com.formation.dto.TrainerRecommendation;
+import com.formation.entity.Course;
 import com.formation.entity.Trainer;
+import com.formation.exception.DuplicateResourceException;
+import com.formation.exception.ResourceNotFoundException;
+import com.formation.repository.CourseRepository;
 import com.formation.repository.TrainerRepository;
 import com.formation.service.impl.TrainerServiceImpl;
+import com.formation.service.scheduling.TrainerAvailabilityIndex;
+import com.formation.service.scheduling.TrainerRecommendationIndex;
 
-import jakarta.persistence.EntityNotFoundException;
 
 class TrainerServiceTest {
 
     @Mock
     private TrainerRepository trainerRepository;
 
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private TrainerAvailabilityIndex trainerAvailabilityIndex;
+
+    @Mock
+    private TrainerRecommendationIndex trainerRecommendationIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TrainerServiceImpl trainerService;
 
@@ -68,7 +88,7 @@ class TrainerServiceTest {
     void whenSaveTrainerWithExistingEmail_thenThrowException() {
         when(trainerRepository.existsByEmail(anyString())).thenReturn(true);
 
-        assertThrows(EntityNotFoundException.class, () -> {
+        assertThrows(DuplicateResourceException.class, () -> {
             trainerService.save(testTrainer);
         });
     }
@@ -88,7 +108,7 @@ class TrainerServiceTest {
     void whenFindByIdNotFound_thenThrowException() {
         when(trainerRepository.findById(1L)).thenReturn(Optional.empty());
 
-        assertThrows(EntityNotFoundException.class, () -> {
+        assertThrows(ResourceNotFoundException.class, () -> {
             trainerService.findById(1L);
         });
     }
@@ -129,4 +149,33 @@ class TrainerServiceTest {
 
         verify(trainerRepository).deleteById(1L);
     }
+
+    @Test
+    void whenSaveTrainer_thenRecommendationIndexUpdated() {
+        when(trainerRepository.existsByEmail(anyString())).thenReturn(false);
+        when(trainerRepository.save(any(Trainer.class))).thenReturn(testTrainer);
+
+        trainerService.save(testTrainer);
+
+        verify(trainerRecommendationIndex).put(any());
+    }
+
+    @Test
+    void whenRecommendForCourse_thenDelegatesToIndex() {
+        Course course = new Course();
+        course.setId(4L);
+        List<TrainerRecommendation> ranked = new ArrayList<>();
+        ranked.add(TrainerRecommendation.builder().trainerId(1L).score(0.9).build());
+        when(courseRepository.findById(4L)).thenReturn(Optional.of(course));
+        when(trainerRecommendationIndex.recommend(eq(course), eq(3), eq(false))).thenReturn(ranked);
+
+        assertEquals(ranked, trainerService.recommendForCourse(4L, 3, false));
+    }
+
+    @Test
+    void whenRecommendForUnknownCourse_thenThrowException() {
+        when(courseRepository.findById(4L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> trainerService.recommendForCourse(4L, 3, false));
+    }
 }
@@ -0,0 +1,120 @@
+package com.formation.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.formation.dto.BatchEnrollmentRequest;
+import com.formation.dto.BatchEnrollmentResponse;
+import com.formation.dto.EnrollmentOutcome;
+import com.formation.dto.WaitlistPosition;
+import com.formation.dto.WaitlistStatus;
+import com.formation.entity.ClassRoom;
+import com.formation.entity.Course;
+import com.formation.entity.Student;
+import com.formation.entity.enums.CourseStatus;
+import com.formation.exception.ResourceNotFoundException;
+import com.formation.repository.ClassRoomRepository;
+import com.formation.repository.CourseRepository;
+import com.formation.repository.StudentRepository;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:waitlist;DB_CLOSE_DELAY=-1",
+    "spring.jpa.show-sql=false",
+    "formation.lifecycle.enabled=false",
+    "formation.rollup.enabled=false",
+    "formation.errors.summary-enabled=false"
+})
+@ActiveProfiles("test")
+class WaitlistServiceIntegrationTest {
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ClassRoomRepository classRoomRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Test
+    void whenQueuedStudentDeleted_thenEntryRemovedAndQueueMovesUp() {
+        Course course = course("Waitlist delete course", 1);
+        Student seated = student("Nora", "nora.benali@example.net");
+        Student first = student("Omar", "omar.idrissi@example.net");
+        Student second = student("Sara", "sara.alaoui@example.net");
+        assertEquals(WaitlistStatus.ENROLLED, waitlistService.join(course.getId(), seated.getId()).getStatus());
+        assertEquals(1, waitlistService.join(course.getId(), first.getId()).getPosition());
+        assertEquals(2, waitlistService.join(course.getId(), second.getId()).getPosition());
+
+        studentService.delete(first.getId());
+
+        assertFalse(studentRepository.existsById(first.getId()));
+        assertThrows(ResourceNotFoundException.class, () -> waitlistService.findPosition(course.getId(), first.getId()));
+        WaitlistPosition position = waitlistService.findPosition(course.getId(), second.getId());
+        assertEquals(1, position.getPosition());
+        assertEquals(1, position.getWaiting());
+    }
+
+    @Test
+    void whenBatchEnrollsIntoCourseWithWaiters_thenQueueServedFirst() {
+        Course course = course("Waitlist batch course", 1);
+        ClassRoom classRoom = classRoomRepository.save(ClassRoom.builder().name("Batch room").roomNumber("WL-201")
+            .maxCapacity(30).build());
+        Student seated = student("Yassine", "yassine.amrani@example.net");
+        Student queued = student("Imane", "imane.tazi@example.net");
+        Student newcomer = student("Karim", "karim.fassi@example.net");
+        Student late = student("Hind", "hind.chraibi@example.net");
+        waitlistService.join(course.getId(), seated.getId());
+        waitlistService.join(course.getId(), queued.getId());
+        // Two more seats while one student is queued
+        course = courseRepository.findById(course.getId()).get();
+        course.setMaxCapacity(3);
+        courseRepository.save(course);
+
+        BatchEnrollmentResponse response = enrollmentService.enrollBatch(BatchEnrollmentRequest.builder()
+            .courseId(course.getId())
+            .classRoomId(classRoom.getId())
+            .studentIds(Arrays.asList(newcomer.getId(), queued.getId(), late.getId()))
+            .build());
+
+        assertEquals(1, response.getEnrolled());
+        assertEquals(EnrollmentOutcome.ENROLLED, response.getResults().get(0).getOutcome());
+        assertEquals(EnrollmentOutcome.ALREADY_ENROLLED, response.getResults().get(1).getOutcome());
+        assertEquals(EnrollmentOutcome.CAPACITY_EXCEEDED, response.getResults().get(2).getOutcome());
+        assertEquals(WaitlistStatus.ENROLLED, waitlistService.findPosition(course.getId(), queued.getId()).getStatus());
+        assertFalse(waitlistService.hasWaiting(course.getId()));
+    }
+
+    private Course course(String title, int maxCapacity) {
+        return courseRepository.save(Course.builder()
+            .title(title)
+            .level("Beginner")
+            .minCapacity(1)
+            .maxCapacity(maxCapacity)
+            .startDate(LocalDate.now().plusDays(10))
+            .endDate(LocalDate.now().plusDays(20))
+            .status(CourseStatus.PLANNED)
+            .build());
+    }
+
+    private Student student(String firstName, String email) {
+        return studentRepository.save(Student.builder().firstName(firstName).lastName("Tester").email(email)
+            .level("Beginner").build());
+    }
+}
@@ -0,0 +1,136 @@
+package com.formation.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.formation.dto.WaitlistPosition;
+import com.formation.dto.WaitlistStatus;
+import com.formation.entity.Course;
+import com.formation.entity.CourseWaitlist;
+import com.formation.entity.Student;
+import com.formation.entity.WaitlistEntry;
+import com.formation.entity.enums.EnrollmentEventType;
+import com.formation.exception.ResourceNotFoundException;
+import com.formation.repository.CourseRepository;
+import com.formation.repository.CourseWaitlistRepository;
+import com.formation.repository.EnrollmentEventRepository;
+import com.formation.repository.StudentRepository;
+import com.formation.repository.WaitlistEntryRepository;
+import com.formation.service.impl.WaitlistServiceImpl;
+
+class WaitlistServiceTest {
+
+    @Mock
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Mock
+    private CourseWaitlistRepository courseWaitlistRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private EnrollmentEventRepository enrollmentEventRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private WaitlistServiceImpl waitlistService;
+
+    private Course testCourse;
+    private Student testStudent;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        testCourse = new Course();
+        testCourse.setId(1L);
+        testCourse.setMaxCapacity(2);
+        testCourse.setCurrentCapacity(2);
+
+        testStudent = new Student();
+        testStudent.setId(7L);
+
+        when(courseRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testCourse));
+        when(studentRepository.findById(7L)).thenReturn(Optional.of(testStudent));
+        when(waitlistEntryRepository.findByCourseIdAndStudentId(1L, 7L)).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void whenJoinFullCourse_thenQueuedAtTail() {
+        CourseWaitlist waitlist = CourseWaitlist.builder().courseId(1L).headTicket(4).nextTicket(6).build();
+        when(courseWaitlistRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(waitlist));
+
+        WaitlistPosition position = waitlistService.join(1L, 7L);
+
+        assertEquals(WaitlistStatus.WAITING, position.getStatus());
+        assertEquals(3L, position.getPosition());
+        assertEquals(3L, position.getWaiting());
+        assertEquals(7, waitlist.getNextTicket());
+        verify(waitlistEntryRepository).save(any(WaitlistEntry.class));
+        verify(enrollmentEventRepository).record(eq(1L), eq(7L), eq(EnrollmentEventType.WAITLISTED), any());
+    }
+
+    @Test
+    void whenJoinCourseWithFreeSeat_thenEnrolledDirectly() {
+        testCourse.setCurrentCapacity(1);
+        when(courseWaitlistRepository.findByIdForUpdate(1L))
+            .thenReturn(Optional.of(CourseWaitlist.builder().courseId(1L).build()));
+
+        WaitlistPosition position = waitlistService.join(1L, 7L);
+
+        assertEquals(WaitlistStatus.ENROLLED, position.getStatus());
+        verify(studentRepository).assignCourse(eq(Collections.singletonList(7L)), eq(testCourse), any());
+        verify(courseRepository).adjustCurrentCapacity(1L, 1);
+        verify(waitlistEntryRepository, never()).save(any(WaitlistEntry.class));
+        verify(enrollmentEventRepository).record(eq(1L), eq(7L), eq(EnrollmentEventType.ENROLLED), any());
+    }
+
+    @Test
+    void whenSeatFreed_thenHeadOfQueuePromoted() {
+        testCourse.setCurrentCapacity(1);
+        CourseWaitlist waitlist = CourseWaitlist.builder().courseId(1L).headTicket(1).nextTicket(3).build();
+        when(courseWaitlistRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(waitlist));
+        Student enrolledElsewhere = new Student();
+        enrolledElsewhere.setId(8L);
+        enrolledElsewhere.setCourse(new Course());
+        when(waitlistEntryRepository.findQueueFrom(eq(1L), eq(1L), any())).thenReturn(Arrays.asList(
+            WaitlistEntry.builder().student(enrolledElsewhere).ticket(1).build()));
+        when(waitlistEntryRepository.findQueueFrom(eq(1L), eq(2L), any())).thenReturn(Arrays.asList(
+            WaitlistEntry.builder().student(testStudent).ticket(2).build()));
+        when(studentRepository.assignCourse(anyCollection(), eq(testCourse), any())).thenReturn(1);
+
+        int promoted = waitlistService.promoteWaiting(1L);
+
+        assertEquals(1, promoted);
+        assertEquals(3, waitlist.getHeadTicket());
+        verify(waitlistEntryRepository).deleteUpToTicket(1L, 2L);
+        verify(studentRepository).assignCourse(eq(Collections.singletonList(7L)), eq(testCourse), any());
+        verify(courseRepository).adjustCurrentCapacity(1L, 1);
+        verify(enrollmentEventRepository).recordEnrolled(eq(Collections.singletonList(7L)), eq(1L), any());
+    }
+
+    @Test
+    void whenLeaveWithoutEntry_thenThrowException() {
+        assertThrows(ResourceNotFoundException.class, () -> {
+            waitlistService.leave(1L, 7L);
+        });
+    }
+}
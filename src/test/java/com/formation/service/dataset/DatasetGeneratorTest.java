@@ -0,0 +1,85 @@
+package com.formation.service.dataset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.formation.config.DatasetProperties;
+import com.formation.dto.DatasetSummary;
+import com.formation.entity.Student;
+import com.formation.repository.StudentRepository;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:dataset;DB_CLOSE_DELAY=-1",
+    "spring.jpa.show-sql=false",
+    "formation.lifecycle.enabled=false",
+    "formation.rollup.enabled=false",
+    "formation.errors.summary-enabled=false"
+})
+@ActiveProfiles("test")
+class DatasetGeneratorTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Test
+    void whenGenerated_thenRowsAreConsistentAndIdsContinueAfterThem() throws Exception {
+        DatasetProperties properties = new DatasetProperties();
+        properties.setStudents(3000);
+        properties.setBatchSize(250);
+
+        DatasetSummary first = new DatasetGenerator(properties).generate(dataSource);
+        DatasetSummary second = new DatasetGenerator(properties).generate(dataSource);
+
+        assertEquals(150, first.getCourses());
+        assertEquals(120, first.getClassRooms());
+        assertEquals(first.getFirstStudentId() + 3000, second.getFirstStudentId());
+        assertEquals(first.getFirstCourseId() + 150, second.getFirstCourseId());
+        assertEquals(6000, count("SELECT COUNT(*) FROM students"));
+        assertEquals(first.getEnrolledStudents() + second.getEnrolledStudents(),
+            count("SELECT COUNT(*) FROM students WHERE course_id IS NOT NULL"));
+        assertTrue(first.getEnrolledStudents() > 1800);
+        assertEquals(count("SELECT COUNT(*) FROM students"), count("SELECT COUNT(DISTINCT email) FROM students"));
+
+        // Capacity counters match the rows holding a seat and stay within the maximum
+        assertEquals(0, count("SELECT COUNT(*) FROM courses c WHERE c.current_capacity > c.max_capacity"
+            + " OR c.current_capacity <> (SELECT COUNT(*) FROM students s WHERE s.course_id = c.id)"));
+        assertEquals(0, count("SELECT COUNT(*) FROM classrooms r WHERE r.current_capacity > r.max_capacity"
+            + " OR r.current_capacity <> (SELECT COUNT(*) FROM students s WHERE s.classroom_id = r.id)"));
+        assertEquals(0, count("SELECT COUNT(*) FROM students s JOIN courses c ON c.id = s.course_id"
+            + " WHERE c.status = 'CANCELLED' OR s.registration_date >= c.start_date"));
+
+        // Trainers teach at most five courses, never two at once
+        assertEquals(0, count("SELECT COUNT(*) FROM (SELECT trainer_id FROM courses WHERE trainer_id IS NOT NULL"
+            + " GROUP BY trainer_id HAVING COUNT(*) > 5) t"));
+        assertEquals(0, count("SELECT COUNT(*) FROM courses a JOIN courses b ON a.trainer_id = b.trainer_id"
+            + " AND a.id < b.id AND a.start_date <= b.end_date AND b.start_date <= a.end_date"));
+
+        // Rooms host one course at a time, and students only sit in the room of their course
+        assertEquals(0, count("SELECT COUNT(*) FROM courses a JOIN courses b ON a.classroom_id = b.classroom_id"
+            + " AND a.id < b.id AND a.start_date <= b.end_date AND b.start_date <= a.end_date"));
+        assertEquals(0, count("SELECT COUNT(*) FROM students s LEFT JOIN courses c ON c.id = s.course_id"
+            + " WHERE s.classroom_id IS NOT NULL AND (c.classroom_id IS NULL OR s.classroom_id <> c.classroom_id)"));
+        assertTrue(count("SELECT COUNT(*) FROM courses WHERE classroom_id IS NOT NULL") > 120);
+
+        Student saved = studentRepository.save(Student.builder()
+            .firstName("Nadia").lastName("Amrani").email("nadia.amrani@example.net").level("Beginner").build());
+        assertEquals(second.getFirstStudentId() + 3000, saved.getId());
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
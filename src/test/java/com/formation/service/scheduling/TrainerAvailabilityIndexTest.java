@@ -0,0 +1,198 @@
+package com.formation.service.scheduling;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.formation.dto.CourseLifecycleEvent;
+import com.formation.dto.TrainerBooking;
+import com.formation.dto.TrainerConflict;
+import com.formation.entity.enums.CourseStatus;
+import com.formation.repository.CourseRepository;
+
+class TrainerAvailabilityIndexTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @InjectMocks
+    private TrainerAvailabilityIndex index;
+
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        day = LocalDate.of(2025, 1, 1);
+        when(courseRepository.findTrainerBookings(anyCollection())).thenReturn(Arrays.asList(
+            booking(1L, 10L, 0, 30),
+            booking(2L, 10L, 60, 90),
+            booking(3L, 20L, 0, 200)));
+    }
+
+    private TrainerBooking booking(Long courseId, Long trainerId, int fromDay, int toDay) {
+        return new TrainerBooking(courseId, trainerId, day.plusDays(fromDay), day.plusDays(toDay));
+    }
+
+    @Test
+    void whenRangeBetweenBookings_thenTrainerIsAvailable() {
+        assertTrue(index.isAvailable(10L, day.plusDays(31), day.plusDays(59)));
+        assertFalse(index.isAvailable(10L, day.plusDays(30), day.plusDays(40)));
+        assertFalse(index.isAvailable(20L, day.plusDays(100), day.plusDays(101)));
+        assertTrue(index.isAvailable(99L, day, day.plusDays(365)));
+    }
+
+    @Test
+    void whenLongBookingStartedEarlier_thenItIsStillFound() {
+        List<TrainerBooking> found = index.findBookings(20L, day.plusDays(150), day.plusDays(160), null);
+
+        assertEquals(1, found.size());
+        assertEquals(3L, found.get(0).getCourseId());
+    }
+
+    @Test
+    void whenReserveOverlapping_thenConflictReturnedAndNothingBooked() {
+        List<TrainerBooking> conflicts = index.reserve(booking(4L, 10L, 20, 40));
+
+        assertEquals(1, conflicts.size());
+        assertEquals(1L, conflicts.get(0).getCourseId());
+        assertTrue(index.isAvailable(10L, day.plusDays(31), day.plusDays(40)));
+    }
+
+    @Test
+    void whenCourseMovesToAnotherTrainer_thenOldSlotIsFreed() {
+        assertTrue(index.reserve(booking(1L, 30L, 0, 30)).isEmpty());
+
+        assertTrue(index.isAvailable(10L, day, day.plusDays(30)));
+        assertFalse(index.isAvailable(30L, day, day.plusDays(30)));
+    }
+
+    @Test
+    void whenCourseRescheduled_thenItDoesNotConflictWithItself() {
+        assertTrue(index.reserve(booking(1L, 10L, 5, 35)).isEmpty());
+
+        assertFalse(index.isAvailable(10L, day.plusDays(33), day.plusDays(34)));
+        assertTrue(index.isAvailable(10L, day, day.plusDays(4)));
+    }
+
+    @Test
+    void whenCourseReleased_thenTrainerIsFree() {
+        index.isAvailable(10L, day, day);
+        index.release(2L);
+
+        assertTrue(index.isAvailable(10L, day.plusDays(60), day.plusDays(90)));
+    }
+
+    @Test
+    void whenLegacyOverlapExists_thenConflictIsListed() {
+        when(courseRepository.findTrainerBookings(anyCollection())).thenReturn(Arrays.asList(
+            booking(1L, 10L, 0, 30),
+            booking(2L, 10L, 20, 50),
+            booking(3L, 20L, 0, 30)));
+
+        List<TrainerConflict> conflicts = index.findConflicts(day, day.plusDays(100));
+
+        assertEquals(1, conflicts.size());
+        assertEquals(10L, conflicts.get(0).getTrainerId());
+        assertEquals(day.plusDays(20), conflicts.get(0).getOverlapStart());
+        assertEquals(day.plusDays(30), conflicts.get(0).getOverlapEnd());
+    }
+
+    @Test
+    void whenCoursesComplete_thenEndedBookingsAreDropped() {
+        index.isAvailable(10L, day, day);
+        index.onLifecycle(new CourseLifecycleEvent(CourseStatus.IN_PROGRESS, CourseStatus.COMPLETED,
+            day.plusDays(45), 1));
+
+        assertTrue(index.isAvailable(10L, day, day.plusDays(30)));
+        assertFalse(index.isAvailable(10L, day.plusDays(60), day.plusDays(60)));
+        verify(courseRepository, times(1)).findTrainerBookings(anyCollection());
+    }
+
+    @Test
+    void whenLongBookingReleased_thenLookupsOnlySeeRemainingBookings() {
+        assertTrue(index.reserve(booking(4L, 10L, 100, 1000)).isEmpty());
+        index.release(4L);
+        for (int i = 0; i < 50; i++) {
+            assertTrue(index.reserve(booking(10L + i, 10L, 200 + i * 10, 205 + i * 10)).isEmpty());
+        }
+
+        List<TrainerBooking> found = index.findBookings(10L, day.plusDays(500), day.plusDays(520), null);
+
+        assertEquals(Arrays.asList(40L, 41L, 42L), found.stream().map(TrainerBooking::getCourseId).collect(Collectors.toList()));
+        assertEquals(52, index.countBookings(10L));
+    }
+
+    @Test
+    void whenReservedInTransaction_thenPublishedOnlyAfterCommit() {
+        index.isAvailable(10L, day, day);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertTrue(index.reserve(booking(4L, 10L, 40, 50)).isEmpty());
+
+            assertTrue(index.isAvailable(10L, day.plusDays(40), day.plusDays(50)));
+            // Held against other transactions meanwhile
+            List<TrainerBooking> conflicts = held(() -> index.reserve(booking(5L, 10L, 45, 55)));
+            assertEquals(4L, conflicts.get(0).getCourseId());
+
+            complete(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertFalse(index.isAvailable(10L, day.plusDays(40), day.plusDays(50)));
+    }
+
+    @Test
+    void whenTransactionRollsBack_thenReservationAndHoldAreDropped() {
+        index.isAvailable(10L, day, day);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertTrue(index.reserve(booking(4L, 10L, 40, 50)).isEmpty());
+            index.release(1L);
+
+            complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(index.reserve(booking(5L, 10L, 45, 55)).isEmpty());
+        assertFalse(index.isAvailable(10L, day, day.plusDays(30)));
+    }
+
+    // Runs the reservation as another transaction would, outside the current one
+    private List<TrainerBooking> held(Supplier<List<TrainerBooking>> reservation) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        Object staged = TransactionSynchronizationManager.unbindResource(index);
+        TransactionSynchronizationManager.clearSynchronization();
+        try {
+            return reservation.get();
+        } finally {
+            TransactionSynchronizationManager.initSynchronization();
+            synchronizations.forEach(TransactionSynchronizationManager::registerSynchronization);
+            TransactionSynchronizationManager.bindResource(index, staged);
+        }
+    }
+
+    private void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
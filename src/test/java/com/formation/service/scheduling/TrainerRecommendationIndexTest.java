@@ -0,0 +1,105 @@
+package com.formation.service.scheduling;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.formation.dto.TrainerBooking;
+import com.formation.dto.TrainerRecommendation;
+import com.formation.dto.TrainerSummary;
+import com.formation.entity.Course;
+import com.formation.repository.TrainerRepository;
+
+class TrainerRecommendationIndexTest {
+
+    @Mock
+    private TrainerRepository trainerRepository;
+
+    @Mock
+    private TrainerAvailabilityIndex trainerAvailabilityIndex;
+
+    @InjectMocks
+    private TrainerRecommendationIndex index;
+
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(trainerRepository.findAllSummaries()).thenReturn(Arrays.asList(
+            new TrainerSummary(1L, "Smith", "John", "john@test.com", "Java Development", null),
+            new TrainerSummary(2L, "Brown", "Sarah", "sarah@test.com", "Java Spring", null),
+            new TrainerSummary(3L, "Lee", "Ann", "ann@test.com", "Python", null)));
+        when(trainerAvailabilityIndex.findBookings(anyLong(), any(), any(), any())).thenReturn(Collections.emptyList());
+
+        course = new Course();
+        course.setId(7L);
+        course.setTitle("Java Spring Boot");
+        course.setLevel("Advanced");
+        course.setStartDate(LocalDate.of(2025, 3, 1));
+        course.setEndDate(LocalDate.of(2025, 4, 1));
+    }
+
+    @Test
+    void whenRecommend_thenOnlyMatchingTrainersRankedByMatchAndLoad() {
+        when(trainerAvailabilityIndex.countBookings(anyLong())).thenReturn(1);
+
+        List<TrainerRecommendation> ranked = index.recommend(course, 5, false);
+
+        assertEquals(2, ranked.size());
+        assertEquals(2L, ranked.get(0).getTrainerId());
+        assertEquals(Arrays.asList("java", "spring"), ranked.get(0).getMatchedKeywords());
+        assertEquals(1L, ranked.get(1).getTrainerId());
+        assertTrue(ranked.get(0).getScore() > ranked.get(1).getScore());
+    }
+
+    @Test
+    void whenSameMatch_thenLessLoadedTrainerFirst() {
+        when(trainerRepository.findAllSummaries()).thenReturn(Arrays.asList(
+            new TrainerSummary(1L, "Smith", "John", "john@test.com", "Java Spring", null),
+            new TrainerSummary(2L, "Brown", "Sarah", "sarah@test.com", "Java Spring", null)));
+        when(trainerAvailabilityIndex.countBookings(1L)).thenReturn(4);
+        when(trainerAvailabilityIndex.countBookings(2L)).thenReturn(0);
+
+        assertEquals(2L, index.recommend(course, 5, false).get(0).getTrainerId());
+    }
+
+    @Test
+    void whenTrainerBusy_thenExcludedUnlessRequested() {
+        when(trainerAvailabilityIndex.findBookings(eq(2L), any(), any(), eq(7L)))
+            .thenReturn(Collections.singletonList(new TrainerBooking(9L, 2L, course.getStartDate(), course.getEndDate())));
+
+        assertEquals(1, index.recommend(course, 5, false).size());
+        List<TrainerRecommendation> all = index.recommend(course, 5, true);
+        assertEquals(2, all.size());
+        assertFalse(all.stream().filter(r -> r.getTrainerId().equals(2L)).findFirst().get().isAvailable());
+    }
+
+    @Test
+    void whenTrainerSpecialtyChanges_thenIndexFollows() {
+        index.recommend(course, 5, false);
+        index.put(new TrainerSummary(3L, "Lee", "Ann", "ann@test.com", "Spring Boot Java", null));
+        index.remove(1L);
+
+        List<TrainerRecommendation> ranked = index.recommend(course, 5, false);
+
+        assertEquals(Arrays.asList(3L, 2L), Arrays.asList(ranked.get(0).getTrainerId(), ranked.get(1).getTrainerId()));
+        verify(trainerRepository, times(1)).findAllSummaries();
+    }
+
+    @Test
+    void whenLimitSmallerThanMatches_thenListIsTruncated() {
+        assertEquals(1, index.recommend(course, 1, false).size());
+    }
+}